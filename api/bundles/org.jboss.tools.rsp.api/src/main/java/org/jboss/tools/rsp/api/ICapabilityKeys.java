@@ -33,4 +33,34 @@ public interface ICapabilityKeys {
 	 * whether the client can use the full publish API
 	 */
 	public static final String BOOLEAN_PUBLISH_ARCHIVE = "rsp.publish.archives";
+
+	/**
+	 * A capability key expecting a boolean in string form 
+	 * whether the client only wants the console output of the servers 
+	 * that it subscribed to with `server/subscribeServerOutput`
+	 */
+	public static final String BOOLEAN_SERVER_OUTPUT_SUBSCRIPTION = "rsp.server.output.subscription";
+
+	/**
+	 * A capability key expecting a boolean in string form 
+	 * whether the client wants `client/serverStateDelta` notifications 
+	 * instead of `client/serverStateChanged`
+	 */
+	public static final String BOOLEAN_SERVER_STATE_DELTA = "rsp.server.state.delta";
+
+	/**
+	 * A capability key expecting a boolean in string form 
+	 * whether the client wants `client/eventSequence` notifications 
+	 * to resync with `server/resyncEvents` once it reconnects. 
+	 * These clients get the states of the servers with `server/resyncEvents` 
+	 * if they were not sent them on connect already
+	 */
+	public static final String BOOLEAN_EVENT_SEQUENCE = "rsp.events.sequence";
+
+	/**
+	 * A capability key expecting a comma separated list of the content 
+	 * encodings that the client or server accepts for json-rpc messages, 
+	 * currently only `deflate`. See MessageCompression
+	 */
+	public static final String STRING_MESSAGE_COMPRESSION = "rsp.message.compression";
 }
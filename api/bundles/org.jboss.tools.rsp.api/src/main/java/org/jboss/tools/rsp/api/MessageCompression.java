@@ -0,0 +1,419 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compresses the content of json-rpc messages on the wire.
+ *
+ * A compressed message carries the header {@code Content-Encoding: deflate}
+ * and its {@code Content-Length} is the length of the compressed content.
+ * Messages without this header are passed on unchanged, so that a stream
+ * returned by {@link #decompress(InputStream)} reads compressed and plain
+ * messages alike.
+ *
+ * A peer must only send compressed messages once the other side announced
+ * that it accepts them with the capability
+ * {@link ICapabilityKeys#STRING_MESSAGE_COMPRESSION}.
+ */
+public class MessageCompression {
+
+	public static final String ENCODING_DEFLATE = "deflate";
+
+	/* messages smaller than this are not worth compressing */
+	public static final int DEFAULT_THRESHOLD = 1024;
+
+	private static final String CONTENT_LENGTH = "content-length";
+	private static final String CONTENT_ENCODING = "content-encoding";
+	private static final String CRLF = "\r\n";
+
+	private MessageCompression() {
+		// inhibit instantiation
+	}
+
+	/**
+	 * Returns {@code true} if the given value of the capability
+	 * {@link ICapabilityKeys#STRING_MESSAGE_COMPRESSION} includes deflate.
+	 *
+	 * @param capability the comma separated encodings, may be {@code null}
+	 */
+	public static boolean acceptsDeflate(String capability) {
+		if (capability == null) {
+			return false;
+		}
+		for (String encoding : capability.split(",")) {
+			if (ENCODING_DEFLATE.equalsIgnoreCase(encoding.trim())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns a stream that compresses the messages written to it once
+	 * compression is enabled.
+	 *
+	 * @param out the stream to write the messages to
+	 * @param threshold the minimum content length of a message to be compressed
+	 * @return the compressing stream, disabled initially
+	 */
+	public static CompressingOutputStream compress(OutputStream out, int threshold) {
+		return new CompressingOutputStream(out, threshold);
+	}
+
+	/**
+	 * Returns a stream that decompresses the compressed messages read from
+	 * the given stream.
+	 *
+	 * @param in the stream to read the messages from
+	 * @return the decompressing stream
+	 */
+	public static InputStream decompress(InputStream in) {
+		return new DecompressingInputStream(in);
+	}
+
+	/**
+	 * Collects the messages that are written until the stream is flushed and
+	 * compresses those whose content is at least as large as the threshold.
+	 */
+	public static class CompressingOutputStream extends FilterOutputStream {
+
+		private final int threshold;
+		private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+		private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		private volatile boolean enabled;
+
+		private CompressingOutputStream(OutputStream out, int threshold) {
+			super(out);
+			this.threshold = threshold;
+		}
+
+		/**
+		 * Enables or disables compression for the messages that are flushed
+		 * from now on.
+		 */
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		@Override
+		public synchronized void write(int b) throws IOException {
+			pending.write(b);
+		}
+
+		@Override
+		public synchronized void write(byte[] b, int off, int len) throws IOException {
+			pending.write(b, off, len);
+		}
+
+		/*
+		 * Messages are buffered even while compression is disabled. It may get
+		 * enabled between writing the header and the content of a message.
+		 */
+		@Override
+		public synchronized void flush() throws IOException {
+			byte[] bytes = pending.toByteArray();
+			pending.reset();
+			boolean compress = enabled;
+			int start = 0;
+			while (compress
+					&& start < bytes.length) {
+				int end = writeMessage(bytes, start);
+				if (end < 0) {
+					break;
+				}
+				start = end;
+			}
+			if (compress) {
+				// an incomplete message is kept until the next flush
+				pending.write(bytes, start, bytes.length - start);
+			} else {
+				out.write(bytes, start, bytes.length - start);
+			}
+			out.flush();
+		}
+
+		/*
+		 * Writes the message at the given offset and returns the offset of
+		 * the next one, -1 if the message is not complete yet.
+		 */
+		private int writeMessage(byte[] bytes, int start) throws IOException {
+			int headerEnd = indexOf(bytes, start, (CRLF + CRLF).getBytes(StandardCharsets.US_ASCII));
+			if (headerEnd < 0) {
+				return -1;
+			}
+			List<String> headers = parseHeaders(new String(bytes, start, headerEnd - start, StandardCharsets.US_ASCII));
+			int length = getContentLength(headers);
+			int contentStart = headerEnd + 4;
+			if (length < 0
+					|| bytes.length < contentStart + length) {
+				return -1;
+			}
+			byte[] compressed = null;
+			if (threshold <= length
+					&& getHeader(headers, CONTENT_ENCODING) == null) {
+				compressed = deflate(bytes, contentStart, length);
+			}
+			if (compressed == null
+					|| length <= compressed.length) {
+				out.write(bytes, start, contentStart + length - start);
+			} else {
+				StringBuilder header = new StringBuilder();
+				header.append("Content-Length: ").append(compressed.length).append(CRLF);
+				header.append("Content-Encoding: ").append(ENCODING_DEFLATE).append(CRLF);
+				appendOtherHeaders(headers, header);
+				header.append(CRLF);
+				out.write(header.toString().getBytes(StandardCharsets.US_ASCII));
+				out.write(compressed);
+			}
+			return contentStart + length;
+		}
+
+		private byte[] deflate(byte[] bytes, int off, int len) {
+			deflater.reset();
+			deflater.setInput(bytes, off, len);
+			deflater.finish();
+			ByteArrayOutputStream compressed = new ByteArrayOutputStream(len / 2);
+			byte[] buffer = new byte[8192];
+			while (!deflater.finished()) {
+				int count = deflater.deflate(buffer);
+				compressed.write(buffer, 0, count);
+			}
+			return compressed.toByteArray();
+		}
+
+		@Override
+		public synchronized void close() throws IOException {
+			try {
+				flush();
+			} finally {
+				deflater.end();
+				out.close();
+			}
+		}
+	}
+
+	/**
+	 * Reads one message at a time from the underlying stream and passes it on
+	 * with its content decompressed.
+	 */
+	private static class DecompressingInputStream extends InputStream {
+
+		private final InputStream in;
+		private final Inflater inflater = new Inflater();
+		private byte[] message = new byte[0];
+		private int position;
+
+		private DecompressingInputStream(InputStream in) {
+			this.in = new BufferedInputStream(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+			if (!ensureAvailable()) {
+				return -1;
+			}
+			return message[position++] & 0xff;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			if (!ensureAvailable()) {
+				return -1;
+			}
+			int count = Math.min(len, message.length - position);
+			System.arraycopy(message, position, b, off, count);
+			position += count;
+			return count;
+		}
+
+		@Override
+		public int available() throws IOException {
+			return message.length - position;
+		}
+
+		private boolean ensureAvailable() throws IOException {
+			if (position < message.length) {
+				return true;
+			}
+			this.message = readMessage();
+			this.position = 0;
+			return message != null
+					&& 0 < message.length;
+		}
+
+		private byte[] readMessage() throws IOException {
+			ByteArrayOutputStream header = new ByteArrayOutputStream();
+			int b = -1;
+			while ((b = in.read()) != -1) {
+				header.write(b);
+				if (endsWithEmptyLine(header)) {
+					break;
+				}
+			}
+			if (b == -1) {
+				// end of stream, pass on what is left
+				return header.toByteArray();
+			}
+			String headerText = new String(header.toByteArray(), StandardCharsets.US_ASCII);
+			List<String> headers = parseHeaders(headerText.substring(0, headerText.length() - 4));
+			String encoding = getHeader(headers, CONTENT_ENCODING);
+			int length = getContentLength(headers);
+			if (length < 0) {
+				// not a valid message, leave it to the json-rpc layer to complain
+				return header.toByteArray();
+			}
+			byte[] content = readFully(length);
+			if (encoding == null) {
+				header.write(content);
+				return header.toByteArray();
+			}
+			if (!ENCODING_DEFLATE.equalsIgnoreCase(encoding.trim())) {
+				throw new IOException("Unsupported content encoding " + encoding);
+			}
+			byte[] inflated = inflate(content);
+			StringBuilder plain = new StringBuilder();
+			plain.append("Content-Length: ").append(inflated.length).append(CRLF);
+			appendOtherHeaders(headers, plain);
+			plain.append(CRLF);
+			ByteArrayOutputStream result = new ByteArrayOutputStream(plain.length() + inflated.length);
+			result.write(plain.toString().getBytes(StandardCharsets.US_ASCII));
+			result.write(inflated);
+			return result.toByteArray();
+		}
+
+		private boolean endsWithEmptyLine(ByteArrayOutputStream header) {
+			if (header.size() < 4) {
+				return false;
+			}
+			byte[] bytes = header.toByteArray();
+			int l = bytes.length;
+			return bytes[l - 4] == '\r' && bytes[l - 3] == '\n'
+					&& bytes[l - 2] == '\r' && bytes[l - 1] == '\n';
+		}
+
+		private byte[] readFully(int length) throws IOException {
+			byte[] content = new byte[length];
+			int read = 0;
+			while (read < length) {
+				int count = in.read(content, read, length - read);
+				if (count < 0) {
+					throw new IOException("Stream closed before the message was complete");
+				}
+				read += count;
+			}
+			return content;
+		}
+
+		private byte[] inflate(byte[] content) throws IOException {
+			inflater.reset();
+			inflater.setInput(content);
+			ByteArrayOutputStream inflated = new ByteArrayOutputStream(content.length * 4);
+			byte[] buffer = new byte[8192];
+			try {
+				while (!inflater.finished()) {
+					int count = inflater.inflate(buffer);
+					if (count == 0
+							&& (inflater.needsInput() || inflater.needsDictionary())) {
+						throw new IOException("Compressed message is truncated");
+					}
+					inflated.write(buffer, 0, count);
+				}
+			} catch (DataFormatException e) {
+				throw new IOException("Compressed message is corrupt", e);
+			}
+			return inflated.toByteArray();
+		}
+
+		@Override
+		public void close() throws IOException {
+			inflater.end();
+			in.close();
+		}
+	}
+
+	private static List<String> parseHeaders(String text) {
+		List<String> headers = new ArrayList<>();
+		for (String line : text.split(CRLF)) {
+			if (!line.isEmpty()) {
+				headers.add(line);
+			}
+		}
+		return headers;
+	}
+
+	private static String getHeader(List<String> headers, String name) {
+		for (String header : headers) {
+			int colon = header.indexOf(':');
+			if (0 < colon
+					&& name.equals(header.substring(0, colon).trim().toLowerCase(Locale.ENGLISH))) {
+				return header.substring(colon + 1).trim();
+			}
+		}
+		return null;
+	}
+
+	private static int getContentLength(List<String> headers) {
+		String length = getHeader(headers, CONTENT_LENGTH);
+		if (length == null) {
+			return -1;
+		}
+		try {
+			return Integer.parseInt(length);
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	/*
+	 * Appends all headers but the length and encoding, ex. the content type
+	 */
+	private static void appendOtherHeaders(List<String> headers, StringBuilder builder) {
+		for (String header : headers) {
+			String name = header.substring(0, Math.max(0, header.indexOf(':'))).trim().toLowerCase(Locale.ENGLISH);
+			if (!CONTENT_LENGTH.equals(name)
+					&& !CONTENT_ENCODING.equals(name)) {
+				builder.append(header).append(CRLF);
+			}
+		}
+	}
+
+	private static int indexOf(byte[] bytes, int start, byte[] pattern) {
+		for (int i = start; i <= bytes.length - pattern.length; i++) {
+			int j = 0;
+			while (j < pattern.length && bytes[i + j] == pattern[j]) {
+				j++;
+			}
+			if (j == pattern.length) {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
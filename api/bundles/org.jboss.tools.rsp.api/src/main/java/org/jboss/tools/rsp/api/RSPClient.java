@@ -14,6 +14,7 @@ import org.eclipse.lsp4j.jsonrpc.services.JsonNotification;
 import org.eclipse.lsp4j.jsonrpc.services.JsonRequest;
 import org.eclipse.lsp4j.jsonrpc.services.JsonSegment;
 import org.jboss.tools.rsp.api.dao.DiscoveryPath;
+import org.jboss.tools.rsp.api.dao.EventSequence;
 import org.jboss.tools.rsp.api.dao.JobHandle;
 import org.jboss.tools.rsp.api.dao.JobProgress;
 import org.jboss.tools.rsp.api.dao.JobRemoved;
@@ -21,6 +22,7 @@ import org.jboss.tools.rsp.api.dao.ServerHandle;
 import org.jboss.tools.rsp.api.dao.ServerProcess;
 import org.jboss.tools.rsp.api.dao.ServerProcessOutput;
 import org.jboss.tools.rsp.api.dao.ServerState;
+import org.jboss.tools.rsp.api.dao.ServerStateDelta;
 import org.jboss.tools.rsp.api.dao.StringPrompt;
 
 @JsonSegment("client")
@@ -100,6 +102,30 @@ public interface RSPClient {
 	@JsonNotification
 	void serverStateChanged(ServerState state);
 
+	/**
+	 * The `client/serverStateDelta` notification is sent by the server 
+	 * instead of `client/serverStateChanged` to the clients that registered 
+	 * the capability `rsp.server.state.delta`. It only holds what changed 
+	 * since the version that the server sent before.
+	 * 
+	 * A client that does not have the base version of a delta 
+	 * requests the full state with `server/getServerStateDelta`.
+	 */
+	@JsonNotification
+	void serverStateDelta(ServerStateDelta delta);
+
+	/**
+	 * The `client/eventSequence` notification is sent by the server to the 
+	 * clients that registered the capability `rsp.events.sequence`, 
+	 * after the events that were queued for them were sent. It holds the 
+	 * sequence number of the last of these events. 
+	 * 
+	 * A client that reconnects passes it to `server/resyncEvents` 
+	 * to get the events that it missed.
+	 */
+	@JsonNotification
+	void eventSequence(EventSequence sequence);
+
 	/**
 	 * The `client/serverProcessCreated` notification is sent
 	 * by the server to all clients when any server
@@ -15,14 +15,22 @@ import org.eclipse.lsp4j.jsonrpc.services.JsonNotification;
 import org.eclipse.lsp4j.jsonrpc.services.JsonRequest;
 import org.eclipse.lsp4j.jsonrpc.services.JsonSegment;
 import org.jboss.tools.rsp.api.dao.Attributes;
+import org.jboss.tools.rsp.api.dao.BulkPublishRequest;
+import org.jboss.tools.rsp.api.dao.BulkServerRequest;
+import org.jboss.tools.rsp.api.dao.BulkServerResult;
+import org.jboss.tools.rsp.api.dao.BulkStartRequest;
+import org.jboss.tools.rsp.api.dao.BulkStopRequest;
 import org.jboss.tools.rsp.api.dao.ClientCapabilitiesRequest;
 import org.jboss.tools.rsp.api.dao.CommandLineDetails;
 import org.jboss.tools.rsp.api.dao.CreateServerResponse;
 import org.jboss.tools.rsp.api.dao.DeployableState;
 import org.jboss.tools.rsp.api.dao.DiscoveryPath;
+import org.jboss.tools.rsp.api.dao.EventResyncResponse;
+import org.jboss.tools.rsp.api.dao.EventSequence;
 import org.jboss.tools.rsp.api.dao.DownloadSingleRuntimeRequest;
 import org.jboss.tools.rsp.api.dao.GetServerJsonResponse;
 import org.jboss.tools.rsp.api.dao.JobHandle;
+import org.jboss.tools.rsp.api.dao.JobHistoryResponse;
 import org.jboss.tools.rsp.api.dao.JobProgress;
 import org.jboss.tools.rsp.api.dao.LaunchAttributesRequest;
 import org.jboss.tools.rsp.api.dao.LaunchParameters;
@@ -34,8 +42,16 @@ import org.jboss.tools.rsp.api.dao.ServerCapabilitiesResponse;
 import org.jboss.tools.rsp.api.dao.ServerDeployableReference;
 import org.jboss.tools.rsp.api.dao.ServerHandle;
 import org.jboss.tools.rsp.api.dao.ServerLaunchMode;
+import org.jboss.tools.rsp.api.dao.ServerLogRequest;
+import org.jboss.tools.rsp.api.dao.ServerLogResponse;
+import org.jboss.tools.rsp.api.dao.ServerLogSearchRequest;
+import org.jboss.tools.rsp.api.dao.ServerLogSearchResponse;
+import org.jboss.tools.rsp.api.dao.ServerLogSubscription;
+import org.jboss.tools.rsp.api.dao.ServerLogTailRequest;
+import org.jboss.tools.rsp.api.dao.ServerMetrics;
 import org.jboss.tools.rsp.api.dao.ServerStartingAttributes;
 import org.jboss.tools.rsp.api.dao.ServerState;
+import org.jboss.tools.rsp.api.dao.ServerStateDelta;
 import org.jboss.tools.rsp.api.dao.ServerType;
 import org.jboss.tools.rsp.api.dao.StartServerResponse;
 import org.jboss.tools.rsp.api.dao.Status;
@@ -290,6 +306,50 @@ public interface RSPServer {
 	@JsonRequest
 	CompletableFuture<ServerState> getServerState(ServerHandle handle);
 
+	/**
+	 * The `server/getServerStateDelta` request is sent by the client to the 
+	 * server to get the full state of a server with a new version. The 
+	 * following `client/serverStateDelta` notifications for this server 
+	 * are based on it. 
+	 * 
+	 * @param handle the server
+	 * @return the full state, or <code>null</code> if the server does not exist
+	 */
+	@JsonRequest
+	CompletableFuture<ServerStateDelta> getServerStateDelta(ServerHandle handle);
+
+	/**
+	 * The `server/resyncEvents` request is sent by a client that reconnected 
+	 * to the server to get the events that it missed since the given one. 
+	 * The events, including the state changes of the servers, are sent as 
+	 * the usual notifications, followed by a `client/eventSequence` 
+	 * notification. 
+	 * 
+	 * Clients that registered the capability `rsp.events.sequence` send 
+	 * this request once connected, without a sequence if they connect for 
+	 * the first time. The states of all servers are sent on connect unless 
+	 * the client registered the capability before, it gets them with this 
+	 * request then. If the server no longer has all the missed events or no 
+	 * sequence is given, the states of all servers are sent and the response 
+	 * tells the client to reload.
+	 *
+	 * @param since the last sequence that the client got, or <code>null</code>
+	 * @return whether the client should reload
+	 */
+	@JsonRequest
+	CompletableFuture<EventResyncResponse> resyncEvents(EventSequence since);
+
+	/**
+	 * The `server/getServerMetrics` request is sent by the client to the 
+	 * server to get the latencies of the requests that the server answered 
+	 * per method, the number of requests that are in flight and queued, 
+	 * and the number of bytes that were received and sent.
+	 *
+	 * @return the metrics
+	 */
+	@JsonRequest
+	CompletableFuture<ServerMetrics> getServerMetrics();
+
 	/**
 	 * The `server/startServerAsync` request is sent by the client to the server to
 	 * start an existing server in the model.
@@ -368,6 +428,155 @@ public interface RSPServer {
 	public CompletableFuture<Status> publish(PublishServerRequest request);
 
 
+	/*
+	 * Bulk requests
+	 */
+
+	/**
+	 * The `server/getServerStates` request is sent by the client to the server 
+	 * to get the states of several servers with a single request.
+	 *
+	 * @param request the servers
+	 * @return a result per server, in the order of the request, 
+	 *         with the state of the server
+	 */
+	@JsonRequest
+	public CompletableFuture<List<BulkServerResult>> getServerStates(BulkServerRequest request);
+
+	/**
+	 * The `server/getDeployablesOfServers` request is sent by the client to 
+	 * the server to get the deployables of several servers with a single request.
+	 *
+	 * @param request the servers
+	 * @return a result per server, in the order of the request, 
+	 *         with the deployables of the server
+	 */
+	@JsonRequest
+	public CompletableFuture<List<BulkServerResult>> getDeployablesOfServers(BulkServerRequest request);
+
+	/**
+	 * The `server/publishServers` request is sent by the client to the server 
+	 * to publish several servers with a single request.
+	 *
+	 * @param request the servers and the kind of publish
+	 * @return a result per server, in the order of the request
+	 */
+	@JsonRequest
+	public CompletableFuture<List<BulkServerResult>> publishServers(BulkPublishRequest request);
+
+	/**
+	 * The `server/startServers` request is sent by the client to the server 
+	 * to start several servers with a single request, 
+	 * as `server/startServerAsync` does for one server.
+	 *
+	 * @param request the servers and the launch mode
+	 * @return a result per server, in the order of the request, 
+	 *         with the details of the launch
+	 */
+	@JsonRequest
+	public CompletableFuture<List<BulkServerResult>> startServers(BulkStartRequest request);
+
+	/**
+	 * The `server/stopServers` request is sent by the client to the server 
+	 * to stop several servers with a single request, 
+	 * as `server/stopServerAsync` does for one server.
+	 *
+	 * @param request the servers and whether to force the stop
+	 * @return a result per server, in the order of the request
+	 */
+	@JsonRequest
+	public CompletableFuture<List<BulkServerResult>> stopServers(BulkStopRequest request);
+
+
+	/*
+	 * Server logs
+	 */
+
+	/**
+	 * The `server/getServerLog` request is sent by the client to the server
+	 * to get a range of the console output that was spooled for a server. 
+	 * Clients that connect late or scroll back can page through the output 
+	 * with this request instead of depending on the 
+	 * `client/serverProcessOutputAppended` notifications.
+	 *
+	 * @param request the server and the byte range to get
+	 * @return the text of the requested range
+	 */
+	@JsonRequest
+	public CompletableFuture<ServerLogResponse> getServerLog(ServerLogRequest request);
+
+	/**
+	 * The `server/getServerLogTail` request is sent by the client to the server
+	 * to get the last lines of the console output that was spooled for a server.
+	 *
+	 * @param request the server and the number of lines to get
+	 * @return the text of the last lines
+	 */
+	@JsonRequest
+	public CompletableFuture<ServerLogResponse> getServerLogTail(ServerLogTailRequest request);
+
+	/**
+	 * The `server/searchServerLog` request is sent by the client to the server
+	 * to find the lines of the console output that was spooled for a server 
+	 * that match a regular expression.
+	 *
+	 * @param request the server, the expression and where to start searching
+	 * @return the matching lines
+	 */
+	@JsonRequest
+	public CompletableFuture<ServerLogSearchResponse> searchServerLog(ServerLogSearchRequest request);
+
+	/**
+	 * The `server/subscribeServerOutput` request is sent by the client to the server
+	 * to receive the console output of a server with 
+	 * `client/serverProcessOutputAppended` notifications. 
+	 * 
+	 * Clients that registered the capability `rsp.server.output.subscription` 
+	 * do not receive the output of any server until they subscribe to it. 
+	 * Other clients receive the output of all servers.
+	 *
+	 * @param server the server
+	 * @return a status
+	 */
+	@JsonRequest
+	public CompletableFuture<Status> subscribeServerOutput(ServerHandle server);
+
+	/**
+	 * The `server/unsubscribeServerOutput` request is sent by the client to the server
+	 * to stop receiving the console output of a server.
+	 *
+	 * @param server the server
+	 * @return a status
+	 */
+	@JsonRequest
+	public CompletableFuture<Status> unsubscribeServerOutput(ServerHandle server);
+
+	/**
+	 * The `server/subscribeServerLog` request is sent by the client to the server
+	 * to only receive the lines of the console output of a server that pass 
+	 * the given filters. The filters are applied on the server, output that 
+	 * does not pass them is never sent to the client. This request subscribes 
+	 * to the output of the server, as `server/subscribeServerOutput` does.
+	 * A new subscription for the same server replaces the previous one.
+	 *
+	 * @param subscription the server and the filters
+	 * @return a status whether the filters are valid
+	 */
+	@JsonRequest
+	public CompletableFuture<Status> subscribeServerLog(ServerLogSubscription subscription);
+
+	/**
+	 * The `server/unsubscribeServerLog` request is sent by the client to the server
+	 * to remove the filters that the client subscribed with for a server.
+	 * The client receives all of the console output of the server again.
+	 *
+	 * @param server the server
+	 * @return a status
+	 */
+	@JsonRequest
+	public CompletableFuture<Status> unsubscribeServerLog(ServerHandle server);
+
+
 	/*
 	 * Downloading Runtimes
 	 */
@@ -405,4 +614,16 @@ public interface RSPServer {
 	@JsonRequest
 	public CompletableFuture<Status> cancelJob(JobHandle job);
 
+	/**
+	 * The `server/getJobHistory` request is sent by the client to the 
+	 * server to get the jobs that completed recently, with the time each 
+	 * waited in the queue and ran, its outcome and the bytes it processed. 
+	 * The response also has the percentiles of these times per type of job 
+	 * and the number of jobs that are queued and running.
+	 * 
+	 * @return the job history
+	 */
+	@JsonRequest
+	public CompletableFuture<JobHistoryResponse> getJobHistory();
+
 }
@@ -8,6 +8,7 @@
  ******************************************************************************/
 package org.jboss.tools.rsp.api;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -24,12 +25,12 @@ public class SocketLauncher<T> implements Launcher<T> {
 
 	private final Launcher<T> launcher;
 	private Future<Void> startListeningResult;
-	private Socket socket;
+	private Closeable connection;
 
 	public SocketLauncher(Object localService, Class<T> remoteInterface, Socket socket) throws IOException {
 		this.launcher = Launcher.createLauncher(localService, remoteInterface, socket.getInputStream(),
 				socket.getOutputStream());
-		this.socket = socket;
+		this.connection = socket;
 	}
 
 	public SocketLauncher(Object localService, Class<T> remoteInterface, Socket socket, PrintWriter tracing)
@@ -37,7 +38,7 @@ public class SocketLauncher<T> implements Launcher<T> {
 		Launcher<T> launcherTmp = createLauncher(createBuilder(remoteInterface), localService,remoteInterface,
 				socket.getInputStream(),socket.getOutputStream(), tracing);
 		this.launcher = launcherTmp;
-		this.socket = socket;
+		this.connection = socket;
 	}
 
 	public SocketLauncher(Object localService, Class<T> remoteInterface, 
@@ -46,7 +47,26 @@ public class SocketLauncher<T> implements Launcher<T> {
 		Launcher<T> launcherTmp = createLauncher(b, localService,remoteInterface,
 				socket.getInputStream(),socket.getOutputStream(), tracing);
 		this.launcher = launcherTmp;
-		this.socket = socket;
+		this.connection = socket;
+	}
+
+	/**
+	 * Creates a launcher for a connection that is not a tcp {@link Socket},
+	 * ex. a unix domain socket channel.
+	 *
+	 * @param localService the service that answers the requests of the remote side
+	 * @param remoteInterface the interface of the remote side
+	 * @param in the stream to read the messages from
+	 * @param out the stream to write the messages to
+	 * @param connection the connection that is closed when this launcher is closed
+	 * @param b the builder to create the launcher with
+	 * @param tracing the writer to trace the messages to, or {@code null}
+	 */
+	public SocketLauncher(Object localService, Class<T> remoteInterface, 
+			InputStream in, OutputStream out, Closeable connection, 
+			Builder<T> b, PrintWriter tracing) {
+		this.launcher = createLauncher(b, localService, remoteInterface, in, out, tracing);
+		this.connection = connection;
 	}
 
 	protected Builder<T> createBuilder(Class<T> remoteInterface) {
@@ -88,7 +108,7 @@ public class SocketLauncher<T> implements Launcher<T> {
 			startListeningResult.cancel(true);
 		}
 		try {
-			socket.close();
+			connection.close();
 		} catch(IOException ioe) {
 		}
 	}
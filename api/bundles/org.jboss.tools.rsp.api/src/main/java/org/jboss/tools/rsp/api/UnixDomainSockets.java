@@ -0,0 +1,249 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * Opens unix domain sockets, which local clients can use instead of a
+ * tcp connection to localhost.
+ *
+ * Unix domain socket channels only exist in java 16 and later. They are
+ * looked up reflectively so that this bundle still runs on java 8, where
+ * {@link #isSupported()} returns {@code false}.
+ */
+public class UnixDomainSockets {
+
+	/* the file type bits of the unix file mode, and the type of a socket */
+	private static final int S_IFMT = 0170000;
+	private static final int S_IFSOCK = 0140000;
+
+	private static final ProtocolFamily UNIX = getUnixFamily();
+	private static final Method ADDRESS_OF = getAddressFactory();
+
+	private UnixDomainSockets() {
+		// inhibit instantiation
+	}
+
+	/**
+	 * Returns {@code true} if the running jvm supports unix domain sockets.
+	 */
+	public static boolean isSupported() {
+		return UNIX != null
+				&& ADDRESS_OF != null;
+	}
+
+	/**
+	 * Opens a server socket that listens on the given path. A socket that an
+	 * earlier run left at the given path is replaced. Any other file, or a
+	 * socket that is still listened on, is kept and the socket is not opened.
+	 *
+	 * @param path the path of the socket file
+	 * @return the server socket channel
+	 * @throws IOException if the socket could not be opened, the path is
+	 *             in use or unix domain sockets are not supported
+	 */
+	public static ServerSocketChannel listen(Path path) throws IOException {
+		ServerSocketChannel channel = (ServerSocketChannel) open(ServerSocketChannel.class);
+		try {
+			deleteStaleSocket(path);
+			channel.bind(toAddress(path));
+		} catch(IOException ioe) {
+			channel.close();
+			throw ioe;
+		}
+		return channel;
+	}
+
+	/**
+	 * Connects to the server socket that listens on the given path.
+	 *
+	 * @param path the path of the socket file
+	 * @return the connected socket channel
+	 * @throws IOException if the connection failed or unix domain sockets are
+	 *             not supported
+	 */
+	public static SocketChannel connect(Path path) throws IOException {
+		SocketChannel channel = (SocketChannel) open(SocketChannel.class);
+		try {
+			channel.connect(toAddress(path));
+		} catch(IOException ioe) {
+			channel.close();
+			throw ioe;
+		}
+		return channel;
+	}
+
+	private static void deleteStaleSocket(Path path) throws IOException {
+		BasicFileAttributes attributes;
+		try {
+			attributes = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+		} catch (NoSuchFileException e) {
+			return;
+		}
+		if (!isSocket(path, attributes)) {
+			throw new FileAlreadyExistsException(path.toString(), null,
+					"File exists and is not a unix domain socket");
+		}
+		if (isListenedOn(path)) {
+			throw new IOException("Unix domain socket " + path + " is in use by another process");
+		}
+		Files.delete(path);
+	}
+
+	private static boolean isSocket(Path path, BasicFileAttributes attributes) {
+		if (!attributes.isOther()) {
+			return false;
+		}
+		try {
+			int mode = (Integer) Files.getAttribute(path, "unix:mode", LinkOption.NOFOLLOW_LINKS);
+			return (mode & S_IFMT) == S_IFSOCK;
+		} catch (IOException | UnsupportedOperationException | IllegalArgumentException e) {
+			// the file type is unknown, sockets are the only special files that are expected here
+			return true;
+		}
+	}
+
+	private static boolean isListenedOn(Path path) {
+		try (SocketChannel channel = connect(path)) {
+			return true;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	private static Object open(Class<?> channelType) throws IOException {
+		if (!isSupported()) {
+			throw new IOException("Unix domain sockets require java 16 or later");
+		}
+		try {
+			return channelType.getMethod("open", ProtocolFamily.class).invoke(null, UNIX);
+		} catch (InvocationTargetException e) {
+			throw toIOException(e);
+		} catch (ReflectiveOperationException e) {
+			throw new IOException("Could not open unix domain socket", e);
+		}
+	}
+
+	private static SocketAddress toAddress(Path path) throws IOException {
+		try {
+			return (SocketAddress) ADDRESS_OF.invoke(null, path);
+		} catch (InvocationTargetException e) {
+			throw toIOException(e);
+		} catch (ReflectiveOperationException e) {
+			throw new IOException("Could not create unix domain socket address for " + path, e);
+		}
+	}
+
+	private static IOException toIOException(InvocationTargetException e) {
+		if (e.getCause() instanceof IOException) {
+			return (IOException) e.getCause();
+		}
+		return new IOException(e.getCause());
+	}
+
+	private static ProtocolFamily getUnixFamily() {
+		try {
+			return Enum.valueOf(StandardProtocolFamily.class, "UNIX");
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	private static Method getAddressFactory() {
+		try {
+			return Class.forName("java.net.UnixDomainSocketAddress").getMethod("of", Path.class);
+		} catch (ReflectiveOperationException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns a stream that reads from the given blocking channel.
+	 *
+	 * Unlike {@link java.nio.channels.Channels#newInputStream}, reading does
+	 * not hold the blocking lock of the channel and thus does not keep the
+	 * other side of the connection from writing at the same time.
+	 *
+	 * @param channel the channel to read from
+	 * @return the input stream
+	 */
+	public static InputStream getInputStream(SocketChannel channel) {
+		return new InputStream() {
+			@Override
+			public int read() throws IOException {
+				byte[] b = new byte[1];
+				int read = read(b, 0, 1);
+				return read < 0 ? -1 : b[0] & 0xff;
+			}
+
+			@Override
+			public int read(byte[] b, int off, int len) throws IOException {
+				if (len == 0) {
+					return 0;
+				}
+				int read = 0;
+				while (read == 0) {
+					read = channel.read(ByteBuffer.wrap(b, off, len));
+				}
+				return read;
+			}
+
+			@Override
+			public void close() throws IOException {
+				channel.close();
+			}
+		};
+	}
+
+	/**
+	 * Returns a stream that writes to the given blocking channel.
+	 *
+	 * @param channel the channel to write to
+	 * @return the output stream
+	 * @see #getInputStream(SocketChannel)
+	 */
+	public static OutputStream getOutputStream(SocketChannel channel) {
+		return new OutputStream() {
+			@Override
+			public void write(int b) throws IOException {
+				write(new byte[] { (byte) b }, 0, 1);
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				ByteBuffer buffer = ByteBuffer.wrap(b, off, len);
+				while (buffer.hasRemaining()) {
+					channel.write(buffer);
+				}
+			}
+
+			@Override
+			public void close() throws IOException {
+				channel.close();
+			}
+		};
+	}
+}
@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api.dao;
+
+import java.util.List;
+
+/**
+ * Requests to publish several servers at once.
+ */
+public class BulkPublishRequest {
+	private List<ServerHandle> servers;
+	private int kind;
+
+	public BulkPublishRequest() {
+
+	}
+
+	public BulkPublishRequest(List<ServerHandle> servers, int kind) {
+		this.servers = servers;
+		this.kind = kind;
+	}
+
+	public List<ServerHandle> getServers() {
+		return servers;
+	}
+
+	public void setServers(List<ServerHandle> servers) {
+		this.servers = servers;
+	}
+
+	/**
+	 * The kind of publish, see ServerManagementAPIConstants
+	 */
+	public int getKind() {
+		return kind;
+	}
+
+	public void setKind(int kind) {
+		this.kind = kind;
+	}
+}
@@ -0,0 +1,34 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api.dao;
+
+import java.util.List;
+
+/**
+ * Requests the same information for several servers at once.
+ */
+public class BulkServerRequest {
+	private List<ServerHandle> servers;
+
+	public BulkServerRequest() {
+
+	}
+
+	public BulkServerRequest(List<ServerHandle> servers) {
+		this.servers = servers;
+	}
+
+	public List<ServerHandle> getServers() {
+		return servers;
+	}
+
+	public void setServers(List<ServerHandle> servers) {
+		this.servers = servers;
+	}
+}
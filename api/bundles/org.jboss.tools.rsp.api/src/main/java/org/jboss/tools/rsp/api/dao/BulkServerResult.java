@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api.dao;
+
+import java.util.List;
+
+/**
+ * The result of a bulk request for a single server. Which of the fields 
+ * besides the server and the status are set depends on the request: 
+ * the state for `server/getServerStates`, the deployables for 
+ * `server/getDeployablesOfServers` and the details of the launch for 
+ * `server/startServers`.
+ */
+public class BulkServerResult {
+	private ServerHandle server;
+	private Status status;
+	private ServerState state;
+	private List<DeployableState> deployables;
+	private CommandLineDetails details;
+
+	public BulkServerResult() {
+
+	}
+
+	public BulkServerResult(ServerHandle server, Status status) {
+		this.server = server;
+		this.status = status;
+	}
+
+	public ServerHandle getServer() {
+		return server;
+	}
+
+	public void setServer(ServerHandle server) {
+		this.server = server;
+	}
+
+	/**
+	 * Whether the request succeeded for this server
+	 */
+	public Status getStatus() {
+		return status;
+	}
+
+	public void setStatus(Status status) {
+		this.status = status;
+	}
+
+	public ServerState getState() {
+		return state;
+	}
+
+	public void setState(ServerState state) {
+		this.state = state;
+	}
+
+	public List<DeployableState> getDeployables() {
+		return deployables;
+	}
+
+	public void setDeployables(List<DeployableState> deployables) {
+		this.deployables = deployables;
+	}
+
+	public CommandLineDetails getDetails() {
+		return details;
+	}
+
+	public void setDetails(CommandLineDetails details) {
+		this.details = details;
+	}
+}
@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api.dao;
+
+import java.util.List;
+
+/**
+ * Requests to start several servers at once in the same mode.
+ */
+public class BulkStartRequest {
+	private List<ServerHandle> servers;
+	private String mode;
+
+	public BulkStartRequest() {
+
+	}
+
+	public BulkStartRequest(List<ServerHandle> servers, String mode) {
+		this.servers = servers;
+		this.mode = mode;
+	}
+
+	public List<ServerHandle> getServers() {
+		return servers;
+	}
+
+	public void setServers(List<ServerHandle> servers) {
+		this.servers = servers;
+	}
+
+	/**
+	 * The launch mode, ex. run or debug
+	 */
+	public String getMode() {
+		return mode;
+	}
+
+	public void setMode(String mode) {
+		this.mode = mode;
+	}
+}
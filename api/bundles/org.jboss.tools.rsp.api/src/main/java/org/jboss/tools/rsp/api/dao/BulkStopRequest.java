@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api.dao;
+
+import java.util.List;
+
+/**
+ * Requests to stop several servers at once.
+ */
+public class BulkStopRequest {
+	private List<ServerHandle> servers;
+	private boolean force;
+
+	public BulkStopRequest() {
+
+	}
+
+	public BulkStopRequest(List<ServerHandle> servers, boolean force) {
+		this.servers = servers;
+		this.force = force;
+	}
+
+	public List<ServerHandle> getServers() {
+		return servers;
+	}
+
+	public void setServers(List<ServerHandle> servers) {
+		this.servers = servers;
+	}
+
+	/**
+	 * Whether to stop the servers even if they are marked as stopped
+	 */
+	public boolean isForce() {
+		return force;
+	}
+
+	public void setForce(boolean force) {
+		this.force = force;
+	}
+}
@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api.dao;
+
+/**
+ * The answer to a client that asked for the events it missed.
+ */
+public class EventResyncResponse {
+	private Status status;
+	private boolean full;
+
+	public EventResyncResponse() {
+	}
+
+	public EventResyncResponse(Status status, boolean full) {
+		this.status = status;
+		this.full = full;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	public void setStatus(Status status) {
+		this.status = status;
+	}
+
+	/**
+	 * Whether the missed events were no longer available and the state 
+	 * of all servers is sent instead. The client should reload anything 
+	 * else that it shows (ex. servers, discovery paths and jobs).
+	 */
+	public boolean isFull() {
+		return full;
+	}
+
+	public void setFull(boolean full) {
+		this.full = full;
+	}
+}
@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api.dao;
+
+/**
+ * The position of an event in the event journal of a server.
+ * 
+ * The journal id changes whenever the server is restarted, 
+ * sequence numbers of different journals cannot be compared.
+ */
+public class EventSequence {
+	private String journalId;
+	private long sequence;
+
+	public EventSequence() {
+	}
+
+	public EventSequence(String journalId, long sequence) {
+		this.journalId = journalId;
+		this.sequence = sequence;
+	}
+
+	public String getJournalId() {
+		return journalId;
+	}
+
+	public void setJournalId(String journalId) {
+		this.journalId = journalId;
+	}
+
+	/**
+	 * The sequence number of the event, 0 before the first event
+	 */
+	public long getSequence() {
+		return sequence;
+	}
+
+	public void setSequence(long sequence) {
+		this.sequence = sequence;
+	}
+}
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api.dao;
+
+/**
+ * A job that completed.
+ */
+public class JobHistoryEntry {
+	private JobHandle job;
+	private String type;
+	private Status status;
+	private long queued;
+	private long duration;
+	private long bytesProcessed;
+	private long completed;
+
+	public JobHistoryEntry() {
+	}
+
+	public JobHandle getJob() {
+		return job;
+	}
+
+	public void setJob(JobHandle job) {
+		this.job = job;
+	}
+
+	/**
+	 * The family of the job, or its name if it belongs to none
+	 */
+	public String getType() {
+		return type;
+	}
+
+	public void setType(String type) {
+		this.type = type;
+	}
+
+	/**
+	 * The outcome of the job
+	 */
+	public Status getStatus() {
+		return status;
+	}
+
+	public void setStatus(Status status) {
+		this.status = status;
+	}
+
+	/**
+	 * The milliseconds the job waited before it started
+	 */
+	public long getQueued() {
+		return queued;
+	}
+
+	public void setQueued(long queued) {
+		this.queued = queued;
+	}
+
+	/**
+	 * The milliseconds the job ran
+	 */
+	public long getDuration() {
+		return duration;
+	}
+
+	public void setDuration(long duration) {
+		this.duration = duration;
+	}
+
+	/**
+	 * The bytes the job downloaded or otherwise processed, -1 if it did not report any
+	 */
+	public long getBytesProcessed() {
+		return bytesProcessed;
+	}
+
+	public void setBytesProcessed(long bytesProcessed) {
+		this.bytesProcessed = bytesProcessed;
+	}
+
+	/**
+	 * The time the job completed at, in milliseconds since the epoch
+	 */
+	public long getCompleted() {
+		return completed;
+	}
+
+	public void setCompleted(long completed) {
+		this.completed = completed;
+	}
+}
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api.dao;
+
+import java.util.List;
+
+/**
+ * The jobs that completed recently and the statistics per type of job.
+ */
+public class JobHistoryResponse {
+	private List<JobHistoryEntry> jobs;
+	private List<JobTypeMetrics> types;
+	private long completed;
+	private int queued;
+	private int running;
+	private long longestQueued;
+
+	public JobHistoryResponse() {
+	}
+
+	/**
+	 * The completed jobs, the most recent last
+	 */
+	public List<JobHistoryEntry> getJobs() {
+		return jobs;
+	}
+
+	public void setJobs(List<JobHistoryEntry> jobs) {
+		this.jobs = jobs;
+	}
+
+	public List<JobTypeMetrics> getTypes() {
+		return types;
+	}
+
+	public void setTypes(List<JobTypeMetrics> types) {
+		this.types = types;
+	}
+
+	/**
+	 * The number of jobs that completed since the server started
+	 */
+	public long getCompleted() {
+		return completed;
+	}
+
+	public void setCompleted(long completed) {
+		this.completed = completed;
+	}
+
+	/**
+	 * The number of jobs that wait to be run
+	 */
+	public int getQueued() {
+		return queued;
+	}
+
+	public void setQueued(int queued) {
+		this.queued = queued;
+	}
+
+	/**
+	 * The number of jobs that are running
+	 */
+	public int getRunning() {
+		return running;
+	}
+
+	public void setRunning(int running) {
+		this.running = running;
+	}
+
+	/**
+	 * The milliseconds the job that waits for the longest time has been waiting
+	 */
+	public long getLongestQueued() {
+		return longestQueued;
+	}
+
+	public void setLongestQueued(long longestQueued) {
+		this.longestQueued = longestQueued;
+	}
+}
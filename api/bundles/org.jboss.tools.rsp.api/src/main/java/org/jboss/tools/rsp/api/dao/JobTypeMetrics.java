@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api.dao;
+
+/**
+ * The statistics of the completed jobs of a type that the server still keeps in its history.
+ */
+public class JobTypeMetrics {
+	private String type;
+	private int count;
+	private int failed;
+	private int canceled;
+	private long durationP50;
+	private long durationP95;
+	private long queuedP50;
+	private long queuedP95;
+	private long bytesProcessed;
+	private long bytesPerSecond;
+
+	public JobTypeMetrics() {
+	}
+
+	public String getType() {
+		return type;
+	}
+
+	public void setType(String type) {
+		this.type = type;
+	}
+
+	/**
+	 * The number of completed jobs of this type
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	public void setCount(int count) {
+		this.count = count;
+	}
+
+	/**
+	 * The number of jobs that completed with an error
+	 */
+	public int getFailed() {
+		return failed;
+	}
+
+	public void setFailed(int failed) {
+		this.failed = failed;
+	}
+
+	/**
+	 * The number of jobs that were canceled
+	 */
+	public int getCanceled() {
+		return canceled;
+	}
+
+	public void setCanceled(int canceled) {
+		this.canceled = canceled;
+	}
+
+	/**
+	 * The median of the milliseconds the jobs ran
+	 */
+	public long getDurationP50() {
+		return durationP50;
+	}
+
+	public void setDurationP50(long durationP50) {
+		this.durationP50 = durationP50;
+	}
+
+	/**
+	 * The 95th percentile of the milliseconds the jobs ran
+	 */
+	public long getDurationP95() {
+		return durationP95;
+	}
+
+	public void setDurationP95(long durationP95) {
+		this.durationP95 = durationP95;
+	}
+
+	/**
+	 * The median of the milliseconds the jobs waited before they started
+	 */
+	public long getQueuedP50() {
+		return queuedP50;
+	}
+
+	public void setQueuedP50(long queuedP50) {
+		this.queuedP50 = queuedP50;
+	}
+
+	/**
+	 * The 95th percentile of the milliseconds the jobs waited before they started
+	 */
+	public long getQueuedP95() {
+		return queuedP95;
+	}
+
+	public void setQueuedP95(long queuedP95) {
+		this.queuedP95 = queuedP95;
+	}
+
+	/**
+	 * The bytes the jobs processed in total
+	 */
+	public long getBytesProcessed() {
+		return bytesProcessed;
+	}
+
+	public void setBytesProcessed(long bytesProcessed) {
+		this.bytesProcessed = bytesProcessed;
+	}
+
+	/**
+	 * The bytes the jobs processed per second they ran, -1 if they processed none
+	 */
+	public long getBytesPerSecond() {
+		return bytesPerSecond;
+	}
+
+	public void setBytesPerSecond(long bytesPerSecond) {
+		this.bytesPerSecond = bytesPerSecond;
+	}
+}
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api.dao;
+
+/**
+ * The queue of a lane that the server runs requests in. 
+ */
+public class RequestLaneMetrics {
+	private String lane;
+	private int queued;
+	private int maxQueued;
+	private int active;
+	private long rejected;
+
+	public RequestLaneMetrics() {
+	}
+
+	public RequestLaneMetrics(String lane, int queued, int maxQueued, int active, long rejected) {
+		this.lane = lane;
+		this.queued = queued;
+		this.maxQueued = maxQueued;
+		this.active = active;
+		this.rejected = rejected;
+	}
+
+	public String getLane() {
+		return lane;
+	}
+
+	public void setLane(String lane) {
+		this.lane = lane;
+	}
+
+	/**
+	 * The number of requests that wait to be run
+	 */
+	public int getQueued() {
+		return queued;
+	}
+
+	public void setQueued(int queued) {
+		this.queued = queued;
+	}
+
+	/**
+	 * The highest number of requests that waited at once
+	 */
+	public int getMaxQueued() {
+		return maxQueued;
+	}
+
+	public void setMaxQueued(int maxQueued) {
+		this.maxQueued = maxQueued;
+	}
+
+	/**
+	 * The number of requests that are running
+	 */
+	public int getActive() {
+		return active;
+	}
+
+	public void setActive(int active) {
+		this.active = active;
+	}
+
+	/**
+	 * The number of requests that were rejected because too many were queued
+	 */
+	public long getRejected() {
+		return rejected;
+	}
+
+	public void setRejected(long rejected) {
+		this.rejected = rejected;
+	}
+}
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api.dao;
+
+import java.util.List;
+
+/**
+ * The latencies of the requests of a single method.
+ * 
+ * The histogram holds the number of requests that took at most 
+ * the given upper bound in milliseconds, and more than the bound before. 
+ * The last count is for the requests that took longer than the last bound.
+ */
+public class RequestMethodMetrics {
+	private String method;
+	private long count;
+	private long errors;
+	private double meanMillis;
+	private long maxMillis;
+	private List<Long> histogramBounds;
+	private List<Long> histogram;
+
+	public RequestMethodMetrics() {
+	}
+
+	public String getMethod() {
+		return method;
+	}
+
+	public void setMethod(String method) {
+		this.method = method;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public void setCount(long count) {
+		this.count = count;
+	}
+
+	/**
+	 * The number of requests that were answered with an error
+	 */
+	public long getErrors() {
+		return errors;
+	}
+
+	public void setErrors(long errors) {
+		this.errors = errors;
+	}
+
+	public double getMeanMillis() {
+		return meanMillis;
+	}
+
+	public void setMeanMillis(double meanMillis) {
+		this.meanMillis = meanMillis;
+	}
+
+	public long getMaxMillis() {
+		return maxMillis;
+	}
+
+	public void setMaxMillis(long maxMillis) {
+		this.maxMillis = maxMillis;
+	}
+
+	public List<Long> getHistogramBounds() {
+		return histogramBounds;
+	}
+
+	public void setHistogramBounds(List<Long> histogramBounds) {
+		this.histogramBounds = histogramBounds;
+	}
+
+	public List<Long> getHistogram() {
+		return histogram;
+	}
+
+	public void setHistogram(List<Long> histogram) {
+		this.histogram = histogram;
+	}
+}
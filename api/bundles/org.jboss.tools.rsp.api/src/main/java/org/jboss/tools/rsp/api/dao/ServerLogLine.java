@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api.dao;
+
+/**
+ * A line of the console output that was spooled for a server.
+ */
+public class ServerLogLine {
+	private long offset;
+	private String text;
+
+	public ServerLogLine() {
+
+	}
+
+	public ServerLogLine(long offset, String text) {
+		this.offset = offset;
+		this.text = text;
+	}
+
+	/**
+	 * The offset of the first byte of the line
+	 */
+	public long getOffset() {
+		return offset;
+	}
+
+	public void setOffset(long offset) {
+		this.offset = offset;
+	}
+
+	public String getText() {
+		return text;
+	}
+
+	public void setText(String text) {
+		this.text = text;
+	}
+}
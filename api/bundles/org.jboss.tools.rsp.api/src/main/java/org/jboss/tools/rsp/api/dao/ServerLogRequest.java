@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api.dao;
+
+/**
+ * Requests a range of the console output that was spooled for a server.
+ * Offsets are byte offsets into all output the server ever printed.
+ */
+public class ServerLogRequest {
+	private ServerHandle server;
+	private long offset;
+	private int length;
+
+	public ServerLogRequest() {
+
+	}
+
+	public ServerLogRequest(ServerHandle server, long offset, int length) {
+		this.server = server;
+		this.offset = offset;
+		this.length = length;
+	}
+
+	public ServerHandle getServer() {
+		return server;
+	}
+
+	public void setServer(ServerHandle server) {
+		this.server = server;
+	}
+
+	/**
+	 * The offset of the first byte to return.
+	 * Output that was rotated away is skipped.
+	 */
+	public long getOffset() {
+		return offset;
+	}
+
+	public void setOffset(long offset) {
+		this.offset = offset;
+	}
+
+	/**
+	 * The maximum number of bytes to return
+	 */
+	public int getLength() {
+		return length;
+	}
+
+	public void setLength(int length) {
+		this.length = length;
+	}
+}
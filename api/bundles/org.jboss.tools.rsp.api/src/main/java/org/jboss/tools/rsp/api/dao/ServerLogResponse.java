@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api.dao;
+
+/**
+ * A range of the console output that was spooled for a server.
+ */
+public class ServerLogResponse {
+	private Status status;
+	private long offset;
+	private long endOffset;
+	private long firstAvailableOffset;
+	private long size;
+	private String text;
+
+	public ServerLogResponse() {
+
+	}
+
+	public ServerLogResponse(Status status, long offset, long endOffset, long firstAvailableOffset, long size, String text) {
+		this.status = status;
+		this.offset = offset;
+		this.endOffset = endOffset;
+		this.firstAvailableOffset = firstAvailableOffset;
+		this.size = size;
+		this.text = text;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	public void setStatus(Status status) {
+		this.status = status;
+	}
+
+	/**
+	 * The offset of the first byte of the returned text
+	 */
+	public long getOffset() {
+		return offset;
+	}
+
+	public void setOffset(long offset) {
+		this.offset = offset;
+	}
+
+	/**
+	 * The offset after the last byte of the returned text.
+	 * Can be used as the offset of the next request.
+	 */
+	public long getEndOffset() {
+		return endOffset;
+	}
+
+	public void setEndOffset(long endOffset) {
+		this.endOffset = endOffset;
+	}
+
+	/**
+	 * The offset of the oldest output that is still available
+	 */
+	public long getFirstAvailableOffset() {
+		return firstAvailableOffset;
+	}
+
+	public void setFirstAvailableOffset(long firstAvailableOffset) {
+		this.firstAvailableOffset = firstAvailableOffset;
+	}
+
+	/**
+	 * The number of bytes that the server printed so far
+	 */
+	public long getSize() {
+		return size;
+	}
+
+	public void setSize(long size) {
+		this.size = size;
+	}
+
+	public String getText() {
+		return text;
+	}
+
+	public void setText(String text) {
+		this.text = text;
+	}
+}
@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api.dao;
+
+/**
+ * Searches the console output that was spooled for a server for lines
+ * that match a regular expression.
+ */
+public class ServerLogSearchRequest {
+	private ServerHandle server;
+	private String pattern;
+	private long offset;
+	private int maxResults;
+
+	public ServerLogSearchRequest() {
+
+	}
+
+	public ServerLogSearchRequest(ServerHandle server, String pattern, long offset, int maxResults) {
+		this.server = server;
+		this.pattern = pattern;
+		this.offset = offset;
+		this.maxResults = maxResults;
+	}
+
+	public ServerHandle getServer() {
+		return server;
+	}
+
+	public void setServer(ServerHandle server) {
+		this.server = server;
+	}
+
+	/**
+	 * The regular expression that lines have to contain a match for
+	 */
+	public String getPattern() {
+		return pattern;
+	}
+
+	public void setPattern(String pattern) {
+		this.pattern = pattern;
+	}
+
+	/**
+	 * The offset to start searching at
+	 */
+	public long getOffset() {
+		return offset;
+	}
+
+	public void setOffset(long offset) {
+		this.offset = offset;
+	}
+
+	/**
+	 * The maximum number of lines to return
+	 */
+	public int getMaxResults() {
+		return maxResults;
+	}
+
+	public void setMaxResults(int maxResults) {
+		this.maxResults = maxResults;
+	}
+}
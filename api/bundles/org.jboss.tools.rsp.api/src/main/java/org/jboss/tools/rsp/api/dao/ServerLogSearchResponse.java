@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api.dao;
+
+import java.util.List;
+
+/**
+ * The lines of the spooled console output that matched a search.
+ */
+public class ServerLogSearchResponse {
+	private Status status;
+	private List<ServerLogLine> lines;
+	private long nextOffset;
+
+	public ServerLogSearchResponse() {
+
+	}
+
+	public ServerLogSearchResponse(Status status, List<ServerLogLine> lines, long nextOffset) {
+		this.status = status;
+		this.lines = lines;
+		this.nextOffset = nextOffset;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	public void setStatus(Status status) {
+		this.status = status;
+	}
+
+	public List<ServerLogLine> getLines() {
+		return lines;
+	}
+
+	public void setLines(List<ServerLogLine> lines) {
+		this.lines = lines;
+	}
+
+	/**
+	 * The offset to continue searching at if the maximum
+	 * number of results was reached, otherwise the end of the log.
+	 */
+	public long getNextOffset() {
+		return nextOffset;
+	}
+
+	public void setNextOffset(long nextOffset) {
+		this.nextOffset = nextOffset;
+	}
+}
@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api.dao;
+
+import java.util.List;
+
+/**
+ * Filters the console output of a server that is sent to a client. 
+ * Only lines that pass all filters that are set are sent.
+ */
+public class ServerLogSubscription {
+	private ServerHandle server;
+	private List<Integer> streamTypes;
+	private String minLevel;
+	private List<String> includes;
+	private List<String> excludes;
+	private int maxLinesPerSecond;
+
+	public ServerLogSubscription() {
+
+	}
+
+	public ServerLogSubscription(ServerHandle server, List<Integer> streamTypes, String minLevel,
+			List<String> includes, List<String> excludes, int maxLinesPerSecond) {
+		this.server = server;
+		this.streamTypes = streamTypes;
+		this.minLevel = minLevel;
+		this.includes = includes;
+		this.excludes = excludes;
+		this.maxLinesPerSecond = maxLinesPerSecond;
+	}
+
+	public ServerHandle getServer() {
+		return server;
+	}
+
+	public void setServer(ServerHandle server) {
+		this.server = server;
+	}
+
+	/**
+	 * The streams to send, one of the STREAM_TYPE constants in 
+	 * ServerManagementAPIConstants. All streams are sent if empty. 
+	 */
+	public List<Integer> getStreamTypes() {
+		return streamTypes;
+	}
+
+	public void setStreamTypes(List<Integer> streamTypes) {
+		this.streamTypes = streamTypes;
+	}
+
+	/**
+	 * The lowest level to send, one of TRACE, DEBUG, INFO, WARN, ERROR or FATAL. 
+	 * Lines without a level have the level of the line before them 
+	 * (ex. stack traces). All levels are sent if empty.
+	 */
+	public String getMinLevel() {
+		return minLevel;
+	}
+
+	public void setMinLevel(String minLevel) {
+		this.minLevel = minLevel;
+	}
+
+	/**
+	 * Regular expressions of which a line has to match at least one. 
+	 * All lines are sent if empty.
+	 */
+	public List<String> getIncludes() {
+		return includes;
+	}
+
+	public void setIncludes(List<String> includes) {
+		this.includes = includes;
+	}
+
+	/**
+	 * Regular expressions of which a line may match none.
+	 */
+	public List<String> getExcludes() {
+		return excludes;
+	}
+
+	public void setExcludes(List<String> excludes) {
+		this.excludes = excludes;
+	}
+
+	/**
+	 * The maximum number of lines that are sent per second, 
+	 * or 0 for no limit. 
+	 */
+	public int getMaxLinesPerSecond() {
+		return maxLinesPerSecond;
+	}
+
+	public void setMaxLinesPerSecond(int maxLinesPerSecond) {
+		this.maxLinesPerSecond = maxLinesPerSecond;
+	}
+}
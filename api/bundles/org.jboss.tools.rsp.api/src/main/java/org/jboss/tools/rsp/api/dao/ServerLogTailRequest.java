@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api.dao;
+
+/**
+ * Requests the last lines of the console output that was spooled for a server.
+ */
+public class ServerLogTailRequest {
+	private ServerHandle server;
+	private int lines;
+
+	public ServerLogTailRequest() {
+
+	}
+
+	public ServerLogTailRequest(ServerHandle server, int lines) {
+		this.server = server;
+		this.lines = lines;
+	}
+
+	public ServerHandle getServer() {
+		return server;
+	}
+
+	public void setServer(ServerHandle server) {
+		this.server = server;
+	}
+
+	/**
+	 * The number of lines to return
+	 */
+	public int getLines() {
+		return lines;
+	}
+
+	public void setLines(int lines) {
+		this.lines = lines;
+	}
+}
@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api.dao;
+
+import java.util.List;
+
+/**
+ * Metrics of the requests that the server handled since it was started.
+ */
+public class ServerMetrics {
+	private int inFlight;
+	private long bytesReceived;
+	private long bytesSent;
+	private List<RequestMethodMetrics> methods;
+	private List<RequestLaneMetrics> lanes;
+
+	public ServerMetrics() {
+	}
+
+	/**
+	 * The number of requests that were received but not answered yet
+	 */
+	public int getInFlight() {
+		return inFlight;
+	}
+
+	public void setInFlight(int inFlight) {
+		this.inFlight = inFlight;
+	}
+
+	/**
+	 * The number of bytes that were received from all clients
+	 */
+	public long getBytesReceived() {
+		return bytesReceived;
+	}
+
+	public void setBytesReceived(long bytesReceived) {
+		this.bytesReceived = bytesReceived;
+	}
+
+	/**
+	 * The number of bytes that were sent to all clients
+	 */
+	public long getBytesSent() {
+		return bytesSent;
+	}
+
+	public void setBytesSent(long bytesSent) {
+		this.bytesSent = bytesSent;
+	}
+
+	public List<RequestMethodMetrics> getMethods() {
+		return methods;
+	}
+
+	public void setMethods(List<RequestMethodMetrics> methods) {
+		this.methods = methods;
+	}
+
+	public List<RequestLaneMetrics> getLanes() {
+		return lanes;
+	}
+
+	public void setLanes(List<RequestLaneMetrics> lanes) {
+		this.lanes = lanes;
+	}
+}
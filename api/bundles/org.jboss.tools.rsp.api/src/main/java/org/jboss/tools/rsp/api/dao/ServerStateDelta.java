@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api.dao;
+
+import java.util.List;
+
+/**
+ * The changes to the state of a server since a given version. 
+ * 
+ * Fields that did not change are <code>null</code>. A full delta holds 
+ * all fields, its deployables are all listed as added, and it replaces 
+ * whatever state the client has. 
+ * A client that does not have the base version of a delta that is 
+ * not full should request the full state. Deltas whose version is 
+ * not newer than the version the client has are to be ignored.
+ */
+public class ServerStateDelta {
+
+	private ServerHandle server;
+	private long baseVersion;
+	private long version;
+	private boolean full;
+	private Integer state;
+	private Integer publishState;
+	private String runMode;
+	private List<DeployableState> addedDeployables;
+	private List<DeployableState> changedDeployables;
+	private List<DeployableReference> removedDeployables;
+
+	public ServerStateDelta() {
+	}
+
+	public ServerHandle getServer() {
+		return server;
+	}
+
+	public void setServer(ServerHandle server) {
+		this.server = server;
+	}
+
+	/**
+	 * The version that this delta applies to, 0 for a full delta
+	 */
+	public long getBaseVersion() {
+		return baseVersion;
+	}
+
+	public void setBaseVersion(long baseVersion) {
+		this.baseVersion = baseVersion;
+	}
+
+	/**
+	 * The version of the state once this delta is applied
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	public void setVersion(long version) {
+		this.version = version;
+	}
+
+	public boolean isFull() {
+		return full;
+	}
+
+	public void setFull(boolean full) {
+		this.full = full;
+	}
+
+	public Integer getState() {
+		return state;
+	}
+
+	public void setState(Integer state) {
+		this.state = state;
+	}
+
+	public Integer getPublishState() {
+		return publishState;
+	}
+
+	public void setPublishState(Integer publishState) {
+		this.publishState = publishState;
+	}
+
+	public String getRunMode() {
+		return runMode;
+	}
+
+	public void setRunMode(String runMode) {
+		this.runMode = runMode;
+	}
+
+	public List<DeployableState> getAddedDeployables() {
+		return addedDeployables;
+	}
+
+	public void setAddedDeployables(List<DeployableState> addedDeployables) {
+		this.addedDeployables = addedDeployables;
+	}
+
+	public List<DeployableState> getChangedDeployables() {
+		return changedDeployables;
+	}
+
+	public void setChangedDeployables(List<DeployableState> changedDeployables) {
+		this.changedDeployables = changedDeployables;
+	}
+
+	public List<DeployableReference> getRemovedDeployables() {
+		return removedDeployables;
+	}
+
+	public void setRemovedDeployables(List<DeployableReference> removedDeployables) {
+		this.removedDeployables = removedDeployables;
+	}
+}
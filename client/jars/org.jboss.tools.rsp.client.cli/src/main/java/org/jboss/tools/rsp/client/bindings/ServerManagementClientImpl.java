@@ -14,8 +14,10 @@ import java.util.concurrent.CompletableFuture;
 import org.jboss.tools.rsp.api.RSPClient;
 import org.jboss.tools.rsp.api.RSPServer;
 import org.jboss.tools.rsp.api.ServerManagementAPIConstants;
+import org.jboss.tools.rsp.api.dao.DeployableReference;
 import org.jboss.tools.rsp.api.dao.DeployableState;
 import org.jboss.tools.rsp.api.dao.DiscoveryPath;
+import org.jboss.tools.rsp.api.dao.EventSequence;
 import org.jboss.tools.rsp.api.dao.JobHandle;
 import org.jboss.tools.rsp.api.dao.JobProgress;
 import org.jboss.tools.rsp.api.dao.JobRemoved;
@@ -23,6 +25,7 @@ import org.jboss.tools.rsp.api.dao.ServerHandle;
 import org.jboss.tools.rsp.api.dao.ServerProcess;
 import org.jboss.tools.rsp.api.dao.ServerProcessOutput;
 import org.jboss.tools.rsp.api.dao.ServerState;
+import org.jboss.tools.rsp.api.dao.ServerStateDelta;
 import org.jboss.tools.rsp.api.dao.StringPrompt;
 import org.jboss.tools.rsp.client.cli.InputHandler;
 import org.jboss.tools.rsp.client.cli.InputProvider;
@@ -92,6 +95,50 @@ public class ServerManagementClientImpl implements RSPClient {
 		System.out.println(sb.toString());
 	}
 
+	@Override
+	public void serverStateDelta(ServerStateDelta delta) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("Server state delta: \n  Server:");
+		sb.append(delta.getServer().getType() + ":" + delta.getServer().getId()); 
+		sb.append("\n  Version: " + delta.getBaseVersion() + " -> " + delta.getVersion());
+		if( delta.getState() != null ) {
+			sb.append("\n  State: ");
+			sb.append(getRunStateString(delta.getState()));
+		}
+		if( delta.getRunMode() != null ) {
+			sb.append("\n  Mode: ");
+			sb.append(delta.getRunMode());
+		}
+		if( delta.getPublishState() != null ) {
+			sb.append("\n  Publish State: ");
+			sb.append(getPublishStateString(delta.getPublishState()));
+		}
+		appendDeployables(sb, "Added", delta.getAddedDeployables());
+		appendDeployables(sb, "Changed", delta.getChangedDeployables());
+		if( delta.getRemovedDeployables() != null ) {
+			for( DeployableReference ref : delta.getRemovedDeployables()) {
+				sb.append("\n  Removed: " + ref.getLabel());
+			}
+		}
+		System.out.println(sb.toString());
+	}
+
+	@Override
+	public void eventSequence(EventSequence sequence) {
+		// the cli does not resync
+	}
+
+	private void appendDeployables(StringBuilder sb, String label, List<DeployableState> deployments) {
+		if( deployments == null ) {
+			return;
+		}
+		for( DeployableState ds : deployments ) {
+			sb.append("\n  " + label + ": " + ds.getReference().getLabel());
+			sb.append(" [" + getRunStateString(ds.getState()) + "]");
+			sb.append(" [" + getPublishStateString(ds.getPublishState()) + "]");
+		}
+	}
+
 	@Override
 	public void serverProcessCreated(ServerProcess process) {
 		System.out.println("Server process created: " + 
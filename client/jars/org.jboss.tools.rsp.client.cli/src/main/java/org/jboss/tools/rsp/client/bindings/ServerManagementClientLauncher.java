@@ -8,12 +8,20 @@
  ******************************************************************************/
 package org.jboss.tools.rsp.client.bindings;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.Socket;
 import java.net.UnknownHostException;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
 
+import org.eclipse.lsp4j.jsonrpc.Launcher;
+import org.jboss.tools.rsp.api.MessageCompression;
 import org.jboss.tools.rsp.api.RSPServer;
 import org.jboss.tools.rsp.api.SocketLauncher;
+import org.jboss.tools.rsp.api.UnixDomainSockets;
 import org.jboss.tools.rsp.client.cli.InputProvider;
 
 public class ServerManagementClientLauncher {
@@ -23,6 +31,7 @@ public class ServerManagementClientLauncher {
 	private Socket socket;
 	private String host;
 	private int port;
+	private Path socketPath;
 	private boolean connectionOpen = false;
 	private InputProvider provider;
 	private IClientConnectionClosedListener listener;
@@ -31,14 +40,38 @@ public class ServerManagementClientLauncher {
 		this.port = port;
 		this.provider = provider;
 	}
+
+	/**
+	 * Creates a launcher that connects to the unix domain socket that a
+	 * local server listens on.
+	 */
+	public ServerManagementClientLauncher(Path socketPath, InputProvider provider) {
+		this.socketPath = socketPath;
+		this.provider = provider;
+	}
 	
 	public void launch() throws UnknownHostException, IOException {
 		// create the chat client
 		ServerManagementClientImpl client = new ServerManagementClientImpl();
 		// connect to the server
-		this.socket = new Socket(host, port);
-		// open a JSON-RPC connection for the opened socket
-		this.launcher = new SocketLauncher<>(client, RSPServer.class, socket);
+		InputStream in = null;
+		OutputStream out = null;
+		Closeable connection = null;
+		if( socketPath != null ) {
+			SocketChannel channel = UnixDomainSockets.connect(socketPath);
+			in = UnixDomainSockets.getInputStream(channel);
+			out = UnixDomainSockets.getOutputStream(channel);
+			connection = channel;
+		} else {
+			this.socket = new Socket(host, port);
+			in = socket.getInputStream();
+			out = socket.getOutputStream();
+			connection = socket;
+		}
+		// open a JSON-RPC connection, the server may compress large messages
+		this.launcher = new SocketLauncher<>(client, RSPServer.class, 
+				MessageCompression.decompress(in), out, connection, 
+				new Launcher.Builder<RSPServer>(), null);
 		/*
          * Start listening for incoming message.
          * When the JSON-RPC connection is closed, 
@@ -10,6 +10,7 @@ package org.jboss.tools.rsp.client.cli;
 
 import java.io.Console;
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Scanner;
@@ -17,6 +18,7 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 
 import org.jboss.tools.rsp.api.ICapabilityKeys;
+import org.jboss.tools.rsp.api.MessageCompression;
 import org.jboss.tools.rsp.api.dao.ClientCapabilitiesRequest;
 import org.jboss.tools.rsp.client.bindings.IClientConnectionClosedListener;
 import org.jboss.tools.rsp.client.bindings.ServerManagementClientLauncher;
@@ -54,8 +56,16 @@ public class ServerManagementCLI implements InputProvider, IClientConnectionClos
 		this.launcher = launch(host, port);
 	}
 
+	/*
+	 * Host "unix" connects to the unix domain socket at the path given as port
+	 */
 	private ServerManagementClientLauncher launch(String host, String port) throws IOException, InterruptedException, ExecutionException {
-		ServerManagementClientLauncher launcher = new ServerManagementClientLauncher(host, Integer.parseInt(port), this);
+		ServerManagementClientLauncher launcher = null;
+		if ("unix".equals(host)) {
+			launcher = new ServerManagementClientLauncher(Paths.get(port), this);
+		} else {
+			launcher = new ServerManagementClientLauncher(host, Integer.parseInt(port), this);
+		}
 		launcher.setListener(this);
 		launcher.launch();
 		ClientCapabilitiesRequest clientCapRequest = createClientCapabilitiesRequest();
@@ -67,6 +77,7 @@ public class ServerManagementCLI implements InputProvider, IClientConnectionClos
 		Map<String, String> clientCap = new HashMap<>();
 		clientCap.put(ICapabilityKeys.STRING_PROTOCOL_VERSION, ICapabilityKeys.PROTOCOL_VERSION_0_10_0);
 		clientCap.put(ICapabilityKeys.BOOLEAN_STRING_PROMPT, Boolean.toString(true));
+		clientCap.put(ICapabilityKeys.STRING_MESSAGE_COMPRESSION, MessageCompression.ENCODING_DEFLATE);
 		return new ClientCapabilitiesRequest(clientCap);
 	}
 
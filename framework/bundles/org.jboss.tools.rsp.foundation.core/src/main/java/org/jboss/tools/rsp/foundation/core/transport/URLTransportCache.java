@@ -399,11 +399,7 @@ public class URLTransportCache {
 		final Integer[] worked = new Integer[] { Integer.valueOf(0) };
 		try(ReadableByteChannel readableByteChannel = Channels.newChannel(istream);
 				FileChannel fileChannel = out.getChannel()) {
-			if (contentLength == -1) {
-				fileChannel.transferFrom(readableByteChannel, 0, Long.MAX_VALUE);
-				return Status.OK_STATUS;
-			}
-			
+			// an unknown content length reports no progress but still checks for cancelation
 			ProgressCallBack progmonCallback = new ProgressCallBack() {
 				@Override
 				public void callback(CallbackByteChannel rbc, double progress) throws CancellationException {
@@ -419,8 +415,16 @@ public class URLTransportCache {
 				}
 			};
 			CallbackByteChannel cbbc = new CallbackByteChannel(readableByteChannel, contentLength, progmonCallback);
-			fileChannel.transferFrom(cbbc, 0, Long.MAX_VALUE);
+			try {
+				fileChannel.transferFrom(cbbc, 0, Long.MAX_VALUE);
+			} catch(IOException ioe) {
+				if( !monitor.isCanceled()) 
+					throw ioe;
+			}
 			
+			if( monitor.isCanceled()) {
+				return Status.CANCEL_STATUS;
+			}
 			if( cbbc.getError() != null ) {
 				monitor.setCanceled(true);
 				return new Status(IStatus.ERROR, 
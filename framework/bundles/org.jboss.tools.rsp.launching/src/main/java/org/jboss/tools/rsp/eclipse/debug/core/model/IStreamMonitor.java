@@ -33,6 +33,24 @@ public interface IStreamMonitor {
 	 * @param listener the listener to add
 	 */
 	public void addListener(IStreamListener listener);
+	/**
+	 * Adds the given listener and returns the contents of the stream at 
+	 * that moment, atomically. Text that is appended afterwards is sent 
+	 * to the listener, it is never part of the returned contents.
+	 * <p>
+	 * The default implementation synchronizes on this monitor. Monitors 
+	 * that append without holding that lock must override it.
+	 * </p>
+	 *
+	 * @param listener the listener to add
+	 * @return the stream contents as a <code>String</code>
+	 */
+	public default String addListenerAndGetContents(IStreamListener listener) {
+		synchronized (this) {
+			addListener(listener);
+			return getContents();
+		}
+	}
 	/**
 	 * Returns the entire current contents of the stream. An empty
 	 * String is returned if the stream is empty.
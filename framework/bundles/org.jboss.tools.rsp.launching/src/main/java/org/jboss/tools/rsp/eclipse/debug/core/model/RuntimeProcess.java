@@ -22,6 +22,7 @@ import org.jboss.tools.rsp.eclipse.debug.core.DebugException;
 import org.jboss.tools.rsp.eclipse.debug.core.DebugPluginConstants;
 import org.jboss.tools.rsp.eclipse.debug.core.ILaunch;
 import org.jboss.tools.rsp.eclipse.debug.internal.core.NullStreamsProxy;
+import org.jboss.tools.rsp.eclipse.debug.internal.core.StreamPump;
 import org.jboss.tools.rsp.eclipse.debug.internal.core.StreamsProxy;
 import org.jboss.tools.rsp.launching.RuntimeProcessEventManager;
 
@@ -46,7 +47,6 @@ public class RuntimeProcess implements IProcess {
 	private static final int TIME_TO_WAIT_FOR_THREAD_DEATH = 500; // ms
 
 	private static final String RuntimeProcess_Exit_value_not_available_until_process_terminates__1="Exit value not available until process terminates.";
-	private static final String ProcessMonitorJob_0="Process monitor";
 	private static final String RuntimeProcess_terminate_failed="Terminate failed";
 	
 	
@@ -66,10 +66,10 @@ public class RuntimeProcess implements IProcess {
 	private int fExitValue;
 
 	/**
-	 * The monitor which listens for this runtime process' system process
+	 * The watch which listens for this runtime process' system process
 	 * to terminate.
 	 */
-	private ProcessMonitorThread fMonitor;
+	private StreamPump.Registration fMonitor;
 
 	/**
 	 * The streams proxy for this process
@@ -123,8 +123,7 @@ public class RuntimeProcess implements IProcess {
 		fCaptureOutput = !("false".equals(captureOutput)); //$NON-NLS-1$
 
 		fStreamsProxy= createStreamsProxy();
-		fMonitor = new ProcessMonitorThread(this);
-		fMonitor.start();
+		fMonitor = StreamPump.getDefault().watch(process, () -> terminated());
 		launch.addProcess(this);
 		fireCreationEvent();
 	}
@@ -223,7 +222,7 @@ public class RuntimeProcess implements IProcess {
 			}
 			// clean-up
 			if (fMonitor != null) {
-				fMonitor.killThread();
+				fMonitor.cancel();
 				fMonitor = null;
 			}
 			IStatus status = new Status(IStatus.ERROR, DebugPluginConstants.DEBUG_CORE_ID, DebugException.TARGET_REQUEST_FAILED, RuntimeProcess_terminate_failed, null);
@@ -382,90 +381,4 @@ public class RuntimeProcess implements IProcess {
 		}
 		throw new DebugException(new Status(IStatus.ERROR, DebugPluginConstants.DEBUG_CORE_ID, DebugException.TARGET_REQUEST_FAILED, RuntimeProcess_Exit_value_not_available_until_process_terminates__1, null));
 	}
-
-	/**
-	 * Monitors a system process, waiting for it to terminate, and
-	 * then notifies the associated runtime process.
-	 */
-	class ProcessMonitorThread extends Thread {
-
-		/**
-		 * Whether the thread has been told to exit.
-		 */
-		protected boolean fExit;
-		/**
-		 * The underlying <code>java.lang.Process</code> being monitored.
-		 */
-		protected Process fOSProcess;
-		/**
-		 * The <code>IProcess</code> which will be informed when this
-		 * monitor detects that the underlying process has terminated.
-		 */
-		protected RuntimeProcess fRuntimeProcess;
-
-		/**
-		 * The <code>Thread</code> which is monitoring the underlying process.
-		 */
-		protected Thread fThread;
-
-		/**
-		 * A lock protecting access to <code>fThread</code>.
-		 */
-		private final Object fThreadLock = new Object();
-
-		/**
-		 * @see Thread#run()
-		 */
-		@Override
-		public void run() {
-			synchronized (fThreadLock) {
-				if (fExit) {
-					return;
-				}
-				fThread = Thread.currentThread();
-			}
-			while (fOSProcess != null) {
-				try {
-					fOSProcess.waitFor();
-				} catch (InterruptedException ie) {
-					// clear interrupted state
-					Thread.interrupted();
-				} finally {
-					fOSProcess = null;
-					fRuntimeProcess.terminated();
-				}
-			}
-			fThread = null;
-		}
-
-		/**
-		 * Creates a new process monitor and starts monitoring the process for
-		 * termination.
-		 *
-		 * @param process process to monitor for termination
-		 */
-		public ProcessMonitorThread(RuntimeProcess process) {
-			super(ProcessMonitorJob_0);
-			setDaemon(true);
-			fRuntimeProcess= process;
-			fOSProcess= process.getSystemProcess();
-		}
-
-		/**
-		 * Kills the monitoring thread.
-		 *
-		 * This method is to be useful for dealing with the error
-		 * case of an underlying process which has not informed this
-		 * monitor of its termination.
-		 */
-		protected void killThread() {
-			synchronized (fThreadLock) {
-				if (fThread == null) {
-					fExit = true;
-				} else {
-					fThread.interrupt();
-				}
-			}
-		}
-	}
 }
@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.eclipse.debug.internal.core;
+
+/**
+ * A character buffer that holds at most a given number of characters. Once
+ * it is full, the oldest characters are dropped to make room for the new
+ * ones (ring buffer). The number of characters that were dropped is
+ * counted.
+ *
+ * The backing array grows on demand up to the capacity, a buffer that only
+ * ever gets a few lines does not allocate the full capacity.
+ *
+ * This class is not thread safe.
+ */
+public class BoundedCharBuffer {
+
+	private static final int INITIAL_SIZE = 1024;
+
+	private final int capacity;
+	private char[] chars;
+	/* index of the oldest character */
+	private int start;
+	private int length;
+	private long evicted;
+
+	/**
+	 * @param capacity the maximum number of characters that are held
+	 */
+	public BoundedCharBuffer(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Capacity must be positive");
+		}
+		this.capacity = capacity;
+		this.chars = new char[Math.min(INITIAL_SIZE, capacity)];
+	}
+
+	/**
+	 * Appends the given text. The oldest characters are dropped if the text
+	 * does not fit.
+	 * 
+	 * @param text the text to append
+	 */
+	public void append(String text) {
+		if (text == null) {
+			return;
+		}
+		int toAppend = text.length();
+		int offset = 0;
+		if (capacity < toAppend) {
+			// only the tail of the text fits
+			offset = toAppend - capacity;
+			this.evicted += offset;
+			toAppend = capacity;
+		}
+		ensureSize(length + toAppend);
+		int overflow = length + toAppend - capacity;
+		if (overflow > 0) {
+			this.start = (start + overflow) % chars.length;
+			this.length -= overflow;
+			this.evicted += overflow;
+		}
+		int end = (start + length) % chars.length;
+		int firstPart = Math.min(toAppend, chars.length - end);
+		text.getChars(offset, offset + firstPart, chars, end);
+		text.getChars(offset + firstPart, offset + toAppend, chars, 0);
+		this.length += toAppend;
+	}
+
+	/*
+	 * Grows the array up to the capacity. The array is only wrapped around
+	 * once it reached the capacity, contents are thus contiguous while growing.
+	 */
+	private void ensureSize(int size) {
+		if (size <= chars.length
+				|| chars.length == capacity) {
+			return;
+		}
+		int newSize = chars.length;
+		while (newSize < size && newSize < capacity) {
+			newSize = (int) Math.min((long) newSize * 2, capacity);
+		}
+		char[] newChars = new char[newSize];
+		copyTo(newChars);
+		this.chars = newChars;
+		this.start = 0;
+	}
+
+	private void copyTo(char[] target) {
+		int firstPart = Math.min(length, chars.length - start);
+		System.arraycopy(chars, start, target, 0, firstPart);
+		System.arraycopy(chars, 0, target, firstPart, length - firstPart);
+	}
+
+	/**
+	 * Drops all characters. Dropped characters are not counted as evicted.
+	 */
+	public void clear() {
+		this.start = 0;
+		this.length = 0;
+		if (INITIAL_SIZE < chars.length) {
+			this.chars = new char[INITIAL_SIZE];
+		}
+	}
+
+	/**
+	 * Returns the number of characters that are held.
+	 */
+	public int length() {
+		return length;
+	}
+
+	/**
+	 * Returns the maximum number of characters that are held.
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Returns the number of characters that were dropped because the buffer
+	 * was full.
+	 */
+	public long getEvicted() {
+		return evicted;
+	}
+
+	@Override
+	public String toString() {
+		char[] contents = new char[length];
+		copyTo(contents);
+		return new String(contents);
+	}
+}
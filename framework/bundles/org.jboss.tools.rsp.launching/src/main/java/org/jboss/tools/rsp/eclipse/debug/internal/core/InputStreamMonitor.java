@@ -37,9 +37,14 @@ public class InputStreamMonitor {
 	 */
 	private Vector<String> fQueue;
 	/**
-	 * The thread which writes to the stream.
+	 * The thread which writes to the stream. It is only started
+	 * once there is something to write.
 	 */
 	private Thread fThread;
+	/**
+	 * Whether the monitor was started and not closed yet.
+	 */
+	private boolean fMonitoring;
 	/**
 	 * A lock for ensuring that writes to the queue are contiguous
 	 */
@@ -87,15 +92,27 @@ public class InputStreamMonitor {
 	public void write(String text) {
 		synchronized(fLock) {
 			fQueue.add(text);
+			startThread();
 			fLock.notifyAll();
 		}
 	}
 
 	/**
-	 * Starts a thread which writes the stream.
+	 * Starts writing to the stream. The thread that writes 
+	 * is started with the first text to write.
 	 */
 	public void startMonitoring() {
-		if (fThread == null) {
+		synchronized(fLock) {
+			fMonitoring = true;
+			if (!fQueue.isEmpty()) {
+				startThread();
+			}
+		}
+	}
+
+	private void startThread() {
+		if (fMonitoring
+				&& fThread == null) {
 			fThread= new Thread(new Runnable() {
 				@Override
 				public void run() {
@@ -112,10 +129,25 @@ public class InputStreamMonitor {
 	 * monitor and the underlying stream.
 	 */
 	public void close() {
-		if (fThread != null) {
-			Thread thread= fThread;
-			fThread= null;
-			thread.interrupt();
+		synchronized(fLock) {
+			if (!fMonitoring) {
+				return;
+			}
+			fMonitoring = false;
+			if (fThread != null) {
+				Thread thread= fThread;
+				fThread= null;
+				thread.interrupt();
+				return;
+			}
+		}
+		// nothing was ever written, no thread to close the stream
+		if (!fClosed) {
+			try {
+				fStream.close();
+			} catch (IOException e) {
+				log(e);
+			}
 		}
 	}
 
@@ -22,8 +22,8 @@ public class NullStreamsProxy implements IStreamsProxy2 {
     private NullStreamMonitor errorStreamMonitor;
 
     public NullStreamsProxy(Process process) {
-        outputStreamMonitor = new NullStreamMonitor(process.getInputStream());
-        errorStreamMonitor = new NullStreamMonitor(process.getErrorStream());
+        outputStreamMonitor = new NullStreamMonitor(process.getInputStream(), process);
+        errorStreamMonitor = new NullStreamMonitor(process.getErrorStream(), process);
     }
 
     /* (non-Javadoc)
@@ -58,28 +58,43 @@ public class NullStreamsProxy implements IStreamsProxy2 {
 
     private class NullStreamMonitor implements IStreamMonitor {
         private InputStream fStream;
+        private Process fProcess;
+        private byte[] fBytes = new byte[1024];
+        private long fExitedAt = 0;
 
-        public NullStreamMonitor(InputStream stream) {
+        public NullStreamMonitor(InputStream stream, Process process) {
             fStream = stream;
-            startReaderThread();
+            fProcess = process;
+            StreamPump.getDefault().pump(() -> discardAvailable());
         }
 
-        private void startReaderThread() {
-            Thread thread = new Thread(new Runnable() {
-                @Override
-				public void run() {
-                    byte[] bytes = new byte[1024];
-                    try {
-                        while(fStream.read(bytes) >= 0) {
-                            //do nothing
-                        }
-                    } catch (IOException e) {
-                    }
+        /**
+         * Discards the available bytes. The stream is closed once 
+         * the process exited and the drain timeout passed, so that 
+         * children of the process that still print to it are not cut off.
+         */
+        private int discardAvailable() throws IOException {
+            int total = 0;
+            int available = 0;
+            while ((available = fStream.available()) > 0) {
+                int read = fStream.read(fBytes, 0, Math.min(available, fBytes.length));
+                if (read < 0) {
+                    break;
                 }
-            }, "Null Streams Proxy");// DebugCoreMessages.NullStreamsProxy_0);
-            thread.setDaemon(true);
-            thread.start();
-
+                total += read;
+            }
+            if (total == 0 
+                    && !fProcess.isAlive()) {
+                long now = System.currentTimeMillis();
+                if (fExitedAt == 0) {
+                    fExitedAt = now;
+                }
+                if (now - fExitedAt >= StreamPump.getDrainTimeout()) {
+                    fStream.close();
+                    return -1;
+                }
+            }
+            return total;
         }
 
         /* (non-Javadoc)
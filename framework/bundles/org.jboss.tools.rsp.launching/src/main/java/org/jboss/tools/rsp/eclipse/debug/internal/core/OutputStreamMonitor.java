@@ -14,6 +14,18 @@ package org.jboss.tools.rsp.eclipse.debug.internal.core;
 import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.jboss.tools.rsp.eclipse.core.runtime.ISafeRunnable;
 import org.jboss.tools.rsp.eclipse.core.runtime.ListenerList;
@@ -33,7 +45,17 @@ import org.slf4j.LoggerFactory;
 public class OutputStreamMonitor implements IFlushableStreamMonitor {
 	private static final Logger LOG = LoggerFactory.getLogger(OutputStreamMonitor.class);
 
-	
+	/**
+	 * The system property that sets the maximum number of characters that 
+	 * are buffered per stream.
+	 */
+	public static final String SYSPROP_BUFFER_SIZE = "rsp.launching.console.buffer.size";
+
+	/**
+	 * The default maximum number of characters that are buffered per stream.
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
 	/**
 	 * The stream being monitored (connected system out or err).
 	 */
@@ -50,9 +72,10 @@ public class OutputStreamMonitor implements IFlushableStreamMonitor {
 	private boolean fBuffered = true;
 
 	/**
-	 * The local copy of the stream contents
+	 * The local copy of the stream contents. Holds the most recent 
+	 * output only, older output is dropped once it is full.
 	 */
-	private StringBuffer fContents;
+	private BoundedCharBuffer fContents;
 
 	/**
 	 * The thread which reads from the stream
@@ -64,16 +87,63 @@ public class OutputStreamMonitor implements IFlushableStreamMonitor {
 	 */
 	private static final int BUFFER_SIZE= 8192;
 
+	/**
+	 * The maximum number of buffers that are read in one go when the stream 
+	 * is serviced by a {@link StreamPump}, so that other streams get their turn.
+	 */
+	private static final int MAX_READS_PER_PUMP = 16;
+
+	/**
+	 * The registration with the pump that reads the stream, 
+	 * <code>null</code> if the stream is read by a thread of its own.
+	 */
+	private StreamPump.Registration fPumpRegistration;
+
+	/**
+	 * The pump that reads the stream, <code>null</code> if the stream is 
+	 * read by a thread of its own.
+	 */
+	private StreamPump fPump;
+
+	/**
+	 * The final read of the stream once the process exited.
+	 */
+	private Future<?> fDraining;
+
+	/**
+	 * A lock for the reads of the pump and the final read on close.
+	 */
+	private final Object fReadLock = new Object();
+
+	/**
+	 * Whether the stream was read to its end and closed.
+	 */
+	private boolean fDone = false;
+
 	/**
 	 * Whether or not this monitor has been killed.
 	 * When the monitor is killed, it stops reading
 	 * from the stream immediately.
 	 */
-	private boolean fKilled= false;
+	private volatile boolean fKilled= false;
 
     private long lastSleep;
 
-	private String fEncoding;
+	/**
+	 * The decoder for the stream. It is reused for all reads and keeps the
+	 * bytes of a character that is split across two reads.
+	 */
+	private CharsetDecoder fDecoder;
+
+	/**
+	 * The bytes that were read but not decoded yet.
+	 */
+	private ByteBuffer fBytes;
+
+	/**
+	 * The characters that were decoded but not appended yet.
+	 */
+	private CharBuffer fChars;
 
 	/**
 	 * Creates an output stream monitor on the
@@ -83,9 +153,45 @@ public class OutputStreamMonitor implements IFlushableStreamMonitor {
 	 * @param encoding stream encoding or <code>null</code> for system default
 	 */
 	public OutputStreamMonitor(InputStream stream, String encoding) {
+		this(stream, encoding, getDefaultBufferSize());
+	}
+
+	/**
+	 * Creates an output stream monitor on the
+	 * given stream (connected to system out or err).
+	 *
+	 * @param stream input stream to read from
+	 * @param encoding stream encoding or <code>null</code> for system default
+	 * @param bufferSize the maximum number of characters that are buffered
+	 */
+	public OutputStreamMonitor(InputStream stream, String encoding, int bufferSize) {
         fStream = new BufferedInputStream(stream, 8192);
-        fEncoding = encoding;
-		fContents= new StringBuffer();
+		fDecoder = getCharset(encoding).newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		fBytes = ByteBuffer.allocate(BUFFER_SIZE);
+		fChars = CharBuffer.allocate((int) Math.ceil(BUFFER_SIZE * fDecoder.maxCharsPerByte()));
+		fContents= new BoundedCharBuffer(bufferSize);
+	}
+
+	private static Charset getCharset(String encoding) {
+		if (encoding == null) {
+			return Charset.defaultCharset();
+		}
+		try {
+			return Charset.forName(encoding);
+		} catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+			LOG.error("Unsupported encoding " + encoding + ", using the default encoding instead.", e);
+			return Charset.defaultCharset();
+		}
+	}
+
+	private static int getDefaultBufferSize() {
+		Integer size = Integer.getInteger(SYSPROP_BUFFER_SIZE, DEFAULT_BUFFER_SIZE);
+		if (size <= 0) {
+			return DEFAULT_BUFFER_SIZE;
+		}
+		return size;
 	}
 
 	/* (non-Javadoc)
@@ -96,13 +202,38 @@ public class OutputStreamMonitor implements IFlushableStreamMonitor {
 		fListeners.add(listener);
 	}
 
+	/*
+	 * Text is appended and sent to the listeners while holding the lock
+	 */
+	@Override
+	public synchronized String addListenerAndGetContents(IStreamListener listener) {
+		fListeners.add(listener);
+		return fContents.toString();
+	}
+
 	/**
 	 * Causes the monitor to close all
 	 * communications between it and the
 	 * underlying stream by waiting for the thread to terminate.
 	 */
 	protected void close() {
-		if (fThread != null) {
+		close(System.currentTimeMillis() + StreamPump.getDrainTimeout());
+	}
+
+	/**
+	 * Causes the monitor to close all
+	 * communications between it and the
+	 * underlying stream. A stream that is read by a pump is read to its
+	 * end, or until the given deadline passed.
+	 *
+	 * @param deadline the time in milliseconds until which the stream is read
+	 */
+	protected void close(long deadline) {
+		if (fPumpRegistration != null) {
+			startDraining();
+			awaitDrained(deadline);
+			fListeners = new ListenerList<>();
+		} else if (fThread != null) {
 			Thread thread= fThread;
 			fThread= null;
 			try {
@@ -130,6 +261,25 @@ public class OutputStreamMonitor implements IFlushableStreamMonitor {
 		return fContents.toString();
 	}
 
+	/**
+	 * Returns the number of characters that were dropped from the contents 
+	 * because the buffer was full.
+	 * 
+	 * @return the number of dropped characters
+	 */
+	public synchronized long getEvictedCount() {
+		return fContents.getEvicted();
+	}
+
+	/**
+	 * Returns the maximum number of characters that are buffered.
+	 * 
+	 * @return the maximum number of buffered characters
+	 */
+	public int getBufferSize() {
+		return fContents.getCapacity();
+	}
+
 	/**
 	 * Continually reads from the stream.
 	 * <p>
@@ -141,27 +291,18 @@ public class OutputStreamMonitor implements IFlushableStreamMonitor {
 	private void read() {
         lastSleep = System.currentTimeMillis();
         long currentTime = lastSleep;
-		byte[] bytes= new byte[BUFFER_SIZE];
 		int read = 0;
 		while (read >= 0) {
 			try {
 				if (fKilled) {
 					break;
 				}
-				read= fStream.read(bytes);
+				read= fStream.read(fBytes.array(), fBytes.position(), fBytes.remaining());
 				if (read > 0) {
-					String text;
-					if (fEncoding != null) {
-						text = new String(bytes, 0, read, fEncoding);
-					} else {
-						text = new String(bytes, 0, read);
-					}
-					synchronized (this) {
-						if (isBuffered()) {
-							fContents.append(text);
-						}
-						fireStreamAppended(text);
-					}
+					fBytes.position(fBytes.position() + read);
+					decode(false);
+				} else if (read < 0) {
+					decode(true);
 				}
 			} catch (IOException ioe) {
 				if (!fKilled) {
@@ -193,6 +334,170 @@ public class OutputStreamMonitor implements IFlushableStreamMonitor {
 		}
 	}
 
+	/**
+	 * Decodes the bytes that were read and appends the resulting text. The
+	 * bytes of an incomplete character at the end are kept for the next read.
+	 *
+	 * @param endOfInput whether the stream reached its end
+	 */
+	private void decode(boolean endOfInput) {
+		fBytes.flip();
+		CoderResult result = null;
+		do {
+			result = fDecoder.decode(fBytes, fChars, endOfInput);
+			appendChars();
+		} while (result.isOverflow());
+		if (endOfInput) {
+			while (fDecoder.flush(fChars).isOverflow()) {
+				appendChars();
+			}
+			appendChars();
+			fDecoder.reset();
+		}
+		fBytes.compact();
+	}
+
+	private void appendChars() {
+		fChars.flip();
+		if (fChars.hasRemaining()) {
+			String text = fChars.toString();
+			synchronized (this) {
+				if (isBuffered()) {
+					fContents.append(text);
+				}
+				fireStreamAppended(text);
+			}
+		}
+		fChars.clear();
+	}
+
+	/**
+	 * Reads the bytes that the stream has available without blocking. 
+	 * The stream is closed once it reached its end.
+	 * 
+	 * @return the number of bytes read, or -1 if the stream is done
+	 */
+	private int readAvailable() {
+		synchronized (fReadLock) {
+			if (fDone) {
+				return -1;
+			}
+			if (fKilled) {
+				finish();
+				return -1;
+			}
+			int total = 0;
+			try {
+				for (int i = 0; i < MAX_READS_PER_PUMP; i++) {
+					int available = fStream.available();
+					if (available <= 0) {
+						break;
+					}
+					int read = fStream.read(fBytes.array(), fBytes.position(), 
+							Math.min(available, fBytes.remaining()));
+					if (read < 0) {
+						finish();
+						return -1;
+					}
+					fBytes.position(fBytes.position() + read);
+					decode(false);
+					total += read;
+				}
+			} catch (IOException ioe) {
+				if (!fKilled) {
+					log(ioe);
+				}
+				finish();
+				return -1;
+			}
+			return total;
+		}
+	}
+
+	/**
+	 * Stops polling the stream and starts to read what is left in it. The
+	 * process has exited, but its children may still print to the stream.
+	 * It is thus read with blocking reads until it reaches its end.
+	 */
+	protected synchronized void startDraining() {
+		if (fPumpRegistration == null
+				|| fDraining != null) {
+			return;
+		}
+		fPumpRegistration.cancel();
+		fDraining = fPump.drain(() -> readToEnd());
+	}
+
+	private void awaitDrained(long deadline) {
+		Future<?> draining = null;
+		synchronized (this) {
+			draining = fDraining;
+		}
+		try {
+			draining.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			LOG.info("Stopped reading the output of an exited process, its stream is still open.");
+			stopDraining(draining);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			stopDraining(draining);
+		} catch (ExecutionException e) {
+			log(e.getCause());
+		}
+	}
+
+	private void stopDraining(Future<?> draining) {
+		kill();
+		draining.cancel(true);
+		try {
+			// unblocks the pending read if the stream supports it
+			fStream.close();
+		} catch (IOException e) {
+			// ignore
+		}
+	}
+
+	/**
+	 * Reads the stream until it reaches its end and closes it. Blocks while
+	 * the stream has nothing to read.
+	 */
+	private void readToEnd() {
+		synchronized (fReadLock) {
+			try {
+				while (!fDone 
+						&& !fKilled) {
+					int read = fStream.read(fBytes.array(), fBytes.position(), fBytes.remaining());
+					if (read < 0
+							|| fKilled) {
+						break;
+					}
+					fBytes.position(fBytes.position() + read);
+					decode(false);
+				}
+			} catch (IOException ioe) {
+				if (!fKilled) {
+					log(ioe);
+				}
+			}
+			finish();
+		}
+	}
+
+	private void finish() {
+		if (fDone) {
+			return;
+		}
+		this.fDone = true;
+		if (!fKilled) {
+			decode(true);
+		}
+		try {
+			fStream.close();
+		} catch (IOException e) {
+			log(e);
+		}
+	}
+
 	protected void kill() {
 		fKilled= true;
 	}
@@ -205,11 +510,25 @@ public class OutputStreamMonitor implements IFlushableStreamMonitor {
 		fListeners.remove(listener);
 	}
 
+	/**
+	 * Reads the stream with the given pump instead of a thread of its own.
+	 * 
+	 * @param pump the pump that reads the stream
+	 */
+	protected void startMonitoring(StreamPump pump) {
+		if (fThread == null 
+				&& fPumpRegistration == null) {
+			fPump = pump;
+			fPumpRegistration = pump.pump(() -> readAvailable());
+		}
+	}
+
 	/**
 	 * Starts a thread which reads from the stream
 	 */
 	protected void startMonitoring() {
-		if (fThread == null) {
+		if (fThread == null 
+				&& fPumpRegistration == null) {
 			fThread= new Thread(new Runnable() {
 				@Override
 				public void run() {
@@ -235,7 +554,7 @@ public class OutputStreamMonitor implements IFlushableStreamMonitor {
 	 */
 	@Override
 	public synchronized void flushContents() {
-		fContents.setLength(0);
+		fContents.clear();
 	}
 
 	/**
@@ -0,0 +1,271 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.eclipse.debug.internal.core;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Services the streams of all launched processes with a small pool of
+ * threads rather than with a thread per stream.
+ *
+ * A stream is polled for the bytes that it has available, reading thus never
+ * blocks a thread of the pool. A stream that had nothing to read is polled
+ * less and less often, up to {@link #MAX_POLL_DELAY}. The exit of a process
+ * is detected by polling {@link Process#isAlive()}, the exit callback then
+ * runs on a short lived thread.
+ *
+ * Once a process exited, its streams are read to their end with blocking
+ * reads on short lived threads. Children of the process may still hold the
+ * streams and print to them. They are thus read for at most the drain
+ * timeout after the exit.
+ *
+ * The number of threads and the drain timeout can be set with the system
+ * properties {@link #SYSPROP_THREADS} and {@link #SYSPROP_DRAIN_TIMEOUT}.
+ */
+public class StreamPump {
+
+	private static final Logger LOG = LoggerFactory.getLogger(StreamPump.class);
+
+	public static final String SYSPROP_THREADS = "rsp.launching.pump.threads";
+	public static final int DEFAULT_THREADS = 4;
+	public static final String SYSPROP_DRAIN_TIMEOUT = "rsp.launching.drain.timeout";
+	/* in milliseconds */
+	public static final int DEFAULT_DRAIN_TIMEOUT = 1000;
+
+	/* in milliseconds */
+	public static final int MIN_POLL_DELAY = 10;
+	public static final int MAX_POLL_DELAY = 100;
+	public static final int EXIT_POLL_DELAY = 100;
+
+	private static StreamPump defaultPump;
+
+	public static synchronized StreamPump getDefault() {
+		if (defaultPump == null) {
+			int threads = Integer.getInteger(SYSPROP_THREADS, DEFAULT_THREADS);
+			defaultPump = new StreamPump(Math.max(1, threads));
+		}
+		return defaultPump;
+	}
+
+	/**
+	 * Returns the time in milliseconds for which the streams of a process
+	 * are read after it exited.
+	 */
+	public static int getDrainTimeout() {
+		int timeout = Integer.getInteger(SYSPROP_DRAIN_TIMEOUT, DEFAULT_DRAIN_TIMEOUT);
+		if (timeout < 0) {
+			return DEFAULT_DRAIN_TIMEOUT;
+		}
+		return timeout;
+	}
+
+	/**
+	 * A stream that is serviced by the pump.
+	 */
+	public interface Source {
+
+		/**
+		 * Reads the bytes that are available without blocking.
+		 *
+		 * @return the number of bytes read, or -1 if the source is done and
+		 *         should not be polled any more
+		 * @throws IOException
+		 */
+		int readAvailable() throws IOException;
+	}
+
+	/**
+	 * A stream or process that is being polled.
+	 */
+	public interface Registration {
+
+		/**
+		 * Stops polling.
+		 */
+		void cancel();
+	}
+
+	private final ScheduledExecutorService executor;
+	private final ExecutorService drainExecutor;
+
+	public StreamPump(int threads) {
+		this.executor = new ScheduledThreadPoolExecutor(threads, new PumpThreadFactory("Process Stream Pump "));
+		this.drainExecutor = Executors.newCachedThreadPool(new PumpThreadFactory("Process Stream Drain "));
+	}
+
+	/**
+	 * Polls the given source until it is done or the registration is cancelled.
+	 *
+	 * @param source the source to read from
+	 * @return the registration
+	 */
+	public Registration pump(Source source) {
+		SourceTask task = new SourceTask(source);
+		task.schedule(0);
+		return task;
+	}
+
+	/**
+	 * Runs the given callback once the given process exited. The callback
+	 * runs on a thread of its own and may block.
+	 *
+	 * @param process the process to watch
+	 * @param onExit the callback to run once the process exited
+	 * @return the registration
+	 */
+	public Registration watch(Process process, Runnable onExit) {
+		ExitTask task = new ExitTask(process, onExit);
+		task.schedule(0);
+		return task;
+	}
+
+	/**
+	 * Runs the given reader, which may block until its stream ends, on a
+	 * thread of its own. Used to read the streams of a process that exited.
+	 *
+	 * @param reader the reader that reads a stream to its end
+	 * @return the future which completes once the reader is done
+	 */
+	public Future<?> drain(Runnable reader) {
+		try {
+			return drainExecutor.submit(reader);
+		} catch(RejectedExecutionException ree) {
+			// shutting down
+			return CompletableFuture.completedFuture(null);
+		}
+	}
+
+	/**
+	 * Stops all threads of this pump.
+	 */
+	public void shutdown() {
+		executor.shutdownNow();
+		drainExecutor.shutdownNow();
+	}
+
+	private abstract class Task implements Runnable, Registration {
+
+		private volatile boolean cancelled;
+
+		@Override
+		public void cancel() {
+			this.cancelled = true;
+		}
+
+		protected boolean isCancelled() {
+			return cancelled;
+		}
+
+		protected void schedule(long delay) {
+			if (cancelled) {
+				return;
+			}
+			try {
+				executor.schedule(this, delay, TimeUnit.MILLISECONDS);
+			} catch(RejectedExecutionException ree) {
+				// shutting down
+			}
+		}
+	}
+
+	private class SourceTask extends Task {
+
+		private final Source source;
+		private long delay = MIN_POLL_DELAY;
+
+		private SourceTask(Source source) {
+			this.source = source;
+		}
+
+		@Override
+		public void run() {
+			if (isCancelled()) {
+				return;
+			}
+			int read = 0;
+			try {
+				read = source.readAvailable();
+			} catch (IOException | RuntimeException e) {
+				LOG.error("Could not read from process stream", e);
+				read = -1;
+			}
+			if (read < 0) {
+				return;
+			}
+			if (read > 0) {
+				this.delay = MIN_POLL_DELAY;
+			} else {
+				this.delay = Math.min(delay * 2, MAX_POLL_DELAY);
+			}
+			schedule(delay);
+		}
+	}
+
+	private class ExitTask extends Task {
+
+		private final Process process;
+		private final Runnable onExit;
+
+		private ExitTask(Process process, Runnable onExit) {
+			this.process = process;
+			this.onExit = onExit;
+		}
+
+		@Override
+		public void run() {
+			if (isCancelled()) {
+				return;
+			}
+			if (process.isAlive()) {
+				schedule(EXIT_POLL_DELAY);
+				return;
+			}
+			// the callback may drain the streams and block, keep it off the pump threads
+			drain(this::notifyExit);
+		}
+
+		private void notifyExit() {
+			try {
+				onExit.run();
+			} catch (RuntimeException e) {
+				LOG.error("Could not notify the exit of a process", e);
+			}
+		}
+	}
+
+	private static class PumpThreadFactory implements ThreadFactory {
+
+		private final String prefix;
+		private final AtomicInteger count = new AtomicInteger();
+
+		private PumpThreadFactory(String prefix) {
+			this.prefix = prefix;
+		}
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
@@ -48,14 +48,26 @@ public class StreamsProxy implements IStreamsProxy, IStreamsProxy2 {
 	 * @param encoding the process's encoding or <code>null</code> if default
 	 */
 	public StreamsProxy(Process process, String encoding) {
+		this(process, encoding, StreamPump.getDefault());
+	}
+
+	/**
+	 * Creates a <code>StreamsProxy</code> on the streams
+	 * of the given system process.
+	 *
+	 * @param process system process to create a streams proxy on
+	 * @param encoding the process's encoding or <code>null</code> if default
+	 * @param pump the pump that reads the output of the process
+	 */
+	public StreamsProxy(Process process, String encoding, StreamPump pump) {
 		if (process == null) {
 			return;
 		}
 		fOutputMonitor= new OutputStreamMonitor(process.getInputStream(), encoding);
 		fErrorMonitor= new OutputStreamMonitor(process.getErrorStream(), encoding);
 		fInputMonitor= new InputStreamMonitor(process.getOutputStream(), encoding);
-		fOutputMonitor.startMonitoring();
-		fErrorMonitor.startMonitoring();
+		fOutputMonitor.startMonitoring(pump);
+		fErrorMonitor.startMonitoring(pump);
 		fInputMonitor.startMonitoring();
 	}
 
@@ -63,12 +75,17 @@ public class StreamsProxy implements IStreamsProxy, IStreamsProxy2 {
 	 * Causes the proxy to close all
 	 * communications between it and the
 	 * underlying streams after all remaining data
-	 * in the streams is read.
+	 * in the streams is read. To be called once
+	 * the process exited.
 	 */
 	public void close() {
 		if (!isClosed(true)) {
-			fOutputMonitor.close();
-			fErrorMonitor.close();
+			// read both streams at once so that neither fills up while waiting
+			long deadline = System.currentTimeMillis() + StreamPump.getDrainTimeout();
+			fOutputMonitor.startDraining();
+			fErrorMonitor.startDraining();
+			fOutputMonitor.close(deadline);
+			fErrorMonitor.close(deadline);
 			fInputMonitor.close();
 		}
 	}
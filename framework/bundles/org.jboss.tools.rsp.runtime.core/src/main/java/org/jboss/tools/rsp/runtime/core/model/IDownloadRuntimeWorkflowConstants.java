@@ -88,5 +88,10 @@ public interface IDownloadRuntimeWorkflowConstants {
 	 * A constant representing an IOverwrite object to be queried for questions on overwriting files
 	 */
 	public static final String OVERWRITE = "dl.runtime.overwrite"; //$NON-NLS-1$
+
+	/**
+	 * A constant representing the downloaded archive, a java.io.File
+	 */
+	public static final String DOWNLOADED_FILE = "dl.runtime.downloaded.file"; //$NON-NLS-1$
 	
 }
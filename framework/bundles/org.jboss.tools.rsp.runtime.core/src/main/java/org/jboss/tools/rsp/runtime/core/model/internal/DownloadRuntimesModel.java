@@ -57,7 +57,9 @@ public class DownloadRuntimesModel implements IDownloadRuntimesModel {
 	public Map<String, DownloadRuntime> getOrLoadDownloadRuntimes(IProgressMonitor monitor) {
 		// Always return a new instance and not the actual model object
 		ensureCacheLoaded(monitor);
-		return new HashMap<>(getDownloadRuntimesCache()); 
+		Map<String, DownloadRuntime> cached = getDownloadRuntimesCache();
+		// nothing is cached if loading was canceled
+		return cached == null ? new HashMap<>() : new HashMap<>(cached); 
 	}
 	
 	private void ensureCacheLoaded(IProgressMonitor monitor) {
@@ -135,6 +137,11 @@ public class DownloadRuntimesModel implements IDownloadRuntimesModel {
 			}
 			subMon.done();
 		}
+		monitor.done();
+		if( monitor.isCanceled()) {
+			// incomplete, the next request loads them anew
+			return;
+		}
 		setDownloadRuntimesCache(map);
 		setByProviderRuntimesCache(byProvider);
 	}
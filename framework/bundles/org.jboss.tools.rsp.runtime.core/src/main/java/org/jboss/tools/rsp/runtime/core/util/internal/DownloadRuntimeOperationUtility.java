@@ -158,6 +158,7 @@ public class DownloadRuntimeOperationUtility {
 			new File(unzipDirectoryPath).delete();
 			return new Status(ce.getStatus().getSeverity(), RuntimeCoreActivator.PLUGIN_ID, NLS.bind("Error while retrieving runtime from {0}", urlString), ce);  //$NON-NLS-1$
 		}
+		tm.putObject(IDownloadRuntimeWorkflowConstants.DOWNLOADED_FILE, downloadedFile);
 		
 		try {
 			ExtractUtility extractUtil = new ExtractUtility(downloadedFile);
@@ -9,6 +9,8 @@
 package org.jboss.tools.rsp.server.spi.client;
 
 import org.jboss.tools.rsp.api.RSPClient;
+import org.jboss.tools.rsp.eclipse.core.runtime.IProgressMonitor;
+import org.jboss.tools.rsp.eclipse.core.runtime.NullProgressMonitor;
 import org.jboss.tools.rsp.server.spi.client.MessageContextStore.MessageContext;
 
 
@@ -28,6 +30,10 @@ import org.jboss.tools.rsp.server.spi.client.MessageContextStore.MessageContext;
  * Clients can use this to discover which client is making a given request
  * or to ensure all clients are authenticated for various purposes.
  * 
+ * Long running operations that have no monitor passed in can use 
+ * {@link #getRequestMonitor()} to stop once the client canceled 
+ * the request it is working on.
+ * 
  * @author rob
  *
  */
@@ -49,4 +55,18 @@ public class ClientThreadLocal {
 	 public synchronized static void setActiveClient(RSPClient client) {
 		 getStore().setContext(new MessageContext<RSPClient>(client));
 	 }
+	 
+	 public synchronized static void setActiveRequest(RSPClient client, IProgressMonitor monitor) {
+		 getStore().setContext(new MessageContext<RSPClient>(client, monitor));
+	 }
+	 
+	 /**
+	  * Returns the monitor of the request that is being worked on, 
+	  * or a new monitor that is never canceled if there's none.
+	  */
+	 public synchronized static IProgressMonitor getRequestMonitor() {
+		 MessageContext<RSPClient> context = getStore().getContext();
+		 IProgressMonitor monitor = context == null ? null : context.getMonitor();
+		 return monitor == null ? new NullProgressMonitor() : monitor;
+	 }
 }
@@ -8,6 +8,8 @@
  ******************************************************************************/
 package org.jboss.tools.rsp.server.spi.client;
 
+import org.jboss.tools.rsp.eclipse.core.runtime.IProgressMonitor;
+
 /*
  * A custom class for storing the context for any given message
  */
@@ -39,15 +41,28 @@ public class MessageContextStore<T> {
 	 * from the raw message we may consider making available to implementations.
 	 * At a minimum, it should make available the remote proxy, so a given
 	 * request knows which remote proxy is making the request. 
+	 * 
+	 * The monitor, if any, is canceled once the client canceled 
+	 * or abandoned the request.
 	 */
 	public static class MessageContext<T> {
 		T remoteProxy;
+		IProgressMonitor monitor;
 		public MessageContext(T remoteProxy) {
+			this(remoteProxy, null);
+		}
+		
+		public MessageContext(T remoteProxy, IProgressMonitor monitor) {
 			this.remoteProxy = remoteProxy;
+			this.monitor = monitor;
 		}
 		
 		public T getRemoteProxy() {
 			return this.remoteProxy;
 		}
+		
+		public IProgressMonitor getMonitor() {
+			return this.monitor;
+		}
 	};
 }
\ No newline at end of file
@@ -12,6 +12,22 @@ import org.jboss.tools.rsp.eclipse.core.runtime.IStatus;
 
 public interface IJob {
 	
+	/**
+	 * Jobs that complete quickly. This is the default priority.
+	 * Jobs with a lower priority value run first.
+	 */
+	public static final int PRIORITY_SHORT = 20;
+	
+	/**
+	 * Jobs that run for a long time, ex. downloading a runtime.
+	 */
+	public static final int PRIORITY_LONG = 30;
+	
+	/**
+	 * The family of the jobs that download runtimes
+	 */
+	public static final String FAMILY_DOWNLOAD = "download";
+	
 	/**
 	 * Get a name for this job
 	 * @return
@@ -36,4 +52,30 @@ public interface IJob {
 	 * @return 
 	 */
 	public IStatus cancel();
+	
+	/**
+	 * Get the priority of this job, one of the PRIORITY_* constants
+	 * @return
+	 */
+	public default int getPriority() {
+		return PRIORITY_SHORT;
+	}
+	
+	/**
+	 * Get the family of this job, or null if it belongs to none. 
+	 * The job manager may limit how many jobs of a family run at the same time.
+	 * @return
+	 */
+	public default String getFamily() {
+		return null;
+	}
+	
+	/**
+	 * Return the bytes that this job downloaded or otherwise processed,
+	 * or -1 if it did not report any
+	 * @return
+	 */
+	public default long getBytesProcessed() {
+		return -1;
+	}
 }
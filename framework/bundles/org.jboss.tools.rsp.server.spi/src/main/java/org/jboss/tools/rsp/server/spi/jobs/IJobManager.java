@@ -11,6 +11,7 @@ package org.jboss.tools.rsp.server.spi.jobs;
 import java.util.List;
 
 import org.jboss.tools.rsp.api.dao.JobHandle;
+import org.jboss.tools.rsp.api.dao.JobHistoryResponse;
 import org.jboss.tools.rsp.eclipse.core.runtime.IRunnableWithProgress;
 import org.jboss.tools.rsp.eclipse.core.runtime.IStatus;
 import org.jboss.tools.rsp.launching.utils.IStatusRunnableWithProgress;
@@ -44,6 +45,23 @@ public interface IJobManager {
 	 */
 	public IJob scheduleJob(String jobName, IStatusRunnableWithProgress runnable);
 
+	/**
+	 * Add a job to this model
+	 * @param jobName a name for the job (not a unique id)
+	 * @param runnable a runnable that accepts a progress monitor and returns an IStatus object
+	 * @param priority the priority of the job, one of the IJob.PRIORITY_* constants
+	 * @param family the family of the job or null
+	 * @return job the created job, or null if a job with the same id already exists
+	 */
+	public IJob scheduleJob(String jobName, IStatusRunnableWithProgress runnable, int priority, String family);
+
+	/**
+	 * Limit how many jobs of the given family may run at the same time.
+	 * @param family the family of the jobs
+	 * @param limit the maximum number of running jobs, 0 or less for no limit
+	 */
+	public void setFamilyLimit(String family, int limit);
+
 	/**
 	 * The job work pctg has changed
 	 */
@@ -73,4 +91,10 @@ public interface IJobManager {
 	 * @return
 	 */
 	public IStatus cancelJob(JobHandle job);
+	
+	/**
+	 * Get the jobs that completed recently and their statistics
+	 * @return
+	 */
+	public JobHistoryResponse getJobHistory();
 }
@@ -0,0 +1,24 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.spi.jobs;
+
+import org.jboss.tools.rsp.eclipse.core.runtime.IProgressMonitor;
+
+/**
+ * The monitor that a job is run with. 
+ * Runnables can check for it to report more than the work done.
+ */
+public interface IJobProgressMonitor extends IProgressMonitor {
+
+	/**
+	 * Report that the job downloaded or otherwise processed the given bytes
+	 * @param bytes
+	 */
+	public void bytesProcessed(long bytes);
+}
@@ -27,6 +27,9 @@ public class SimpleJob implements IJob {
 	private IStatusRunnableWithProgress statusRunnable;
 	private JobProgressMonitor monitor = null;
 	private IJobManager manager;
+	private int priority = PRIORITY_SHORT;
+	private String family;
+	private long bytesProcessed = -1;
 	
 	public SimpleJob(String name, String id, IRunnableWithProgress runnable, IJobManager manager) {
 		this(name, id, manager);
@@ -54,6 +57,33 @@ public class SimpleJob implements IJob {
 		return id;
 	}
 
+	@Override
+	public int getPriority() {
+		return priority;
+	}
+
+	public void setPriority(int priority) {
+		this.priority = priority;
+	}
+
+	@Override
+	public String getFamily() {
+		return family;
+	}
+
+	public void setFamily(String family) {
+		this.family = family;
+	}
+
+	@Override
+	public synchronized long getBytesProcessed() {
+		return bytesProcessed;
+	}
+
+	private synchronized void addBytesProcessed(long bytes) {
+		this.bytesProcessed = Math.max(0, bytesProcessed) + bytes;
+	}
+
 	@Override
 	public double getProgress() {
 		return ((JobProgressMonitor)getProgressMonitor()).getPercentage();
@@ -66,7 +96,7 @@ public class SimpleJob implements IJob {
 		return monitor;
 	}
 	
-	private class JobProgressMonitor extends SimpleProgressMonitor {
+	private class JobProgressMonitor extends SimpleProgressMonitor implements IJobProgressMonitor {
 		public void worked(int work) {
 			double d = getPercentage();
 			super.worked(work);
@@ -80,6 +110,10 @@ public class SimpleJob implements IJob {
 			super.done();
 			manager.jobWorkChanged(SimpleJob.this);
 		}
+		@Override
+		public void bytesProcessed(long bytes) {
+			addBytesProcessed(bytes);
+		}
 	}
 	
 	public IStatus run() {
@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.spi.model;
+
+import java.util.regex.Pattern;
+
+import org.jboss.tools.rsp.api.dao.ServerLogResponse;
+import org.jboss.tools.rsp.api.dao.ServerLogSearchResponse;
+import org.jboss.tools.rsp.server.spi.servertype.IServer;
+
+/**
+ * The console output of the server processes, spooled to disk. 
+ * 
+ * Offsets are byte offsets into all the output that a server printed 
+ * since its log was created. Old output is rotated away, the oldest 
+ * offset that is still available thus grows over time.
+ */
+public interface IServerLogModel {
+
+	/**
+	 * Returns the given range of the output of the given server
+	 * 
+	 * @param server the server 
+	 * @param offset the offset of the first byte to return
+	 * @param length the maximum number of bytes to return
+	 * @return the output in the given range
+	 */
+	public ServerLogResponse read(IServer server, long offset, int length);
+
+	/**
+	 * Returns the last lines of the output of the given server
+	 * 
+	 * @param server the server
+	 * @param lines the number of lines to return
+	 * @return the last lines
+	 */
+	public ServerLogResponse tail(IServer server, int lines);
+
+	/**
+	 * Returns the lines of the output of the given server that contain a
+	 * match for the given pattern.
+	 * 
+	 * @param server the server
+	 * @param pattern the pattern to search for
+	 * @param offset the offset to start searching at
+	 * @param maxResults the maximum number of lines to return
+	 * @return the matching lines
+	 */
+	public ServerLogSearchResponse search(IServer server, Pattern pattern, long offset, int maxResults);
+}
@@ -78,6 +78,12 @@ public interface IServerManagementModel {
 	 * @return
 	 */
 	public IJobManager getJobManager();
+
+	/**
+	 * Get the sub-model for the spooled console output of the servers
+	 * @return
+	 */
+	public IServerLogModel getServerLogModel();
 	
 	/**
 	 * A client has been removed disconnected from the server 
@@ -11,22 +11,27 @@ package org.jboss.tools.rsp.server.spi.model.polling;
 import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
 
 import org.jboss.tools.rsp.server.spi.servertype.IServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public abstract class AbstractPoller implements IServerStatePoller {
 
-	private static final long POLLING_DELAY = 200;
+	private static final Logger LOG = LoggerFactory.getLogger(AbstractPoller.class);
 
 	private IServer server;
 	private boolean canceled; 
 	private boolean done;
 	private SERVER_STATE state;
 	private SERVER_STATE expectedState;
-	private ExecutorService executor = Executors.newSingleThreadExecutor(
-			(Runnable runnable) -> new Thread(runnable, getThreadName()));
+	private ScheduledFuture<?> pingFuture;
+	private int ping;
+	private PollingBackoff backoff = PollingBackoff.DEFAULT;
+	private final PollMetrics metrics = new PollMetrics();
+	private Runnable completionCallback;
 	
 	public void beginPolling(IServer server, SERVER_STATE expectedState) {
 		this.server = server;
@@ -36,32 +41,141 @@ public abstract class AbstractPoller implements IServerStatePoller {
 		launchThread();
 	}
 
-	protected void launchThread() {
-		executor.execute(() -> pollerRun());
+	/**
+	 * Schedules the pings on the shared {@link PollScheduler}. 
+	 * No thread is created for this poller.
+	 */
+	protected synchronized void launchThread() {
+		this.ping = 0;
+		metrics.start();
+		// 1st ping right away
+		schedulePing(0);
+	}
+
+	private synchronized void scheduleNextPing() {
+		if (isFinished()) {
+			return;
+		}
+		long delay = backoff.getDelay(++ping);
+		metrics.scheduled(delay);
+		schedulePing(delay);
+	}
+
+	private synchronized void schedulePing(long delay) {
+		pingFuture = PollScheduler.getDefault().schedule(() -> pollerRun(), delay);
 	}
 
 	private void pollerRun() {
-		setStateInternal(false, state);
-		while(!canceled && !done) {
-			SERVER_STATE stat = onePing(server);
-			if (expectedState == stat) {
-				setStateInternal(true, stat);
-			}
-			try {
-					Thread.sleep(POLLING_DELAY);
-			} catch (InterruptedException e) {
-				cancel(CANCELATION_CAUSE.CANCEL);
+		if (isFinished()) {
+			return;
+		}
+		long start = System.currentTimeMillis();
+		CompletableFuture<SERVER_STATE> result = null;
+		try {
+			result = onePingAsync(server);
+		} catch(RuntimeException e) {
+			result = new CompletableFuture<>();
+			result.completeExceptionally(e);
+		}
+		// the probe may complete on its I/O thread, the model updates and
+		// listeners it triggers are run on the scheduler instead
+		result.whenCompleteAsync((stat, e) -> {
+			metrics.pinged(System.currentTimeMillis() - start);
+			if (e != null) {
+				LOG.error("Error occurred while pinging server.", e);
+			} else if (expectedState == stat
+					&& setDone(stat)) {
+				notifyCompleted();
 			}
+			scheduleNextPing();
+		}, PollScheduler.getDefault().getExecutor());
+	}
+
+	/**
+	 * Pings the server once. The default implementation calls
+	 * {@link #onePing(IServer)} in the scheduler thread. Pollers that can
+	 * ping without blocking should override this so that no thread is used
+	 * while waiting for the server to answer.
+	 * 
+	 * @param server the server to ping
+	 * @return the future state of the server
+	 */
+	protected CompletableFuture<SERVER_STATE> onePingAsync(IServer server) {
+		Thread current = Thread.currentThread();
+		String schedulerName = current.getName();
+		current.setName(getThreadName());
+		try {
+			return CompletableFuture.completedFuture(onePing(server));
+		} finally {
+			current.setName(schedulerName);
 		}
 	}
 
 	protected abstract SERVER_STATE onePing(IServer server);
 	
-	private synchronized void setStateInternal(boolean done, SERVER_STATE state) {
-		this.done = done;
+	private synchronized boolean isFinished() {
+		return canceled || done;
+	}
+
+	private synchronized boolean setDone(SERVER_STATE state) {
+		if (canceled) {
+			// a late answer must not override the cancellation
+			return false;
+		}
+		this.done = true;
 		this.state = state;
+		cancelPings();
+		return true;
+	}
+
+	private void notifyCompleted() {
+		Runnable callback = null;
+		synchronized (this) {
+			callback = completionCallback;
+		}
+		if (callback != null) {
+			callback.run();
+		}
+	}
+
+	@Override
+	public synchronized void setCompletionCallback(Runnable callback) {
+		this.completionCallback = callback;
+	}
+
+	private synchronized void cancelPings() {
+		if (pingFuture != null) {
+			pingFuture.cancel(false);
+			pingFuture = null;
+		}
+		metrics.stop();
+	}
+
+	/**
+	 * Sets the delays that are used between the pings. Takes effect with the
+	 * next ping.
+	 * 
+	 * @param backoff the delays to use
+	 */
+	public synchronized void setBackoff(PollingBackoff backoff) {
+		if (backoff != null) {
+			this.backoff = backoff;
+		}
+	}
+
+	public synchronized PollingBackoff getBackoff() {
+		return backoff;
+	}
+
+	@Override
+	public PollMetrics getMetrics() {
+		return metrics;
 	}
 	
+	/**
+	 * Returns the name that the scheduler thread is given while it is pinging
+	 * for this poller.
+	 */
 	protected abstract String getThreadName();
 
 	@Override
@@ -81,7 +195,7 @@ public abstract class AbstractPoller implements IServerStatePoller {
 	
 	@Override
 	public void cleanup() {
-		executor.shutdownNow();
+		cancelPings();
 	}
 
 	@Override
@@ -0,0 +1,440 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.spi.model.polling;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Checks whether a web server answers http requests, or whether a port
+ * accepts connections at all, without blocking.
+ *
+ * All probes share a single selector thread, a probe that waits for a
+ * connection or a response does not cost any thread. Connect and response
+ * timeouts are enforced for each probe. A {@link Connection} keeps its socket
+ * open between probes if the server allows it (keep-alive). Host names are
+ * resolved by the thread that requests a probe, a slow name lookup thus
+ * never holds up the selector thread and the other probes.
+ *
+ * Any http response, regardless of its status code, is considered as a
+ * server that answers.
+ */
+public class HttpProbe {
+
+	private static final Logger LOG = LoggerFactory.getLogger(HttpProbe.class);
+
+	public static final int DEFAULT_CONNECT_TIMEOUT = 2000;
+	public static final int DEFAULT_RESPONSE_TIMEOUT = 3000;
+
+	private static final int MAX_RESPONSE_HEADER = 8 * 1024;
+	private static final String HEADER_END = "\r\n\r\n";
+
+	private static final HttpProbe DEFAULT = new HttpProbe();
+
+	public static HttpProbe getDefault() {
+		return DEFAULT;
+	}
+
+	private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+	private final List<Exchange> exchanges = new ArrayList<>();
+	private Selector selector;
+	private Thread thread;
+
+	/**
+	 * Returns a new connection to the given host and port. The socket is
+	 * opened with the first probe.
+	 *
+	 * @param host the host to connect to
+	 * @param port the port to connect to
+	 * @param connectTimeout the connect timeout in milliseconds
+	 * @param responseTimeout the timeout in milliseconds for the response to a request
+	 * @return the connection
+	 */
+	public Connection connect(String host, int port, int connectTimeout, int responseTimeout) {
+		return new Connection(host, port, connectTimeout, responseTimeout);
+	}
+
+	/**
+	 * Checks whether the given port accepts connections. The connection is
+	 * closed right away, no request is sent.
+	 *
+	 * @param host the host to connect to
+	 * @param port the port to connect to
+	 * @param connectTimeout the connect timeout in milliseconds
+	 * @return a future that completes with {@code true} if the connection
+	 *         could be established within the timeout, {@code false} otherwise
+	 */
+	public CompletableFuture<Boolean> isListening(String host, int port, int connectTimeout) {
+		CompletableFuture<Boolean> future = new CompletableFuture<>();
+		Connection connection = new Connection(host, port, connectTimeout, connectTimeout);
+		connection.resolve();
+		execute(() -> {
+			Exchange exchange = new Exchange(connection, null, future, true);
+			exchange.connectOnly = true;
+			connection.start(exchange);
+		});
+		return future;
+	}
+
+	private void execute(Runnable task) {
+		try {
+			ensureStarted();
+		} catch (IOException e) {
+			throw new IllegalStateException("Could not open selector for http probes", e);
+		}
+		tasks.add(task);
+		selector.wakeup();
+	}
+
+	private synchronized void ensureStarted() throws IOException {
+		if (thread != null) {
+			return;
+		}
+		this.selector = Selector.open();
+		this.thread = new Thread(() -> loop(), "RSP Http Probe");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	private void loop() {
+		while (true) {
+			try {
+				runTasks();
+				selector.select(getSelectTimeout());
+				Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+				while (it.hasNext()) {
+					SelectionKey key = it.next();
+					it.remove();
+					Exchange exchange = (Exchange) key.attachment();
+					if (exchange != null) {
+						exchange.handle(key);
+					}
+				}
+				expireTimedOut();
+			} catch (IOException | RuntimeException e) {
+				LOG.error("Error occurred while probing http servers", e);
+			}
+		}
+	}
+
+	private void runTasks() {
+		Runnable task = null;
+		while ((task = tasks.poll()) != null) {
+			task.run();
+		}
+	}
+
+	private long getSelectTimeout() {
+		long now = System.currentTimeMillis();
+		long timeout = 0;
+		for (Exchange exchange : exchanges) {
+			long remaining = Math.max(1, exchange.deadline - now);
+			if (timeout == 0 || remaining < timeout) {
+				timeout = remaining;
+			}
+		}
+		return timeout;
+	}
+
+	private void expireTimedOut() {
+		long now = System.currentTimeMillis();
+		for (Exchange exchange : new ArrayList<>(exchanges)) {
+			if (exchange.deadline <= now) {
+				exchange.connection.closeChannel();
+				exchange.complete(false);
+			}
+		}
+	}
+
+	/**
+	 * A connection to a web server. Only one probe is sent at a time, a probe
+	 * that is requested while another one is still waiting for its response is
+	 * sent on a connection of its own.
+	 */
+	public class Connection {
+
+		private final String host;
+		private final int port;
+		private final int connectTimeout;
+		private final int responseTimeout;
+		private volatile InetSocketAddress address;
+		private SocketChannel channel;
+		private Exchange current;
+		private boolean closed;
+
+		private Connection(String host, int port, int connectTimeout, int responseTimeout) {
+			this.host = host;
+			this.port = port;
+			this.connectTimeout = connectTimeout;
+			this.responseTimeout = responseTimeout;
+		}
+
+		/**
+		 * Sends a HEAD request for the given path.
+		 *
+		 * @param path the path to request
+		 * @return a future that completes with {@code true} if the server
+		 *         answered with a http response, {@code false} if it could not
+		 *         be reached, did not answer within the timeouts or did not
+		 *         answer with http.
+		 */
+		public CompletableFuture<Boolean> probe(String path) {
+			CompletableFuture<Boolean> future = new CompletableFuture<>();
+			resolve();
+			execute(() -> {
+				if (closed) {
+					future.complete(false);
+				} else if (current != null) {
+					Connection other = new Connection(host, port, connectTimeout, responseTimeout);
+					other.address = address;
+					other.start(new Exchange(other, path, future, true));
+				} else {
+					start(new Exchange(this, path, future, false));
+				}
+			});
+			return future;
+		}
+
+		/**
+		 * Closes the socket of this connection. Probes that are waiting for
+		 * their response complete with {@code false}.
+		 */
+		public void close() {
+			execute(() -> {
+				this.closed = true;
+				closeChannel();
+				if (current != null) {
+					current.complete(false);
+				}
+			});
+		}
+
+		public String getHost() {
+			return host;
+		}
+
+		public int getPort() {
+			return port;
+		}
+
+		/*
+		 * Resolves the host on the calling thread, once it could be resolved 
+		 * the address is kept
+		 */
+		private void resolve() {
+			if (address == null || address.isUnresolved()) {
+				this.address = new InetSocketAddress(host, port);
+			}
+		}
+
+		private void start(Exchange exchange) {
+			this.current = exchange;
+			exchanges.add(exchange);
+			try {
+				if (channel != null && channel.isOpen()) {
+					exchange.reused = true;
+					exchange.write(channel.keyFor(selector));
+					return;
+				}
+				openChannel(exchange);
+			} catch (IOException e) {
+				closeChannel();
+				exchange.complete(false);
+			}
+		}
+
+		private void openChannel(Exchange exchange) throws IOException {
+			if (address == null || address.isUnresolved()) {
+				throw new UnknownHostException(host);
+			}
+			this.channel = SocketChannel.open();
+			channel.configureBlocking(false);
+			exchange.deadline = System.currentTimeMillis() + connectTimeout;
+			SelectionKey key = channel.register(selector, 0, exchange);
+			if (channel.connect(address)) {
+				exchange.write(key);
+			} else {
+				key.interestOps(SelectionKey.OP_CONNECT);
+			}
+		}
+
+		private void closeChannel() {
+			if (channel == null) {
+				return;
+			}
+			try {
+				channel.close();
+			} catch (IOException e) {
+				// ignore
+			}
+			this.channel = null;
+		}
+
+		private void retry(Exchange exchange) {
+			closeChannel();
+			try {
+				openChannel(exchange);
+			} catch (IOException e) {
+				closeChannel();
+				exchange.complete(false);
+			}
+		}
+
+		private void finished(Exchange exchange) {
+			exchanges.remove(exchange);
+			if (current == exchange) {
+				this.current = null;
+			}
+		}
+	}
+
+	private class Exchange {
+
+		private final Connection connection;
+		private final CompletableFuture<Boolean> future;
+		private final boolean oneShot;
+		private final ByteBuffer request;
+		private final ByteBuffer response = ByteBuffer.allocate(MAX_RESPONSE_HEADER);
+		private long deadline;
+		private boolean reused;
+		private boolean connectOnly;
+
+		private Exchange(Connection connection, String path, CompletableFuture<Boolean> future, boolean oneShot) {
+			this.connection = connection;
+			this.future = future;
+			this.oneShot = oneShot;
+			this.request = createRequest(connection.host, connection.port, path, oneShot);
+		}
+
+		private ByteBuffer createRequest(String host, int port, String path, boolean close) {
+			StringBuilder sb = new StringBuilder();
+			sb.append("HEAD ").append(path == null || path.isEmpty() ? "/" : path).append(" HTTP/1.1\r\n")
+				.append("Host: ").append(host).append(':').append(port).append("\r\n")
+				.append("Connection: ").append(close ? "close" : "keep-alive").append("\r\n")
+				.append("\r\n");
+			return ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.US_ASCII));
+		}
+
+		private void handle(SelectionKey key) {
+			try {
+				if (!key.isValid()) {
+					fail();
+				} else if (key.isConnectable()) {
+					connection.channel.finishConnect();
+					write(key);
+				} else if (key.isWritable()) {
+					write(key);
+				} else if (key.isReadable()) {
+					read(key);
+				}
+			} catch (IOException e) {
+				fail();
+			}
+		}
+
+		private void write(SelectionKey key) throws IOException {
+			if (key == null) {
+				throw new ClosedChannelException();
+			}
+			key.attach(this);
+			if (connectOnly) {
+				complete(true);
+				return;
+			}
+			if (request.position() == 0) {
+				// the response timeout starts with the request
+				this.deadline = System.currentTimeMillis() + connection.responseTimeout;
+			}
+			connection.channel.write(request);
+			if (request.hasRemaining()) {
+				key.interestOps(SelectionKey.OP_WRITE);
+			} else {
+				key.interestOps(SelectionKey.OP_READ);
+			}
+		}
+
+		private void read(SelectionKey key) throws IOException {
+			int read = connection.channel.read(response);
+			String header = new String(response.array(), 0, response.position(), StandardCharsets.ISO_8859_1);
+			if (read < 0) {
+				// closed by the server
+				if (reused && response.position() == 0) {
+					fail();
+				} else {
+					connection.closeChannel();
+					complete(isHttp(header));
+				}
+				return;
+			}
+			if (header.contains(HEADER_END)) {
+				key.interestOps(0);
+				if (oneShot || !isKeepAlive(header)) {
+					connection.closeChannel();
+				}
+				complete(isHttp(header));
+			} else if (!response.hasRemaining()) {
+				connection.closeChannel();
+				complete(isHttp(header));
+			}
+		}
+
+		/*
+		 * A kept-alive connection may have been closed by the server meanwhile.
+		 * Try again once with a fresh connection in this case.
+		 */
+		private void fail() {
+			if (reused && !future.isDone()) {
+				this.reused = false;
+				request.rewind();
+				response.clear();
+				connection.retry(this);
+			} else {
+				connection.closeChannel();
+				complete(false);
+			}
+		}
+
+		private boolean isHttp(String header) {
+			return header.startsWith("HTTP/");
+		}
+
+		private boolean isKeepAlive(String header) {
+			String lower = header.toLowerCase(Locale.ENGLISH);
+			if (lower.startsWith("http/1.0")) {
+				return lower.contains("\r\nconnection: keep-alive");
+			}
+			return !lower.contains("\r\nconnection: close");
+		}
+
+		private void complete(boolean responded) {
+			connection.finished(this);
+			if (oneShot) {
+				connection.closeChannel();
+			}
+			future.complete(responded);
+		}
+	}
+}
@@ -200,5 +200,25 @@ public interface IServerStatePoller {
 	 * 			or IStatus.ERROR if a server is definitely not up. 
 	 */
 	public SERVER_STATE getCurrentStateSynchronous(IServer server);
-	
+
+	/**
+	 * Returns the number of pings and the time spent by the current or latest
+	 * polling. Returns {@code null} if this poller does not collect metrics.
+	 * 
+	 * @return the metrics or {@code null}
+	 */
+	public default PollMetrics getMetrics() {
+		return null;
+	}
+
+	/**
+	 * Sets a callback that the poller may run as soon as it has an answer, so
+	 * that the answer is picked up without waiting for the next check.
+	 * Pollers are not required to ever run it.
+	 * 
+	 * @param callback the callback to run once complete
+	 */
+	public default void setCompletionCallback(Runnable callback) {
+		// not supported by default
+	}
 }
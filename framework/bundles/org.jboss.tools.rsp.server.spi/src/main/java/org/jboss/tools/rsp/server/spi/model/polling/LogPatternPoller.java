@@ -0,0 +1,321 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.spi.model.polling;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.regex.Pattern;
+
+import org.jboss.tools.rsp.eclipse.debug.core.ILaunch;
+import org.jboss.tools.rsp.eclipse.debug.core.IStreamListener;
+import org.jboss.tools.rsp.eclipse.debug.core.model.IProcess;
+import org.jboss.tools.rsp.eclipse.debug.core.model.IStreamMonitor;
+import org.jboss.tools.rsp.eclipse.debug.core.model.IStreamsProxy;
+import org.jboss.tools.rsp.server.spi.servertype.IServer;
+
+/**
+ * Detects that a server started or stopped by watching the console output of
+ * its launch for a line that matches a given pattern (ex. WildFly's
+ * "WFLYSRV0025: ... started in"). The state switches the moment the line is
+ * printed, no network probes are needed.
+ *
+ * An optional fallback poller is run alongside. It answers if the server
+ * does not print the expected line, ex. because it was started with a
+ * different logging configuration. Whichever answers first wins.
+ */
+public class LogPatternPoller implements IServerStatePoller, IStreamListener {
+
+	/*
+	 * Upper bound for an incomplete line that is kept until its line break
+	 * arrives.
+	 */
+	private static final int MAX_LINE_LENGTH = 4 * 1024;
+
+	private final ILaunch launch;
+	private final Pattern startedPattern;
+	private final Pattern stoppedPattern;
+	private final IServerStatePoller fallback;
+
+	private IServer server;
+	private Pattern pattern;
+	private SERVER_STATE expectedState;
+	private boolean matched;
+	private boolean canceled;
+	private Runnable completionCallback;
+	/* the incomplete line of each stream, so that streams are not mixed up */
+	private final Map<IStreamMonitor, StringBuilder> lines = new HashMap<>();
+	private final List<IStreamMonitor> monitors = new ArrayList<>();
+	/* the text of each stream that was appended before its contents were scanned */
+	private final Map<IStreamMonitor, StringBuilder> pending = new HashMap<>();
+
+	/**
+	 * @param launch the launch whose console output is watched
+	 * @param startedPattern the pattern of the line that is printed once the
+	 *                       server is started, may be {@code null}
+	 * @param stoppedPattern the pattern of the line that is printed once the
+	 *                       server is stopped, may be {@code null}
+	 * @param fallback the poller to run alongside, may be {@code null}
+	 */
+	public LogPatternPoller(ILaunch launch, Pattern startedPattern, Pattern stoppedPattern,
+			IServerStatePoller fallback) {
+		this.launch = launch;
+		this.startedPattern = startedPattern;
+		this.stoppedPattern = stoppedPattern;
+		this.fallback = fallback;
+	}
+
+	@Override
+	public void beginPolling(IServer server, SERVER_STATE expectedState) throws PollingException {
+		synchronized (this) {
+			this.server = server;
+			this.expectedState = expectedState;
+			this.pattern = getPattern(expectedState);
+			this.matched = false;
+			this.canceled = false;
+			this.lines.clear();
+			this.pending.clear();
+		}
+		if (pattern != null) {
+			listenToStreams();
+		}
+		if (fallback != null) {
+			fallback.beginPolling(server, expectedState);
+		}
+	}
+
+	private Pattern getPattern(SERVER_STATE state) {
+		switch (state) {
+		case UP:
+			return startedPattern;
+		case DOWN:
+			return stoppedPattern;
+		default:
+			return null;
+		}
+	}
+
+	private void listenToStreams() {
+		if (launch == null) {
+			return;
+		}
+		for (IProcess process : launch.getProcesses()) {
+			IStreamsProxy proxy = process.getStreamsProxy();
+			if (proxy != null) {
+				listenTo(proxy.getOutputStreamMonitor());
+				listenTo(proxy.getErrorStreamMonitor());
+			}
+		}
+	}
+
+	private void listenTo(IStreamMonitor monitor) {
+		if (monitor == null) {
+			return;
+		}
+		synchronized (this) {
+			monitors.add(monitor);
+			// text that is appended meanwhile is held back until the contents were scanned
+			pending.put(monitor, new StringBuilder());
+		}
+		// the line may have been printed before we listened
+		String contents = monitor.addListenerAndGetContents(this);
+		Runnable callback = null;
+		synchronized (this) {
+			StringBuilder appended = pending.remove(monitor);
+			if (appended != null
+					&& (scanLines(contents, monitor)
+							|| scanLines(appended.toString(), monitor))) {
+				callback = completionCallback;
+			}
+		}
+		runCallback(callback);
+	}
+
+	@Override
+	public void streamAppended(String text, IStreamMonitor monitor) {
+		Runnable callback = null;
+		synchronized (this) {
+			StringBuilder appended = pending.get(monitor);
+			if (appended != null) {
+				appended.append(text);
+			} else if (scanLines(text, monitor)) {
+				callback = completionCallback;
+			}
+		}
+		runCallback(callback);
+	}
+
+	private void runCallback(Runnable callback) {
+		// never call out while holding the lock
+		if (callback != null) {
+			callback.run();
+		}
+	}
+
+	/*
+	 * Returns {@code true} if the given text completed a line that matches.
+	 * Must be called while holding the lock.
+	 */
+	private boolean scanLines(String text, IStreamMonitor monitor) {
+		if (text == null
+				|| pattern == null
+				|| matched
+				|| canceled) {
+			return false;
+		}
+		StringBuilder line = lines.computeIfAbsent(monitor, m -> new StringBuilder());
+		int start = 0;
+		int end = -1;
+		while ((end = text.indexOf('\n', start)) != -1) {
+			line.append(text, start, end);
+			if (matches(line)) {
+				return true;
+			}
+			line.setLength(0);
+			start = end + 1;
+		}
+		line.append(text, start, text.length());
+		if (line.length() > MAX_LINE_LENGTH) {
+			if (matches(line)) {
+				return true;
+			}
+			line.delete(0, line.length() - MAX_LINE_LENGTH);
+		}
+		return false;
+	}
+
+	private boolean matches(CharSequence text) {
+		if (pattern.matcher(text).find()) {
+			this.matched = true;
+			this.lines.clear();
+			return true;
+		}
+		return false;
+	}
+
+	@Override
+	public synchronized boolean isComplete() throws PollingException, RequiresInfoException {
+		if (canceled) {
+			return false;
+		}
+		return matched
+				|| (fallback != null && fallback.isComplete());
+	}
+
+	@Override
+	public synchronized SERVER_STATE getState() throws PollingException, RequiresInfoException {
+		if (canceled) {
+			return null;
+		}
+		if (matched) {
+			return expectedState;
+		}
+		if (fallback != null) {
+			return fallback.getState();
+		}
+		return SERVER_STATE.UNKNOWN;
+	}
+
+	/**
+	 * Returns {@code true} if the expected state was detected in the console
+	 * output, {@code false} otherwise.
+	 */
+	public synchronized boolean isMatched() {
+		return matched;
+	}
+
+	@Override
+	public void cleanup() {
+		stopListening();
+		if (fallback != null) {
+			fallback.cleanup();
+		}
+	}
+
+	private void stopListening() {
+		List<IStreamMonitor> toRemove = null;
+		synchronized (this) {
+			toRemove = new ArrayList<>(monitors);
+			monitors.clear();
+			lines.clear();
+			pending.clear();
+		}
+		for (IStreamMonitor monitor : toRemove) {
+			monitor.removeListener(this);
+		}
+	}
+
+	@Override
+	public void cancel(CANCELATION_CAUSE cause) {
+		synchronized (this) {
+			this.canceled = true;
+		}
+		stopListening();
+		if (fallback != null) {
+			fallback.cancel(cause);
+		}
+	}
+
+	@Override
+	public void setCompletionCallback(Runnable callback) {
+		synchronized (this) {
+			this.completionCallback = callback;
+		}
+		if (fallback != null) {
+			fallback.setCompletionCallback(callback);
+		}
+	}
+
+	@Override
+	public TIMEOUT_BEHAVIOR getTimeoutBehavior() {
+		if (fallback != null) {
+			return fallback.getTimeoutBehavior();
+		}
+		return TIMEOUT_BEHAVIOR.FAIL;
+	}
+
+	@Override
+	public List<String> getRequiredProperties() {
+		if (fallback != null) {
+			return fallback.getRequiredProperties();
+		}
+		return Collections.emptyList();
+	}
+
+	@Override
+	public void provideCredentials(Properties credentials) {
+		if (fallback != null) {
+			fallback.provideCredentials(credentials);
+		}
+	}
+
+	@Override
+	public IServer getServer() {
+		return server;
+	}
+
+	@Override
+	public SERVER_STATE getCurrentStateSynchronous(IServer server) {
+		if (fallback != null) {
+			return fallback.getCurrentStateSynchronous(server);
+		}
+		return SERVER_STATE.UNKNOWN;
+	}
+
+	@Override
+	public PollMetrics getMetrics() {
+		if (fallback != null) {
+			return fallback.getMetrics();
+		}
+		return null;
+	}
+}
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.spi.model.polling;
+
+/**
+ * Counts the pings of a poller and the time that was spent waiting between
+ * them.
+ */
+public class PollMetrics {
+
+	private int pings;
+	private long pingTime;
+	private long lastDelay;
+	private long startTime;
+	private long endTime;
+
+	public synchronized void start() {
+		this.pings = 0;
+		this.pingTime = 0;
+		this.lastDelay = 0;
+		this.startTime = System.currentTimeMillis();
+		this.endTime = 0;
+	}
+
+	public synchronized void pinged(long duration) {
+		this.pings++;
+		this.pingTime += duration;
+	}
+
+	public synchronized void scheduled(long delay) {
+		this.lastDelay = delay;
+	}
+
+	public synchronized void stop() {
+		if (endTime == 0) {
+			this.endTime = System.currentTimeMillis();
+		}
+	}
+
+	/**
+	 * Returns the number of pings that were done.
+	 */
+	public synchronized int getPings() {
+		return pings;
+	}
+
+	/**
+	 * Returns the time in milliseconds that was spent pinging.
+	 */
+	public synchronized long getPingTime() {
+		return pingTime;
+	}
+
+	/**
+	 * Returns the delay in milliseconds that was scheduled last between two pings.
+	 */
+	public synchronized long getLastDelay() {
+		return lastDelay;
+	}
+
+	/**
+	 * Returns the time in milliseconds that polling lasted or is lasting so far.
+	 */
+	public synchronized long getElapsed() {
+		if (startTime == 0) {
+			return 0;
+		}
+		long end = endTime == 0 ? System.currentTimeMillis() : endTime;
+		return end - startTime;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "pings=" + pings + ", pingTime=" + pingTime + "ms, lastDelay=" + lastDelay + "ms, elapsed="
+				+ getElapsed() + "ms";
+	}
+}
@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.spi.model.polling;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A single scheduler shared by every server state poller and poll thread.
+ *
+ * Pollers and poll threads do not own any threads. Their pings,
+ * completion checks and timeouts are all run as tasks on this scheduler,
+ * so the number of threads does not grow with the number of servers
+ * that are starting or stopping at the same time.
+ *
+ * The amount of worker threads can be set with the system property
+ * {@link #SYSPROP_POLL_THREADS}.
+ */
+public class PollScheduler {
+
+	private static final Logger LOG = LoggerFactory.getLogger(PollScheduler.class);
+
+	public static final String SYSPROP_POLL_THREADS = "rsp.server.polling.threads";
+	private static final int DEFAULT_POLL_THREADS = 4;
+
+	private static final PollScheduler DEFAULT = new PollScheduler();
+
+	public static PollScheduler getDefault() {
+		return DEFAULT;
+	}
+
+	private final ScheduledThreadPoolExecutor executor;
+	private final Executor immediate = task -> schedule(task, 0);
+
+	public PollScheduler() {
+		this(Integer.getInteger(SYSPROP_POLL_THREADS, DEFAULT_POLL_THREADS));
+	}
+
+	public PollScheduler(int threads) {
+		this.executor = new ScheduledThreadPoolExecutor(Math.max(1, threads), new PollThreadFactory());
+		this.executor.setRemoveOnCancelPolicy(true);
+	}
+
+	/**
+	 * Run the given task once after the given delay.
+	 *
+	 * @param task the task to run
+	 * @param delay the delay in milliseconds
+	 * @return the future which can be used to cancel the task
+	 */
+	public ScheduledFuture<?> schedule(Runnable task, long delay) {
+		return executor.schedule(safe(task), delay, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Run the given task repeatedly, waiting the given delay between the end of
+	 * one execution and the start of the next one. The task is repeated until
+	 * the returned future is cancelled.
+	 *
+	 * @param task the task to run
+	 * @param initialDelay the delay before the first run in milliseconds
+	 * @param delay the delay between runs in milliseconds
+	 * @return the future which can be used to cancel the task
+	 */
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long initialDelay, long delay) {
+		return executor.scheduleWithFixedDelay(safe(task), initialDelay, delay, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Returns an executor that runs the given tasks right away on the threads
+	 * of this scheduler. Callbacks of pings that complete on an I/O thread
+	 * are handed off to it, so that the I/O thread never waits for them.
+	 */
+	public Executor getExecutor() {
+		return immediate;
+	}
+
+	/**
+	 * Returns the number of tasks that are waiting to be run
+	 */
+	public int getQueuedTaskCount() {
+		return executor.getQueue().size();
+	}
+
+	/**
+	 * Returns the number of worker threads that currently exist
+	 */
+	public int getThreadCount() {
+		return executor.getPoolSize();
+	}
+
+	/**
+	 * Stops the threads of this scheduler. Tasks that are waiting are not run.
+	 * The default scheduler lives as long as the server and is not shut down.
+	 */
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	/*
+	 * A periodic task that throws is silently never run again.
+	 * Log and swallow instead so that a failing ping does not stop polling.
+	 */
+	private Runnable safe(Runnable task) {
+		return () -> {
+			try {
+				task.run();
+			} catch(RuntimeException e) {
+				LOG.error("Error occurred while polling.", e);
+			}
+		};
+	}
+
+	private static class PollThreadFactory implements ThreadFactory {
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread t = new Thread(runnable, "RSP Server Poller " + count.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		}
+	}
+}
@@ -8,6 +8,10 @@
  ******************************************************************************/
 package org.jboss.tools.rsp.server.spi.model.polling;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
 import org.jboss.tools.rsp.eclipse.osgi.util.NLS;
 import org.jboss.tools.rsp.server.spi.model.polling.IServerStatePoller.CANCELATION_CAUSE;
 import org.jboss.tools.rsp.server.spi.model.polling.IServerStatePoller.SERVER_STATE;
@@ -17,15 +21,25 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Asks a poller for its result until the server reached the expected state, 
+ * the poller has an answer or the timeout is reached.
+ * 
+ * Despite its name, a poll thread does not own a thread. The periodic checks
+ * and the timeout are tasks on the shared {@link PollScheduler}.
  * 
  * @author rob.stryker@jboss.com
  */
-public class PollThread extends Thread {
+public class PollThread {
 
 	private static final Logger LOG = LoggerFactory.getLogger(PollThread.class);
 
-	private static final int POLL_DELAY = 100;
+	/*
+	 * Asking the poller is cheap, 
+	 * it's the poller that pings the server with its own back-off
+	 */
+	private static final PollingBackoff CHECK_BACKOFF = new PollingBackoff(100, 10, 500, 1.5, 0);
 	
+	private final String name;
 	private boolean aborted;
 	private SERVER_STATE expectedState;
 	private IServerStatePoller poller;
@@ -33,9 +47,15 @@ public class PollThread extends Thread {
 	private IServer server;
 	private int timeout;
 	private boolean listenerAlerted = false;
+	private boolean started = false;
+	private boolean terminated = false;
+	private ScheduledFuture<?> checkFuture;
+	private int checks;
+	private ScheduledFuture<?> timeoutFuture;
+	private final CountDownLatch finished = new CountDownLatch(1);
 
 	public PollThread(SERVER_STATE expectedState, IServerStatePoller poller, IPollResultListener listener, IServer server, int timeout) {
-		super(NLS.bind("{0} - Server Poller", server.getName()));
+		this.name = NLS.bind("{0} - Server Poller", server.getName());
 		this.expectedState = expectedState;
 		this.poller = poller;
 		this.server = server;
@@ -44,61 +64,112 @@ public class PollThread extends Thread {
 		this.timeout = timeout;
 	}
 
-
-	@Override
-	public void run() {
+	/**
+	 * Begins polling. The checks and the timeout are scheduled on the shared
+	 * {@link PollScheduler}, this method returns immediately.
+	 */
+	public void start() {
+		setStarted();
 		// Poller not found. Abort
 		if (poller == null) {
 			LOG.error("No poller defined, aborting polling.");
+			claim();
 			alertListener(getOpposite(expectedState));
+			release();
 			return;
 		}
 
-		int maxWait = getTimeout();
+		try {
+			poller.setCompletionCallback(() -> checkNow());
+			poller.beginPolling(getServer(), expectedState);
+		} catch(Exception e) {
+			LOG.error("Error occurred while polling, aborting.", e);
+			cancel(e.getMessage(), CANCELATION_CAUSE.FAILED);
+			return;
+		}
+		schedule();
+	}
+
+	private synchronized void schedule() {
+		if (terminated) {
+			// canceled while beginning to poll
+			return;
+		}
+		this.timeoutFuture = PollScheduler.getDefault().schedule(() -> onTimeout(), getTimeout());
+		scheduleCheck();
+	}
+
+	private synchronized void scheduleCheck() {
+		if (terminated) {
+			return;
+		}
+		this.checkFuture = PollScheduler.getDefault().schedule(() -> check(true), CHECK_BACKOFF.getDelay(checks++));
+	}
 
-		long startTime = System.currentTimeMillis();
+	/*
+	 * The poller has an answer, pick it up right away 
+	 */
+	private synchronized void checkNow() {
+		if (terminated) {
+			return;
+		}
+		PollScheduler.getDefault().schedule(() -> check(false), 0);
+	}
+
+	/*
+	 * One iteration: ask the poller whether it's done 
+	 * and check whether the server was started or stopped meanwhile
+	 */
+	private void check(boolean reschedule) {
+		if (isFinished() || isAborted()) {
+			claim();
+			return;
+		}
 		boolean done = false;
-		boolean serverStartedOrStopped = false;
 		try {
-			poller.beginPolling(getServer(), expectedState);
-	
-			// begin the loop; ask the poller every so often
-			while (!serverStartedOrStopped
-					&& !isAborted()
-					&& !done
-					&& !timeoutReached(startTime, maxWait)) {
-				try {
-					Thread.sleep(POLL_DELAY);
-					done = poller.isComplete();
-				} catch (PollingException | InterruptedException e) {
-					// abort and put the message in event log
-					cancel(e.getMessage(), CANCELATION_CAUSE.FAILED);
-					return;
-				} catch (RequiresInfoException rie) {
-					// This way each request for new info is checked only once.
-					if (!rie.getChecked()) {
-						rie.setChecked();
-						fireRequestCredentials(expectedState, poller);
-					}
-				}
-				serverStartedOrStopped = isStartedOrStopped(server.getDelegate());
+			done = poller.isComplete();
+		} catch (PollingException e) {
+			// abort and put the message in event log
+			cancel(e.getMessage(), CANCELATION_CAUSE.FAILED);
+			return;
+		} catch (RequiresInfoException rie) {
+			// This way each request for new info is checked only once.
+			if (!rie.getChecked()) {
+				rie.setChecked();
+				fireRequestCredentials(expectedState, poller);
 			}
-			if (serverStartedOrStopped) {
+		} catch(Exception e) {
+			LOG.error("Error occurred while polling, aborting.", e);
+			cancel(e.getMessage(), CANCELATION_CAUSE.FAILED);
+			return;
+		}
+		boolean serverStartedOrStopped = isStartedOrStopped(server.getDelegate());
+		if (serverStartedOrStopped) {
+			if (claim()) {
 				// we stopped. Did we abort?
 				handleUncertainTermination();
-			} else if (done) {
+				release();
+			}
+		} else if (done) {
+			if (claim()) {
 				// the poller has an answer
 				handlePollerHasAnswer();
-			} else {
-				// we timed out. get response from preferences
-				handleTimeoutTermination();
+				release();
 			}
-		} catch(Exception e) {
-			LOG.error("Error occurred while polling, aborting.", e);
-			cancel(e.getMessage(), CANCELATION_CAUSE.FAILED);
+		} else if (reschedule) {
+			scheduleCheck();
 		}
 	}
 
+	private void onTimeout() {
+		if (isAborted() || !claim()) {
+			return;
+		}
+		// we timed out. get response from preferences
+		handleTimeoutTermination();
+		release();
+	}
+
 	private SERVER_STATE getOpposite(SERVER_STATE state) {
 		switch(state) {
 		case UNKNOWN:
@@ -146,10 +217,6 @@ public class PollThread extends Thread {
 				: CANCELATION_CAUSE.FAILED);
 	}
 	
-	private boolean timeoutReached(long startTime, int maxWait) {
-		return System.currentTimeMillis() >= (startTime + maxWait);
-	}
-
 	private boolean isStartedOrStopped(IServerDelegate delegate) {
 		int state = delegate.getServerRunState();
 		switch(state) {
@@ -165,6 +232,84 @@ public class PollThread extends Thread {
 		cancel(null, IServerStatePoller.CANCELATION_CAUSE.CANCEL);
 	}
 
+	/**
+	 * Returns {@code true} if polling was started and did not finish yet.
+	 */
+	public synchronized boolean isAlive() {
+		return started && !isFinished();
+	}
+
+	/**
+	 * Waits until polling finished.
+	 * 
+	 * @throws InterruptedException
+	 */
+	public void join() throws InterruptedException {
+		finished.await();
+	}
+
+	/**
+	 * Waits at most the given amount of milliseconds for polling to finish.
+	 * 
+	 * @return {@code true} if polling finished
+	 * @throws InterruptedException
+	 */
+	public boolean join(long millis) throws InterruptedException {
+		return finished.await(millis, TimeUnit.MILLISECONDS);
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	private synchronized void setStarted() {
+		this.started = true;
+	}
+
+	private boolean isFinished() {
+		return finished.getCount() == 0;
+	}
+
+	/*
+	 * Stops the scheduled checks and the timeout.
+	 * Returns {@code true} if the caller is the one to terminate polling and
+	 * has to {@link #release()} once it is done, {@code false} if polling is
+	 * terminated by someone else already.
+	 */
+	private synchronized boolean claim() {
+		if (checkFuture != null) {
+			checkFuture.cancel(false);
+		}
+		if (timeoutFuture != null) {
+			timeoutFuture.cancel(false);
+		}
+		if (terminated) {
+			return false;
+		}
+		this.terminated = true;
+		return true;
+	}
+
+	/*
+	 * Releases the callers that {@link #join()}ed. 
+	 */
+	private void release() {
+		try {
+			logMetrics();
+		} finally {
+			finished.countDown();
+		}
+	}
+
+	private void logMetrics() {
+		if (poller == null 
+				|| poller.getMetrics() == null) {
+			return;
+		}
+		LOG.debug(NLS.bind("Polling server {0} for state {1} ended: {2}", 
+				new Object[] { server.getName(), expectedState, poller.getMetrics() }));
+	}
+
 	private synchronized boolean isAborted() {
 		return aborted;
 	}
@@ -183,12 +328,16 @@ public class PollThread extends Thread {
 	
 	protected void cancel(String message, IServerStatePoller.CANCELATION_CAUSE cause) {
 		// If we haven't aborted already
+		boolean claimed = claim();
 		if( !isAborted() && !isListenerAlerted()) {
 			setAborted();
 			cancelPoller(cause);
 			log(message, cause);
 			alertListener(getOpposite(expectedState));
 		}
+		if (claimed) {
+			release();
+		}
 	}
 
 	private void cancelPoller(IServerStatePoller.CANCELATION_CAUSE cause) {
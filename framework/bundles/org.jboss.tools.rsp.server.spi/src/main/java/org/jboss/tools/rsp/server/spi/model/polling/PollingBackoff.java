@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.spi.model.polling;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The delays between the pings of a poller.
+ *
+ * The first pings are sent quickly one after another so that a server that
+ * starts or stops fast is detected without delay. After that the delay grows
+ * exponentially up to a maximum so that a server that takes long to boot is
+ * not flooded with connections or process spawns. A random jitter is added to
+ * each delay so that several pollers that were started together do not keep
+ * pinging at the very same time.
+ */
+public class PollingBackoff {
+
+	/**
+	 * 5 pings every 200ms, then growing by 1.5 up to 2s with 20% jitter.
+	 */
+	public static final PollingBackoff DEFAULT = new PollingBackoff(200, 5, 2000, 1.5, 0.2);
+
+	private final long initialDelay;
+	private final int fastProbes;
+	private final long maxDelay;
+	private final double multiplier;
+	private final double jitter;
+
+	/**
+	 * Returns a back-off that always waits the given delay.
+	 *
+	 * @param delay the delay in milliseconds
+	 * @return the back-off
+	 */
+	public static PollingBackoff fixed(long delay) {
+		return new PollingBackoff(delay, 0, delay, 1, 0);
+	}
+
+	/**
+	 * @param initialDelay the delay for the first pings in milliseconds
+	 * @param fastProbes the number of pings that are done with the initial delay
+	 * @param maxDelay the maximum delay in milliseconds
+	 * @param multiplier the factor that the delay grows by after the fast pings
+	 * @param jitter the fraction of the delay that is randomly added or
+	 *               subtracted, ex. 0.2 for +/- 20%
+	 */
+	public PollingBackoff(long initialDelay, int fastProbes, long maxDelay, double multiplier, double jitter) {
+		if (initialDelay < 0 || maxDelay < initialDelay) {
+			throw new IllegalArgumentException("Delays must be positive and the maximum delay must not be smaller than the initial one.");
+		}
+		if (multiplier < 1) {
+			throw new IllegalArgumentException("Multiplier must not be smaller than 1.");
+		}
+		if (jitter < 0 || jitter >= 1) {
+			throw new IllegalArgumentException("Jitter must be between 0 and 1.");
+		}
+		this.initialDelay = initialDelay;
+		this.fastProbes = Math.max(0, fastProbes);
+		this.maxDelay = maxDelay;
+		this.multiplier = multiplier;
+		this.jitter = jitter;
+	}
+
+	/**
+	 * Returns the delay before the given ping, including a random jitter.
+	 *
+	 * @param ping the number of the ping, starting at 0
+	 * @return the delay in milliseconds
+	 */
+	public long getDelay(int ping) {
+		return getDelay(ping, ThreadLocalRandom.current().nextDouble(-1, 1));
+	}
+
+	/**
+	 * Returns the delay before the given ping with the given jitter factor.
+	 *
+	 * @param ping the number of the ping, starting at 0
+	 * @param random a value between -1 and 1 that determines the jitter
+	 * @return the delay in milliseconds
+	 */
+	protected long getDelay(int ping, double random) {
+		double delay = initialDelay;
+		int backoffs = ping - fastProbes;
+		// stop multiplying once the cap is reached, avoids overflows with long polls
+		for (int i = 0; i < backoffs && delay < maxDelay; i++) {
+			delay *= multiplier;
+		}
+		delay = Math.min(delay, maxDelay);
+		delay += delay * jitter * random;
+		return Math.max(0, Math.round(delay));
+	}
+
+	public long getInitialDelay() {
+		return initialDelay;
+	}
+
+	public int getFastProbes() {
+		return fastProbes;
+	}
+
+	public long getMaxDelay() {
+		return maxDelay;
+	}
+
+	public double getMultiplier() {
+		return multiplier;
+	}
+
+	public double getJitter() {
+		return jitter;
+	}
+
+	@Override
+	public String toString() {
+		return "PollingBackoff [initialDelay=" + initialDelay + ", fastProbes=" + fastProbes + ", maxDelay="
+				+ maxDelay + ", multiplier=" + multiplier + ", jitter=" + jitter + "]";
+	}
+}
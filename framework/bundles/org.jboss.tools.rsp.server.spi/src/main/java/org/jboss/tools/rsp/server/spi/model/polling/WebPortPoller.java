@@ -14,18 +14,84 @@ import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLConnection;
+import java.util.concurrent.CompletableFuture;
 
 import org.jboss.tools.rsp.server.spi.servertype.IServer;
 
+/**
+ * Polls a server by sending http requests to its web port. Any http response
+ * is considered as a server that is up.
+ * 
+ * Http urls are probed without blocking by {@link HttpProbe}, reusing the
+ * connection from one ping to the next. Other urls (ex. https) are pinged
+ * with a blocking {@link HttpURLConnection}. Both are subject to the connect-
+ * and response timeouts of this poller.
+ */
 public abstract class WebPortPoller extends AbstractPoller implements IServerStatePoller {
 
+	private static final String PROTOCOL_HTTP = "http";
+
 	private String name;
+	private int connectTimeout = HttpProbe.DEFAULT_CONNECT_TIMEOUT;
+	private int responseTimeout = HttpProbe.DEFAULT_RESPONSE_TIMEOUT;
+	private HttpProbe.Connection connection;
 
 	public WebPortPoller(String string) {
 		super();
 		this.name = string;
 	}
 
+	/**
+	 * Sets the timeouts that are used for each ping.
+	 * 
+	 * @param connectTimeout the connect timeout in milliseconds
+	 * @param responseTimeout the timeout in milliseconds for the response
+	 */
+	public void setTimeouts(int connectTimeout, int responseTimeout) {
+		this.connectTimeout = connectTimeout;
+		this.responseTimeout = responseTimeout;
+	}
+
+	@Override
+	protected CompletableFuture<SERVER_STATE> onePingAsync(IServer server) {
+		URL url = toURL(getURL(server));
+		if (url == null) {
+			return CompletableFuture.completedFuture(SERVER_STATE.DOWN);
+		}
+		if (!PROTOCOL_HTTP.equalsIgnoreCase(url.getProtocol())) {
+			return super.onePingAsync(server);
+		}
+		return getConnection(url)
+				.probe(url.getFile())
+				.thenApply(responded -> responded ? SERVER_STATE.UP : SERVER_STATE.DOWN);
+	}
+
+	private synchronized HttpProbe.Connection getConnection(URL url) {
+		int port = url.getPort() == -1 ? url.getDefaultPort() : url.getPort();
+		if (connection != null
+				&& (!connection.getHost().equals(url.getHost())
+						|| connection.getPort() != port)) {
+			closeConnection();
+		}
+		if (connection == null) {
+			this.connection = HttpProbe.getDefault().connect(url.getHost(), port, connectTimeout, responseTimeout);
+		}
+		return connection;
+	}
+
+	private synchronized void closeConnection() {
+		if (connection != null) {
+			connection.close();
+			this.connection = null;
+		}
+	}
+
+	@Override
+	public void cleanup() {
+		super.cleanup();
+		closeConnection();
+	}
+
 	@Override
 	protected SERVER_STATE onePing(IServer server) {
 		return onePing(getURL(server));
@@ -34,18 +100,19 @@ public abstract class WebPortPoller extends AbstractPoller implements IServerSta
 	protected abstract String getURL(IServer server);
 	
 	private SERVER_STATE onePing(String url) {
+		URL pingUrl = toURL(url);
+		if (pingUrl == null) {
+			return SERVER_STATE.DOWN;
+		}
 		URLConnection conn = null;
 		try {
-			URL pingUrl = new URL(url);
 			conn = pingUrl.openConnection();
+			conn.setConnectTimeout(connectTimeout);
+			conn.setReadTimeout(responseTimeout);
 			((HttpURLConnection)conn).getResponseCode();
 			return SERVER_STATE.UP;
 		} catch( FileNotFoundException fnfe ) {
 			return SERVER_STATE.UP;
-		} catch (MalformedURLException e) {
-			// Should NEVER happen since the URL's are hand-crafted, but whatever
-//			Status s = new Status(IStatus.ERROR, JBossServerCorePlugin.PLUGIN_ID, e.getMessage(), e);
-//			JBossServerCorePlugin.log(s);
 		} catch (IOException e) {
 			// Does not need to be logged
 			return SERVER_STATE.DOWN;
@@ -54,7 +121,15 @@ public abstract class WebPortPoller extends AbstractPoller implements IServerSta
 				((HttpURLConnection)conn).disconnect();
 			}
 		}
-		return SERVER_STATE.DOWN;
+	}
+
+	private URL toURL(String url) {
+		try {
+			return new URL(url);
+		} catch (MalformedURLException e) {
+			// Should NEVER happen since the URL's are hand-crafted, but whatever
+			return null;
+		}
 	}
 	
 	@Override
@@ -42,6 +42,7 @@ import org.jboss.tools.rsp.server.spi.SPIActivator;
 import org.jboss.tools.rsp.server.spi.client.ClientThreadLocal;
 import org.jboss.tools.rsp.server.spi.client.MessageContextStore.MessageContext;
 import org.jboss.tools.rsp.server.spi.jobs.IJob;
+import org.jboss.tools.rsp.server.spi.jobs.IJobProgressMonitor;
 import org.jboss.tools.rsp.server.spi.model.IServerManagementModel;
 import org.jboss.tools.rsp.server.spi.model.IServerModel;
 
@@ -149,6 +150,7 @@ public abstract class AbstractLicenseOnlyDownloadExecutor implements IDownloadRu
 				TaskModel tm2 = createDownloadTaskModel(req);
 				IStatus ret = installer.installRuntime(dlrt, uniqueLoc.getAbsolutePath(), downloads.getAbsolutePath(), 
 						true, tm2, sub.split(90));
+				reportDownloadedBytes(tm2, monitor);
 				if( !ret.isOK()) {
 					return ret;
 				}
@@ -160,10 +162,19 @@ public abstract class AbstractLicenseOnlyDownloadExecutor implements IDownloadRu
 			}
 		};
 		
-		IJob job = model.getJobManager().scheduleJob(jobName, task);
+		IJob job = model.getJobManager().scheduleJob(jobName, task, IJob.PRIORITY_LONG, IJob.FAMILY_DOWNLOAD);
 		return job.getId();
 	}
 	
+	private void reportDownloadedBytes(TaskModel tm, IProgressMonitor monitor) {
+		Object downloaded = tm.getObject(IDownloadRuntimeWorkflowConstants.DOWNLOADED_FILE);
+		if( monitor instanceof IJobProgressMonitor 
+				&& downloaded instanceof File 
+				&& ((File)downloaded).isFile()) {
+			((IJobProgressMonitor)monitor).bytesProcessed(((File)downloaded).length());
+		}
+	}
+
 	protected TaskModel createDownloadTaskModel(DownloadSingleRuntimeRequest req) {
 		return new TaskModel();
 	}
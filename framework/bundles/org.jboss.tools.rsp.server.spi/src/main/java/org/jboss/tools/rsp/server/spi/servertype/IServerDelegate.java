@@ -316,6 +316,17 @@ public interface IServerDelegate {
 	 * @param resp
 	 */
 	public void updateServer(IServer dummyServer, UpdateServerResponse resp);
-	
+
+	/**
+	 * Checks whether this server, which is started, is still alive. 
+	 * Is called periodically for all started servers by the liveness monitor. 
+	 * Implementations must not block and should mark the server as stopped 
+	 * if they find it dead. 
+	 * 
+	 * The default implementation does nothing.
+	 */
+	public default void checkLiveness() {
+		// not supported by default
+	}
 
 }
@@ -12,6 +12,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.jboss.tools.rsp.api.ICapabilityKeys;
+import org.jboss.tools.rsp.api.MessageCompression;
 import org.jboss.tools.rsp.api.RSPClient;
 import org.jboss.tools.rsp.api.dao.ClientCapabilitiesRequest;
 import org.jboss.tools.rsp.eclipse.core.runtime.IStatus;
@@ -86,6 +87,10 @@ public class CapabilityManagement implements ICapabilityManagement, ICapabilityK
         ret.put(ICapabilityKeys.STRING_PROTOCOL_VERSION, ICapabilityKeys.PROTOCOL_VERSION_CURRENT);
         ret.put(ICapabilityKeys.BOOLEAN_STRING_PROMPT, Boolean.toString(true));
         ret.put(ICapabilityKeys.BOOLEAN_PUBLISH_ARCHIVE, Boolean.toString(true));
+        ret.put(ICapabilityKeys.BOOLEAN_SERVER_OUTPUT_SUBSCRIPTION, Boolean.toString(true));
+        ret.put(ICapabilityKeys.BOOLEAN_SERVER_STATE_DELTA, Boolean.toString(true));
+        ret.put(ICapabilityKeys.BOOLEAN_EVENT_SEQUENCE, Boolean.toString(true));
+        ret.put(ICapabilityKeys.STRING_MESSAGE_COMPRESSION, MessageCompression.ENCODING_DEFLATE);
         return ret;
 	}
 }
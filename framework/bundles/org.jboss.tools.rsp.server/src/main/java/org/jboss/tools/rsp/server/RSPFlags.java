@@ -11,11 +11,24 @@ package org.jboss.tools.rsp.server;
 public class RSPFlags {
 	public static final String SYSPROP_SERVER_PORT = "rsp.server.port";
 	public static final int DEFAULT_PORT = 27511;
+	/*
+	 * The path of a unix domain socket that local clients may connect to 
+	 * in addition to the tcp port. Requires java 16 or later.
+	 */
+	public static final String SYSPROP_SERVER_SOCKET = "rsp.server.socket";
 	
 	public static int getServerPort() {
 		return getIntSysprop(SYSPROP_SERVER_PORT, DEFAULT_PORT);
 	}
 
+	public static String getServerSocket() {
+		String path = System.getProperty(SYSPROP_SERVER_SOCKET);
+		if( path == null || path.trim().isEmpty()) {
+			return null;
+		}
+		return path.trim();
+	}
+
 	public static int getIntSysprop(String key, int def) {
 		int logLevel = def;
 		String logLevelTmp = System.getProperty(key);
@@ -8,32 +8,119 @@
  ******************************************************************************/
 package org.jboss.tools.rsp.server;
 
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.net.Socket;
+import java.nio.channels.SocketChannel;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.eclipse.lsp4j.jsonrpc.Launcher;
 import org.eclipse.lsp4j.jsonrpc.MessageConsumer;
 import org.eclipse.lsp4j.jsonrpc.MessageProducer;
 import org.eclipse.lsp4j.jsonrpc.json.ConcurrentMessageProcessor;
+import org.eclipse.lsp4j.jsonrpc.messages.Message;
+import org.eclipse.lsp4j.jsonrpc.messages.RequestMessage;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseMessage;
+import org.jboss.tools.rsp.api.MessageCompression;
+import org.jboss.tools.rsp.api.MessageCompression.CompressingOutputStream;
 import org.jboss.tools.rsp.api.SocketLauncher;
+import org.jboss.tools.rsp.api.UnixDomainSockets;
+import org.jboss.tools.rsp.server.model.internal.RequestMetrics;
 import org.jboss.tools.rsp.server.spi.client.MessageContextStore;
 import org.jboss.tools.rsp.server.spi.client.MessageContextStore.MessageContext;
 
 class RSPServerSocketLauncher<T> extends SocketLauncher<T> {
+	/*
+	 * Messages to clients that accept compression are compressed 
+	 * if their content has at least this number of bytes
+	 */
+	public static final String SYSPROP_COMPRESSION_THRESHOLD = "rsp.server.compression.threshold";
+
+	/* set while the super constructor creates the launcher, must not have an initializer */
+	private CompressingOutputStream compression;
+
 	public RSPServerSocketLauncher(Object localService, 
 			Class<T> remoteInterface, Socket socket,
 			MessageContextStore<T> contextStore,
 			PrintWriter tracing) throws IOException {
-		super(localService, remoteInterface, socket, createBuilder(contextStore), tracing);
+		this(localService, remoteInterface, socket, contextStore, null, tracing);
+	}
+
+	public RSPServerSocketLauncher(Object localService, 
+			Class<T> remoteInterface, Socket socket,
+			MessageContextStore<T> contextStore,
+			RequestMetrics metrics,
+			PrintWriter tracing) throws IOException {
+		super(localService, remoteInterface, socket, 
+				createBuilder(contextStore, metrics, getClientName(socket)), tracing);
+	}
+
+	public RSPServerSocketLauncher(Object localService, 
+			Class<T> remoteInterface, SocketChannel channel, String clientName,
+			MessageContextStore<T> contextStore,
+			RequestMetrics metrics,
+			PrintWriter tracing) {
+		super(localService, remoteInterface, 
+				UnixDomainSockets.getInputStream(channel), UnixDomainSockets.getOutputStream(channel), channel,
+				createBuilder(contextStore, metrics, clientName), tracing);
 	}
 
 	static <T> Builder<T> createBuilder(MessageContextStore<T> store) {
-		return new Builder<T>() {
+		return createBuilder(store, null, null);
+	}
+
+	static <T> Builder<T> createBuilder(MessageContextStore<T> store, RequestMetrics metrics, String client) {
+		RequestTracker tracker = metrics == null ? null : new RequestTracker(metrics, client);
+		Builder<T> builder = new MetricsBuilder<T>(tracker) {
 			protected ConcurrentMessageProcessor createMessageProcessor(MessageProducer reader, 
 					MessageConsumer messageConsumer, T remoteProxy) {
+				if (messageConsumer instanceof RequestMetricsConsumer) {
+					((RequestMetricsConsumer) messageConsumer).setIncoming();
+				}
 				return new CustomConcurrentMessageProcessor<T>(reader, messageConsumer, remoteProxy, store);
 			}
 		};
+		if (tracker != null) {
+			builder.wrapMessages(consumer -> new RequestMetricsConsumer(consumer, tracker));
+		}
+		return builder;
+	}
+
+	private static String getClientName(Socket socket) {
+		return socket.getInetAddress().getHostAddress() + ":" + socket.getPort();
+	}
+
+	/*
+	 * Count the bytes that are received from and sent to the client, 
+	 * and (de)compress the messages above it
+	 */
+	@Override
+	protected Launcher<T> createLauncher(Builder<T> builder, Object localService, 
+			Class<T> remoteInterface, InputStream in, OutputStream out, PrintWriter tracing) {
+		RequestTracker tracker = builder instanceof MetricsBuilder ? ((MetricsBuilder<T>) builder).tracker : null;
+		if (tracker != null) {
+			in = new CountingInputStream(in, tracker);
+			out = new CountingOutputStream(out, tracker.metrics);
+		}
+		in = MessageCompression.decompress(in);
+		this.compression = MessageCompression.compress(out, 
+				RSPFlags.getIntSysprop(SYSPROP_COMPRESSION_THRESHOLD, MessageCompression.DEFAULT_THRESHOLD));
+		return super.createLauncher(builder, localService, remoteInterface, in, compression, tracing);
+	}
+
+	/**
+	 * Compresses the large messages that are sent to the client from now on.
+	 * The client must have announced that it accepts compressed messages.
+	 */
+	public void setCompression(boolean enabled) {
+		if (compression != null) {
+			compression.setEnabled(enabled);
+		}
 	}
 
 	/*
@@ -65,4 +152,151 @@ class RSPServerSocketLauncher<T> extends SocketLauncher<T> {
 
 		}
 	}
-}
\ No newline at end of file
+
+	private static class MetricsBuilder<T> extends Builder<T> {
+		private final RequestTracker tracker;
+
+		private MetricsBuilder(RequestTracker tracker) {
+			this.tracker = tracker;
+		}
+	}
+
+	/*
+	 * Times the requests of a single client, from the moment they are 
+	 * received until their response is sent.
+	 */
+	private static class RequestTracker {
+		private final RequestMetrics metrics;
+		private final String client;
+		private final Map<String, PendingRequest> pending = new ConcurrentHashMap<>();
+
+		private RequestTracker(RequestMetrics metrics, String client) {
+			this.metrics = metrics;
+			this.client = client;
+		}
+
+		private void received(RequestMessage request) {
+			if (pending.put(request.getId(), new PendingRequest(request.getMethod())) == null) {
+				metrics.requestStarted();
+			}
+		}
+
+		private void answered(ResponseMessage response) {
+			PendingRequest request = pending.remove(response.getId());
+			if (request != null) {
+				metrics.requestEnded(request.method, client, 
+						System.nanoTime() - request.start, response.getError() != null);
+			}
+		}
+
+		/*
+		 * The requests that were not answered when the connection was closed never will be
+		 */
+		private void closed() {
+			for (String id : pending.keySet()) {
+				if (pending.remove(id) != null) {
+					metrics.requestAbandoned();
+				}
+			}
+		}
+	}
+
+	private static class PendingRequest {
+		private final String method;
+		private final long start = System.nanoTime();
+
+		private PendingRequest(String method) {
+			this.method = method;
+		}
+	}
+
+	/*
+	 * The client's requests are received by the incoming consumer, 
+	 * the responses of the server are sent by the outgoing one.
+	 */
+	private static class RequestMetricsConsumer implements MessageConsumer {
+		private final MessageConsumer delegate;
+		private final RequestTracker tracker;
+		private volatile boolean incoming;
+
+		private RequestMetricsConsumer(MessageConsumer delegate, RequestTracker tracker) {
+			this.delegate = delegate;
+			this.tracker = tracker;
+		}
+
+		private void setIncoming() {
+			this.incoming = true;
+		}
+
+		@Override
+		public void consume(Message message) {
+			if (incoming && message instanceof RequestMessage) {
+				tracker.received((RequestMessage) message);
+			}
+			try {
+				delegate.consume(message);
+			} finally {
+				if (!incoming && message instanceof ResponseMessage) {
+					tracker.answered((ResponseMessage) message);
+				}
+			}
+		}
+	}
+
+	private static class CountingInputStream extends FilterInputStream {
+		private final RequestTracker tracker;
+
+		private CountingInputStream(InputStream in, RequestTracker tracker) {
+			super(in);
+			this.tracker = tracker;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			count(b < 0 ? -1 : 1);
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			return count(super.read(b, off, len));
+		}
+
+		private int count(int read) {
+			if (read < 0) {
+				tracker.closed();
+			} else {
+				tracker.metrics.bytesReceived(read);
+			}
+			return read;
+		}
+
+		@Override
+		public void close() throws IOException {
+			tracker.closed();
+			super.close();
+		}
+	}
+
+	private static class CountingOutputStream extends FilterOutputStream {
+		private final RequestMetrics metrics;
+
+		private CountingOutputStream(OutputStream out, RequestMetrics metrics) {
+			super(out);
+			this.metrics = metrics;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			metrics.bytesSent(1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			metrics.bytesSent(len);
+		}
+	}
+}
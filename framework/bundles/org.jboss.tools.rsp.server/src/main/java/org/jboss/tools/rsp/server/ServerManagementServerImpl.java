@@ -13,25 +13,42 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 import java.util.stream.Collectors;
 
+import org.jboss.tools.rsp.api.ICapabilityKeys;
+import org.jboss.tools.rsp.api.MessageCompression;
 import org.jboss.tools.rsp.api.RSPClient;
 import org.jboss.tools.rsp.api.RSPServer;
 import org.jboss.tools.rsp.api.SocketLauncher;
 import org.jboss.tools.rsp.api.dao.Attributes;
+import org.jboss.tools.rsp.api.dao.BulkPublishRequest;
+import org.jboss.tools.rsp.api.dao.BulkServerRequest;
+import org.jboss.tools.rsp.api.dao.BulkServerResult;
+import org.jboss.tools.rsp.api.dao.BulkStartRequest;
+import org.jboss.tools.rsp.api.dao.BulkStopRequest;
 import org.jboss.tools.rsp.api.dao.ClientCapabilitiesRequest;
 import org.jboss.tools.rsp.api.dao.CommandLineDetails;
 import org.jboss.tools.rsp.api.dao.CreateServerResponse;
 import org.jboss.tools.rsp.api.dao.DeployableState;
 import org.jboss.tools.rsp.api.dao.DiscoveryPath;
+import org.jboss.tools.rsp.api.dao.EventResyncResponse;
+import org.jboss.tools.rsp.api.dao.EventSequence;
 import org.jboss.tools.rsp.api.dao.DownloadRuntimeDescription;
 import org.jboss.tools.rsp.api.dao.DownloadSingleRuntimeRequest;
 import org.jboss.tools.rsp.api.dao.GetServerJsonResponse;
 import org.jboss.tools.rsp.api.dao.JobHandle;
+import org.jboss.tools.rsp.api.dao.JobHistoryResponse;
 import org.jboss.tools.rsp.api.dao.JobProgress;
 import org.jboss.tools.rsp.api.dao.LaunchAttributesRequest;
 import org.jboss.tools.rsp.api.dao.LaunchParameters;
@@ -42,9 +59,18 @@ import org.jboss.tools.rsp.api.dao.ServerBean;
 import org.jboss.tools.rsp.api.dao.ServerCapabilitiesResponse;
 import org.jboss.tools.rsp.api.dao.ServerDeployableReference;
 import org.jboss.tools.rsp.api.dao.ServerHandle;
+import org.jboss.tools.rsp.api.dao.RequestLaneMetrics;
 import org.jboss.tools.rsp.api.dao.ServerLaunchMode;
+import org.jboss.tools.rsp.api.dao.ServerLogRequest;
+import org.jboss.tools.rsp.api.dao.ServerLogResponse;
+import org.jboss.tools.rsp.api.dao.ServerLogSearchRequest;
+import org.jboss.tools.rsp.api.dao.ServerLogSearchResponse;
+import org.jboss.tools.rsp.api.dao.ServerLogSubscription;
+import org.jboss.tools.rsp.api.dao.ServerLogTailRequest;
+import org.jboss.tools.rsp.api.dao.ServerMetrics;
 import org.jboss.tools.rsp.api.dao.ServerStartingAttributes;
 import org.jboss.tools.rsp.api.dao.ServerState;
+import org.jboss.tools.rsp.api.dao.ServerStateDelta;
 import org.jboss.tools.rsp.api.dao.ServerType;
 import org.jboss.tools.rsp.api.dao.StartServerResponse;
 import org.jboss.tools.rsp.api.dao.Status;
@@ -55,6 +81,7 @@ import org.jboss.tools.rsp.api.dao.WorkflowResponse;
 import org.jboss.tools.rsp.api.dao.util.CreateServerAttributesUtility;
 import org.jboss.tools.rsp.eclipse.core.runtime.CoreException;
 import org.jboss.tools.rsp.eclipse.core.runtime.IPath;
+import org.jboss.tools.rsp.eclipse.core.runtime.IProgressMonitor;
 import org.jboss.tools.rsp.eclipse.core.runtime.IStatus;
 import org.jboss.tools.rsp.eclipse.core.runtime.NullProgressMonitor;
 import org.jboss.tools.rsp.eclipse.core.runtime.Path;
@@ -65,6 +92,11 @@ import org.jboss.tools.rsp.runtime.core.model.IDownloadRuntimesProvider;
 import org.jboss.tools.rsp.server.core.internal.ServerStringConstants;
 import org.jboss.tools.rsp.server.discovery.serverbeans.ServerBeanLoader;
 import org.jboss.tools.rsp.server.model.RemoteEventManager;
+import org.jboss.tools.rsp.server.model.internal.BulkExecutor;
+import org.jboss.tools.rsp.server.model.internal.RequestExecutor;
+import org.jboss.tools.rsp.server.model.internal.RequestExecutor.Lane;
+import org.jboss.tools.rsp.server.model.internal.RequestMetrics;
+import org.jboss.tools.rsp.server.model.internal.ServerLogFilter;
 import org.jboss.tools.rsp.server.spi.client.ClientThreadLocal;
 import org.jboss.tools.rsp.server.spi.jobs.IJob;
 import org.jboss.tools.rsp.server.spi.model.IServerManagementModel;
@@ -75,12 +107,51 @@ import org.jboss.tools.rsp.server.spi.util.AlphanumComparator;
 import org.jboss.tools.rsp.server.spi.util.StatusConverter;
 
 public class ServerManagementServerImpl implements RSPServer {
-	
+
+	/*
+	 * Requests run on a bounded number of threads, slow ones (blocking i/o) 
+	 * separately from quick ones. A lane rejects requests once it has this 
+	 * many queued. Virtual threads are used if enabled and supported by the jvm.
+	 */
+	public static final String SYSPROP_REQUESTS_QUICK_THREADS = "rsp.server.requests.quick.threads";
+	public static final String SYSPROP_REQUESTS_SLOW_THREADS = "rsp.server.requests.slow.threads";
+	public static final String SYSPROP_REQUESTS_MAX_QUEUED = "rsp.server.requests.max.queued";
+	public static final String SYSPROP_REQUESTS_VIRTUAL_THREADS = "rsp.server.requests.virtual.threads";
+	private static final int DEFAULT_REQUESTS_QUICK_THREADS = 4;
+	private static final int DEFAULT_REQUESTS_SLOW_THREADS = 8;
+	private static final int DEFAULT_REQUESTS_MAX_QUEUED = 1000;
+
+	/*
+	 * Requests that take longer (ms) are logged. A summary of the latencies 
+	 * of all requests is logged at this interval (ms), unless it is 0.
+	 */
+	public static final String SYSPROP_REQUESTS_SLOW_THRESHOLD = "rsp.server.requests.slow.threshold";
+	public static final String SYSPROP_METRICS_LOG_INTERVAL = "rsp.server.metrics.log.interval";
+	private static final int DEFAULT_REQUESTS_SLOW_THRESHOLD = 5000;
+	private static final int DEFAULT_METRICS_LOG_INTERVAL = 10 * 60 * 1000;
+
+	/*
+	 * The servers of quick and slow bulk requests are handled on these 
+	 * numbers of threads (for all bulk requests of a lane together). 
+	 * A bulk request may at most contain this number of servers.
+	 */
+	public static final String SYSPROP_BULK_QUICK_THREADS = "rsp.server.bulk.quick.threads";
+	public static final String SYSPROP_BULK_SLOW_THREADS = "rsp.server.bulk.slow.threads";
+	public static final String SYSPROP_BULK_MAX_ITEMS = "rsp.server.bulk.max.items";
+	private static final int DEFAULT_BULK_QUICK_THREADS = 4;
+	private static final int DEFAULT_BULK_SLOW_THREADS = 8;
+	private static final int DEFAULT_BULK_MAX_ITEMS = 500;
+
 	private final List<RSPClient> clients = new CopyOnWriteArrayList<>();
 	private final List<SocketLauncher<RSPClient>> launchers = new CopyOnWriteArrayList<>();
+	/* the requests of each client that did not complete yet */
+	private final Map<RSPClient, Set<CompletableFuture<?>>> pendingRequests = new ConcurrentHashMap<>();
 	
 	private final IServerManagementModel managementModel;
 	private final RemoteEventManager remoteEventManager;
+	private final RequestExecutor requestExecutor;
+	private final RequestMetrics requestMetrics;
+	private final BulkExecutor bulkExecutor;
 	private ServerManagementServerLauncher launcher;
 	
 	public ServerManagementServerImpl(ServerManagementServerLauncher launcher, 
@@ -88,6 +159,19 @@ public class ServerManagementServerImpl implements RSPServer {
 		this.launcher = launcher;
 		this.managementModel = managementModel;
 		this.remoteEventManager = new RemoteEventManager(this);
+		this.requestExecutor = new RequestExecutor(
+				RSPFlags.getIntSysprop(SYSPROP_REQUESTS_QUICK_THREADS, DEFAULT_REQUESTS_QUICK_THREADS), 
+				RSPFlags.getIntSysprop(SYSPROP_REQUESTS_SLOW_THREADS, DEFAULT_REQUESTS_SLOW_THREADS), 
+				RSPFlags.getIntSysprop(SYSPROP_REQUESTS_MAX_QUEUED, DEFAULT_REQUESTS_MAX_QUEUED), 
+				Boolean.getBoolean(SYSPROP_REQUESTS_VIRTUAL_THREADS));
+		this.requestMetrics = new RequestMetrics(
+				RSPFlags.getIntSysprop(SYSPROP_REQUESTS_SLOW_THRESHOLD, DEFAULT_REQUESTS_SLOW_THRESHOLD));
+		requestMetrics.startSummaryLog(
+				RSPFlags.getIntSysprop(SYSPROP_METRICS_LOG_INTERVAL, DEFAULT_METRICS_LOG_INTERVAL));
+		this.bulkExecutor = new BulkExecutor(
+				RSPFlags.getIntSysprop(SYSPROP_BULK_QUICK_THREADS, DEFAULT_BULK_QUICK_THREADS), 
+				RSPFlags.getIntSysprop(SYSPROP_BULK_SLOW_THREADS, DEFAULT_BULK_SLOW_THREADS), 
+				RSPFlags.getIntSysprop(SYSPROP_BULK_MAX_ITEMS, DEFAULT_BULK_MAX_ITEMS));
 	}
 	
 	public List<RSPClient> getClients() {
@@ -105,6 +189,7 @@ public class ServerManagementServerImpl implements RSPServer {
 	public Runnable addClient(SocketLauncher<RSPClient> launcher) {
 		this.launchers.add(launcher);
 		RSPClient client = launcher.getRemoteProxy();
+		this.remoteEventManager.clientConnected(client);
 		this.clients.add(client);
 		return () -> this.removeClient(launcher);
 	}
@@ -115,11 +200,50 @@ public class ServerManagementServerImpl implements RSPServer {
 	}
 	
 	protected void removeClient(SocketLauncher<RSPClient> launcher) {
-		this.launchers.remove(launcher);
+		if( !this.launchers.remove(launcher)) {
+			// already removed
+			return;
+		}
 		this.managementModel.clientRemoved(launcher.getRemoteProxy());
 		this.clients.remove(launcher.getRemoteProxy());
+		this.remoteEventManager.clientRemoved(launcher.getRemoteProxy());
+		cancelPendingRequests(launcher.getRemoteProxy());
+	}
+
+	/*
+	 * Nobody is waiting for the responses of a client that is gone
+	 */
+	private void cancelPendingRequests(RSPClient client) {
+		Set<CompletableFuture<?>> pending = client == null ? null : pendingRequests.remove(client);
+		if( pending == null ) {
+			return;
+		}
+		for( CompletableFuture<?> request : pending) {
+			request.cancel(false);
+		}
 	}
 	
+	/**
+	 * Close the connection to the given client, 
+	 * ex. because it stopped receiving events.
+	 */
+	public void disconnectClient(RSPClient client) {
+		for( SocketLauncher<RSPClient> l : getActiveLaunchers()) {
+			if( l.getRemoteProxy() == client ) {
+				l.close();
+				removeClient(l);
+			}
+		}
+	}
+
+	private void setCompression(RSPClient client, boolean enabled) {
+		for( SocketLauncher<RSPClient> l : getActiveLaunchers()) {
+			if( l.getRemoteProxy() == client && l instanceof RSPServerSocketLauncher ) {
+				((RSPServerSocketLauncher<RSPClient>) l).setCompression(enabled);
+			}
+		}
+	}
+
 	public List<SocketLauncher<RSPClient>> getActiveLaunchers() {
 		return new ArrayList<>(launchers);
 	}
@@ -179,7 +303,7 @@ public class ServerManagementServerImpl implements RSPServer {
 
 	@Override
 	public CompletableFuture<List<ServerBean>> findServerBeans(DiscoveryPath path) {
-		return createCompletableFuture(() -> findServerBeansSync(path));
+		return createSlowCompletableFuture(() -> findServerBeansSync(path));
 	}
 
 	private List<ServerBean> findServerBeansSync(DiscoveryPath path) {
@@ -195,7 +319,7 @@ public class ServerManagementServerImpl implements RSPServer {
 		}
 
 		ServerBeanLoader loader = new ServerBeanLoader(new File(path.getFilepath()), managementModel);
-		ServerBean bean = loader.getServerBean();
+		ServerBean bean = loader.getServerBean(ClientThreadLocal.getRequestMonitor());
 		if( bean != null )
 			ret.add(bean);
 		return ret;	
@@ -216,6 +340,10 @@ public class ServerManagementServerImpl implements RSPServer {
 
 	private void shutdownSync() {
 		managementModel.dispose();
+		remoteEventManager.dispose();
+		requestExecutor.shutdown();
+		bulkExecutor.shutdown();
+		requestMetrics.dispose();
 		launcher.shutdown();
 	}
 	
@@ -231,7 +359,7 @@ public class ServerManagementServerImpl implements RSPServer {
 
 	@Override
 	public CompletableFuture<Status> deleteServer(ServerHandle handle) {
-		return createCompletableFuture(() -> deleteServerSync(handle));
+		return createSlowCompletableFuture(() -> deleteServerSync(handle));
 	}
 	
 	private Status deleteServerSync(ServerHandle handle) {
@@ -314,7 +442,7 @@ public class ServerManagementServerImpl implements RSPServer {
 	
 	@Override
 	public CompletableFuture<CreateServerResponse> createServer(ServerAttributes attr) {
-		return createCompletableFuture(() -> createServerSync(attr));
+		return createSlowCompletableFuture(() -> createServerSync(attr));
 	}
 
 	private CreateServerResponse createServerSync(ServerAttributes attr) {
@@ -353,7 +481,7 @@ public class ServerManagementServerImpl implements RSPServer {
 	
 	@Override
 	public CompletableFuture<UpdateServerResponse> updateServer(UpdateServerRequest req) {
-		return createCompletableFuture(() -> updateServerSync(req));
+		return createSlowCompletableFuture(() -> updateServerSync(req));
 	}
 
 	private UpdateServerResponse updateServerSync(UpdateServerRequest req) {
@@ -373,7 +501,7 @@ public class ServerManagementServerImpl implements RSPServer {
 
 	@Override
 	public CompletableFuture<StartServerResponse> startServerAsync(LaunchParameters attr) {
-		return createCompletableFuture(() -> startServerImpl(attr));
+		return createSlowCompletableFuture(() -> startServerImpl(attr));
 	}
 
 	private StartServerResponse startServerImpl(LaunchParameters attr) {
@@ -406,7 +534,7 @@ public class ServerManagementServerImpl implements RSPServer {
 	
 	@Override
 	public CompletableFuture<Status> stopServerAsync(StopServerAttributes attr) {
-		return createCompletableFuture(() -> stopServerImpl(attr));
+		return createSlowCompletableFuture(() -> stopServerImpl(attr));
 	}
 
 	private Status stopServerImpl(StopServerAttributes attr) {
@@ -470,6 +598,36 @@ public class ServerManagementServerImpl implements RSPServer {
 		IServer is = managementModel.getServerModel().getServer(handle.getId());
 		return is.getDelegate().getServerState();
 	}
+
+	@Override
+	public CompletableFuture<ServerStateDelta> getServerStateDelta(ServerHandle handle) {
+		RSPClient rspc = ClientThreadLocal.getActiveClient();
+		return createCompletableFuture(() -> getServerStateDeltaSync(rspc, handle));
+	}
+
+	private ServerStateDelta getServerStateDeltaSync(RSPClient client, ServerHandle handle) {
+		if( handle == null || isEmpty(handle.getId())) {
+			return null;
+		}
+		IServer is = managementModel.getServerModel().getServer(handle.getId());
+		if( is == null || is.getDelegate() == null ) {
+			return null;
+		}
+		return remoteEventManager.getFullStateDelta(client, is.getDelegate().getServerState());
+	}
+
+	@Override
+	public CompletableFuture<EventResyncResponse> resyncEvents(EventSequence since) {
+		RSPClient rspc = ClientThreadLocal.getActiveClient();
+		return createCompletableFuture(() -> resyncEventsSync(rspc, since));
+	}
+
+	private EventResyncResponse resyncEventsSync(RSPClient client, EventSequence since) {
+		// a client that connects for the first time has no sequence
+		boolean replayed = remoteEventManager.resyncClient(client, since);
+		return new EventResyncResponse(
+				StatusConverter.convert(org.jboss.tools.rsp.eclipse.core.runtime.Status.OK_STATUS), !replayed);
+	}
 	
 	@Override
 	public CompletableFuture<Status> serverStartingByClient(ServerStartingAttributes attr) {
@@ -530,6 +688,18 @@ public class ServerManagementServerImpl implements RSPServer {
 	public CompletableFuture<ServerCapabilitiesResponse> registerClientCapabilities(ClientCapabilitiesRequest request) {
 		RSPClient rspc = ClientThreadLocal.getActiveClient();
 		IStatus s = managementModel.getCapabilityManagement().registerClientCapabilities(rspc, request);
+		String optIn = managementModel.getCapabilityManagement().getCapabilityProperty(rspc, 
+				ICapabilityKeys.BOOLEAN_SERVER_OUTPUT_SUBSCRIPTION);
+		remoteEventManager.setOutputOptIn(rspc, Boolean.parseBoolean(optIn));
+		String delta = managementModel.getCapabilityManagement().getCapabilityProperty(rspc, 
+				ICapabilityKeys.BOOLEAN_SERVER_STATE_DELTA);
+		remoteEventManager.setStateDelta(rspc, Boolean.parseBoolean(delta));
+		String sequence = managementModel.getCapabilityManagement().getCapabilityProperty(rspc, 
+				ICapabilityKeys.BOOLEAN_EVENT_SEQUENCE);
+		remoteEventManager.setEventSequence(rspc, Boolean.parseBoolean(sequence));
+		String compression = managementModel.getCapabilityManagement().getCapabilityProperty(rspc, 
+				ICapabilityKeys.STRING_MESSAGE_COMPRESSION);
+		setCompression(rspc, MessageCompression.acceptsDeflate(compression));
 		Status st = StatusConverter.convert(s);
 		Map<String,String> resp2 = managementModel.getCapabilityManagement().getServerCapabilities();
 		ServerCapabilitiesResponse resp = new ServerCapabilitiesResponse(st, resp2);
@@ -594,7 +764,7 @@ public class ServerManagementServerImpl implements RSPServer {
 	}
 	
 	public CompletableFuture<Status> addDeployable(ServerDeployableReference request) {
-		return createCompletableFuture(() -> addDeployableSync(request.getServer(), request));
+		return createSlowCompletableFuture(() -> addDeployableSync(request.getServer(), request));
 	}
 
 	public Status addDeployableSync(ServerHandle handle, ServerDeployableReference req) {
@@ -611,7 +781,7 @@ public class ServerManagementServerImpl implements RSPServer {
 	}
 	
 	public CompletableFuture<Status> removeDeployable(ServerDeployableReference request) {
-		return createCompletableFuture(() -> removeDeployableSync(request));
+		return createSlowCompletableFuture(() -> removeDeployableSync(request));
 	}
 
 	public Status removeDeployableSync(ServerDeployableReference reference) {
@@ -630,7 +800,7 @@ public class ServerManagementServerImpl implements RSPServer {
 
 	@Override
 	public CompletableFuture<Status> publish(PublishServerRequest request) {
-		return createCompletableFuture(() -> publishSync(request));
+		return createSlowCompletableFuture(() -> publishSync(request));
 	}
 
 	private Status publishSync(PublishServerRequest request) {
@@ -647,24 +817,320 @@ public class ServerManagementServerImpl implements RSPServer {
 		}
 	}
 
-	private static <T> CompletableFuture<T> createCompletableFuture(Supplier<T> supplier) {
+	@Override
+	public CompletableFuture<List<BulkServerResult>> getServerStates(BulkServerRequest request) {
+		return createCompletableFuture(() -> runBulk(Lane.QUICK, request == null ? null : request.getServers(), 
+				handle -> getServerStateResult(handle)));
+	}
+
+	private BulkServerResult getServerStateResult(ServerHandle handle) {
+		IServer server = managementModel.getServerModel().getServer(handle.getId());
+		if( server == null || server.getDelegate() == null ) {
+			return new BulkServerResult(handle, errorStatus(NLS.bind(ServerStringConstants.SERVER_DNE, handle.getId())));
+		}
+		BulkServerResult result = new BulkServerResult(handle, okStatus());
+		result.setState(server.getDelegate().getServerState());
+		return result;
+	}
+
+	@Override
+	public CompletableFuture<List<BulkServerResult>> getDeployablesOfServers(BulkServerRequest request) {
+		return createCompletableFuture(() -> runBulk(Lane.QUICK, request == null ? null : request.getServers(), 
+				handle -> getDeployablesResult(handle)));
+	}
+
+	private BulkServerResult getDeployablesResult(ServerHandle handle) {
+		IServer server = managementModel.getServerModel().getServer(handle.getId());
+		if( server == null ) {
+			return new BulkServerResult(handle, errorStatus(NLS.bind(ServerStringConstants.SERVER_DNE, handle.getId())));
+		}
+		BulkServerResult result = new BulkServerResult(handle, okStatus());
+		result.setDeployables(managementModel.getServerModel().getDeployables(server));
+		return result;
+	}
+
+	@Override
+	public CompletableFuture<List<BulkServerResult>> publishServers(BulkPublishRequest request) {
+		return createSlowCompletableFuture(() -> runBulk(Lane.SLOW, request == null ? null : request.getServers(), 
+				handle -> new BulkServerResult(handle, 
+						publishSync(new PublishServerRequest(handle, request.getKind())))));
+	}
+
+	@Override
+	public CompletableFuture<List<BulkServerResult>> startServers(BulkStartRequest request) {
+		return createSlowCompletableFuture(() -> runBulk(Lane.SLOW, request == null ? null : request.getServers(), 
+				handle -> getStartResult(handle, request.getMode())));
+	}
+
+	private BulkServerResult getStartResult(ServerHandle handle, String mode) {
+		String type = handle.getType() == null ? null : handle.getType().getId();
+		StartServerResponse response = startServerImpl(
+				new LaunchParameters(new ServerAttributes(type, handle.getId(), null), mode));
+		BulkServerResult result = new BulkServerResult(handle, response.getStatus());
+		result.setDetails(response.getDetails());
+		return result;
+	}
+
+	@Override
+	public CompletableFuture<List<BulkServerResult>> stopServers(BulkStopRequest request) {
+		return createSlowCompletableFuture(() -> runBulk(Lane.SLOW, request == null ? null : request.getServers(), 
+				handle -> new BulkServerResult(handle, 
+						stopServerImpl(new StopServerAttributes(handle.getId(), request.isForce())))));
+	}
+
+	/*
+	 * Runs the given task for the servers concurrently, on the bulk threads of 
+	 * the lane of the request. A server that the task fails for gets an error 
+	 * status rather than failing the whole request.
+	 */
+	private List<BulkServerResult> runBulk(Lane lane, List<ServerHandle> servers, 
+			Function<ServerHandle, BulkServerResult> task) {
+		if( servers == null ) {
+			return new ArrayList<>();
+		}
+		final RSPClient rspc = ClientThreadLocal.getActiveClient();
+		final IProgressMonitor monitor = ClientThreadLocal.getRequestMonitor();
+		return bulkExecutor.invokeAll(lane, servers, handle -> {
+			if( handle == null || isEmpty(handle.getId())) {
+				return new BulkServerResult(handle, invalidParameterStatus());
+			}
+			if( monitor.isCanceled()) {
+				return new BulkServerResult(handle, cancelStatus());
+			}
+			ClientThreadLocal.setActiveRequest(rspc, monitor);
+			try {
+				return task.apply(handle);
+			} finally {
+				ClientThreadLocal.setActiveClient(null);
+			}
+		}, (handle, t) -> new BulkServerResult(handle, errorStatus(ServerStringConstants.UNEXPECTED_ERROR, t)));
+	}
+
+	private Status okStatus() {
+		return StatusConverter.convert(org.jboss.tools.rsp.eclipse.core.runtime.Status.OK_STATUS);
+	}
+
+	private Status cancelStatus() {
+		return StatusConverter.convert(org.jboss.tools.rsp.eclipse.core.runtime.Status.CANCEL_STATUS);
+	}
+
+	@Override
+	public CompletableFuture<ServerLogResponse> getServerLog(ServerLogRequest request) {
+		return createSlowCompletableFuture(() -> getServerLogSync(request));
+	}
+
+	private ServerLogResponse getServerLogSync(ServerLogRequest request) {
+		if( request == null || request.getServer() == null ) {
+			return new ServerLogResponse(invalidParameterStatus(), 0, 0, 0, 0, null);
+		}
+		IServer server = managementModel.getServerModel().getServer(request.getServer().getId());
+		if( server == null ) {
+			return new ServerLogResponse(errorStatus("Server " + request.getServer().getId() + " not found."), 0, 0, 0, 0, null);
+		}
+		return managementModel.getServerLogModel().read(server, request.getOffset(), request.getLength());
+	}
+
+	@Override
+	public CompletableFuture<ServerLogResponse> getServerLogTail(ServerLogTailRequest request) {
+		return createSlowCompletableFuture(() -> getServerLogTailSync(request));
+	}
+
+	private ServerLogResponse getServerLogTailSync(ServerLogTailRequest request) {
+		if( request == null || request.getServer() == null ) {
+			return new ServerLogResponse(invalidParameterStatus(), 0, 0, 0, 0, null);
+		}
+		IServer server = managementModel.getServerModel().getServer(request.getServer().getId());
+		if( server == null ) {
+			return new ServerLogResponse(errorStatus("Server " + request.getServer().getId() + " not found."), 0, 0, 0, 0, null);
+		}
+		return managementModel.getServerLogModel().tail(server, request.getLines());
+	}
+
+	@Override
+	public CompletableFuture<ServerLogSearchResponse> searchServerLog(ServerLogSearchRequest request) {
+		return createSlowCompletableFuture(() -> searchServerLogSync(request));
+	}
+
+	private ServerLogSearchResponse searchServerLogSync(ServerLogSearchRequest request) {
+		if( request == null || request.getServer() == null || isEmpty(request.getPattern())) {
+			return new ServerLogSearchResponse(invalidParameterStatus(), null, 0);
+		}
+		IServer server = managementModel.getServerModel().getServer(request.getServer().getId());
+		if( server == null ) {
+			return new ServerLogSearchResponse(errorStatus("Server " + request.getServer().getId() + " not found."), null, 0);
+		}
+		Pattern pattern = null;
+		try {
+			pattern = Pattern.compile(request.getPattern());
+		} catch(PatternSyntaxException pse) {
+			return new ServerLogSearchResponse(errorStatus("Invalid pattern " + request.getPattern(), pse), null, 0);
+		}
+		return managementModel.getServerLogModel().search(server, pattern, request.getOffset(), request.getMaxResults());
+	}
+
+	@Override
+	public CompletableFuture<Status> subscribeServerOutput(ServerHandle server) {
+		RSPClient rspc = ClientThreadLocal.getActiveClient();
+		return createCompletableFuture(() -> subscribeServerOutputSync(rspc, server));
+	}
+
+	private Status subscribeServerOutputSync(RSPClient client, ServerHandle server) {
+		if( client == null || server == null ) {
+			return invalidParameterStatus();
+		}
+		if( managementModel.getServerModel().getServer(server.getId()) == null ) {
+			return errorStatus("Server " + server.getId() + " not found.");
+		}
+		remoteEventManager.subscribeServerOutput(client, server.getId());
+		return StatusConverter.convert(org.jboss.tools.rsp.eclipse.core.runtime.Status.OK_STATUS);
+	}
+
+	@Override
+	public CompletableFuture<Status> unsubscribeServerOutput(ServerHandle server) {
+		RSPClient rspc = ClientThreadLocal.getActiveClient();
+		return createCompletableFuture(() -> unsubscribeServerOutputSync(rspc, server));
+	}
+
+	private Status unsubscribeServerOutputSync(RSPClient client, ServerHandle server) {
+		if( client == null || server == null ) {
+			return invalidParameterStatus();
+		}
+		remoteEventManager.unsubscribeServerOutput(client, server.getId());
+		return StatusConverter.convert(org.jboss.tools.rsp.eclipse.core.runtime.Status.OK_STATUS);
+	}
+
+	@Override
+	public CompletableFuture<Status> subscribeServerLog(ServerLogSubscription subscription) {
+		RSPClient rspc = ClientThreadLocal.getActiveClient();
+		return createCompletableFuture(() -> subscribeServerLogSync(rspc, subscription));
+	}
+
+	private Status subscribeServerLogSync(RSPClient client, ServerLogSubscription subscription) {
+		if( client == null || subscription == null || subscription.getServer() == null ) {
+			return invalidParameterStatus();
+		}
+		String id = subscription.getServer().getId();
+		if( managementModel.getServerModel().getServer(id) == null ) {
+			return errorStatus("Server " + id + " not found.");
+		}
+		ServerLogFilter filter = null;
+		try {
+			filter = new ServerLogFilter(subscription);
+		} catch(IllegalArgumentException e) {
+			return errorStatus("Invalid subscription: " + e.getMessage(), e);
+		}
+		remoteEventManager.subscribeServerLog(client, filter);
+		return StatusConverter.convert(org.jboss.tools.rsp.eclipse.core.runtime.Status.OK_STATUS);
+	}
+
+	@Override
+	public CompletableFuture<Status> unsubscribeServerLog(ServerHandle server) {
+		RSPClient rspc = ClientThreadLocal.getActiveClient();
+		return createCompletableFuture(() -> unsubscribeServerLogSync(rspc, server));
+	}
+
+	private Status unsubscribeServerLogSync(RSPClient client, ServerHandle server) {
+		if( client == null || server == null ) {
+			return invalidParameterStatus();
+		}
+		remoteEventManager.unsubscribeServerLog(client, server.getId());
+		return StatusConverter.convert(org.jboss.tools.rsp.eclipse.core.runtime.Status.OK_STATUS);
+	}
+
+	private <T> CompletableFuture<T> createCompletableFuture(Supplier<T> supplier) {
+		return createCompletableFuture(Lane.QUICK, supplier);
+	}
+
+	/*
+	 * Requests that block on file, process or network i/o run in the slow lane
+	 */
+	private <T> CompletableFuture<T> createSlowCompletableFuture(Supplier<T> supplier) {
+		return createCompletableFuture(Lane.SLOW, supplier);
+	}
+
+	/*
+	 * The returned future is canceled if the client cancels the request 
+	 * or disconnects. The supplier then either does not run at all or 
+	 * finds the monitor of ClientThreadLocal#getRequestMonitor() canceled.
+	 */
+	private <T> CompletableFuture<T> createCompletableFuture(Lane lane, Supplier<T> supplier) {
 		final RSPClient rspc = ClientThreadLocal.getActiveClient();
+		final IProgressMonitor monitor = new NullProgressMonitor();
 		CompletableFuture<T> completableFuture = new CompletableFuture<>();
-		CompletableFuture.runAsync(() -> {
-			ClientThreadLocal.setActiveClient(rspc);
-			completableFuture.complete(supplier.get());
-			ClientThreadLocal.setActiveClient(null);
+		addPendingRequest(rspc, completableFuture);
+		completableFuture.whenComplete((result, t) -> {
+			removePendingRequest(rspc, completableFuture);
+			if( completableFuture.isCancelled()) {
+				monitor.setCanceled(true);
+			}
 		});
+		try {
+			requestExecutor.execute(lane, rspc, () -> {
+				if( completableFuture.isDone()) {
+					// canceled while queued
+					return;
+				}
+				ClientThreadLocal.setActiveRequest(rspc, monitor);
+				try {
+					completableFuture.complete(supplier.get());
+				} catch(RuntimeException re) {
+					completableFuture.completeExceptionally(re);
+				} finally {
+					ClientThreadLocal.setActiveClient(null);
+				}
+			}, completableFuture);
+		} catch(RejectedExecutionException ree) {
+			completableFuture.completeExceptionally(ree);
+		}
 		return completableFuture;
 	}
 
+	private void addPendingRequest(RSPClient client, CompletableFuture<?> request) {
+		if( client != null ) {
+			pendingRequests.computeIfAbsent(client, c -> ConcurrentHashMap.newKeySet()).add(request);
+		}
+	}
+
+	private void removePendingRequest(RSPClient client, CompletableFuture<?> request) {
+		Set<CompletableFuture<?>> pending = client == null ? null : pendingRequests.get(client);
+		if( pending != null ) {
+			pending.remove(request);
+		}
+	}
+
+	public RequestExecutor getRequestExecutor() {
+		return requestExecutor;
+	}
+
+	public RequestMetrics getRequestMetrics() {
+		return requestMetrics;
+	}
+
+	@Override
+	public CompletableFuture<ServerMetrics> getServerMetrics() {
+		// answered right away, the lanes may be full
+		return CompletableFuture.completedFuture(getServerMetricsSync());
+	}
+
+	private ServerMetrics getServerMetricsSync() {
+		ServerMetrics metrics = requestMetrics.getMetrics();
+		List<RequestLaneMetrics> lanes = new ArrayList<>();
+		for( Lane lane : Lane.values()) {
+			lanes.add(new RequestLaneMetrics(lane.name().toLowerCase(Locale.ENGLISH), 
+					requestExecutor.getQueued(lane), requestExecutor.getMaxQueued(lane), 
+					requestExecutor.getActive(lane), requestExecutor.getRejected(lane)));
+		}
+		metrics.setLanes(lanes);
+		return metrics;
+	}
+
 	@Override
 	public CompletableFuture<ListDownloadRuntimeResponse> listDownloadableRuntimes() {
-		return createCompletableFuture(() -> listDownloadableRuntimesInternal());
+		return createSlowCompletableFuture(() -> listDownloadableRuntimesInternal());
 	}
 
 	private ListDownloadRuntimeResponse listDownloadableRuntimesInternal() {
-		Map<String, DownloadRuntime> map = managementModel.getDownloadRuntimeModel().getOrLoadDownloadRuntimes(new NullProgressMonitor());
+		Map<String, DownloadRuntime> map = managementModel.getDownloadRuntimeModel().getOrLoadDownloadRuntimes(ClientThreadLocal.getRequestMonitor());
 		AlphanumComparator comp = new AlphanumComparator();
 		Comparator<DownloadRuntimeDescription> alphanumComp = (drd1,drd2) -> comp.compare(drd1.getName(), drd2.getName());
 		List<DownloadRuntimeDescription> list = map.values().stream()
@@ -678,14 +1144,14 @@ public class ServerManagementServerImpl implements RSPServer {
 
 	@Override
 	public CompletableFuture<WorkflowResponse> downloadRuntime(DownloadSingleRuntimeRequest req) {
-		return createCompletableFuture(() -> downloadRuntimeInternal(req));
+		return createSlowCompletableFuture(() -> downloadRuntimeInternal(req));
 	}
 
 	private WorkflowResponse downloadRuntimeInternal(DownloadSingleRuntimeRequest req) {
 		String id = req.getDownloadRuntimeId();
 		IDownloadRuntimesProvider provider = managementModel.getDownloadRuntimeModel().findProviderForRuntime(id);
 		if( provider != null ) {
-			DownloadRuntime dlrt = managementModel.getDownloadRuntimeModel().findDownloadRuntime(id, new NullProgressMonitor());
+			DownloadRuntime dlrt = managementModel.getDownloadRuntimeModel().findDownloadRuntime(id, ClientThreadLocal.getRequestMonitor());
 			IDownloadRuntimeRunner executor = provider.getDownloadRunner(dlrt);
 			if( executor != null ) {
 				WorkflowResponse response = executor.execute(req);
@@ -725,6 +1191,11 @@ public class ServerManagementServerImpl implements RSPServer {
 		return StatusConverter.convert(s);
 	}
 
+	@Override
+	public CompletableFuture<JobHistoryResponse> getJobHistory() {
+		return createCompletableFuture(() -> managementModel.getJobManager().getJobHistory());
+	}
+
 	private Status errorStatus(String msg) {
 		return errorStatus(msg, null);
 	}
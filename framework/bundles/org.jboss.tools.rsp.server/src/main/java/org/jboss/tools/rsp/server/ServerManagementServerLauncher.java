@@ -13,12 +13,18 @@ import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jboss.tools.rsp.api.RSPClient;
 import org.jboss.tools.rsp.api.SocketLauncher;
+import org.jboss.tools.rsp.api.UnixDomainSockets;
 import org.jboss.tools.rsp.server.model.ServerManagementModel;
 import org.jboss.tools.rsp.server.model.ServerPersistenceManager;
 import org.jboss.tools.rsp.server.spi.client.ClientThreadLocal;
@@ -46,6 +52,9 @@ public class ServerManagementServerLauncher {
 	protected ServerManagementServerImpl serverImpl;
 	private ListenOnSocketRunnable socketRunnable;
 	private ServerSocket serverSocket;
+	private ServerSocketChannel localChannel;
+	private Path localPath;
+	private final AtomicInteger localClients = new AtomicInteger();
 	public ServerManagementServerLauncher() {
 		this.serverImpl = createImpl();
 		this.persistenceEventManager = new ServerPersistenceManager(this);
@@ -71,6 +80,10 @@ public class ServerManagementServerLauncher {
 		persistenceEventManager.loadState();
 		// create the chat server
 		startListening(port, serverImpl);
+		String socketPath = RSPFlags.getServerSocket();
+		if( socketPath != null ) {
+			startListeningLocally(Paths.get(socketPath), serverImpl);
+		}
 	}
 	
 	protected void startListening(int port, ServerManagementServerImpl server) throws IOException {
@@ -86,6 +99,32 @@ public class ServerManagementServerLauncher {
 		}
 	}
 	
+	/*
+	 * Local clients may connect through a unix domain socket. The tcp port
+	 * remains open for all other clients.
+	 */
+	protected void startListeningLocally(Path path, ServerManagementServerImpl server) {
+		if( !UnixDomainSockets.isSupported()) {
+			LOG.warn("Not listening on " + path + ": unix domain sockets require java 16 or later");
+			return;
+		}
+		try {
+			localChannel = UnixDomainSockets.listen(path);
+			localPath = path;
+		} catch(IOException ioe) {
+			LOG.error("Could not listen on unix domain socket " + path, ioe);
+			return;
+		}
+		Thread thread = new Thread(() -> {
+			while (localChannel.isOpen()) {
+				oneLocalSocket(localChannel, server);
+			}
+		}, "RSP Unix Domain Socket Listener");
+		thread.setDaemon(true);
+		thread.start();
+		System.out.println("The server management server is listening on " + path);
+	}
+
 	private class ListenOnSocketRunnable implements Runnable {
 		private ServerSocket serverSocket;
 		private ServerManagementServerImpl server;
@@ -121,19 +160,7 @@ public class ServerManagementServerLauncher {
 			// create a JSON-RPC connection for the accepted socket
 			RSPServerSocketLauncher<RSPClient> launcher = createSocketLauncher(server,
 					RSPClient.class, socket, createLoggingPrintWriter());
-
-			// Alert the models a new client has been added before they start making requests
-			Runnable removeClient = server.addClient(launcher);
-			/*
-			 * Start listening for incoming messages. When the JSON-RPC connection is closed
-			 * disconnect the remote client from the server.
-			 */
-			launcher.startListening().thenRun(removeClient);
-			
-			// Alert the models they may begin requesting information from the client, 
-			// now that we are actually listening to their responses
-			server.clientAdded(launcher);
-			
+			connected(launcher, server);
 			LOG.info("Client " + socket.getInetAddress().getCanonicalHostName() +
 							":"+ socket.getPort() + " is connected");
 		} catch(IOException ioe) {
@@ -142,6 +169,36 @@ public class ServerManagementServerLauncher {
 				ioe.printStackTrace();
 		}
 	}
+
+	private void oneLocalSocket(ServerSocketChannel serverChannel, ServerManagementServerImpl server) {
+		try {
+			SocketChannel channel = serverChannel.accept();
+			String clientName = "local:" + localClients.incrementAndGet();
+			RSPServerSocketLauncher<RSPClient> launcher = new RSPServerSocketLauncher<RSPClient>(server,
+					RSPClient.class, channel, clientName, ClientThreadLocal.getStore(), 
+					server.getRequestMetrics(), createLoggingPrintWriter());
+			connected(launcher, server);
+			LOG.info("Client " + clientName + " is connected");
+		} catch(IOException ioe) {
+			if (serverChannel.isOpen()) {
+				LOG.error("Could not accept client on unix domain socket " + localPath, ioe);
+			}
+		}
+	}
+
+	private void connected(RSPServerSocketLauncher<RSPClient> launcher, ServerManagementServerImpl server) {
+		// Alert the models a new client has been added before they start making requests
+		Runnable removeClient = server.addClient(launcher);
+		/*
+		 * Start listening for incoming messages. When the JSON-RPC connection is closed
+		 * disconnect the remote client from the server.
+		 */
+		launcher.startListening().thenRun(removeClient);
+		
+		// Alert the models they may begin requesting information from the client, 
+		// now that we are actually listening to their responses
+		server.clientAdded(launcher);
+	}
 	
 	protected RSPServerSocketLauncher<RSPClient> createSocketLauncher(
 			ServerManagementServerImpl server, Class<RSPClient> class1, 
@@ -149,7 +206,7 @@ public class ServerManagementServerLauncher {
 			LoggingPrintWriter loggingPrintWriter) throws IOException {
 		 return new RSPServerSocketLauncher<RSPClient>(server,
 					RSPClient.class, socket, ClientThreadLocal.getStore(), 
-					createLoggingPrintWriter());
+					server.getRequestMetrics(), createLoggingPrintWriter());
 	}
 	
 	private class LoggingStringWriter extends StringWriter {
@@ -186,10 +243,21 @@ public class ServerManagementServerLauncher {
 				serverSocket.close();
 		} catch(IOException ioe) {
 		}
+		stopListeningLocally();
 		ShutdownExecutor.getExecutor().shutdown();
 	}
 	
 
+	private void stopListeningLocally() {
+		if( localChannel == null )
+			return;
+		try {
+			localChannel.close();
+		} catch(IOException ioe) {
+		}
+		localPath.toFile().delete();
+	}
+
 	private void closeAllConnections() {
 		List<SocketLauncher<RSPClient>> all = 
 				serverImpl.getActiveLaunchers();
@@ -12,6 +12,8 @@ package org.jboss.tools.rsp.server.discovery.serverbeans;
 import java.io.File;
 
 import org.jboss.tools.rsp.api.dao.ServerBean;
+import org.jboss.tools.rsp.eclipse.core.runtime.IProgressMonitor;
+import org.jboss.tools.rsp.eclipse.core.runtime.NullProgressMonitor;
 import org.jboss.tools.rsp.server.spi.discovery.IServerBeanTypeManager;
 import org.jboss.tools.rsp.server.spi.discovery.ServerBeanType;
 import org.jboss.tools.rsp.server.spi.model.IServerManagementModel;
@@ -38,6 +40,19 @@ public class ServerBeanLoader {
 		return bean;
 	}
 
+	/**
+	 * Returns the server bean for the root location 
+	 * or {@code null} if the given monitor was canceled 
+	 * before the server type was found.
+	 * 
+	 * @param monitor the monitor to check in between server bean types
+	 */
+	public ServerBean getServerBean(IProgressMonitor monitor) {
+		if( bean == null )
+			loadBeanInternal(monitor);
+		return bean;
+	}
+
 	public ServerBeanType getServerBeanType() {
 		if( bean == null )
 			loadBeanInternal();
@@ -46,13 +61,25 @@ public class ServerBeanLoader {
 
 	
 	private void loadBeanInternal() {
-		this.type = loadTypeInternal(rootLocation);
+		loadBeanInternal(new NullProgressMonitor());
+	}
+	
+	private void loadBeanInternal(IProgressMonitor monitor) {
+		ServerBeanType found = loadTypeInternal(rootLocation, monitor);
+		if( found == null ) 
+			return;
+		this.type = found;
 		this.bean = type.createServerBean(rootLocation);
 	}
 	
-	private ServerBeanType loadTypeInternal(File location) {
+	/*
+	 * Returns null if the monitor was canceled
+	 */
+	private ServerBeanType loadTypeInternal(File location, IProgressMonitor monitor) {
 		ServerBeanType[] all = getServerBeanTypeManager().getAllRegisteredTypes();
 		for( int i = 0; i < all.length; i++ ) {
+			if( monitor.isCanceled())
+				return null;
 			if( all[i].isServerRoot(location))
 				return all[i];
 		}
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.jobs;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.tools.rsp.api.dao.JobHistoryEntry;
+import org.jboss.tools.rsp.api.dao.JobTypeMetrics;
+import org.jboss.tools.rsp.eclipse.core.runtime.IStatus;
+
+/**
+ * Keeps the most recent completed jobs and computes the statistics per type
+ * of job from them.
+ *
+ * The time a job waited in the queue and the time it ran are kept apart,
+ * so that slow jobs can be told from jobs that waited for a thread.
+ */
+public class JobHistory {
+
+	private final int size;
+
+	/* guarded by this */
+	private final Deque<JobHistoryEntry> entries = new ArrayDeque<>();
+	private long completed = 0;
+
+	/**
+	 * @param size the number of completed jobs to keep
+	 */
+	public JobHistory(int size) {
+		this.size = Math.max(0, size);
+	}
+
+	public synchronized void add(JobHistoryEntry entry) {
+		completed++;
+		entries.addLast(entry);
+		while( size < entries.size()) {
+			entries.removeFirst();
+		}
+	}
+
+	/**
+	 * Returns the completed jobs that are kept, the most recent last.
+	 */
+	public synchronized List<JobHistoryEntry> getEntries() {
+		return new ArrayList<>(entries);
+	}
+
+	/**
+	 * Returns the number of jobs that completed, including those that are
+	 * no longer kept.
+	 */
+	public synchronized long getCompleted() {
+		return completed;
+	}
+
+	/**
+	 * Returns the statistics of the kept jobs per type, in the order the
+	 * types completed first.
+	 */
+	public List<JobTypeMetrics> getTypeMetrics() {
+		Map<String, List<JobHistoryEntry>> byType = new LinkedHashMap<>();
+		for( JobHistoryEntry entry : getEntries()) {
+			byType.computeIfAbsent(entry.getType(), t -> new ArrayList<>()).add(entry);
+		}
+		List<JobTypeMetrics> metrics = new ArrayList<>();
+		for( Map.Entry<String, List<JobHistoryEntry>> type : byType.entrySet()) {
+			metrics.add(getTypeMetrics(type.getKey(), type.getValue()));
+		}
+		return metrics;
+	}
+
+	private JobTypeMetrics getTypeMetrics(String type, List<JobHistoryEntry> jobs) {
+		long[] durations = new long[jobs.size()];
+		long[] queued = new long[jobs.size()];
+		int failed = 0;
+		int canceled = 0;
+		long bytes = 0;
+		long bytesDuration = 0;
+		boolean anyBytes = false;
+		for( int i = 0; i < jobs.size(); i++ ) {
+			JobHistoryEntry job = jobs.get(i);
+			durations[i] = job.getDuration();
+			queued[i] = job.getQueued();
+			int severity = job.getStatus() == null ? IStatus.OK : job.getStatus().getSeverity();
+			if( severity == IStatus.ERROR ) {
+				failed++;
+			} else if( severity == IStatus.CANCEL ) {
+				canceled++;
+			}
+			if( 0 <= job.getBytesProcessed()) {
+				anyBytes = true;
+				bytes += job.getBytesProcessed();
+				bytesDuration += job.getDuration();
+			}
+		}
+		Arrays.sort(durations);
+		Arrays.sort(queued);
+
+		JobTypeMetrics metrics = new JobTypeMetrics();
+		metrics.setType(type);
+		metrics.setCount(jobs.size());
+		metrics.setFailed(failed);
+		metrics.setCanceled(canceled);
+		metrics.setDurationP50(percentile(durations, 50));
+		metrics.setDurationP95(percentile(durations, 95));
+		metrics.setQueuedP50(percentile(queued, 50));
+		metrics.setQueuedP95(percentile(queued, 95));
+		metrics.setBytesProcessed(anyBytes ? bytes : -1);
+		metrics.setBytesPerSecond(anyBytes ? bytes * 1000 / Math.max(1, bytesDuration) : -1);
+		return metrics;
+	}
+
+	/*
+	 * The nearest rank percentile of the given sorted values
+	 */
+	static long percentile(long[] sorted, int percent) {
+		if( sorted.length == 0 ) {
+			return 0;
+		}
+		int rank = (int) Math.ceil(percent / 100d * sorted.length);
+		return sorted[Math.min(sorted.length, Math.max(1, rank)) - 1];
+	}
+}
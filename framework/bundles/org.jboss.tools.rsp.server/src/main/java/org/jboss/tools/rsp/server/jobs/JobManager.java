@@ -3,39 +3,122 @@
  * All rights reserved. This program is made available under the terms of the
  * Eclipse Public License v2.0 which accompanies this distribution, and is
  * available at http://www.eclipse.org/legal/epl-v20.html
- * 
+ *
  * Contributors: Red Hat, Inc.
  ******************************************************************************/
 package org.jboss.tools.rsp.server.jobs;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeSet;
 import java.util.UUID;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.jboss.tools.rsp.api.dao.JobHandle;
+import org.jboss.tools.rsp.api.dao.JobHistoryEntry;
+import org.jboss.tools.rsp.api.dao.JobHistoryResponse;
 import org.jboss.tools.rsp.eclipse.core.runtime.IRunnableWithProgress;
 import org.jboss.tools.rsp.eclipse.core.runtime.IStatus;
 import org.jboss.tools.rsp.eclipse.core.runtime.Status;
 import org.jboss.tools.rsp.launching.utils.IStatusRunnableWithProgress;
+import org.jboss.tools.rsp.server.RSPFlags;
 import org.jboss.tools.rsp.server.ServerCoreActivator;
 import org.jboss.tools.rsp.server.spi.jobs.IJob;
 import org.jboss.tools.rsp.server.spi.jobs.IJobListener;
 import org.jboss.tools.rsp.server.spi.jobs.IJobManager;
 import org.jboss.tools.rsp.server.spi.jobs.SimpleJob;
+import org.jboss.tools.rsp.server.spi.util.StatusConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+/**
+ * Runs jobs on a bounded number of threads.
+ *
+ * Queued jobs start in the order of their priority, jobs of the same
+ * priority in the order they were scheduled. A job whose family already
+ * has as many jobs running as its limit allows is passed over, so that
+ * ex. long running downloads never keep the other jobs from running.
+ *
+ * Progress changes of a job are throttled, see {@link JobProgressThrottle}.
+ * Completed jobs are kept in a {@link JobHistory}.
+ *
+ * The number of threads, the number of concurrent downloads, the
+ * throttling of progress changes and the number of completed jobs that are
+ * kept can be set with the system properties {@link #SYSPROP_THREADS},
+ * {@link #SYSPROP_DOWNLOAD_LIMIT}, {@link #SYSPROP_PROGRESS_STEP},
+ * {@link #SYSPROP_PROGRESS_INTERVAL} and {@link #SYSPROP_HISTORY_SIZE}.
+ */
 public class JobManager implements IJobManager {
 
-	private List<IJobListener> listeners = new ArrayList<>();
-	private Map<String, IJob> currentJobs = new HashMap<>();
-	private ExecutorService executor = Executors.newFixedThreadPool(5);
-	
+	private static final Logger LOG = LoggerFactory.getLogger(JobManager.class);
+
+	public static final String SYSPROP_THREADS = "rsp.server.jobs.threads";
+	public static final String SYSPROP_DOWNLOAD_LIMIT = "rsp.server.jobs.download.limit";
+	/* the change in percent that is notified right away */
+	public static final String SYSPROP_PROGRESS_STEP = "rsp.server.jobs.progress.step";
+	/* the milliseconds after which smaller changes are notified */
+	public static final String SYSPROP_PROGRESS_INTERVAL = "rsp.server.jobs.progress.interval";
+	public static final String SYSPROP_HISTORY_SIZE = "rsp.server.jobs.history.size";
+	private static final int DEFAULT_THREADS = 5;
+	private static final int DEFAULT_DOWNLOAD_LIMIT = 2;
+	private static final int DEFAULT_PROGRESS_STEP = 5;
+	private static final int DEFAULT_PROGRESS_INTERVAL = 1000;
+	private static final int DEFAULT_HISTORY_SIZE = 100;
+
+	private static final Comparator<QueuedJob> QUEUE_ORDER =
+			Comparator.<QueuedJob>comparingInt(q -> q.job.getPriority())
+			.thenComparingLong(q -> q.sequence);
+
+	private final List<IJobListener> listeners = new CopyOnWriteArrayList<>();
+	private final Map<String, IJob> currentJobs = new ConcurrentHashMap<>();
+	private final Map<String, Integer> familyLimits = new ConcurrentHashMap<>();
+	private final Map<String, JobProgressThrottle> progress = new ConcurrentHashMap<>();
+	private final Map<String, JobTimes> times = new ConcurrentHashMap<>();
+	private final AtomicLong progressNotifications = new AtomicLong();
+	private final AtomicLong progressThrottled = new AtomicLong();
+
+	/* guarded by this */
+	private final TreeSet<QueuedJob> queue = new TreeSet<>(QUEUE_ORDER);
+	private final Map<String, Integer> runningByFamily = new HashMap<>();
+	private int running = 0;
+	private long sequence = 0;
+
+	private final int threads;
+	private final ThreadPoolExecutor executor;
+	private final int progressStep;
+	private final int progressInterval;
+	private final JobHistory history;
+
 	public JobManager() {
+		this(RSPFlags.getIntSysprop(SYSPROP_THREADS, DEFAULT_THREADS));
+		setFamilyLimit(IJob.FAMILY_DOWNLOAD,
+				RSPFlags.getIntSysprop(SYSPROP_DOWNLOAD_LIMIT, DEFAULT_DOWNLOAD_LIMIT));
+	}
+
+	public JobManager(int threads) {
 		super();
+		this.threads = Math.max(1, threads);
+		AtomicInteger count = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(this.threads, this.threads,
+				60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+				r -> new Thread(r, "RSP Job " + count.incrementAndGet()));
+		executor.allowCoreThreadTimeOut(true);
+		this.progressStep = RSPFlags.getIntSysprop(SYSPROP_PROGRESS_STEP, DEFAULT_PROGRESS_STEP);
+		this.progressInterval = RSPFlags.getIntSysprop(SYSPROP_PROGRESS_INTERVAL, DEFAULT_PROGRESS_INTERVAL);
+		this.history = new JobHistory(RSPFlags.getIntSysprop(SYSPROP_HISTORY_SIZE, DEFAULT_HISTORY_SIZE));
 	}
+
 	@Override
 	public void addJobListener(IJobListener l) {
 		listeners.add(l);
@@ -48,64 +131,186 @@ public class JobManager implements IJobManager {
 
 	@Override
 	public IJob scheduleJob(String jobName, IRunnableWithProgress runnable) {
-		SimpleJob job = new SimpleJob(jobName, generateJobId(), runnable, this);
-		IJob oldJob = currentJobs.get(job.getId());
-		if( oldJob != null )
-			return null;
-		
-		currentJobs.put(job.getId(), job);
-		fireJobAdded(job);
-		schedule(job);
-		return job;
+		return scheduleJob(new SimpleJob(jobName, generateJobId(), runnable, this));
 	}
 
 	@Override
 	public IJob scheduleJob(String jobName, IStatusRunnableWithProgress runnable) {
+		return scheduleJob(jobName, runnable, IJob.PRIORITY_SHORT, null);
+	}
+
+	@Override
+	public IJob scheduleJob(String jobName, IStatusRunnableWithProgress runnable, int priority, String family) {
 		SimpleJob job = new SimpleJob(jobName, generateJobId(), runnable, this);
-		IJob oldJob = currentJobs.get(job.getId());
-		if( oldJob != null )
+		job.setPriority(priority);
+		job.setFamily(family);
+		return scheduleJob(job);
+	}
+
+	private IJob scheduleJob(SimpleJob job) {
+		if( currentJobs.putIfAbsent(job.getId(), job) != null )
 			return null;
-		
-		currentJobs.put(job.getId(), job);
+
+		long now = System.currentTimeMillis();
+		times.put(job.getId(), new JobTimes(now));
+		progress.put(job.getId(), 
+				new JobProgressThrottle(progressStep, progressInterval, now));
 		fireJobAdded(job);
 		schedule(job);
 		return job;
 	}
-	
+
+	@Override
+	public void setFamilyLimit(String family, int limit) {
+		if( limit <= 0 ) {
+			familyLimits.remove(family);
+		} else {
+			familyLimits.put(family, limit);
+		}
+		dispatch();
+	}
+
 	private void fireJobAdded(IJob job) {
-		ArrayList<IJobListener> tmp = new ArrayList<>(listeners);
-		for( IJobListener l : tmp ) {
+		for( IJobListener l : listeners ) {
 			l.jobAdded(job);
 		}
 	}
 
 	private void schedule(SimpleJob job) {
-		executor.execute(() -> {
-			IStatus s = null;
+		synchronized(this) {
+			queue.add(new QueuedJob(job, sequence++));
+		}
+		dispatch();
+	}
+
+	/*
+	 * Starts as many queued jobs as there are free threads
+	 * and their families allow.
+	 */
+	private void dispatch() {
+		List<QueuedJob> toRun = new ArrayList<>();
+		synchronized(this) {
+			Iterator<QueuedJob> it = queue.iterator();
+			while( running < threads && it.hasNext()) {
+				QueuedJob next = it.next();
+				String family = next.job.getFamily();
+				if( isFamilyFull(family)) {
+					continue;
+				}
+				it.remove();
+				running++;
+				if( family != null ) {
+					runningByFamily.merge(family, 1, Integer::sum);
+				}
+				toRun.add(next);
+			}
+		}
+		for( QueuedJob next : toRun ) {
 			try {
-				s = job.run();
-			} catch(Exception e) {
-				s = new Status(IStatus.ERROR, ServerCoreActivator.BUNDLE_ID, e.getMessage(), e);
+				executor.execute(() -> run(next.job));
+			} catch(RejectedExecutionException ree) {
+				jobDone(next.job);
+				fireJobComplete(next.job,
+						new Status(IStatus.ERROR, ServerCoreActivator.BUNDLE_ID, "Job manager is shut down", ree));
 			}
+		}
+	}
+
+	private boolean isFamilyFull(String family) {
+		if( family == null ) {
+			return false;
+		}
+		Integer limit = familyLimits.get(family);
+		return limit != null
+				&& limit <= runningByFamily.getOrDefault(family, 0);
+	}
+
+	private void run(SimpleJob job) {
+		JobTimes jobTimes = times.get(job.getId());
+		if( jobTimes != null ) {
+			jobTimes.started = System.currentTimeMillis();
+		}
+		IStatus s = null;
+		try {
+			s = job.run();
+		} catch(Exception e) {
+			s = new Status(IStatus.ERROR, ServerCoreActivator.BUNDLE_ID, e.getMessage(), e);
+		} finally {
+			jobDone(job);
+		}
+		try {
 			fireJobComplete(job, s);
-		});
+		} finally {
+			// the next job starts once this one was notified as complete
+			dispatch();
+		}
 	}
-	
+
+	private synchronized void jobDone(SimpleJob job) {
+		running--;
+		String family = job.getFamily();
+		if( family != null ) {
+			runningByFamily.computeIfPresent(family, (f, count) -> count <= 1 ? null : count - 1);
+		}
+	}
+
 	@Override
 	public void cancel(IJob job) {
 		if( job instanceof SimpleJob && ((SimpleJob)job).getProgressMonitor() != null ) {
 			((SimpleJob)job).getProgressMonitor().setCanceled(true);
+			removeQueued((SimpleJob)job);
 		}
 	}
-	
+
+	/*
+	 * A job that did not start yet is done once it is canceled
+	 */
+	private void removeQueued(SimpleJob job) {
+		boolean removed = false;
+		synchronized(this) {
+			removed = queue.removeIf(q -> q.job == job);
+		}
+		if( removed ) {
+			fireJobComplete(job, Status.CANCEL_STATUS);
+		}
+	}
+
 	private void fireJobComplete(SimpleJob job, IStatus s) {
+		JobProgressThrottle throttle = progress.remove(job.getId());
+		if( throttle != null ) {
+			if( throttle.jobDone(System.currentTimeMillis())) {
+				// the final value is never throttled
+				fireProgressChanged(job, throttle.getLatest());
+			}
+			progressThrottled.addAndGet(throttle.getThrottled());
+			LOG.debug("Job {} notified {} progress changes, {} were throttled", 
+					job.getName(), throttle.getNotifications(), throttle.getThrottled());
+		}
+		addToHistory(job, s);
 		currentJobs.remove(job.getId());
-		ArrayList<IJobListener> tmp = new ArrayList<>(listeners);
-		for( IJobListener l : tmp ) {
+		for( IJobListener l : listeners ) {
 			l.jobRemoved(job, s);
 		}
 	}
-	
+
+	private void addToHistory(SimpleJob job, IStatus s) {
+		JobTimes jobTimes = times.remove(job.getId());
+		if( jobTimes == null ) {
+			return;
+		}
+		long now = System.currentTimeMillis();
+		long started = jobTimes.started == 0 ? now : jobTimes.started;
+		JobHistoryEntry entry = new JobHistoryEntry();
+		entry.setJob(new JobHandle(job.getName(), job.getId()));
+		entry.setType(job.getFamily() == null ? job.getName() : job.getFamily());
+		entry.setStatus(s == null ? null : StatusConverter.convert(s));
+		entry.setQueued(started - jobTimes.scheduled);
+		entry.setDuration(now - started);
+		entry.setBytesProcessed(job.getBytesProcessed());
+		entry.setCompleted(now);
+		history.add(entry);
+	}
+
 	private String generateJobId() {
 		return UUID.randomUUID().toString();
 	}
@@ -116,22 +321,129 @@ public class JobManager implements IJobManager {
 	}
 	@Override
 	public void jobWorkChanged(IJob job) {
-		ArrayList<IJobListener> tmp = new ArrayList<>(listeners);
-		for( IJobListener l : tmp ) {
-			l.progressChanged(job, job.getProgress());
+		double work = job.getProgress();
+		JobProgressThrottle throttle = progress.get(job.getId());
+		if( throttle == null 
+				|| throttle.progressChanged(work, System.currentTimeMillis())) {
+			fireProgressChanged(job, work);
+		}
+	}
+
+	private void fireProgressChanged(IJob job, double work) {
+		progressNotifications.incrementAndGet();
+		for( IJobListener l : listeners ) {
+			l.progressChanged(job, work);
 		}
 	}
 	@Override
 	public List<IJob> getJobs() {
 		return new ArrayList<>(currentJobs.values());
 	}
-	
+
 	@Override
 	public IStatus cancelJob(JobHandle job) {
 		IJob ijob = currentJobs.get(job.getId());
 		if( ijob == null ) {
 			return new Status(IStatus.ERROR, ServerCoreActivator.BUNDLE_ID, "Job not found: " + job.getId());
 		}
-		return ijob.cancel();
+		IStatus status = ijob.cancel();
+		if( ijob instanceof SimpleJob ) {
+			removeQueued((SimpleJob)ijob);
+		}
+		return status;
+	}
+
+	/**
+	 * Returns the number of jobs that wait for a thread or for their family.
+	 */
+	public synchronized int getQueued() {
+		return queue.size();
+	}
+
+	/**
+	 * Returns the number of jobs that are running.
+	 */
+	public synchronized int getRunning() {
+		return running;
+	}
+
+	/**
+	 * Returns the number of jobs of the given family that are running.
+	 */
+	public synchronized int getRunning(String family) {
+		return runningByFamily.getOrDefault(family, 0);
+	}
+
+	/**
+	 * Returns how long the job that is queued for the longest time has been
+	 * waiting, 0 if no job is queued.
+	 */
+	public synchronized long getLongestQueuedMillis() {
+		long now = System.currentTimeMillis();
+		long longest = 0;
+		for( QueuedJob q : queue ) {
+			longest = Math.max(longest, now - q.queuedAt);
+		}
+		return longest;
+	}
+
+	/**
+	 * Returns the number of progress changes that were notified so far.
+	 */
+	public long getProgressNotifications() {
+		return progressNotifications.get();
+	}
+
+	/**
+	 * Returns the number of progress changes of completed jobs that were throttled.
+	 */
+	public long getProgressThrottled() {
+		return progressThrottled.get();
+	}
+
+	/**
+	 * Returns the number of progress changes that were notified for the
+	 * given job, -1 if the job is not running.
+	 */
+	public int getProgressNotifications(IJob job) {
+		JobProgressThrottle throttle = progress.get(job.getId());
+		return throttle == null ? -1 : throttle.getNotifications();
+	}
+
+	@Override
+	public JobHistoryResponse getJobHistory() {
+		JobHistoryResponse response = new JobHistoryResponse();
+		response.setJobs(history.getEntries());
+		response.setTypes(history.getTypeMetrics());
+		response.setCompleted(history.getCompleted());
+		response.setQueued(getQueued());
+		response.setRunning(getRunning());
+		response.setLongestQueued(getLongestQueuedMillis());
+		return response;
+	}
+
+	public int getThreads() {
+		return threads;
+	}
+
+	private static class QueuedJob {
+		private final SimpleJob job;
+		private final long sequence;
+		private final long queuedAt = System.currentTimeMillis();
+
+		private QueuedJob(SimpleJob job, long sequence) {
+			this.job = job;
+			this.sequence = sequence;
+		}
+	}
+
+	private static class JobTimes {
+		private final long scheduled;
+		/* 0 until the job starts */
+		private volatile long started;
+
+		private JobTimes(long scheduled) {
+			this.scheduled = scheduled;
+		}
 	}
 }
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.jobs;
+
+/**
+ * Decides which progress changes of a single job are worth notifying the
+ * clients of.
+ *
+ * A change is notified if the progress moved by at least the given step
+ * since the last notification, if the given interval has passed since the
+ * last notification or if the job is complete. All other changes are
+ * throttled.
+ */
+public class JobProgressThrottle {
+
+	private static final double COMPLETE = 100;
+
+	private final double step;
+	private final long interval;
+
+	private double notified = 0;
+	private long notifiedAt;
+	private double latest = 0;
+	private int notifications = 0;
+	private int throttled = 0;
+
+	/**
+	 * @param step the change in percent that is always notified
+	 * @param interval the milliseconds after which any change is notified
+	 * @param now the current time in milliseconds
+	 */
+	public JobProgressThrottle(double step, long interval, long now) {
+		this.step = step;
+		this.interval = interval;
+		this.notifiedAt = now;
+	}
+
+	/**
+	 * Returns {@code true} if the given progress should be notified.
+	 *
+	 * @param progress the progress in percent
+	 * @param now the current time in milliseconds
+	 */
+	public synchronized boolean progressChanged(double progress, long now) {
+		this.latest = progress;
+		if( progress == notified ) {
+			return false;
+		}
+		if( COMPLETE <= progress
+				|| step <= Math.abs(progress - notified)
+				|| interval <= now - notifiedAt ) {
+			notified(progress, now);
+			return true;
+		}
+		throttled++;
+		return false;
+	}
+
+	/**
+	 * Returns {@code true} if the latest progress was throttled and should
+	 * still be notified now that the job is done.
+	 *
+	 * @param now the current time in milliseconds
+	 */
+	public synchronized boolean jobDone(long now) {
+		if( latest == notified ) {
+			return false;
+		}
+		notified(latest, now);
+		return true;
+	}
+
+	private void notified(double progress, long now) {
+		this.notified = progress;
+		this.notifiedAt = now;
+		notifications++;
+	}
+
+	public synchronized double getLatest() {
+		return latest;
+	}
+
+	/**
+	 * Returns the number of progress changes that were notified
+	 */
+	public synchronized int getNotifications() {
+		return notifications;
+	}
+
+	/**
+	 * Returns the number of progress changes that were not notified
+	 */
+	public synchronized int getThrottled() {
+		return throttled;
+	}
+}
@@ -13,6 +13,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.jboss.tools.rsp.api.ServerManagementAPIConstants;
 import org.jboss.tools.rsp.api.dao.Attributes;
@@ -28,6 +29,7 @@ import org.jboss.tools.rsp.api.dao.StartServerResponse;
 import org.jboss.tools.rsp.api.dao.UpdateServerResponse;
 import org.jboss.tools.rsp.api.dao.util.CreateServerAttributesUtility;
 import org.jboss.tools.rsp.eclipse.core.runtime.CoreException;
+import org.jboss.tools.rsp.eclipse.core.runtime.IProgressMonitor;
 import org.jboss.tools.rsp.eclipse.core.runtime.IStatus;
 import org.jboss.tools.rsp.eclipse.core.runtime.MultiStatus;
 import org.jboss.tools.rsp.eclipse.core.runtime.Status;
@@ -41,22 +43,35 @@ import org.jboss.tools.rsp.launching.RuntimeProcessEventManager;
 import org.jboss.tools.rsp.server.ServerCoreActivator;
 import org.jboss.tools.rsp.server.model.internal.ServerStreamListener;
 import org.jboss.tools.rsp.server.model.internal.publishing.ServerPublishStateModel;
+import org.jboss.tools.rsp.server.spi.client.ClientThreadLocal;
 import org.jboss.tools.rsp.server.spi.filewatcher.IFileWatcherService;
 import org.jboss.tools.rsp.server.spi.model.IServerModel;
 import org.jboss.tools.rsp.server.spi.model.polling.IPollResultListener;
 import org.jboss.tools.rsp.server.spi.model.polling.IServerStatePoller;
+import org.jboss.tools.rsp.server.spi.model.polling.PollScheduler;
 import org.jboss.tools.rsp.server.spi.servertype.CreateServerValidation;
 import org.jboss.tools.rsp.server.spi.servertype.IServer;
 import org.jboss.tools.rsp.server.spi.servertype.IServerDelegate;
 import org.jboss.tools.rsp.server.spi.servertype.IServerPublishModel;
 import org.jboss.tools.rsp.server.spi.servertype.IServerType;
 import org.jboss.tools.rsp.server.spi.util.StatusConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public abstract class AbstractServerDelegate implements IServerDelegate, IDebugEventSetListener {
 
+	private static final Logger LOG = LoggerFactory.getLogger(AbstractServerDelegate.class);
+
 	private static final String PROCESS_ID_KEY = "process.id.key";
+
+	/*
+	 * Number of liveness checks in a row that need to find the server dead 
+	 * before it is marked as stopped. Avoids flapping on a single lost probe.
+	 */
+	private static final int LIVENESS_MISSES_UNTIL_STOPPED = 2;
 	
 	private int serverState = STATE_UNKNOWN;
+	private int livenessMisses = 0;
 	
 	private String currentMode = null;
 	private final List<ILaunch> launches = new ArrayList<>();
@@ -172,6 +187,70 @@ public abstract class AbstractServerDelegate implements IServerDelegate, IDebugE
 		}
 	}
 
+	@Override
+	public void checkLiveness() {
+		if( getServerRunState() != STATE_STARTED ) {
+			return;
+		}
+		CompletableFuture<Boolean> alive = null;
+		try {
+			alive = isAlive();
+		} catch(RuntimeException re) {
+			LOG.error(NLS.bind("Could not check whether server {0} is alive", getServer().getName()), re);
+			return;
+		}
+		// probes complete on their I/O thread, state changes and the
+		// listeners they notify are run on the scheduler instead
+		alive.whenCompleteAsync((isAlive, t) -> {
+			if( t == null && isAlive != null ) {
+				livenessChecked(isAlive);
+			}
+		}, PollScheduler.getDefault().getExecutor());
+	}
+
+	/**
+	 * Returns whether the server is still alive. Must not block, 
+	 * long checks should complete the returned future asynchronously. 
+	 * 
+	 * The default implementation assumes the server to be alive. 
+	 * Subclasses should override to check the server process or to 
+	 * probe the server.
+	 * 
+	 * @return the future result of the check
+	 */
+	protected CompletableFuture<Boolean> isAlive() {
+		return CompletableFuture.completedFuture(true);
+	}
+
+	/**
+	 * Called on the poll scheduler once the liveness of this server was
+	 * checked. Marks the server stopped if it was found dead repeatedly.
+	 * 
+	 * @param alive whether the server was found alive
+	 */
+	protected void livenessChecked(boolean alive) {
+		if( !isLivenessLost(alive)) {
+			return;
+		}
+		// not synchronized, listeners must not be notified while holding the lock
+		if( getServerRunState() == STATE_STARTED ) {
+			LOG.info(NLS.bind("Server {0} is not alive anymore, marking it stopped", getServer().getName()));
+			setServerState(STATE_STOPPED);
+		}
+	}
+
+	private synchronized boolean isLivenessLost(boolean alive) {
+		if( alive ) {
+			this.livenessMisses = 0;
+			return false;
+		}
+		if( ++livenessMisses < LIVENESS_MISSES_UNTIL_STOPPED ) {
+			return false;
+		}
+		this.livenessMisses = 0;
+		return true;
+	}
+
 	protected void setServerPublishState(int state) {
 		setServerPublishState(state, true);
 	}
@@ -439,8 +518,15 @@ public abstract class AbstractServerDelegate implements IServerDelegate, IDebugE
 		MultiStatus ms = new MultiStatus(ServerCoreActivator.BUNDLE_ID, 0, "Publishing server " + getServer().getName(), null);
 		try {
 			publishStart(publishType);
+			// the client may cancel the publish request, the remaining deployables then stay unpublished
+			IProgressMonitor monitor = ClientThreadLocal.getRequestMonitor();
 			List<DeployableState> list = getServerPublishModel().getDeployableStates();
 			for( DeployableState state : list ) {
+				if( monitor.isCanceled()) {
+					ms.add(new Status(IStatus.CANCEL, ServerCoreActivator.BUNDLE_ID, 
+							NLS.bind("Publishing to server {0} was canceled", getServer().getName())));
+					break;
+				}
 				try {
 					publish(publishType, state);
 				} catch(CoreException ce) {
@@ -9,24 +9,43 @@
 package org.jboss.tools.rsp.server.model;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 import org.jboss.tools.rsp.api.RSPClient;
 import org.jboss.tools.rsp.api.dao.DiscoveryPath;
+import org.jboss.tools.rsp.api.dao.EventSequence;
 import org.jboss.tools.rsp.api.dao.JobHandle;
 import org.jboss.tools.rsp.api.dao.JobProgress;
 import org.jboss.tools.rsp.api.dao.JobRemoved;
 import org.jboss.tools.rsp.api.dao.ServerHandle;
 import org.jboss.tools.rsp.api.dao.ServerProcess;
-import org.jboss.tools.rsp.api.dao.ServerProcessOutput;
 import org.jboss.tools.rsp.api.dao.ServerState;
+import org.jboss.tools.rsp.api.dao.ServerStateDelta;
 import org.jboss.tools.rsp.api.dao.VMDescription;
 import org.jboss.tools.rsp.eclipse.core.runtime.IStatus;
 import org.jboss.tools.rsp.eclipse.jdt.launching.IVMInstall;
 import org.jboss.tools.rsp.eclipse.jdt.launching.IVMInstallChangedListener;
 import org.jboss.tools.rsp.eclipse.jdt.launching.PropertyChangeEvent;
+import org.jboss.tools.rsp.server.RSPFlags;
 import org.jboss.tools.rsp.server.ServerManagementServerImpl;
+import org.jboss.tools.rsp.server.model.internal.ClientEventQueue;
+import org.jboss.tools.rsp.server.model.internal.EventJournal;
+import org.jboss.tools.rsp.server.model.internal.EventJournal.Event;
+import org.jboss.tools.rsp.server.model.internal.ProcessOutputQueue;
+import org.jboss.tools.rsp.server.model.internal.ServerLogFilter;
+import org.jboss.tools.rsp.server.model.internal.ServerOutputSubscriptions;
+import org.jboss.tools.rsp.server.model.internal.ServerStateCoalescer;
+import org.jboss.tools.rsp.server.model.internal.ServerStateDeltaEncoder;
 import org.jboss.tools.rsp.server.spi.discovery.IDiscoveryPathListener;
 import org.jboss.tools.rsp.server.spi.jobs.IJob;
 import org.jboss.tools.rsp.server.spi.jobs.IJobListener;
@@ -37,8 +56,75 @@ import org.jboss.tools.rsp.server.spi.util.StatusConverter;
 
 public class RemoteEventManager implements IDiscoveryPathListener, 
 	IVMInstallChangedListener, IServerModelListener, IJobListener {
-	
+
+	/*
+	 * Console output is batched per stream and client. A batch is sent 
+	 * once it is this old (ms) or this large (chars), whichever comes first. 
+	 * A client may have at most max pending chars queued, the rest is skipped.
+	 */
+	public static final String SYSPROP_OUTPUT_FLUSH_DELAY = "rsp.server.output.flush.delay";
+	public static final String SYSPROP_OUTPUT_BATCH_SIZE = "rsp.server.output.batch.size";
+	public static final String SYSPROP_OUTPUT_MAX_PENDING = "rsp.server.output.max.pending";
+	private static final int DEFAULT_OUTPUT_FLUSH_DELAY = 50;
+	private static final int DEFAULT_OUTPUT_BATCH_SIZE = 64 * 1024;
+	private static final int DEFAULT_OUTPUT_MAX_PENDING = 1024 * 1024;
+
+	/*
+	 * All other events are queued per client and sent in order. A client 
+	 * with more events pending or that took longer (ms) to receive an event 
+	 * is considered stuck and disconnected. State events replace pending ones 
+	 * for the same server or job.
+	 */
+	public static final String SYSPROP_EVENTS_MAX_PENDING = "rsp.server.events.max.pending";
+	public static final String SYSPROP_EVENTS_STUCK_TIMEOUT = "rsp.server.events.stuck.timeout";
+	private static final int DEFAULT_EVENTS_MAX_PENDING = 10000;
+	private static final int DEFAULT_EVENTS_STUCK_TIMEOUT = 60 * 1000;
+
+	/*
+	 * The number of events that are kept for clients that reconnect
+	 */
+	public static final String SYSPROP_EVENTS_JOURNAL_SIZE = "rsp.server.events.journal.size";
+	private static final int DEFAULT_EVENTS_JOURNAL_SIZE = 1000;
+	private static final String SEQUENCE_KEY = "sequence";
+
+	private static final String STATE_KEY_PREFIX = "state:";
+
+	/*
+	 * Clients that support deltas get the full state of a server 
+	 * again after this many deltas.
+	 */
+	public static final String SYSPROP_STATE_FULL_SYNC_INTERVAL = "rsp.server.state.fullsync.interval";
+	private static final int DEFAULT_STATE_FULL_SYNC_INTERVAL = 50;
+
+	/*
+	 * The state changes of a server within this window (ms) are sent 
+	 * as a single one with the latest state. 0 sends each change right away.
+	 */
+	public static final String SYSPROP_STATE_COALESCE_DELAY = "rsp.server.state.coalesce.delay";
+	private static final int DEFAULT_STATE_COALESCE_DELAY = 25;
+
 	private ServerManagementServerImpl server;
+	private final Map<RSPClient, ClientEventQueue> eventQueues = new ConcurrentHashMap<>();
+	private final Map<RSPClient, ProcessOutputQueue> outputQueues = new ConcurrentHashMap<>();
+	private final Map<RSPClient, ServerOutputSubscriptions> outputSubscriptions = new ConcurrentHashMap<>();
+	private final Map<RSPClient, ServerStateDeltaEncoder> stateEncoders = new ConcurrentHashMap<>();
+	private final Map<String, ServerState> lastStates = new ConcurrentHashMap<>();
+	private final EventJournal journal = new EventJournal(
+			RSPFlags.getIntSysprop(SYSPROP_EVENTS_JOURNAL_SIZE, DEFAULT_EVENTS_JOURNAL_SIZE));
+	private final Object journalLock = new Object();
+	/* the sequence number after which events were queued to a client while it was connected */
+	private final Map<RSPClient, Long> liveSince = new ConcurrentHashMap<>();
+	private final Set<RSPClient> sequenceClients = ConcurrentHashMap.newKeySet();
+	/* the clients that were not sent the states of the servers yet */
+	private final Set<RSPClient> pendingSnapshots = ConcurrentHashMap.newKeySet();
+	private final ScheduledExecutorService scheduler = 
+			Executors.newSingleThreadScheduledExecutor(new OutputThreadFactory("RSP Client Event Scheduler"));
+	private final ExecutorService sender = 
+			Executors.newCachedThreadPool(new OutputThreadFactory("RSP Client Event Sender"));
+	private final ServerStateCoalescer stateCoalescer = new ServerStateCoalescer(scheduler, 
+			RSPFlags.getIntSysprop(SYSPROP_STATE_COALESCE_DELAY, DEFAULT_STATE_COALESCE_DELAY), 
+			(handle, state) -> sendServerState(handle, state));
+
 	public RemoteEventManager(ServerManagementServerImpl serverManagementServerImpl) {
 		this.server = serverManagementServerImpl; 
 		serverManagementServerImpl.getModel().getDiscoveryPathModel().addListener(this);
@@ -49,31 +135,27 @@ public class RemoteEventManager implements IDiscoveryPathListener,
 	
 	@Override
 	public void discoveryPathAdded(DiscoveryPath path) {
-		List<RSPClient> l = server.getClients();
-		for( RSPClient c : l) {
-			c.discoveryPathAdded(path);
-		}
+		publish(null, rspc -> rspc.discoveryPathAdded(path));
 	}
 	@Override
 	public void discoveryPathRemoved(DiscoveryPath path) {
-		List<RSPClient> l = server.getClients();
-		for( RSPClient c : l) {
-			c.discoveryPathRemoved(path);
-		}
+		publish(null, rspc -> rspc.discoveryPathRemoved(path));
 	}
 
 	public void serverAdded(ServerHandle server2) {
-		List<RSPClient> l = server.getClients();
-		for( RSPClient c : l) {
-			c.serverAdded(server2);
-		}
+		publish(null, rspc -> rspc.serverAdded(server2));
 	}
 	
 	public void serverRemoved(ServerHandle server2) {
-		List<RSPClient> l = server.getClients();
-		for( RSPClient c : l) {
-			c.serverRemoved(server2);
+		for( ServerOutputSubscriptions subscriptions : outputSubscriptions.values()) {
+			subscriptions.serverRemoved(server2.getId());
+		}
+		stateCoalescer.remove(server2.getId());
+		lastStates.remove(server2.getId());
+		for( ServerStateDeltaEncoder encoder : stateEncoders.values()) {
+			encoder.remove(server2.getId());
 		}
+		publish(null, rspc -> rspc.serverRemoved(server2));
 	}
 	
 	public void serverAttributesChanged(ServerHandle server) {
@@ -81,48 +163,340 @@ public class RemoteEventManager implements IDiscoveryPathListener,
 	}
 	
 	public void serverStateChanged(ServerHandle server, ServerState state) {
-		List<RSPClient> l = this.server.getClients();
-		if( this.server.getModel().getServerModel().getServer(server.getId()) != null ) {
-			for( RSPClient c : l) {
-				c.serverStateChanged(state);
-			}
+		stateCoalescer.stateChanged(server, state);
+	}
+
+	private void sendServerState(ServerHandle server, ServerState state) {
+		if( this.server.getModel().getServerModel().getServer(server.getId()) != null 
+				&& isChanged(server, state)) {
+			publish(getStateKey(server), rspc -> sendServerState(rspc, state));
+		}
+	}
+
+	/*
+	 * The same state may be fired several times in a row
+	 */
+	private boolean isChanged(ServerHandle server, ServerState state) {
+		ServerState last = lastStates.put(server.getId(), state);
+		return last == null 
+				|| ServerStateDeltaEncoder.diff(last, state) != null;
+	}
+
+	/*
+	 * A delta is computed once sent, a merged state is thus based on what the client has
+	 */
+	private void sendServerState(RSPClient client, ServerState state) {
+		ServerStateDeltaEncoder encoder = stateEncoders.get(client);
+		if( encoder == null ) {
+			client.serverStateChanged(state);
+			return;
+		}
+		ServerStateDelta delta = encoder.next(state);
+		if( delta != null ) {
+			client.serverStateDelta(delta);
+		}
+	}
+
+	/*
+	 * Whether the given client gets deltas instead of full server states. 
+	 * The first delta that a client gets for a server holds its full state.
+	 */
+	public void setStateDelta(RSPClient client, boolean delta) {
+		if( delta ) {
+			stateEncoders.computeIfAbsent(client, c -> new ServerStateDeltaEncoder(
+					RSPFlags.getIntSysprop(SYSPROP_STATE_FULL_SYNC_INTERVAL, DEFAULT_STATE_FULL_SYNC_INTERVAL)));
+		} else {
+			stateEncoders.remove(client);
+		}
+	}
+
+	/*
+	 * The full state of a server, the following deltas sent to the given client are based on it
+	 */
+	public ServerStateDelta getFullStateDelta(RSPClient client, ServerState state) {
+		ServerStateDeltaEncoder encoder = stateEncoders.get(client);
+		if( encoder == null ) {
+			encoder = new ServerStateDeltaEncoder(0);
 		}
+		return encoder.full(state);
 	}
 	
 	/*
-	 * Initialize a new client with all server states
+	 * A client connects, it did not register its capabilities yet
+	 */
+	public void clientConnected(RSPClient client) {
+		synchronized( journalLock ) {
+			liveSince.putIfAbsent(client, journal.getLast());
+			pendingSnapshots.add(client);
+		}
+	}
+
+	/*
+	 * Initialize a new client with all server states. Clients that 
+	 * registered rsp.events.sequence already get them on resync instead.
 	 */
 	public void initClientWithServerStates(RSPClient client) {
+		synchronized( journalLock ) {
+			liveSince.putIfAbsent(client, journal.getLast());
+			if( sequenceClients.contains(client)) {
+				return;
+			}
+		}
+		sendPendingSnapshot(client);
+	}
+
+	private void sendPendingSnapshot(RSPClient client) {
+		if( !pendingSnapshots.contains(client)) {
+			return;
+		}
+		long sequence = journal.getLast();
+		List<ServerState> states = getServerStates();
+		synchronized( journalLock ) {
+			if( pendingSnapshots.remove(client)) {
+				sendSnapshot(client, sequence, states);
+			}
+		}
+	}
+
+	/*
+	 * The states of all servers. A delegate may take a while to answer, 
+	 * this is thus called without holding the journal lock.
+	 */
+	private List<ServerState> getServerStates() {
 		IServerModel model = server.getModel().getServerModel();
-		List<IServer> all = new ArrayList<>(model.getServers().values());
-		ServerState state = null;
-		for( Iterator<IServer> it = all.iterator(); it.hasNext(); ) {
-			state = it.next().getDelegate().getServerState();
-			client.serverStateChanged(state);
+		List<ServerState> states = new ArrayList<>();
+		for( IServer s : new ArrayList<>(model.getServers().values())) {
+			states.add(s.getDelegate().getServerState());
+		}
+		return states;
+	}
+
+	/*
+	 * Queue the given states of all servers, taken after the event with the 
+	 * given sequence, for the given client. A state that changed since was 
+	 * queued to the client already and is newer. Must hold the journal lock.
+	 */
+	private void sendSnapshot(RSPClient client, long sequence, List<ServerState> states) {
+		List<Event> since = journal.since(journal.getId(), sequence);
+		if( states == null || since == null ) {
+			// not taken yet or the journal dropped the events since, take them now
+			sendSnapshot(client, journal.getLast(), getServerStates());
+			return;
+		}
+		Set<Object> changed = new HashSet<>();
+		for( Event e : since ) {
+			changed.add(e.getKey());
+		}
+		for( ServerState state : states ) {
+			String key = getStateKey(state.getServer());
+			if( !changed.contains(key)) {
+				getEventQueue(client).send(key, rspc -> sendServerState(rspc, state));
+			}
+		}
+	}
+
+	/*
+	 * Queue the events that the given client missed since the given sequence, 
+	 * including the state changes of the servers. 
+	 * Returns false if the journal dropped some of the events or no sequence 
+	 * is given, the client only gets the states of all servers then.
+	 */
+	public boolean resyncClient(RSPClient client, EventSequence since) {
+		long sequence = journal.getLast();
+		List<ServerState> states = null;
+		if( since == null || journal.since(since.getJournalId(), since.getSequence()) == null ) {
+			states = getServerStates();
+		}
+		synchronized( journalLock ) {
+			List<Event> missed = since == null ? null 
+					: journal.since(since.getJournalId(), since.getSequence());
+			// states that were sent already are newer than the journaled ones
+			boolean replayStates = pendingSnapshots.remove(client);
+			if( missed == null ) {
+				sendSnapshot(client, sequence, states);
+			} else {
+				long start = liveSince.getOrDefault(client, journal.getLast());
+				Set<Object> liveKeys = new HashSet<>();
+				for( Event e : missed) {
+					if( start < e.getSequence() && e.getKey() != null ) {
+						liveKeys.add(e.getKey());
+					}
+				}
+				for( Event e : missed ) {
+					if( e.getSequence() <= start 
+							&& (replayStates || !isStateKey(e.getKey()))
+							&& !liveKeys.contains(e.getKey())) {
+						queue(client, e.getKey(), e.getNotification());
+					}
+				}
+			}
+			EventSequence current = new EventSequence(journal.getId(), journal.getLast());
+			getEventQueue(client).sendLast(SEQUENCE_KEY, rspc -> rspc.eventSequence(current));
+			return missed != null;
+		}
+	}
+
+	/*
+	 * Whether the given client is sent the sequence number of the last event it got
+	 */
+	public void setEventSequence(RSPClient client, boolean sequence) {
+		if( sequence ) {
+			sequenceClients.add(client);
+		} else {
+			sequenceClients.remove(client);
+			sendPendingSnapshot(client);
+		}
+	}
+
+	/*
+	 * Journal the given event and queue it for all clients
+	 */
+	private void publish(Object key, Consumer<RSPClient> event) {
+		synchronized( journalLock ) {
+			long sequence = journal.append(key, event);
+			for( RSPClient c : server.getClients()) {
+				liveSince.putIfAbsent(c, sequence - 1);
+				queue(c, key, event);
+				if( sequenceClients.contains(c)) {
+					EventSequence es = new EventSequence(journal.getId(), sequence);
+					getEventQueue(c).sendLast(SEQUENCE_KEY, rspc -> rspc.eventSequence(es));
+				}
+			}
+		}
+	}
+
+	private void queue(RSPClient client, Object key, Consumer<RSPClient> event) {
+		if( key == null ) {
+			getEventQueue(client).send(event);
+		} else {
+			getEventQueue(client).send(key, event);
 		}
 	}
 	
 	public void serverProcessCreated(ServerHandle server, String processId) {
-		List<RSPClient> l = this.server.getClients();
-		for( RSPClient c : l) {
-			c.serverProcessCreated(new ServerProcess(server, processId));
-		}
+		ServerProcess process = new ServerProcess(server, processId);
+		publish(null, rspc -> rspc.serverProcessCreated(process));
 	}
 	
 	public void serverProcessTerminated(ServerHandle server, String processId) {
-		List<RSPClient> l = this.server.getClients();
-		for( RSPClient c : l) {
-			c.serverProcessTerminated(new ServerProcess(server, processId));
+		for( ServerOutputSubscriptions subscriptions : outputSubscriptions.values()) {
+			subscriptions.processTerminated(server.getId(), processId);
 		}
+		ServerProcess process = new ServerProcess(server, processId);
+		publish(null, rspc -> rspc.serverProcessTerminated(process));
 	}
 	
 	public void serverProcessOutputAppended(ServerHandle server, String processId, int streamType, String text) {
 		List<RSPClient> l = this.server.getClients();
 		for( RSPClient c : l) {
-			c.serverProcessOutputAppended(new ServerProcessOutput(
-					server, processId, streamType, text));
+			String filtered = getOutputSubscriptions(c).filter(server.getId(), processId, streamType, text);
+			if( !filtered.isEmpty()) {
+				getOutputQueue(c).append(server, processId, streamType, filtered);
+			}
 		}
 	}
+
+	private ClientEventQueue getEventQueue(RSPClient client) {
+		return eventQueues.computeIfAbsent(client, c -> createEventQueue(c));
+	}
+
+	protected ClientEventQueue createEventQueue(RSPClient client) {
+		return new ClientEventQueue(client, sender, 
+				Math.max(1, RSPFlags.getIntSysprop(SYSPROP_EVENTS_MAX_PENDING, DEFAULT_EVENTS_MAX_PENDING)), 
+				RSPFlags.getIntSysprop(SYSPROP_EVENTS_STUCK_TIMEOUT, DEFAULT_EVENTS_STUCK_TIMEOUT), 
+				() -> sender.execute(() -> server.disconnectClient(client)));
+	}
+
+	/*
+	 * Only the latest state of a server needs to be sent
+	 */
+	private static String getStateKey(ServerHandle handle) {
+		return STATE_KEY_PREFIX + (handle == null ? null : handle.getId());
+	}
+
+	private static boolean isStateKey(Object key) {
+		return key instanceof String 
+				&& ((String) key).startsWith(STATE_KEY_PREFIX);
+	}
+
+	private ServerOutputSubscriptions getOutputSubscriptions(RSPClient client) {
+		return outputSubscriptions.computeIfAbsent(client, c -> new ServerOutputSubscriptions());
+	}
+
+	/*
+	 * Whether the given client only receives the output of the servers it subscribed to
+	 */
+	public void setOutputOptIn(RSPClient client, boolean optIn) {
+		getOutputSubscriptions(client).setOptIn(optIn);
+	}
+
+	/*
+	 * Send all output of the given server to the given client
+	 */
+	public void subscribeServerOutput(RSPClient client, String serverId) {
+		getOutputSubscriptions(client).subscribe(serverId);
+	}
+
+	/*
+	 * Stop sending the output of the given server to the given client
+	 */
+	public void unsubscribeServerOutput(RSPClient client, String serverId) {
+		getOutputSubscriptions(client).unsubscribe(serverId);
+	}
+
+	/*
+	 * Only send the output of the filter's server that passes the filter to the given client
+	 */
+	public void subscribeServerLog(RSPClient client, ServerLogFilter filter) {
+		getOutputSubscriptions(client).subscribe(filter);
+	}
+
+	/*
+	 * Send all output of the given server to the given client again
+	 */
+	public void unsubscribeServerLog(RSPClient client, String serverId) {
+		getOutputSubscriptions(client).removeFilter(serverId);
+	}
+
+	private ProcessOutputQueue getOutputQueue(RSPClient client) {
+		return outputQueues.computeIfAbsent(client, c -> createOutputQueue(c));
+	}
+
+	protected ProcessOutputQueue createOutputQueue(RSPClient client) {
+		return new ProcessOutputQueue(client, scheduler, sender, 
+				RSPFlags.getIntSysprop(SYSPROP_OUTPUT_FLUSH_DELAY, DEFAULT_OUTPUT_FLUSH_DELAY), 
+				Math.max(1, RSPFlags.getIntSysprop(SYSPROP_OUTPUT_BATCH_SIZE, DEFAULT_OUTPUT_BATCH_SIZE)), 
+				RSPFlags.getIntSysprop(SYSPROP_OUTPUT_MAX_PENDING, DEFAULT_OUTPUT_MAX_PENDING));
+	}
+
+	/*
+	 * Drop the events and output that are still queued and the log subscriptions of the given client
+	 */
+	public void clientRemoved(RSPClient client) {
+		outputSubscriptions.remove(client);
+		stateEncoders.remove(client);
+		sequenceClients.remove(client);
+		liveSince.remove(client);
+		pendingSnapshots.remove(client);
+		ClientEventQueue events = eventQueues.remove(client);
+		if( events != null ) {
+			events.dispose();
+		}
+		ProcessOutputQueue queue = outputQueues.remove(client);
+		if( queue != null ) {
+			queue.dispose();
+		}
+	}
+
+	public void dispose() {
+		List<RSPClient> clients = new ArrayList<>(outputQueues.keySet());
+		clients.addAll(eventQueues.keySet());
+		for( RSPClient c : clients) {
+			clientRemoved(c);
+		}
+		scheduler.shutdownNow();
+		sender.shutdownNow();
+	}
 	
 	
 	
@@ -163,26 +537,33 @@ public class RemoteEventManager implements IDiscoveryPathListener,
 	@Override
 	public void jobAdded(IJob job) {
 		JobHandle jh = new JobHandle(job.getName(), job.getId());
-		List<RSPClient> l = server.getClients();
-		for( RSPClient c : l) {
-			c.jobAdded(jh);
-		}
+		publish(null, rspc -> rspc.jobAdded(jh));
 	}
 	@Override
 	public void jobRemoved(IJob job, IStatus status) {
 		JobHandle jh = new JobHandle(job.getName(), job.getId());
 		JobRemoved rem = new JobRemoved(jh,  StatusConverter.convert(status));
-		List<RSPClient> l = server.getClients();
-		for( RSPClient c : l) {
-			c.jobRemoved(rem);
-		}
+		publish(null, rspc -> rspc.jobRemoved(rem));
 	}
 	@Override
 	public void progressChanged(IJob job, double work) {
 		JobProgress progress = new JobProgress(new JobHandle(job.getName(), job.getId()), work); 
-		List<RSPClient> l = server.getClients();
-		for( RSPClient c : l) {
-			c.jobChanged(progress);
+		publish("job:" + job.getId(), rspc -> rspc.jobChanged(progress));
+	}
+
+	private static class OutputThreadFactory implements ThreadFactory {
+		private final String name;
+		private final AtomicInteger count = new AtomicInteger();
+
+		public OutputThreadFactory(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread t = new Thread(runnable, name + " " + count.incrementAndGet());
+			t.setDaemon(true);
+			return t;
 		}
 	}
 }
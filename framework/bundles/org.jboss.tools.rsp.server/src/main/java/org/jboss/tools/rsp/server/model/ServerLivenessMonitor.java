@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model;
+
+import java.util.ArrayList;
+import java.util.concurrent.ScheduledFuture;
+
+import org.jboss.tools.rsp.server.RSPFlags;
+import org.jboss.tools.rsp.server.spi.model.IServerModel;
+import org.jboss.tools.rsp.server.spi.model.polling.PollScheduler;
+import org.jboss.tools.rsp.server.spi.servertype.IServer;
+import org.jboss.tools.rsp.server.spi.servertype.IServerDelegate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Periodically checks whether the started servers are still alive. 
+ * All servers are checked in a single batch on the shared poll scheduler, 
+ * no thread is used per server. The delegates do the actual (non-blocking) 
+ * check and mark their server stopped if it died.
+ * 
+ * The interval in milliseconds can be set with the system property 
+ * {@link #SYSPROP_LIVENESS_INTERVAL}, 0 disables the monitor.
+ */
+public class ServerLivenessMonitor {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ServerLivenessMonitor.class);
+
+	public static final String SYSPROP_LIVENESS_INTERVAL = "rsp.server.liveness.interval";
+	public static final int DEFAULT_LIVENESS_INTERVAL = 10000;
+
+	private final IServerModel serverModel;
+	private final long interval;
+	private ScheduledFuture<?> future;
+
+	public ServerLivenessMonitor(IServerModel serverModel) {
+		this(serverModel, RSPFlags.getIntSysprop(SYSPROP_LIVENESS_INTERVAL, DEFAULT_LIVENESS_INTERVAL));
+	}
+
+	public ServerLivenessMonitor(IServerModel serverModel, long interval) {
+		this.serverModel = serverModel;
+		this.interval = interval;
+	}
+
+	public synchronized void start() {
+		if( future != null || interval <= 0 ) {
+			return;
+		}
+		this.future = PollScheduler.getDefault().scheduleWithFixedDelay(
+				() -> checkAll(), interval, interval);
+	}
+
+	public synchronized void stop() {
+		if( future != null ) {
+			future.cancel(false);
+			this.future = null;
+		}
+	}
+
+	public synchronized boolean isRunning() {
+		return future != null;
+	}
+
+	public long getInterval() {
+		return interval;
+	}
+
+	protected void checkAll() {
+		for( IServer server : new ArrayList<>(serverModel.getServers().values())) {
+			IServerDelegate delegate = server.getDelegate();
+			if( delegate != null 
+					&& delegate.getServerRunState() == IServerDelegate.STATE_STARTED ) {
+				check(server, delegate);
+			}
+		}
+	}
+
+	private void check(IServer server, IServerDelegate delegate) {
+		try {
+			delegate.checkLiveness();
+		} catch(RuntimeException re) {
+			LOG.error("Could not check liveness of server " + server.getName(), re);
+		}
+	}
+}
@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.jboss.tools.rsp.api.dao.ServerHandle;
+import org.jboss.tools.rsp.api.dao.ServerLogLine;
+import org.jboss.tools.rsp.api.dao.ServerLogResponse;
+import org.jboss.tools.rsp.api.dao.ServerLogSearchResponse;
+import org.jboss.tools.rsp.eclipse.core.runtime.IStatus;
+import org.jboss.tools.rsp.eclipse.core.runtime.Status;
+import org.jboss.tools.rsp.server.RSPFlags;
+import org.jboss.tools.rsp.server.ServerCoreActivator;
+import org.jboss.tools.rsp.server.model.internal.ServerLogSpool;
+import org.jboss.tools.rsp.server.model.internal.ServerLogSpool.Line;
+import org.jboss.tools.rsp.server.model.internal.ServerLogSpool.Range;
+import org.jboss.tools.rsp.server.model.internal.ServerLogSpool.SearchResult;
+import org.jboss.tools.rsp.server.spi.model.IServerLogModel;
+import org.jboss.tools.rsp.server.spi.model.ServerModelListenerAdapter;
+import org.jboss.tools.rsp.server.spi.servertype.IServer;
+import org.jboss.tools.rsp.server.spi.util.StatusConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Spools the console output of each server to its own directory
+ * and serves ranges of it to clients.
+ *
+ * The size of the segment files and the number of segments that are kept
+ * per server can be set with the system properties
+ * {@link #SYSPROP_SEGMENT_SIZE} and {@link #SYSPROP_SEGMENTS}.
+ */
+public class ServerLogModel extends ServerModelListenerAdapter implements IServerLogModel {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ServerLogModel.class);
+
+	public static final String SYSPROP_SEGMENT_SIZE = "rsp.server.log.segment.size";
+	public static final String SYSPROP_SEGMENTS = "rsp.server.log.segments";
+	private static final int DEFAULT_SEGMENT_SIZE = 8 * 1024 * 1024;
+	private static final int DEFAULT_SEGMENTS = 8;
+
+	/* upper bounds for a single request */
+	private static final int MAX_READ_LENGTH = 1024 * 1024;
+	private static final int MAX_SEARCH_RESULTS = 1000;
+
+	private final File directory;
+	private final long segmentSize;
+	private final int maxSegments;
+	private final Map<String, ServerLogSpool> spools = new ConcurrentHashMap<>();
+
+	public ServerLogModel(File directory) {
+		this(directory,
+				RSPFlags.getIntSysprop(SYSPROP_SEGMENT_SIZE, DEFAULT_SEGMENT_SIZE),
+				RSPFlags.getIntSysprop(SYSPROP_SEGMENTS, DEFAULT_SEGMENTS));
+	}
+
+	public ServerLogModel(File directory, long segmentSize, int maxSegments) {
+		this.directory = directory;
+		this.segmentSize = segmentSize;
+		this.maxSegments = maxSegments;
+	}
+
+	@Override
+	public void serverProcessOutputAppended(ServerHandle server, String processId, int streamType, String text) {
+		if( server == null || server.getId() == null ) {
+			return;
+		}
+		try {
+			getSpool(server.getId()).append(text);
+		} catch(IOException ioe) {
+			LOG.error("Could not spool output of server " + server.getId(), ioe);
+		}
+	}
+
+	@Override
+	public void serverRemoved(ServerHandle server) {
+		if( server == null || server.getId() == null ) {
+			return;
+		}
+		ServerLogSpool spool = spools.remove(server.getId());
+		if( spool == null ) {
+			spool = createSpool(server.getId());
+		}
+		spool.delete();
+	}
+
+	@Override
+	public ServerLogResponse read(IServer server, long offset, int length) {
+		ServerLogSpool spool = getSpool(server.getId());
+		try {
+			Range range = spool.read(offset, Math.min(Math.max(0, length), MAX_READ_LENGTH));
+			return toResponse(spool, range);
+		} catch(IOException ioe) {
+			return errorResponse(server, ioe);
+		}
+	}
+
+	@Override
+	public ServerLogResponse tail(IServer server, int lines) {
+		ServerLogSpool spool = getSpool(server.getId());
+		try {
+			long offset = spool.getTailOffset(lines, MAX_READ_LENGTH);
+			Range range = spool.read(offset, MAX_READ_LENGTH);
+			return toResponse(spool, range);
+		} catch(IOException ioe) {
+			return errorResponse(server, ioe);
+		}
+	}
+
+	@Override
+	public ServerLogSearchResponse search(IServer server, Pattern pattern, long offset, int maxResults) {
+		ServerLogSpool spool = getSpool(server.getId());
+		try {
+			SearchResult result = spool.search(pattern, offset,
+					Math.min(Math.max(0, maxResults), MAX_SEARCH_RESULTS));
+			List<ServerLogLine> lines = new ArrayList<>();
+			for( Line line : result.getLines()) {
+				lines.add(new ServerLogLine(line.getOffset(), line.getText()));
+			}
+			return new ServerLogSearchResponse(StatusConverter.convert(Status.OK_STATUS),
+					lines, result.getNextOffset());
+		} catch(IOException ioe) {
+			ServerLogSearchResponse response = new ServerLogSearchResponse();
+			response.setStatus(StatusConverter.convert(createErrorStatus(server, ioe)));
+			return response;
+		}
+	}
+
+	private ServerLogResponse toResponse(ServerLogSpool spool, Range range) {
+		return new ServerLogResponse(StatusConverter.convert(Status.OK_STATUS),
+				range.getStart(), range.getEnd(),
+				spool.getFirstOffset(), spool.getSize(), range.getText());
+	}
+
+	private ServerLogResponse errorResponse(IServer server, IOException ioe) {
+		ServerLogResponse response = new ServerLogResponse();
+		response.setStatus(StatusConverter.convert(createErrorStatus(server, ioe)));
+		return response;
+	}
+
+	private IStatus createErrorStatus(IServer server, IOException ioe) {
+		return new Status(IStatus.ERROR, ServerCoreActivator.BUNDLE_ID,
+				"Could not read the log of server " + server.getName(), ioe);
+	}
+
+	private ServerLogSpool getSpool(String serverId) {
+		return spools.computeIfAbsent(serverId, id -> createSpool(id));
+	}
+
+	protected ServerLogSpool createSpool(String serverId) {
+		return new ServerLogSpool(new File(directory, serverId), segmentSize, maxSegments);
+	}
+
+	public void dispose() {
+		for( ServerLogSpool spool : spools.values()) {
+			spool.close();
+		}
+		spools.clear();
+	}
+}
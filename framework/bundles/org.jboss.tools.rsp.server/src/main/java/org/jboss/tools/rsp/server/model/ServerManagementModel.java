@@ -38,6 +38,7 @@ import org.jboss.tools.rsp.server.spi.discovery.IServerBeanTypeManager;
 import org.jboss.tools.rsp.server.spi.filewatcher.IFileWatcherService;
 import org.jboss.tools.rsp.server.spi.jobs.IJobManager;
 import org.jboss.tools.rsp.server.spi.model.ICapabilityManagement;
+import org.jboss.tools.rsp.server.spi.model.IServerLogModel;
 import org.jboss.tools.rsp.server.spi.model.IServerManagementModel;
 import org.jboss.tools.rsp.server.spi.model.IServerModel;
 import org.jboss.tools.rsp.server.spi.model.IServerModelListener;
@@ -50,6 +51,7 @@ public class ServerManagementModel implements IServerManagementModel {
 	private static final Logger LOG = LoggerFactory.getLogger(ServerManagementModel.class);
 
 	private static final String SECURESTORAGE_DIRECTORY = "securestorage";
+	private static final String SERVERLOGS_DIRECTORY = "serverlogs";
 
 	private ISecureStorageProvider secureStorage;
 	private ICapabilityManagement capabilities;
@@ -61,6 +63,8 @@ public class ServerManagementModel implements IServerManagementModel {
 	private IFileWatcherService fileWatcherService;
 	private IDownloadRuntimesModel downloadRuntimeModel;
 	private IJobManager jobManager;
+	private ServerLivenessMonitor livenessMonitor;
+	private ServerLogModel serverLogModel;
 
 	public ServerManagementModel() {
 		this(LaunchingCore.getDataLocation());
@@ -73,18 +77,27 @@ public class ServerManagementModel implements IServerManagementModel {
 		this.rpm = createDiscoveryPathModel();
 		this.serverBeanTypeManager = createServerBeanTypeManager();
 		this.serverModel = createServerModel();
+		this.serverLogModel = createServerLogModel(new File(dataLocation, SERVERLOGS_DIRECTORY));
+		this.serverModel.addServerModelListener(serverLogModel);
 		this.vmModel = createVMInstallRegistry();
 		this.vmModel.addActiveVM();
 		this.fileWatcherService = createFileWatcherService();
 		this.fileWatcherService.start();
 		this.downloadRuntimeModel = createDownloadRuntimesModel();
 		this.jobManager = createJobManager();
+		this.livenessMonitor = createServerLivenessMonitor();
+		this.livenessMonitor.start();
 	}
 	
 	@Override
 	public IJobManager getJobManager() {
 		return this.jobManager;
 	}
+
+	@Override
+	public IServerLogModel getServerLogModel() {
+		return serverLogModel;
+	}
 	
 	@Override
 	public ISecureStorageProvider getSecureStorageProvider() {
@@ -182,12 +195,26 @@ public class ServerManagementModel implements IServerManagementModel {
 		return new JobManager();
 	}
 
+	protected ServerLogModel createServerLogModel(File directory) {
+		return new ServerLogModel(directory);
+	}
+
+	protected ServerLivenessMonitor createServerLivenessMonitor() {
+		return new ServerLivenessMonitor(serverModel);
+	}
+
 	@Override
 	public void dispose() {
+		if( this.livenessMonitor != null ) {
+			this.livenessMonitor.stop();
+		}
 		shutdownAllServers();
 		if( this.jobManager != null ) {
 			this.jobManager.shutdown();
 		}
+		if( this.serverLogModel != null ) {
+			this.serverLogModel.dispose();
+		}
 	}
 
 	protected void shutdownAllServers() {
@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model.internal;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.jboss.tools.rsp.server.model.internal.RequestExecutor.Lane;
+
+/**
+ * Runs the items of a bulk request (ex. the state of 100 servers)
+ * concurrently on a bounded number of threads.
+ *
+ * The items run on threads of their own rather than on the threads of the
+ * request lanes. A bulk request that waits for its items thus cannot
+ * starve them. As with the requests, the items of quick bulk requests 
+ * (ex. reading states) and slow ones (ex. starting servers) run on 
+ * separate threads. Slow items thus cannot starve quick ones.
+ *
+ * A request has at most as many items queued or running as its lane has
+ * threads. It submits its next item once one of them completed. The items
+ * of concurrent requests thus take turns, and a large request cannot keep
+ * a small one waiting until all of its own items ran.
+ */
+public class BulkExecutor {
+
+	private final Map<Lane, ThreadPoolExecutor> executors = new EnumMap<>(Lane.class);
+	private final int maxItems;
+
+	/**
+	 * @param quickThreads the number of items of quick requests that run at
+	 *        the same time, for all requests together
+	 * @param slowThreads the number of items of slow requests that run at
+	 *        the same time, for all requests together
+	 * @param maxItems the maximum number of items in a single request
+	 */
+	public BulkExecutor(int quickThreads, int slowThreads, int maxItems) {
+		executors.put(Lane.QUICK, createExecutor(quickThreads, "RSP Bulk Request Quick"));
+		executors.put(Lane.SLOW, createExecutor(slowThreads, "RSP Bulk Request Slow"));
+		this.maxItems = maxItems;
+	}
+
+	private static ThreadPoolExecutor createExecutor(int threads, String name) {
+		AtomicInteger count = new AtomicInteger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(Math.max(1, threads), Math.max(1, threads),
+				60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+					Thread t = new Thread(r, name + " " + count.incrementAndGet());
+					t.setDaemon(true);
+					return t;
+				});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * Runs the given task for all the given items in the given lane and
+	 * waits for them to complete.
+	 *
+	 * @param lane the lane of the bulk request
+	 * @param items the items to run the task for
+	 * @param task the task to run for an item
+	 * @param onError creates the result for an item whose task threw
+	 * @return the results in the order of the items
+	 * @throws RejectedExecutionException if there are more items than allowed
+	 *             or the executor was shut down
+	 */
+	public <I, R> List<R> invokeAll(Lane lane, List<I> items, Function<I, R> task, 
+			BiFunction<I, Throwable, R> onError) {
+		if (maxItems < items.size()) {
+			throw new RejectedExecutionException(
+					"Bulk request has " + items.size() + " items, at most " + maxItems + " are allowed");
+		}
+		ThreadPoolExecutor executor = executors.get(lane);
+		Semaphore permits = new Semaphore(Math.max(1, Math.min(executor.getMaximumPoolSize(), items.size())));
+		List<Future<R>> futures = new ArrayList<>(items.size());
+		try {
+			for (I item : items) {
+				permits.acquire();
+				futures.add(submit(executor, permits, () -> task.apply(item)));
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		List<R> results = new ArrayList<>(items.size());
+		for (int i = 0; i < items.size(); i++) {
+			if (i < futures.size()) {
+				results.add(getResult(items.get(i), futures.get(i), onError));
+			} else {
+				// interrupted before the item was submitted
+				results.add(onError.apply(items.get(i), new InterruptedException()));
+			}
+		}
+		return results;
+	}
+
+	private <R> Future<R> submit(ThreadPoolExecutor executor, Semaphore permits, Callable<R> task) {
+		try {
+			return executor.submit(() -> {
+				try {
+					return task.call();
+				} finally {
+					permits.release();
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			permits.release();
+			throw e;
+		}
+	}
+
+	private <I, R> R getResult(I item, Future<R> future, BiFunction<I, Throwable, R> onError) {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			return onError.apply(item, e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			future.cancel(true);
+			return onError.apply(item, e);
+		}
+	}
+
+	public int getMaxItems() {
+		return maxItems;
+	}
+
+	public void shutdown() {
+		for (ThreadPoolExecutor executor : executors.values()) {
+			executor.shutdownNow();
+		}
+	}
+}
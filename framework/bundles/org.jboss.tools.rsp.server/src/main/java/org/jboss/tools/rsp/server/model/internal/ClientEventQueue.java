@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model.internal;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+import org.jboss.tools.rsp.api.RSPClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends notifications to a single client, in the order they were queued,
+ * on a thread of the given executor rather than on the thread that raised
+ * them. A client that is slow to receive thus does not hold up the model
+ * or the other clients.
+ *
+ * Events that are queued with a key replace a pending event with the same
+ * key (ex. the state of a server, only the latest one matters). A client
+ * is considered stuck if the queue overflows or if sending a single event
+ * takes longer than the stuck timeout. The queue then drops all events and
+ * runs the stuck callback, which is expected to disconnect the client.
+ */
+public class ClientEventQueue {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ClientEventQueue.class);
+
+	private final RSPClient client;
+	private final Executor sender;
+	private final int maxPending;
+	private final long stuckTimeout;
+	private final Runnable onStuck;
+
+	private final Map<Object, Consumer<RSPClient>> pending = new LinkedHashMap<>();
+	private boolean sending;
+	private long sendingSince;
+	private boolean disposed;
+
+	/**
+	 * @param client the client to send the events to
+	 * @param sender the executor that sends the events to the client
+	 * @param maxPending the maximum number of events that are queued
+	 * @param stuckTimeout the time in milliseconds after which a client 
+	 *        that did not receive an event is considered stuck
+	 * @param onStuck the callback that is run once the client is stuck
+	 */
+	public ClientEventQueue(RSPClient client, Executor sender, int maxPending, long stuckTimeout, Runnable onStuck) {
+		this.client = client;
+		this.sender = sender;
+		this.maxPending = maxPending;
+		this.stuckTimeout = stuckTimeout;
+		this.onStuck = onStuck;
+	}
+
+	/**
+	 * Queues the given event.
+	 *
+	 * @param event the notification to send to the client
+	 */
+	public void send(Consumer<RSPClient> event) {
+		send(new Object(), event);
+	}
+
+	/**
+	 * Queues the given event, replacing a pending event with the same key.
+	 * The event takes the place of the event that it replaces.
+	 *
+	 * @param key the key of the event
+	 * @param event the notification to send to the client
+	 */
+	public void send(Object key, Consumer<RSPClient> event) {
+		send(key, event, false);
+	}
+
+	/**
+	 * Queues the given event after all pending events, removing a pending 
+	 * event with the same key.
+	 *
+	 * @param key the key of the event
+	 * @param event the notification to send to the client
+	 */
+	public void sendLast(Object key, Consumer<RSPClient> event) {
+		send(key, event, true);
+	}
+
+	private void send(Object key, Consumer<RSPClient> event, boolean last) {
+		int dropped = 0;
+		synchronized (this) {
+			if (disposed) {
+				return;
+			}
+			if (!isStuck(key)) {
+				if (last) {
+					pending.remove(key);
+				}
+				pending.put(key, event);
+				scheduleSend();
+				return;
+			}
+			dropped = pending.size();
+			dispose();
+		}
+		LOG.warn("Client is not receiving events, dropped " + dropped + " pending events. Disconnecting it.");
+		onStuck.run();
+	}
+
+	private boolean isStuck(Object key) {
+		if (maxPending <= pending.size()
+				&& !pending.containsKey(key)) {
+			return true;
+		}
+		return sending 
+				&& 0 < stuckTimeout 
+				&& stuckTimeout < System.currentTimeMillis() - sendingSince;
+	}
+
+	private void scheduleSend() {
+		if (sending) {
+			return;
+		}
+		this.sending = true;
+		this.sendingSince = System.currentTimeMillis();
+		try {
+			sender.execute(() -> sendPending());
+		} catch(RejectedExecutionException ree) {
+			// shutting down
+			this.sending = false;
+		}
+	}
+
+	private void sendPending() {
+		while (true) {
+			Consumer<RSPClient> event = null;
+			synchronized (this) {
+				event = removeFirst();
+				if (event == null) {
+					this.sending = false;
+					return;
+				}
+				this.sendingSince = System.currentTimeMillis();
+			}
+			try {
+				event.accept(client);
+			} catch(RuntimeException re) {
+				LOG.error("Could not send event to client", re);
+			}
+		}
+	}
+
+	private Consumer<RSPClient> removeFirst() {
+		if (disposed) {
+			return null;
+		}
+		Iterator<Entry<Object, Consumer<RSPClient>>> it = pending.entrySet().iterator();
+		if (!it.hasNext()) {
+			return null;
+		}
+		Consumer<RSPClient> event = it.next().getValue();
+		it.remove();
+		return event;
+	}
+
+	/**
+	 * Drops the pending event with the given key.
+	 *
+	 * @param key the key of the event
+	 */
+	public synchronized void cancel(Object key) {
+		pending.remove(key);
+	}
+
+	/**
+	 * Drops all pending events. Events that are queued afterwards are ignored.
+	 */
+	public synchronized void dispose() {
+		this.disposed = true;
+		pending.clear();
+	}
+
+	/**
+	 * Returns the number of events that are waiting to be sent.
+	 */
+	public synchronized int getPending() {
+		return pending.size();
+	}
+}
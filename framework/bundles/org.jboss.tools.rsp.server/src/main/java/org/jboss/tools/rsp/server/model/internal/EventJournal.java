@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.jboss.tools.rsp.api.RSPClient;
+
+/**
+ * Keeps the latest events that were sent to the clients, each one with a
+ * sequence number that is one higher than the one of the event before.
+ *
+ * A client that reconnects can thus get the events that it missed, as long
+ * as the journal did not drop them yet. The journal holds at most the given
+ * number of events, the oldest ones are dropped first.
+ */
+public class EventJournal {
+
+	private final String id;
+	private final int capacity;
+	private final Deque<Event> events = new ArrayDeque<>();
+	private long last;
+
+	/**
+	 * @param capacity the maximum number of events to keep
+	 */
+	public EventJournal(int capacity) {
+		this(UUID.randomUUID().toString(), capacity);
+	}
+
+	public EventJournal(String id, int capacity) {
+		this.id = id;
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Returns the id of this journal. Sequence numbers of different journals
+	 * cannot be compared.
+	 */
+	public String getId() {
+		return id;
+	}
+
+	/**
+	 * Adds the given event.
+	 *
+	 * @param key the key that the event replaces pending events with, or {@code null}
+	 * @param event the notification
+	 * @return the sequence number of the event
+	 */
+	public synchronized long append(Object key, Consumer<RSPClient> event) {
+		this.last++;
+		if (0 < capacity) {
+			if (capacity <= events.size()) {
+				events.removeFirst();
+			}
+			events.addLast(new Event(last, key, event));
+		}
+		return last;
+	}
+
+	/**
+	 * Returns the events that followed the event with the given sequence
+	 * number, oldest first. Returns {@code null} if the journal dropped some
+	 * of them already or does not know the given sequence number.
+	 *
+	 * @param journalId the id of the journal of the sequence number
+	 * @param sequence the sequence number of the last event that the client got
+	 * @return the events that followed or {@code null}
+	 */
+	public synchronized List<Event> since(String journalId, long sequence) {
+		if (!id.equals(journalId)
+				|| sequence < 0
+				|| last < sequence
+				|| sequence < getFirst() - 1) {
+			return null;
+		}
+		List<Event> since = new ArrayList<>();
+		for (Event event : events) {
+			if (sequence < event.getSequence()) {
+				since.add(event);
+			}
+		}
+		return since;
+	}
+
+	private long getFirst() {
+		if (events.isEmpty()) {
+			return last + 1;
+		}
+		return events.getFirst().getSequence();
+	}
+
+	/**
+	 * Returns the sequence number of the latest event, 0 if there is none.
+	 */
+	public synchronized long getLast() {
+		return last;
+	}
+
+	public static class Event {
+		private final long sequence;
+		private final Object key;
+		private final Consumer<RSPClient> notification;
+
+		private Event(long sequence, Object key, Consumer<RSPClient> notification) {
+			this.sequence = sequence;
+			this.key = key;
+			this.notification = notification;
+		}
+
+		public long getSequence() {
+			return sequence;
+		}
+
+		/**
+		 * The key that this event replaces pending events with, or {@code null}
+		 */
+		public Object getKey() {
+			return key;
+		}
+
+		public Consumer<RSPClient> getNotification() {
+			return notification;
+		}
+	}
+}
@@ -0,0 +1,248 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model.internal;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.tools.rsp.api.RSPClient;
+import org.jboss.tools.rsp.api.dao.ServerHandle;
+import org.jboss.tools.rsp.api.dao.ServerProcessOutput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Batches the console output of server processes that is sent to a single
+ * client. Output is collected per stream and sent once the flush delay
+ * expired or a batch reached its maximum size, whichever comes first.
+ *
+ * Output that is queued or being sent counts against a maximum. A client
+ * that does not keep up (ex. because its socket is full) thus does not make
+ * the queue grow without limit. Output that does not fit is dropped and
+ * replaced by a marker that tells how many bytes were skipped.
+ */
+public class ProcessOutputQueue {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ProcessOutputQueue.class);
+
+	private final RSPClient client;
+	private final ScheduledExecutorService scheduler;
+	private final Executor sender;
+	private final int flushDelay;
+	private final int batchSize;
+	private final int maxPending;
+
+	private final Map<String, Batch> batches = new LinkedHashMap<>();
+	/* number of characters that are queued or being sent */
+	private int pending;
+	private boolean flushScheduled;
+	private ScheduledFuture<?> flushFuture;
+	private boolean sending;
+	private boolean disposed;
+
+	/**
+	 * @param client the client to send the output to
+	 * @param scheduler the scheduler that delays the flushes
+	 * @param sender the executor that sends the output to the client
+	 * @param flushDelay the maximum time in milliseconds that output is held back
+	 * @param batchSize the maximum number of characters that are sent in one notification
+	 * @param maxPending the maximum number of characters that are queued or being sent
+	 */
+	public ProcessOutputQueue(RSPClient client, ScheduledExecutorService scheduler, Executor sender,
+			int flushDelay, int batchSize, int maxPending) {
+		this.client = client;
+		this.scheduler = scheduler;
+		this.sender = sender;
+		this.flushDelay = flushDelay;
+		this.batchSize = batchSize;
+		this.maxPending = maxPending;
+	}
+
+	/**
+	 * Queues the given output to be sent to the client.
+	 *
+	 * @param server the server whose process printed the output
+	 * @param processId the id of the process
+	 * @param streamType the stream that the output was printed to
+	 * @param text the output
+	 */
+	public synchronized void append(ServerHandle server, String processId, int streamType, String text) {
+		if (disposed
+				|| text == null
+				|| text.isEmpty()) {
+			return;
+		}
+		Batch batch = getBatch(server, processId, streamType);
+		if (maxPending < pending + text.length()) {
+			batch.skipped += getUtf8Length(text);
+			scheduleFlush(flushDelay);
+			return;
+		}
+		appendSkippedMarker(batch);
+		batch.text.append(text);
+		this.pending += text.length();
+		scheduleFlush(batch.text.length() < batchSize ? flushDelay : 0);
+	}
+
+	private Batch getBatch(ServerHandle server, String processId, int streamType) {
+		String key = server.getId() + "\n" + processId + "\n" + streamType;
+		Batch batch = batches.get(key);
+		if (batch == null) {
+			batch = new Batch(server, processId, streamType);
+			batches.put(key, batch);
+		}
+		return batch;
+	}
+
+	private void appendSkippedMarker(Batch batch) {
+		if (batch.skipped == 0) {
+			return;
+		}
+		String marker = getSkippedMarker(batch.skipped);
+		batch.text.append(marker);
+		this.pending += marker.length();
+		batch.skipped = 0;
+	}
+
+	/**
+	 * Returns the text that replaces the given number of bytes that were dropped.
+	 *
+	 * @param skipped the number of bytes that were dropped
+	 * @return the marker text
+	 */
+	public static String getSkippedMarker(long skipped) {
+		return "\n[" + skipped + " bytes skipped]\n";
+	}
+
+	private void scheduleFlush(long delay) {
+		if (sending) {
+			// flushing again once the current sending is done
+			return;
+		}
+		if (flushScheduled) {
+			if (0 < delay
+					|| !flushFuture.cancel(false)) {
+				return;
+			}
+			// a full batch is sent right away
+		}
+		this.flushScheduled = true;
+		try {
+			this.flushFuture = scheduler.schedule(() -> sender.execute(() -> flush()), delay, TimeUnit.MILLISECONDS);
+		} catch(RejectedExecutionException ree) {
+			// shutting down
+			this.flushScheduled = false;
+		}
+	}
+
+	private void flush() {
+		List<ServerProcessOutput> toSend = null;
+		synchronized (this) {
+			this.flushScheduled = false;
+			if (disposed) {
+				return;
+			}
+			this.sending = true;
+			toSend = removeBatches();
+		}
+		int sent = 0;
+		try {
+			for (ServerProcessOutput output : toSend) {
+				sent += output.getText().length();
+				send(output);
+			}
+		} finally {
+			synchronized (this) {
+				this.pending = Math.max(0, pending - sent);
+				this.sending = false;
+				if (!batches.isEmpty()) {
+					scheduleFlush(flushDelay);
+				}
+			}
+		}
+	}
+
+	private List<ServerProcessOutput> removeBatches() {
+		List<ServerProcessOutput> outputs = new ArrayList<>();
+		for (Batch batch : batches.values()) {
+			appendSkippedMarker(batch);
+			String text = batch.text.toString();
+			for (int start = 0; start < text.length(); start += batchSize) {
+				int end = Math.min(text.length(), start + batchSize);
+				outputs.add(new ServerProcessOutput(batch.server, batch.processId, batch.streamType,
+						text.substring(start, end)));
+			}
+		}
+		batches.clear();
+		return outputs;
+	}
+
+	private void send(ServerProcessOutput output) {
+		try {
+			client.serverProcessOutputAppended(output);
+		} catch(RuntimeException re) {
+			LOG.error("Could not send process output to client", re);
+		}
+	}
+
+	/**
+	 * Drops all queued output. Output that is appended afterwards is ignored.
+	 */
+	public synchronized void dispose() {
+		this.disposed = true;
+		this.batches.clear();
+		this.pending = 0;
+	}
+
+	/**
+	 * Returns the number of characters that are queued or being sent.
+	 */
+	public synchronized int getPending() {
+		return pending;
+	}
+
+	private static long getUtf8Length(String text) {
+		long length = 0;
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c < 0x80) {
+				length++;
+			} else if (c < 0x800) {
+				length += 2;
+			} else if (Character.isHighSurrogate(c)) {
+				length += 4;
+				i++;
+			} else {
+				length += 3;
+			}
+		}
+		return length;
+	}
+
+	private static class Batch {
+		private final ServerHandle server;
+		private final String processId;
+		private final int streamType;
+		private final StringBuilder text = new StringBuilder();
+		private long skipped;
+
+		private Batch(ServerHandle server, String processId, int streamType) {
+			this.server = server;
+			this.processId = processId;
+			this.streamType = streamType;
+		}
+	}
+}
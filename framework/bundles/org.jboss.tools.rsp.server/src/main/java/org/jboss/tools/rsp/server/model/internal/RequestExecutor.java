@@ -0,0 +1,319 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model.internal;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the requests of the clients on a bounded number of threads.
+ *
+ * Quick requests (ex. reading the model) and slow requests (ex. blocking
+ * file, process or network I/O) run in separate lanes, each one with its
+ * own threads. Slow requests thus cannot starve quick ones. Within a lane,
+ * the clients take turns: a client with many queued requests does not
+ * delay the requests of the other clients.
+ *
+ * Each lane queues at most the given number of requests, further requests
+ * are rejected. Requests that are still queued when the executor is shut 
+ * down are dropped, their results are canceled.
+ */
+public class RequestExecutor {
+
+	private static final Logger LOG = LoggerFactory.getLogger(RequestExecutor.class);
+
+	public enum Lane {
+		QUICK, SLOW
+	}
+
+	private static final Object NO_CLIENT = new Object();
+
+	private final Map<Lane, LaneQueue> lanes = new HashMap<>();
+
+	/**
+	 * @param quickThreads the number of threads that run quick requests
+	 * @param slowThreads the number of threads that run slow requests
+	 * @param maxQueued the maximum number of requests that are queued per lane
+	 * @param virtual whether to run the requests on virtual threads if the 
+	 *        jvm supports them
+	 */
+	public RequestExecutor(int quickThreads, int slowThreads, int maxQueued, boolean virtual) {
+		ThreadFactory quickFactory = createThreadFactory("RSP Request Quick", virtual);
+		ThreadFactory slowFactory = createThreadFactory("RSP Request Slow", virtual);
+		lanes.put(Lane.QUICK, new LaneQueue(Math.max(1, quickThreads), maxQueued, quickFactory));
+		lanes.put(Lane.SLOW, new LaneQueue(Math.max(1, slowThreads), maxQueued, slowFactory));
+	}
+
+	/**
+	 * Queues the given request of the given client in the given lane.
+	 *
+	 * @param lane the lane to run the request in
+	 * @param client the client that sent the request, or {@code null}
+	 * @param request the request
+	 * @throws RejectedExecutionException if the lane is full or the executor was shut down
+	 */
+	public void execute(Lane lane, Object client, Runnable request) {
+		execute(lane, client, request, null);
+	}
+
+	/**
+	 * Queues the given request of the given client in the given lane. The
+	 * given result is canceled if the request is dropped on shutdown.
+	 *
+	 * @param lane the lane to run the request in
+	 * @param client the client that sent the request, or {@code null}
+	 * @param request the request
+	 * @param result the result of the request, or {@code null}
+	 * @throws RejectedExecutionException if the lane is full or the executor was shut down
+	 */
+	public void execute(Lane lane, Object client, Runnable request, CompletableFuture<?> result) {
+		lanes.get(lane).add(client == null ? NO_CLIENT : client, new QueuedRequest(request, result));
+	}
+
+	/**
+	 * Returns the number of requests that are waiting in the given lane.
+	 */
+	public int getQueued(Lane lane) {
+		return lanes.get(lane).getQueued();
+	}
+
+	/**
+	 * Returns the highest number of requests that were waiting in the given lane at once.
+	 */
+	public int getMaxQueued(Lane lane) {
+		return lanes.get(lane).getMaxQueued();
+	}
+
+	/**
+	 * Returns the number of requests that are running in the given lane.
+	 */
+	public int getActive(Lane lane) {
+		return lanes.get(lane).getActive();
+	}
+
+	/**
+	 * Returns the number of requests that were rejected because the given lane was full.
+	 */
+	public long getRejected(Lane lane) {
+		return lanes.get(lane).getRejected();
+	}
+
+	/**
+	 * Drops the queued requests, cancels their results and stops the threads
+	 * once the running requests are done.
+	 */
+	public void shutdown() {
+		List<QueuedRequest> dropped = new ArrayList<>();
+		for (LaneQueue lane : lanes.values()) {
+			dropped.addAll(lane.shutdown());
+		}
+		for (QueuedRequest request : dropped) {
+			request.cancel();
+		}
+	}
+
+	private static ThreadFactory createThreadFactory(String name, boolean virtual) {
+		if (virtual) {
+			ThreadFactory factory = createVirtualThreadFactory();
+			if (factory != null) {
+				return factory;
+			}
+		}
+		AtomicInteger count = new AtomicInteger();
+		return runnable -> {
+			Thread t = new Thread(runnable, name + " " + count.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		};
+	}
+
+	/*
+	 * Virtual threads are only available in newer jvms
+	 */
+	private static ThreadFactory createVirtualThreadFactory() {
+		try {
+			Method ofVirtual = Thread.class.getMethod("ofVirtual");
+			Object builder = ofVirtual.invoke(null);
+			Method factory = builder.getClass().getMethod("factory");
+			factory.setAccessible(true);
+			return (ThreadFactory) factory.invoke(builder);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			LOG.info("Virtual threads are not supported by this jvm, using platform threads.");
+			return null;
+		}
+	}
+
+	private static class QueuedRequest {
+
+		private final Runnable request;
+		private final CompletableFuture<?> result;
+
+		private QueuedRequest(Runnable request, CompletableFuture<?> result) {
+			this.request = request;
+			this.result = result;
+		}
+
+		private void cancel() {
+			if (result != null) {
+				result.completeExceptionally(
+						new CancellationException("Request executor was shut down"));
+			}
+		}
+	}
+
+	private static class LaneQueue {
+
+		private final int threads;
+		private final int maxQueued;
+		private final ThreadFactory factory;
+
+		/* the requests of each client, and the clients in the order they take turns */
+		private final Map<Object, Deque<QueuedRequest>> requests = new HashMap<>();
+		private final Deque<Object> turns = new ArrayDeque<>();
+		private int queued;
+		private int maxQueuedSeen;
+		private int active;
+		private int started;
+		private int idle;
+		private long rejected;
+		private boolean shutdown;
+
+		private LaneQueue(int threads, int maxQueued, ThreadFactory factory) {
+			this.threads = threads;
+			this.maxQueued = maxQueued;
+			this.factory = factory;
+		}
+
+		private synchronized void add(Object client, QueuedRequest request) {
+			if (shutdown) {
+				throw new RejectedExecutionException("Request executor was shut down");
+			}
+			if (0 < maxQueued && maxQueued <= queued) {
+				this.rejected++;
+				throw new RejectedExecutionException("Too many requests are queued: " + queued);
+			}
+			Deque<QueuedRequest> clientRequests = requests.get(client);
+			if (clientRequests == null) {
+				clientRequests = new ArrayDeque<>();
+				requests.put(client, clientRequests);
+				turns.addLast(client);
+			}
+			clientRequests.addLast(request);
+			this.queued++;
+			this.maxQueuedSeen = Math.max(maxQueuedSeen, queued);
+			if (0 < idle) {
+				notify();
+			}
+			if (idle < queued && started < threads) {
+				startThread();
+			}
+		}
+
+		private void startThread() {
+			Thread t = factory.newThread(() -> work());
+			t.start();
+			this.started++;
+		}
+
+		private void work() {
+			while (true) {
+				QueuedRequest request = take();
+				if (request == null) {
+					return;
+				}
+				try {
+					request.request.run();
+				} catch (RuntimeException re) {
+					LOG.error("Error occurred while running request", re);
+				} finally {
+					synchronized (this) {
+						this.active--;
+					}
+				}
+			}
+		}
+
+		private synchronized QueuedRequest take() {
+			while (turns.isEmpty()) {
+				if (shutdown) {
+					this.started--;
+					return null;
+				}
+				this.idle++;
+				try {
+					wait();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					this.started--;
+					return null;
+				} finally {
+					this.idle--;
+				}
+			}
+			Object client = turns.removeFirst();
+			Deque<QueuedRequest> clientRequests = requests.get(client);
+			QueuedRequest request = clientRequests.removeFirst();
+			if (clientRequests.isEmpty()) {
+				requests.remove(client);
+			} else {
+				// next client's turn
+				turns.addLast(client);
+			}
+			this.queued--;
+			this.active++;
+			return request;
+		}
+
+		private synchronized int getQueued() {
+			return queued;
+		}
+
+		private synchronized int getMaxQueued() {
+			return maxQueuedSeen;
+		}
+
+		private synchronized int getActive() {
+			return active;
+		}
+
+		private synchronized long getRejected() {
+			return rejected;
+		}
+
+		/*
+		 * Returns the dropped requests, their results are canceled 
+		 * outside of the lock as this runs their callbacks
+		 */
+		private synchronized List<QueuedRequest> shutdown() {
+			this.shutdown = true;
+			List<QueuedRequest> dropped = new ArrayList<>();
+			for (Deque<QueuedRequest> clientRequests : requests.values()) {
+				dropped.addAll(clientRequests);
+			}
+			requests.clear();
+			turns.clear();
+			this.queued = 0;
+			notifyAll();
+			return dropped;
+		}
+	}
+}
@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.tools.rsp.api.dao.RequestMethodMetrics;
+import org.jboss.tools.rsp.api.dao.ServerMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects the latencies of the requests that the server answers, per
+ * method, and the number of bytes that it received and sent.
+ *
+ * A request that takes longer than the slow threshold is logged with its
+ * method, client and duration. A summary of all methods can be logged
+ * periodically.
+ */
+public class RequestMetrics {
+
+	private static final Logger LOG = LoggerFactory.getLogger(RequestMetrics.class);
+
+	/* the upper bounds in ms of the buckets of the latency histograms */
+	private static final long[] BOUNDS = { 1, 2, 5, 10, 25, 50, 100, 250, 500, 
+			1000, 2500, 5000, 10000, 30000 };
+
+	private final long slowThreshold;
+	private final Map<String, MethodStats> methods = new ConcurrentHashMap<>();
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final AtomicLong bytesReceived = new AtomicLong();
+	private final AtomicLong bytesSent = new AtomicLong();
+	private final AtomicLong requests = new AtomicLong();
+	private long requestsAtLastSummary;
+	private ScheduledExecutorService summaryScheduler;
+
+	/**
+	 * @param slowThreshold the duration in milliseconds after which a request 
+	 *        is logged as slow, no request is logged if 0 or less
+	 */
+	public RequestMetrics(long slowThreshold) {
+		this.slowThreshold = slowThreshold;
+	}
+
+	/**
+	 * A request was received.
+	 */
+	public void requestStarted() {
+		inFlight.incrementAndGet();
+	}
+
+	/**
+	 * A request was answered.
+	 *
+	 * @param method the method of the request
+	 * @param client a description of the client that sent the request
+	 * @param nanos the time in nanoseconds that the request took
+	 * @param error whether the request was answered with an error
+	 */
+	public void requestEnded(String method, String client, long nanos, boolean error) {
+		inFlight.decrementAndGet();
+		requests.incrementAndGet();
+		long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+		methods.computeIfAbsent(String.valueOf(method), m -> new MethodStats()).record(nanos, error);
+		if (0 < slowThreshold && slowThreshold <= millis) {
+			LOG.warn("Request " + method + " of client " + client + " took " + millis + " ms");
+		}
+	}
+
+	/**
+	 * A request will not be answered, ex. because the client disconnected.
+	 */
+	public void requestAbandoned() {
+		inFlight.decrementAndGet();
+	}
+
+	public void bytesReceived(long bytes) {
+		bytesReceived.addAndGet(bytes);
+	}
+
+	public void bytesSent(long bytes) {
+		bytesSent.addAndGet(bytes);
+	}
+
+	public int getInFlight() {
+		return inFlight.get();
+	}
+
+	/**
+	 * Returns the metrics of all methods, sorted by method.
+	 */
+	public ServerMetrics getMetrics() {
+		ServerMetrics metrics = new ServerMetrics();
+		metrics.setInFlight(Math.max(0, inFlight.get()));
+		metrics.setBytesReceived(bytesReceived.get());
+		metrics.setBytesSent(bytesSent.get());
+		List<RequestMethodMetrics> all = new ArrayList<>();
+		for (Map.Entry<String, MethodStats> entry : new TreeMap<>(methods).entrySet()) {
+			all.add(entry.getValue().toMetrics(entry.getKey()));
+		}
+		metrics.setMethods(all);
+		return metrics;
+	}
+
+	/**
+	 * Returns a line per method with the number of requests, errors and
+	 * the mean, median, 99th percentile and max latency.
+	 */
+	public String getSummary() {
+		StringBuilder sb = new StringBuilder("Request metrics (in flight: ").append(inFlight.get())
+				.append(", received: ").append(bytesReceived.get())
+				.append(" bytes, sent: ").append(bytesSent.get()).append(" bytes)");
+		for (RequestMethodMetrics m : getMetrics().getMethods()) {
+			sb.append("\n  ").append(m.getMethod())
+				.append(": count=").append(m.getCount())
+				.append(" errors=").append(m.getErrors())
+				.append(" mean=").append(String.format("%.1f", m.getMeanMillis())).append("ms")
+				.append(" p50<=").append(getPercentile(m, 0.5)).append("ms")
+				.append(" p99<=").append(getPercentile(m, 0.99)).append("ms")
+				.append(" max=").append(m.getMaxMillis()).append("ms");
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Returns the upper bound of the bucket that holds the given percentile, 
+	 * or the max latency if it is in the last bucket.
+	 *
+	 * @param metrics the metrics of a method
+	 * @param percentile the percentile, between 0 and 1
+	 * @return the upper bound of the percentile in milliseconds
+	 */
+	public static long getPercentile(RequestMethodMetrics metrics, double percentile) {
+		long rank = (long) Math.ceil(metrics.getCount() * percentile);
+		long seen = 0;
+		List<Long> histogram = metrics.getHistogram();
+		for (int i = 0; i < BOUNDS.length; i++) {
+			seen += histogram.get(i);
+			if (rank <= seen) {
+				return Math.min(BOUNDS[i], metrics.getMaxMillis());
+			}
+		}
+		return metrics.getMaxMillis();
+	}
+
+	/**
+	 * Logs the summary every given interval, unless no request was answered since the last one.
+	 *
+	 * @param interval the interval in milliseconds
+	 */
+	public synchronized void startSummaryLog(long interval) {
+		if (interval <= 0 || summaryScheduler != null) {
+			return;
+		}
+		this.summaryScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "RSP Request Metrics");
+			t.setDaemon(true);
+			return t;
+		});
+		summaryScheduler.scheduleAtFixedRate(() -> logSummary(), interval, interval, TimeUnit.MILLISECONDS);
+	}
+
+	private void logSummary() {
+		long current = requests.get();
+		if (current == requestsAtLastSummary) {
+			return;
+		}
+		this.requestsAtLastSummary = current;
+		LOG.info(getSummary());
+	}
+
+	public synchronized void dispose() {
+		if (summaryScheduler != null) {
+			summaryScheduler.shutdownNow();
+			this.summaryScheduler = null;
+		}
+	}
+
+	private static class MethodStats {
+		private long count;
+		private long errors;
+		private long totalNanos;
+		private long maxNanos;
+		private final long[] buckets = new long[BOUNDS.length + 1];
+
+		private synchronized void record(long nanos, boolean error) {
+			this.count++;
+			if (error) {
+				this.errors++;
+			}
+			this.totalNanos += nanos;
+			this.maxNanos = Math.max(maxNanos, nanos);
+			buckets[getBucket(TimeUnit.NANOSECONDS.toMillis(nanos))]++;
+		}
+
+		private int getBucket(long millis) {
+			for (int i = 0; i < BOUNDS.length; i++) {
+				if (millis <= BOUNDS[i]) {
+					return i;
+				}
+			}
+			return BOUNDS.length;
+		}
+
+		private synchronized RequestMethodMetrics toMetrics(String method) {
+			RequestMethodMetrics metrics = new RequestMethodMetrics();
+			metrics.setMethod(method);
+			metrics.setCount(count);
+			metrics.setErrors(errors);
+			metrics.setMeanMillis(count == 0 ? 0 : totalNanos / (double) count / 1000000);
+			metrics.setMaxMillis(TimeUnit.NANOSECONDS.toMillis(maxNanos));
+			List<Long> bounds = new ArrayList<>();
+			for (long bound : BOUNDS) {
+				bounds.add(bound);
+			}
+			metrics.setHistogramBounds(bounds);
+			List<Long> histogram = new ArrayList<>();
+			for (long bucket : buckets) {
+				histogram.add(bucket);
+			}
+			metrics.setHistogram(histogram);
+			return metrics;
+		}
+	}
+}
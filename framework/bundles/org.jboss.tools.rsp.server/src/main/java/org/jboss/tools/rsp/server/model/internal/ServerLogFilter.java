@@ -0,0 +1,306 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.jboss.tools.rsp.api.dao.ServerLogSubscription;
+
+/**
+ * Filters the console output of a server line by line, as a client
+ * subscribed for it with a {@link ServerLogSubscription}.
+ *
+ * Output arrives in chunks that do not end with complete lines. The start of
+ * a line is held back until the rest of it arrived, or it grew longer than
+ * {@link #MAX_LINE_LENGTH}. Lines that exceed the budget of lines per second
+ * are dropped, the next line that is sent is preceded by a marker that tells
+ * how many were dropped.
+ *
+ * The partial lines of a process are kept until it terminates, see
+ * {@link #processTerminated(String)}.
+ */
+public class ServerLogFilter {
+
+	private static final int MAX_LINE_LENGTH = 16 * 1024;
+
+	private static final List<String> LEVELS = 
+			Collections.unmodifiableList(Arrays.asList("TRACE", "DEBUG", "INFO", "WARN", "ERROR", "FATAL"));
+	private static final Pattern LEVEL_PATTERN = Pattern.compile(
+			"\\b(TRACE|FINEST|FINER|FINE|DEBUG|CONFIG|INFO|WARN|WARNING|ERROR|SEVERE|FATAL)\\b");
+	private static final int UNKNOWN_LEVEL = -1;
+
+	private final String serverId;
+	private final Set<Integer> streamTypes;
+	private final int minLevel;
+	private final List<Pattern> includes;
+	private final List<Pattern> excludes;
+	private final int maxLinesPerSecond;
+
+	/* the streams of each process */
+	private final Map<String, Map<Integer, Stream>> streams = new HashMap<>();
+	private long second;
+	private int linesInSecond;
+	private long dropped;
+	/* lines dropped since the last line that was sent */
+	private long skipped;
+
+	/**
+	 * Creates a filter that passes all output of the given server.
+	 *
+	 * @param serverId the id of the server
+	 */
+	public ServerLogFilter(String serverId) {
+		this(serverId, Collections.emptySet(), UNKNOWN_LEVEL, 
+				Collections.emptyList(), Collections.emptyList(), 0);
+	}
+
+	/**
+	 * Creates a filter for the given subscription.
+	 *
+	 * @param subscription the subscription of a client
+	 * @throws IllegalArgumentException if the level is unknown
+	 * @throws PatternSyntaxException if an expression is invalid
+	 */
+	public ServerLogFilter(ServerLogSubscription subscription) {
+		this(subscription.getServer().getId(), 
+				subscription.getStreamTypes() == null ? 
+						Collections.emptySet() : new HashSet<>(subscription.getStreamTypes()),
+				toLevel(subscription.getMinLevel()),
+				compile(subscription.getIncludes()),
+				compile(subscription.getExcludes()),
+				Math.max(0, subscription.getMaxLinesPerSecond()));
+	}
+
+	private ServerLogFilter(String serverId, Set<Integer> streamTypes, int minLevel, 
+			List<Pattern> includes, List<Pattern> excludes, int maxLinesPerSecond) {
+		this.serverId = serverId;
+		this.streamTypes = streamTypes;
+		this.minLevel = minLevel;
+		this.includes = includes;
+		this.excludes = excludes;
+		this.maxLinesPerSecond = maxLinesPerSecond;
+	}
+
+	private static int toLevel(String level) {
+		if (level == null || level.isEmpty()) {
+			return UNKNOWN_LEVEL;
+		}
+		int index = LEVELS.indexOf(level.toUpperCase(Locale.ENGLISH));
+		if (index < 0) {
+			throw new IllegalArgumentException("Unknown level " + level + ", expected one of " + LEVELS);
+		}
+		return index;
+	}
+
+	private static List<Pattern> compile(List<String> expressions) {
+		List<Pattern> patterns = new ArrayList<>();
+		if (expressions != null) {
+			for (String expression : expressions) {
+				patterns.add(Pattern.compile(expression));
+			}
+		}
+		return patterns;
+	}
+
+	public String getServerId() {
+		return serverId;
+	}
+
+	/**
+	 * Returns {@code true} if this filter passes all output as is.
+	 */
+	public boolean isPassThrough() {
+		return streamTypes.isEmpty()
+				&& minLevel == UNKNOWN_LEVEL
+				&& includes.isEmpty()
+				&& excludes.isEmpty()
+				&& maxLinesPerSecond == 0;
+	}
+
+	/**
+	 * Returns the lines of the given output that pass the filters.
+	 *
+	 * @param processId the process that printed the output
+	 * @param streamType the stream that the output was printed to
+	 * @param text the output
+	 * @return the lines that pass, an empty string if none does
+	 */
+	public synchronized String filter(String processId, int streamType, String text) {
+		if (isPassThrough()) {
+			return text == null ? "" : text;
+		}
+		if (text == null
+				|| (!streamTypes.isEmpty() && !streamTypes.contains(streamType))) {
+			return "";
+		}
+		Stream stream = getStream(processId, streamType);
+		StringBuilder passed = new StringBuilder();
+		int start = 0;
+		int end = 0;
+		while ((end = text.indexOf('\n', start)) >= 0) {
+			stream.partial.append(text, start, end + 1);
+			filterLine(stream, passed);
+			start = end + 1;
+		}
+		stream.partial.append(text, start, text.length());
+		if (MAX_LINE_LENGTH < stream.partial.length()) {
+			filterLine(stream, passed);
+		}
+		return passed.toString();
+	}
+
+	private Stream getStream(String processId, int streamType) {
+		return streams.computeIfAbsent(processId, id -> new HashMap<>())
+				.computeIfAbsent(streamType, type -> new Stream());
+	}
+
+	/**
+	 * Forgets the streams and the partial lines of the given process, which
+	 * terminated.
+	 *
+	 * @param processId the process that terminated
+	 */
+	public synchronized void processTerminated(String processId) {
+		streams.remove(processId);
+	}
+
+	/**
+	 * Returns the number of processes whose streams are kept.
+	 */
+	public synchronized int getProcessCount() {
+		return streams.size();
+	}
+
+	private void filterLine(Stream stream, StringBuilder passed) {
+		String line = stream.partial.toString();
+		stream.partial.setLength(0);
+		int level = parseLevel(line);
+		if (level != UNKNOWN_LEVEL) {
+			stream.level = level;
+		}
+		if (!matches(line, stream.level)) {
+			return;
+		}
+		if (!isWithinBudget()) {
+			dropped++;
+			skipped++;
+			return;
+		}
+		if (0 < skipped) {
+			passed.append(getSkippedMarker(skipped));
+			this.skipped = 0;
+		}
+		passed.append(line);
+	}
+
+	private boolean matches(String line, int level) {
+		if (minLevel != UNKNOWN_LEVEL 
+				&& level != UNKNOWN_LEVEL
+				&& level < minLevel) {
+			return false;
+		}
+		if (!includes.isEmpty() 
+				&& !find(includes, line)) {
+			return false;
+		}
+		return !find(excludes, line);
+	}
+
+	private boolean find(List<Pattern> patterns, String line) {
+		for (Pattern pattern : patterns) {
+			if (pattern.matcher(line).find()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isWithinBudget() {
+		if (maxLinesPerSecond == 0) {
+			return true;
+		}
+		long now = currentTimeMillis() / 1000;
+		if (now != second) {
+			this.second = now;
+			this.linesInSecond = 0;
+		}
+		if (linesInSecond < maxLinesPerSecond) {
+			linesInSecond++;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the line that replaces the given number of lines that 
+	 * exceeded the budget of lines per second.
+	 *
+	 * @param skipped the number of lines that were dropped
+	 * @return the marker line
+	 */
+	public static String getSkippedMarker(long skipped) {
+		return "[" + skipped + " lines skipped]\n";
+	}
+
+	/**
+	 * Returns the number of lines that were dropped because they exceeded
+	 * the budget of lines per second.
+	 */
+	public synchronized long getDropped() {
+		return dropped;
+	}
+
+	protected long currentTimeMillis() {
+		return System.currentTimeMillis();
+	}
+
+	/**
+	 * Returns the level that is printed in the given line, or
+	 * {@link #UNKNOWN_LEVEL} if there is none. java.util.logging levels are
+	 * mapped to their closest equivalent.
+	 */
+	private static int parseLevel(String line) {
+		Matcher matcher = LEVEL_PATTERN.matcher(line);
+		if (!matcher.find()) {
+			return UNKNOWN_LEVEL;
+		}
+		switch (matcher.group(1)) {
+		case "FINEST":
+		case "FINER":
+			return LEVELS.indexOf("TRACE");
+		case "FINE":
+			return LEVELS.indexOf("DEBUG");
+		case "CONFIG":
+			return LEVELS.indexOf("INFO");
+		case "WARNING":
+			return LEVELS.indexOf("WARN");
+		case "SEVERE":
+			return LEVELS.indexOf("ERROR");
+		default:
+			return LEVELS.indexOf(matcher.group(1));
+		}
+	}
+
+	private static class Stream {
+		private final StringBuilder partial = new StringBuilder();
+		/* the level of the last line that had one */
+		private int level = UNKNOWN_LEVEL;
+	}
+}
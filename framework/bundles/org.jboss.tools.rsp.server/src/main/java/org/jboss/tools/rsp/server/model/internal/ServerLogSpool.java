@@ -0,0 +1,544 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model.internal;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Spools the console output of a server to disk. The output is written to
+ * segment files of a maximum size. Once the maximum number of segments is
+ * reached, the oldest segment is deleted.
+ *
+ * Each segment is named after the offset of its first byte, offsets are thus
+ * stable across rotations and restarts. Appending is the only operation that
+ * holds the lock while doing I/O, reads work on a snapshot of the segments so
+ * that a client paging through the output does not block the process output.
+ */
+public class ServerLogSpool {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ServerLogSpool.class);
+
+	private static final String SEGMENT_SUFFIX = ".log";
+	private static final int READ_BLOCK_SIZE = 8 * 1024;
+	/* characters of a line that are kept for matching */
+	private static final int MAX_LINE_LENGTH = 64 * 1024;
+
+	private final File directory;
+	private final long segmentSize;
+	private final int maxSegments;
+
+	private final List<Segment> segments = new ArrayList<>();
+	private final List<File> obsolete = new ArrayList<>();
+	private FileChannel active;
+
+	/**
+	 * @param directory the directory to write the segments to
+	 * @param segmentSize the maximum size of a segment in bytes
+	 * @param maxSegments the maximum number of segments that are kept
+	 */
+	public ServerLogSpool(File directory, long segmentSize, int maxSegments) {
+		this.directory = directory;
+		this.segmentSize = Math.max(1, segmentSize);
+		this.maxSegments = Math.max(1, maxSegments);
+		loadSegments();
+	}
+
+	private void loadSegments() {
+		File[] files = directory.listFiles((dir, name) -> name.endsWith(SEGMENT_SUFFIX));
+		if (files == null) {
+			return;
+		}
+		for (File file : files) {
+			String name = file.getName();
+			try {
+				long start = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+				segments.add(new Segment(start, file, file.length()));
+			} catch (NumberFormatException nfe) {
+				// not a segment
+			}
+		}
+		segments.sort((s1, s2) -> Long.compare(s1.start, s2.start));
+	}
+
+	/**
+	 * Appends the given text.
+	 *
+	 * @param text the text to append
+	 * @throws IOException
+	 */
+	public void append(String text) throws IOException {
+		if (text == null || text.isEmpty()) {
+			return;
+		}
+		append(text.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private synchronized void append(byte[] bytes) throws IOException {
+		int written = 0;
+		while (written < bytes.length) {
+			Segment segment = getActiveSegment();
+			int toWrite = (int) Math.min(bytes.length - written, segmentSize - segment.length);
+			ByteBuffer buffer = ByteBuffer.wrap(bytes, written, toWrite);
+			while (buffer.hasRemaining()) {
+				active.write(buffer);
+			}
+			segment.length += toWrite;
+			written += toWrite;
+		}
+	}
+
+	private Segment getActiveSegment() throws IOException {
+		Segment last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+		if (last != null
+				&& last.length < segmentSize) {
+			if (active == null) {
+				this.active = open(last.file);
+			}
+			return last;
+		}
+		closeActive();
+		long start = last == null ? 0 : last.getEnd();
+		Segment segment = new Segment(start, new File(directory, getSegmentName(start)), 0);
+		segments.add(segment);
+		this.active = open(segment.file);
+		deleteOldSegments();
+		return segment;
+	}
+
+	private FileChannel open(File file) throws IOException {
+		if (!directory.exists()
+				&& !directory.mkdirs()) {
+			throw new IOException("Could not create directory " + directory.getAbsolutePath());
+		}
+		return FileChannel.open(file.toPath(),
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+	}
+
+	private String getSegmentName(long start) {
+		return String.format("%020d%s", start, SEGMENT_SUFFIX);
+	}
+
+	private void deleteOldSegments() {
+		while (segments.size() > maxSegments) {
+			obsolete.add(segments.remove(0).file);
+		}
+		// a segment that is being read cannot be deleted on some platforms, try again later
+		for (Iterator<File> it = obsolete.iterator(); it.hasNext();) {
+			File file = it.next();
+			if (!file.exists()
+					|| file.delete()) {
+				it.remove();
+			}
+		}
+	}
+
+	private void closeActive() {
+		if (active == null) {
+			return;
+		}
+		try {
+			active.close();
+		} catch (IOException e) {
+			LOG.debug("Could not close log segment", e);
+		}
+		this.active = null;
+	}
+
+	/**
+	 * Returns the offset of the oldest byte that is still available.
+	 */
+	public synchronized long getFirstOffset() {
+		return segments.isEmpty() ? 0 : segments.get(0).start;
+	}
+
+	/**
+	 * Returns the number of bytes that were appended so far.
+	 */
+	public synchronized long getSize() {
+		return segments.isEmpty() ? 0 : segments.get(segments.size() - 1).getEnd();
+	}
+
+	private synchronized List<Segment> getSnapshot() {
+		List<Segment> snapshot = new ArrayList<>();
+		for (Segment segment : segments) {
+			snapshot.add(new Segment(segment.start, segment.file, segment.length));
+		}
+		return snapshot;
+	}
+
+	/**
+	 * Returns the bytes in the given range. The range is clamped to the output
+	 * that is available and adjusted so that it does not split a character.
+	 *
+	 * @param offset the offset of the first byte
+	 * @param length the maximum number of bytes
+	 * @return the range that was read
+	 * @throws IOException
+	 */
+	public Range read(long offset, int length) throws IOException {
+		List<Segment> snapshot = getSnapshot();
+		long first = snapshot.isEmpty() ? 0 : snapshot.get(0).start;
+		long end = snapshot.isEmpty() ? 0 : snapshot.get(snapshot.size() - 1).getEnd();
+		long start = Math.max(first, Math.min(offset, end));
+		int toRead = (int) Math.max(0, Math.min(length, end - start));
+		byte[] bytes = readBytes(snapshot, start, toRead);
+		int from = skipContinuationBytes(bytes);
+		int to = trimIncompleteCharacter(bytes, from);
+		String text = new String(bytes, from, to - from, StandardCharsets.UTF_8);
+		return new Range(start + from, start + to, text);
+	}
+
+	private byte[] readBytes(List<Segment> snapshot, long offset, int length) throws IOException {
+		byte[] bytes = new byte[length];
+		int read = 0;
+		for (Segment segment : snapshot) {
+			if (read == length) {
+				break;
+			}
+			long position = offset + read;
+			if (position < segment.start
+					|| segment.getEnd() <= position) {
+				continue;
+			}
+			int count = (int) Math.min(length - read, segment.getEnd() - position);
+			try (RandomAccessFile file = new RandomAccessFile(segment.file, "r")) {
+				file.seek(position - segment.start);
+				file.readFully(bytes, read, count);
+			}
+			read += count;
+		}
+		return bytes;
+	}
+
+	/*
+	 * A range must not start in the middle of a multi-byte character
+	 */
+	private int skipContinuationBytes(byte[] bytes) {
+		int i = 0;
+		while (i < bytes.length
+				&& i < 3
+				&& isContinuationByte(bytes[i])) {
+			i++;
+		}
+		return i;
+	}
+
+	/*
+	 * A range must not end in the middle of a multi-byte character
+	 */
+	private int trimIncompleteCharacter(byte[] bytes, int from) {
+		int end = bytes.length;
+		for (int i = end - 1; i >= from && i >= end - 4; i--) {
+			if (isContinuationByte(bytes[i])) {
+				continue;
+			}
+			int expected = getSequenceLength(bytes[i]);
+			return end - i < expected ? i : end;
+		}
+		return end;
+	}
+
+	private boolean isContinuationByte(byte b) {
+		return (b & 0xC0) == 0x80;
+	}
+
+	private int getSequenceLength(byte b) {
+		if ((b & 0x80) == 0) {
+			return 1;
+		} else if ((b & 0xE0) == 0xC0) {
+			return 2;
+		} else if ((b & 0xF0) == 0xE0) {
+			return 3;
+		}
+		return 4;
+	}
+
+	/**
+	 * Returns the offset at which the last given number of lines start. A line
+	 * break at the very end does not start a new line.
+	 *
+	 * @param lines the number of lines
+	 * @param maxBytes the maximum number of bytes to go back
+	 * @return the offset of the first of the last lines
+	 * @throws IOException
+	 */
+	public long getTailOffset(int lines, long maxBytes) throws IOException {
+		List<Segment> snapshot = getSnapshot();
+		if (snapshot.isEmpty()
+				|| lines <= 0) {
+			return getSize();
+		}
+		long first = snapshot.get(0).start;
+		long end = snapshot.get(snapshot.size() - 1).getEnd();
+		long limit = Math.max(first, end - maxBytes);
+		long position = end;
+		int breaks = 0;
+		boolean trailingBreak = true;
+		while (position > limit) {
+			int blockSize = (int) Math.min(READ_BLOCK_SIZE, position - limit);
+			byte[] block = readBytes(snapshot, position - blockSize, blockSize);
+			for (int i = block.length - 1; i >= 0; i--) {
+				if (block[i] == '\n') {
+					if (trailingBreak) {
+						// the line break that ends the last line
+						trailingBreak = false;
+						continue;
+					}
+					if (++breaks == lines) {
+						return position - blockSize + i + 1;
+					}
+				}
+				trailingBreak = false;
+			}
+			position -= blockSize;
+		}
+		return limit;
+	}
+
+	/**
+	 * Returns the lines that contain a match for the given pattern.
+	 *
+	 * @param pattern the pattern to search for
+	 * @param offset the offset to start searching at
+	 * @param maxResults the maximum number of lines to return
+	 * @return the matching lines and the offset to continue at
+	 * @throws IOException
+	 */
+	public SearchResult search(Pattern pattern, long offset, int maxResults) throws IOException {
+		List<Segment> snapshot = getSnapshot();
+		List<Line> matches = new ArrayList<>();
+		long first = snapshot.isEmpty() ? 0 : snapshot.get(0).start;
+		long end = snapshot.isEmpty() ? 0 : snapshot.get(snapshot.size() - 1).getEnd();
+		long position = Math.max(first, Math.min(offset, end));
+		try (InputStream in = new BufferedInputStream(openStream(snapshot, position, end), READ_BLOCK_SIZE)) {
+			ByteArrayOutputStream line = new ByteArrayOutputStream();
+			long lineStart = position;
+			int b = -1;
+			while (matches.size() < maxResults
+					&& (b = in.read()) != -1) {
+				position++;
+				if (b != '\n') {
+					if (line.size() < MAX_LINE_LENGTH) {
+						line.write(b);
+					}
+					continue;
+				}
+				addIfMatches(pattern, lineStart, line, matches);
+				line.reset();
+				lineStart = position;
+			}
+			if (b == -1) {
+				// last line, may not be complete yet
+				addIfMatches(pattern, lineStart, line, matches);
+				position = end;
+			}
+		}
+		return new SearchResult(matches, position);
+	}
+
+	private void addIfMatches(Pattern pattern, long offset, ByteArrayOutputStream line, List<Line> matches) {
+		if (line.size() == 0) {
+			return;
+		}
+		String text = new String(line.toByteArray(), StandardCharsets.UTF_8);
+		if (text.endsWith("\r")) {
+			text = text.substring(0, text.length() - 1);
+		}
+		if (pattern.matcher(text).find()) {
+			matches.add(new Line(offset, text));
+		}
+	}
+
+	private InputStream openStream(List<Segment> snapshot, long offset, long end) {
+		return new InputStream() {
+			private final Iterator<Segment> segmentIterator = snapshot.iterator();
+			private long position = offset;
+			private Segment segment;
+			private InputStream current;
+
+			@Override
+			public int read() throws IOException {
+				byte[] b = new byte[1];
+				return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+			}
+
+			@Override
+			public int read(byte[] b, int off, int len) throws IOException {
+				while (position < end) {
+					if (current == null
+							&& !openNext()) {
+						return -1;
+					}
+					int toRead = (int) Math.min(len, segment.getEnd() - position);
+					int read = toRead == 0 ? -1 : current.read(b, off, toRead);
+					if (read == -1) {
+						closeCurrent();
+						continue;
+					}
+					position += read;
+					return read;
+				}
+				return -1;
+			}
+
+			private boolean openNext() throws IOException {
+				while (segmentIterator.hasNext()) {
+					Segment next = segmentIterator.next();
+					if (next.getEnd() <= position) {
+						continue;
+					}
+					// skip output that was rotated away
+					position = Math.max(position, next.start);
+					FileChannel channel = FileChannel.open(next.file.toPath(), StandardOpenOption.READ);
+					channel.position(position - next.start);
+					this.current = Channels.newInputStream(channel);
+					this.segment = next;
+					return true;
+				}
+				return false;
+			}
+
+			private void closeCurrent() throws IOException {
+				if (current != null) {
+					current.close();
+					this.current = null;
+				}
+			}
+
+			@Override
+			public void close() throws IOException {
+				closeCurrent();
+			}
+		};
+	}
+
+	/**
+	 * Closes the segment that is being written to.
+	 */
+	public synchronized void close() {
+		closeActive();
+	}
+
+	/**
+	 * Closes and deletes all segments.
+	 */
+	public synchronized void delete() {
+		closeActive();
+		for (Segment segment : segments) {
+			obsolete.add(segment.file);
+		}
+		segments.clear();
+		deleteOldSegments();
+		if (!directory.delete()) {
+			LOG.debug("Could not delete log directory {}", directory.getAbsolutePath());
+		}
+	}
+
+	private static class Segment {
+		private final long start;
+		private final File file;
+		private long length;
+
+		private Segment(long start, File file, long length) {
+			this.start = start;
+			this.file = file;
+			this.length = length;
+		}
+
+		private long getEnd() {
+			return start + length;
+		}
+	}
+
+	/**
+	 * Text that was read from the spool
+	 */
+	public static class Range {
+		private final long start;
+		private final long end;
+		private final String text;
+
+		private Range(long start, long end, String text) {
+			this.start = start;
+			this.end = end;
+			this.text = text;
+		}
+
+		public long getStart() {
+			return start;
+		}
+
+		public long getEnd() {
+			return end;
+		}
+
+		public String getText() {
+			return text;
+		}
+	}
+
+	/**
+	 * A line that was found in the spool
+	 */
+	public static class Line {
+		private final long offset;
+		private final String text;
+
+		private Line(long offset, String text) {
+			this.offset = offset;
+			this.text = text;
+		}
+
+		public long getOffset() {
+			return offset;
+		}
+
+		public String getText() {
+			return text;
+		}
+	}
+
+	/**
+	 * The lines that were found in the spool
+	 */
+	public static class SearchResult {
+		private final List<Line> lines;
+		private final long nextOffset;
+
+		private SearchResult(List<Line> lines, long nextOffset) {
+			this.lines = lines;
+			this.nextOffset = nextOffset;
+		}
+
+		public List<Line> getLines() {
+			return lines;
+		}
+
+		public long getNextOffset() {
+			return nextOffset;
+		}
+	}
+}
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model.internal;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The servers whose console output is sent to a single client.
+ *
+ * A client that opted in only receives the output of the servers that it
+ * subscribed to. Any other client receives the output of all servers, except
+ * the ones that it unsubscribed from.
+ */
+public class ServerOutputSubscriptions {
+
+	private volatile boolean optIn;
+	private final Map<String, ServerLogFilter> subscribed = new ConcurrentHashMap<>();
+	private final Set<String> unsubscribed = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Sets whether output is only sent for the servers that were subscribed to.
+	 *
+	 * @param optIn {@code true} if output is only sent for subscribed servers
+	 */
+	public void setOptIn(boolean optIn) {
+		this.optIn = optIn;
+	}
+
+	public boolean isOptIn() {
+		return optIn;
+	}
+
+	/**
+	 * Subscribes to the output of the server of the given filter. Only the
+	 * output that passes the filter is sent. Replaces an existing subscription.
+	 *
+	 * @param filter the filter for the output of the server
+	 */
+	public void subscribe(ServerLogFilter filter) {
+		unsubscribed.remove(filter.getServerId());
+		subscribed.put(filter.getServerId(), filter);
+	}
+
+	/**
+	 * Subscribes to all output of the given server.
+	 *
+	 * @param serverId the id of the server
+	 */
+	public void subscribe(String serverId) {
+		subscribe(new ServerLogFilter(serverId));
+	}
+
+	/**
+	 * Stops sending the output of the given server.
+	 *
+	 * @param serverId the id of the server
+	 */
+	public void unsubscribe(String serverId) {
+		subscribed.remove(serverId);
+		unsubscribed.add(serverId);
+	}
+
+	/**
+	 * Removes the filter of an existing subscription, all output of the
+	 * given server is sent again.
+	 *
+	 * @param serverId the id of the server
+	 */
+	public void removeFilter(String serverId) {
+		subscribed.computeIfPresent(serverId, (id, filter) -> new ServerLogFilter(id));
+	}
+
+	/**
+	 * Forgets the given server.
+	 *
+	 * @param serverId the id of the server
+	 */
+	public void serverRemoved(String serverId) {
+		subscribed.remove(serverId);
+		unsubscribed.remove(serverId);
+	}
+
+	/**
+	 * Forgets the output of the given process, which terminated.
+	 *
+	 * @param serverId the server whose process terminated
+	 * @param processId the process that terminated
+	 */
+	public void processTerminated(String serverId, String processId) {
+		ServerLogFilter filter = subscribed.get(serverId);
+		if (filter != null) {
+			filter.processTerminated(processId);
+		}
+	}
+
+	/**
+	 * Returns {@code true} if output of the given server is sent.
+	 *
+	 * @param serverId the id of the server
+	 */
+	public boolean isSubscribed(String serverId) {
+		if (subscribed.containsKey(serverId)) {
+			return true;
+		}
+		return !optIn && !unsubscribed.contains(serverId);
+	}
+
+	/**
+	 * Returns the part of the given output that is to be sent.
+	 *
+	 * @param serverId the server whose process printed the output
+	 * @param processId the process that printed the output
+	 * @param streamType the stream that the output was printed to
+	 * @param text the output
+	 * @return the output to send, an empty string if there is none
+	 */
+	public String filter(String serverId, String processId, int streamType, String text) {
+		ServerLogFilter filter = subscribed.get(serverId);
+		if (filter != null) {
+			return filter.filter(processId, streamType, text);
+		}
+		if (!isSubscribed(serverId)
+				|| text == null) {
+			return "";
+		}
+		return text;
+	}
+}
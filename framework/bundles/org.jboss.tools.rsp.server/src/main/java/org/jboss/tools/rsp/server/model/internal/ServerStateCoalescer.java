@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import org.jboss.tools.rsp.api.dao.ServerHandle;
+import org.jboss.tools.rsp.api.dao.ServerState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collapses the state changes of a server that occur within a short window
+ * into a single one with the latest state.
+ *
+ * The window opens with the first change of a server and is not extended by
+ * the following ones, a change is thus held back for at most the delay.
+ */
+public class ServerStateCoalescer {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ServerStateCoalescer.class);
+
+	private final ScheduledExecutorService scheduler;
+	private final int delay;
+	private final BiConsumer<ServerHandle, ServerState> sink;
+
+	private final Map<String, Pending> pending = new HashMap<>();
+	private long received;
+	private long sent;
+
+	/**
+	 * @param scheduler the scheduler that delays the changes
+	 * @param delay the window in milliseconds, changes are passed on right away if 0 or less
+	 * @param sink the consumer of the collapsed changes
+	 */
+	public ServerStateCoalescer(ScheduledExecutorService scheduler, int delay,
+			BiConsumer<ServerHandle, ServerState> sink) {
+		this.scheduler = scheduler;
+		this.delay = delay;
+		this.sink = sink;
+	}
+
+	/**
+	 * Passes on the given state once the window of its server closed,
+	 * unless a newer state replaced it meanwhile.
+	 *
+	 * @param server the server whose state changed
+	 * @param state the new state
+	 */
+	public void stateChanged(ServerHandle server, ServerState state) {
+		synchronized (this) {
+			this.received++;
+			if (0 < delay) {
+				Pending existing = pending.get(server.getId());
+				if (existing != null) {
+					existing.state = state;
+					return;
+				}
+				if (schedule(server, state)) {
+					return;
+				}
+			}
+			this.sent++;
+		}
+		sink.accept(server, state);
+	}
+
+	private boolean schedule(ServerHandle server, ServerState state) {
+		Pending p = new Pending(server, state);
+		pending.put(server.getId(), p);
+		try {
+			scheduler.schedule(() -> flush(p), delay, TimeUnit.MILLISECONDS);
+			return true;
+		} catch(RejectedExecutionException ree) {
+			// shutting down
+			pending.remove(server.getId());
+			return false;
+		}
+	}
+
+	private void flush(Pending p) {
+		synchronized (this) {
+			if (pending.get(p.server.getId()) != p) {
+				// removed meanwhile
+				return;
+			}
+			pending.remove(p.server.getId());
+			this.sent++;
+		}
+		try {
+			sink.accept(p.server, p.state);
+		} catch(RuntimeException re) {
+			LOG.error("Could not send the state of server " + p.server.getId(), re);
+		}
+	}
+
+	/**
+	 * Drops the pending state of the given server.
+	 *
+	 * @param serverId the id of the server
+	 */
+	public synchronized void remove(String serverId) {
+		pending.remove(serverId);
+	}
+
+	/**
+	 * Returns the number of state changes that were received.
+	 */
+	public synchronized long getReceived() {
+		return received;
+	}
+
+	/**
+	 * Returns the number of state changes that were passed on.
+	 */
+	public synchronized long getSent() {
+		return sent;
+	}
+
+	private static class Pending {
+		private final ServerHandle server;
+		private ServerState state;
+
+		private Pending(ServerHandle server, ServerState state) {
+			this.server = server;
+			this.state = state;
+		}
+	}
+}
@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.jboss.tools.rsp.api.dao.DeployableReference;
+import org.jboss.tools.rsp.api.dao.DeployableState;
+import org.jboss.tools.rsp.api.dao.ServerState;
+import org.jboss.tools.rsp.api.dao.ServerStateDelta;
+
+/**
+ * Turns the states of the servers that are sent to a single client into
+ * versioned deltas.
+ *
+ * The versions are kept per server and client. The first state of a server
+ * that is sent is a full delta, and so is every state after the given number
+ * of deltas. A client that lost track thus catches up after a while even if
+ * it does not request the full state.
+ */
+public class ServerStateDeltaEncoder {
+
+	private final int fullSyncInterval;
+	private final Map<String, Sent> sent = new HashMap<>();
+
+	/**
+	 * @param fullSyncInterval the number of deltas after which a full state is
+	 *                         sent, a full state is only sent on request if
+	 *                         0 or less
+	 */
+	public ServerStateDeltaEncoder(int fullSyncInterval) {
+		this.fullSyncInterval = fullSyncInterval;
+	}
+
+	/**
+	 * Returns the delta from the state that was sent last for the server of
+	 * the given state, or {@code null} if nothing changed.
+	 *
+	 * @param state the current state of the server
+	 * @return the delta to send or {@code null}
+	 */
+	public synchronized ServerStateDelta next(ServerState state) {
+		Sent last = sent.get(getId(state));
+		if (last == null
+				|| (0 < fullSyncInterval && fullSyncInterval <= last.deltas)) {
+			return full(state);
+		}
+		ServerStateDelta delta = diff(last.state, state);
+		if (delta == null) {
+			return null;
+		}
+		delta.setBaseVersion(last.version);
+		delta.setVersion(last.version + 1);
+		sent.put(getId(state), new Sent(state, last.version + 1, last.deltas + 1));
+		return delta;
+	}
+
+	/**
+	 * Returns the full state of the server with a new version. The following
+	 * deltas are based on it.
+	 *
+	 * @param state the current state of the server
+	 * @return the full delta
+	 */
+	public synchronized ServerStateDelta full(ServerState state) {
+		Sent last = sent.get(getId(state));
+		long version = last == null ? 1 : last.version + 1;
+		ServerStateDelta delta = new ServerStateDelta();
+		delta.setServer(state.getServer());
+		delta.setFull(true);
+		delta.setVersion(version);
+		delta.setState(state.getState());
+		delta.setPublishState(state.getPublishState());
+		delta.setRunMode(state.getRunMode());
+		delta.setAddedDeployables(getDeployables(state));
+		delta.setChangedDeployables(Collections.emptyList());
+		delta.setRemovedDeployables(Collections.emptyList());
+		sent.put(getId(state), new Sent(state, version, 0));
+		return delta;
+	}
+
+	/**
+	 * Forgets the states that were sent for the given server.
+	 *
+	 * @param serverId the id of the server
+	 */
+	public synchronized void remove(String serverId) {
+		sent.remove(serverId);
+	}
+
+	/**
+	 * Returns the changes between the given states, or {@code null} if they
+	 * are equal. The versions of the delta are not set.
+	 *
+	 * @param from the old state
+	 * @param to the new state
+	 * @return the changes or {@code null}
+	 */
+	public static ServerStateDelta diff(ServerState from, ServerState to) {
+		ServerStateDelta delta = new ServerStateDelta();
+		delta.setServer(to.getServer());
+		boolean changed = false;
+		if (from.getState() != to.getState()) {
+			delta.setState(to.getState());
+			changed = true;
+		}
+		if (from.getPublishState() != to.getPublishState()) {
+			delta.setPublishState(to.getPublishState());
+			changed = true;
+		}
+		if (!Objects.equals(from.getRunMode(), to.getRunMode())) {
+			delta.setRunMode(to.getRunMode());
+			changed = true;
+		}
+		Map<DeployableReference, DeployableState> old = toMap(getDeployables(from));
+		List<DeployableState> added = new ArrayList<>();
+		List<DeployableState> modified = new ArrayList<>();
+		for (DeployableState deployable : getDeployables(to)) {
+			DeployableState previous = old.remove(deployable.getReference());
+			if (previous == null) {
+				added.add(deployable);
+			} else if (previous.getState() != deployable.getState()
+					|| previous.getPublishState() != deployable.getPublishState()) {
+				modified.add(deployable);
+			}
+		}
+		List<DeployableReference> removed = new ArrayList<>(old.keySet());
+		delta.setAddedDeployables(added);
+		delta.setChangedDeployables(modified);
+		delta.setRemovedDeployables(removed);
+		if (!changed
+				&& added.isEmpty()
+				&& modified.isEmpty()
+				&& removed.isEmpty()) {
+			return null;
+		}
+		return delta;
+	}
+
+	private static Map<DeployableReference, DeployableState> toMap(List<DeployableState> deployables) {
+		Map<DeployableReference, DeployableState> map = new LinkedHashMap<>();
+		for (DeployableState deployable : deployables) {
+			map.put(deployable.getReference(), deployable);
+		}
+		return map;
+	}
+
+	private static List<DeployableState> getDeployables(ServerState state) {
+		List<DeployableState> deployables = state.getDeployableStates();
+		return deployables == null ? Collections.emptyList() : new ArrayList<>(deployables);
+	}
+
+	private static String getId(ServerState state) {
+		return state.getServer() == null ? null : state.getServer().getId();
+	}
+
+	private static class Sent {
+		private final ServerState state;
+		private final long version;
+		private final int deltas;
+
+		private Sent(ServerState state, long version, int deltas) {
+			this.state = state;
+			this.version = version;
+			this.deltas = deltas;
+		}
+	}
+}
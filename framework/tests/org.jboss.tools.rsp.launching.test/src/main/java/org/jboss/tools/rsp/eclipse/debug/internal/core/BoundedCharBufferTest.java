@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.eclipse.debug.internal.core;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class BoundedCharBufferTest {
+
+	@Test
+	public void holdsTextThatFits() {
+		BoundedCharBuffer buffer = new BoundedCharBuffer(10);
+		buffer.append("abc");
+		buffer.append("def");
+
+		assertEquals("abcdef", buffer.toString());
+		assertEquals(6, buffer.length());
+		assertEquals(0, buffer.getEvicted());
+	}
+
+	@Test
+	public void dropsOldestCharactersIfFull() {
+		BoundedCharBuffer buffer = new BoundedCharBuffer(5);
+		buffer.append("abc");
+		buffer.append("def");
+		buffer.append("gh");
+
+		assertEquals("defgh", buffer.toString());
+		assertEquals(3, buffer.getEvicted());
+	}
+
+	@Test
+	public void keepsTailOfTextThatIsLargerThanCapacity() {
+		BoundedCharBuffer buffer = new BoundedCharBuffer(4);
+		buffer.append("ab");
+		buffer.append("0123456789");
+
+		assertEquals("6789", buffer.toString());
+		assertEquals(8, buffer.getEvicted());
+	}
+
+	@Test
+	public void wrapsAroundRepeatedly() {
+		BoundedCharBuffer buffer = new BoundedCharBuffer(7);
+		StringBuilder all = new StringBuilder();
+		for (int i = 0; i < 100; i++) {
+			String chunk = Integer.toString(i);
+			buffer.append(chunk);
+			all.append(chunk);
+		}
+
+		assertEquals(all.substring(all.length() - 7), buffer.toString());
+		assertEquals(all.length() - 7, buffer.getEvicted());
+	}
+
+	@Test
+	public void growsBeyondInitialSizeUpToCapacity() {
+		BoundedCharBuffer buffer = new BoundedCharBuffer(5000);
+		StringBuilder all = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			String chunk = "line " + i + "\n";
+			buffer.append(chunk);
+			all.append(chunk);
+		}
+
+		assertEquals(5000, buffer.length());
+		assertEquals(all.substring(all.length() - 5000), buffer.toString());
+	}
+
+	@Test
+	public void clearDropsContentsButKeepsEvictedCount() {
+		BoundedCharBuffer buffer = new BoundedCharBuffer(3);
+		buffer.append("abcde");
+		buffer.clear();
+
+		assertEquals("", buffer.toString());
+		assertEquals(2, buffer.getEvicted());
+
+		buffer.append("xy");
+		assertEquals("xy", buffer.toString());
+	}
+}
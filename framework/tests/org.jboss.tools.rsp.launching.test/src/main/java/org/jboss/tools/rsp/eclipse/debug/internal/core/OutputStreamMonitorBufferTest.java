@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.eclipse.debug.internal.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Pushes several times the buffer size of console output through a fake
+ * process and checks that only the most recent output is buffered and thus
+ * that the heap stays bounded.
+ */
+public class OutputStreamMonitorBufferTest {
+
+	private static final int BUFFER_SIZE = OutputStreamMonitor.DEFAULT_BUFFER_SIZE;
+	private static final String LINE = 
+			"2019-06-01 12:00:00,000 DEBUG [org.jboss.as.server] (MSC service thread 1-1) some debug output\n";
+	/* 4 times the buffer size of complete lines */
+	private static final long OUTPUT_SIZE = (4L * BUFFER_SIZE / LINE.length()) * LINE.length();
+	/* 1 GB of complete lines */
+	private static final long LARGE_OUTPUT_SIZE = (1024L * 1024 * 1024 / LINE.length()) * LINE.length();
+	private static final long HEAP_SAMPLE_INTERVAL = 128L * 1024 * 1024;
+	private static final long MAX_HEAP_GROWTH = 64L * 1024 * 1024;
+	/* in milliseconds */
+	private static final long LARGE_OUTPUT_TIMEOUT = 5 * 60 * 1000;
+
+	@Test
+	public void buffersOnlyMostRecentOutput() throws Exception {
+		FakeProcess process = new FakeProcess(new RepeatingInputStream(LINE, OUTPUT_SIZE));
+		StreamsProxy proxy = new StreamsProxy(process, StandardCharsets.US_ASCII.name());
+		// waits until all output was read
+		proxy.close();
+		OutputStreamMonitor monitor = (OutputStreamMonitor) proxy.getOutputStreamMonitor();
+
+		String contents = monitor.getContents();
+		assertEquals(BUFFER_SIZE, contents.length());
+		assertTrue(contents.endsWith(LINE));
+		assertEquals(OUTPUT_SIZE - BUFFER_SIZE, monitor.getEvictedCount());
+	}
+
+	@Test
+	@Category(SlowTests.class)
+	public void heapStaysFlatWhenProcessPrintsAGigabyte() throws Exception {
+		long heapBefore = getUsedHeap();
+		RepeatingInputStream out = new RepeatingInputStream(LINE, LARGE_OUTPUT_SIZE);
+		FakeProcess process = new FakeProcess(out);
+		StreamsProxy proxy = new StreamsProxy(process, StandardCharsets.US_ASCII.name());
+
+		long deadline = System.currentTimeMillis() + LARGE_OUTPUT_TIMEOUT;
+		for (long sampleAt = HEAP_SAMPLE_INTERVAL; sampleAt < LARGE_OUTPUT_SIZE; sampleAt += HEAP_SAMPLE_INTERVAL) {
+			while (out.getPosition() < sampleAt) {
+				assertTrue("Output was not read in time", System.currentTimeMillis() < deadline);
+				Thread.sleep(10);
+			}
+			long growth = getUsedHeap() - heapBefore;
+			assertTrue("Heap grew by " + growth + " bytes after " + out.getPosition() + " bytes of output", 
+					growth < MAX_HEAP_GROWTH);
+		}
+		while (out.getPosition() < LARGE_OUTPUT_SIZE) {
+			assertTrue("Output was not read in time", System.currentTimeMillis() < deadline);
+			Thread.sleep(10);
+		}
+		// the stream has no bytes left, closing reads its end
+		proxy.close();
+		OutputStreamMonitor monitor = (OutputStreamMonitor) proxy.getOutputStreamMonitor();
+
+		String contents = monitor.getContents();
+		assertEquals(BUFFER_SIZE, contents.length());
+		assertTrue(contents.endsWith(LINE));
+		assertEquals(LARGE_OUTPUT_SIZE - BUFFER_SIZE, monitor.getEvictedCount());
+		long growth = getUsedHeap() - heapBefore;
+		assertTrue("Heap grew by " + growth + " bytes", growth < MAX_HEAP_GROWTH);
+	}
+
+	private long getUsedHeap() throws InterruptedException {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+			Thread.sleep(100);
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	/**
+	 * Returns the given line over and over until the given number of bytes
+	 * was returned. Bytes are copied in chunks from a block of lines.
+	 */
+	private static class RepeatingInputStream extends InputStream {
+
+		private static final int BLOCK_SIZE = 8 * 1024;
+
+		private final byte[] block;
+		private final int lineLength;
+		private final long size;
+		private volatile long position;
+
+		public RepeatingInputStream(String line, long size) {
+			byte[] bytes = line.getBytes(StandardCharsets.US_ASCII);
+			int lines = BLOCK_SIZE / bytes.length + 1;
+			this.block = new byte[lines * bytes.length];
+			for (int i = 0; i < lines; i++) {
+				System.arraycopy(bytes, 0, block, i * bytes.length, bytes.length);
+			}
+			this.lineLength = bytes.length;
+			this.size = size;
+		}
+
+		public long getPosition() {
+			return position;
+		}
+
+		@Override
+		public int read() {
+			if (position >= size) {
+				return -1;
+			}
+			return block[(int) (position++ % lineLength)];
+		}
+
+		@Override
+		public int available() {
+			return (int) Math.min(Integer.MAX_VALUE, size - position);
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) {
+			if (position >= size) {
+				return -1;
+			}
+			int toRead = (int) Math.min(len, size - position);
+			int read = 0;
+			while (read < toRead) {
+				int start = (int) (position % lineLength);
+				int chunk = Math.min(toRead - read, block.length - start);
+				System.arraycopy(block, start, b, off + read, chunk);
+				read += chunk;
+				position += chunk;
+			}
+			return toRead;
+		}
+	}
+
+	private static class FakeProcess extends Process {
+
+		private final InputStream out;
+
+		public FakeProcess(InputStream out) {
+			this.out = out;
+		}
+
+		@Override
+		public OutputStream getOutputStream() {
+			return new OutputStream() {
+				@Override
+				public void write(int b) {
+					// discard
+				}
+			};
+		}
+
+		@Override
+		public InputStream getInputStream() {
+			return out;
+		}
+
+		@Override
+		public InputStream getErrorStream() {
+			return new ByteArrayInputStream(new byte[0]);
+		}
+
+		@Override
+		public int waitFor() {
+			return 0;
+		}
+
+		@Override
+		public int exitValue() {
+			return 0;
+		}
+
+		@Override
+		public void destroy() {
+			// nothing to destroy
+		}
+	}
+}
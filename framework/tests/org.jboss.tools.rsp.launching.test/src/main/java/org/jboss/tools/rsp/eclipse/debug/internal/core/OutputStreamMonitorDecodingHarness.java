@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.eclipse.debug.internal.core;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Measures how fast an {@link OutputStreamMonitor} decodes console output
+ * and how many bytes it allocates per read. Not a unit test, run it with
+ * <pre>
+ * java org.jboss.tools.rsp.eclipse.debug.internal.core.OutputStreamMonitorDecodingHarness [megabytes] [rounds]
+ * </pre>
+ * The first rounds warm up the JIT, compare the last ones.
+ */
+public class OutputStreamMonitorDecodingHarness {
+
+	private static final String LINE =
+			"2019-06-01 12:00:00,000 DEBUG [org.jboss.as.server] (MSC service thread 1-1) café costs 3€\n";
+	private static final int DEFAULT_MEGABYTES = 256;
+	private static final int DEFAULT_ROUNDS = 5;
+
+	public static void main(String[] args) {
+		int megabytes = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_MEGABYTES;
+		int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+		byte[] line = LINE.getBytes(StandardCharsets.UTF_8);
+		long size = (megabytes * 1024L * 1024 / line.length) * line.length;
+		for (int i = 1; i <= rounds; i++) {
+			MeasuringInputStream stream = new MeasuringInputStream(line, size);
+			OutputStreamMonitor monitor = new OutputStreamMonitor(stream, StandardCharsets.UTF_8.name());
+			// measures decoding, not the buffering of the contents
+			monitor.setBuffered(false);
+			monitor.startMonitoring();
+			// waits until all output was read
+			monitor.close();
+			System.out.println(String.format("round %d: %.1f MB/s, %d bytes allocated per read (%d reads)",
+					i, stream.getMegabytesPerSecond(), stream.getAllocatedBytesPerRead(), stream.getReads()));
+		}
+	}
+
+	private static com.sun.management.ThreadMXBean getThreadMXBean() {
+		return (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+	}
+
+	/**
+	 * Returns the given line over and over until the given number of bytes
+	 * was returned. Measures the time and the bytes allocated by the
+	 * reading thread between the first read and the end of the stream.
+	 */
+	private static class MeasuringInputStream extends InputStream {
+
+		private final byte[] line;
+		private final long size;
+		private long position;
+		private long reads;
+		private long startTime;
+		private long startAllocated;
+		private long time;
+		private long allocated;
+
+		public MeasuringInputStream(byte[] line, long size) {
+			this.line = line;
+			this.size = size;
+		}
+
+		@Override
+		public int read() {
+			byte[] b = new byte[1];
+			int read = read(b, 0, 1);
+			return read < 0 ? -1 : b[0] & 0xff;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) {
+			if (reads == 0) {
+				this.startAllocated = getThreadMXBean().getThreadAllocatedBytes(Thread.currentThread().getId());
+				this.startTime = System.nanoTime();
+			}
+			if (position >= size) {
+				if (time == 0) {
+					this.time = System.nanoTime() - startTime;
+					this.allocated = getThreadMXBean().getThreadAllocatedBytes(Thread.currentThread().getId())
+							- startAllocated;
+				}
+				return -1;
+			}
+			reads++;
+			int toRead = (int) Math.min(len, size - position);
+			int read = 0;
+			while (read < toRead) {
+				int start = (int) (position % line.length);
+				int chunk = Math.min(toRead - read, line.length - start);
+				System.arraycopy(line, start, b, off + read, chunk);
+				read += chunk;
+				position += chunk;
+			}
+			return toRead;
+		}
+
+		public long getReads() {
+			return reads;
+		}
+
+		public double getMegabytesPerSecond() {
+			return (size / (1024d * 1024)) / (time / 1e9);
+		}
+
+		public long getAllocatedBytesPerRead() {
+			return allocated / Math.max(1, reads);
+		}
+	}
+}
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.eclipse.debug.internal.core;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+public class OutputStreamMonitorDecodingTest {
+
+	private static final String TEXT = "café costs 3€ 𝄞\n";
+
+	@Test
+	public void decodesCharactersSplitAcrossReads() {
+		byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+
+		String contents = readAll(new OneByteInputStream(bytes), StandardCharsets.UTF_8.name());
+
+		assertEquals(TEXT, contents);
+	}
+
+	@Test
+	public void decodesLargeOutputInChunks() {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 2000; i++) {
+			sb.append(TEXT);
+		}
+		String text = sb.toString();
+
+		String contents = readAll(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), 
+				StandardCharsets.UTF_8.name());
+
+		assertEquals(text, contents);
+	}
+
+	@Test
+	public void replacesIncompleteCharacterAtEndOfStream() {
+		byte[] bytes = "café".getBytes(StandardCharsets.UTF_8);
+		byte[] truncated = new byte[bytes.length - 1];
+		System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+
+		String contents = readAll(new ByteArrayInputStream(truncated), StandardCharsets.UTF_8.name());
+
+		assertEquals("caf�", contents);
+	}
+
+	@Test
+	public void usesDefaultEncodingIfEncodingIsUnsupported() {
+		String contents = readAll(new ByteArrayInputStream("hello".getBytes(StandardCharsets.US_ASCII)), 
+				"no-such-encoding");
+
+		assertEquals("hello", contents);
+	}
+
+	private String readAll(InputStream stream, String encoding) {
+		OutputStreamMonitor monitor = new OutputStreamMonitor(stream, encoding, 1024 * 1024);
+		monitor.startMonitoring();
+		// waits until all output was read
+		monitor.close();
+		return monitor.getContents();
+	}
+
+	/**
+	 * Returns a single byte per read so that each multi-byte character is
+	 * split across reads.
+	 */
+	private static class OneByteInputStream extends InputStream {
+
+		private final byte[] bytes;
+		private int position;
+
+		public OneByteInputStream(byte[] bytes) {
+			this.bytes = bytes;
+		}
+
+		@Override
+		public int read() {
+			if (position >= bytes.length) {
+				return -1;
+			}
+			return bytes[position++] & 0xff;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) {
+			if (position >= bytes.length) {
+				return -1;
+			}
+			if (len == 0) {
+				return 0;
+			}
+			b[off] = bytes[position++];
+			return 1;
+		}
+
+		@Override
+		public int available() {
+			return 0;
+		}
+	}
+}
@@ -0,0 +1,17 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.eclipse.debug.internal.core;
+
+/**
+ * Category of the tests that push large amounts of data and take a while.
+ * They can be skipped with
+ * {@code -DexcludedGroups=org.jboss.tools.rsp.eclipse.debug.internal.core.SlowTests}.
+ */
+public interface SlowTests {
+}
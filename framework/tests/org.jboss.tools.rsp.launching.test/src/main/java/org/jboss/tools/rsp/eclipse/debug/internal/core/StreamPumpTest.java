@@ -0,0 +1,335 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.eclipse.debug.internal.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StreamPumpTest {
+
+	private static final int PROCESSES = 50;
+	private static final int THREADS = 2;
+
+	private StreamPump pump;
+
+	@Before
+	public void before() {
+		this.pump = new StreamPump(THREADS);
+	}
+
+	@After
+	public void after() {
+		pump.shutdown();
+	}
+
+	@Test
+	public void readsManyProcessesWithFewThreads() throws Exception {
+		int threadsBefore = Thread.activeCount();
+		List<FakeProcess> processes = new ArrayList<>();
+		List<StreamsProxy> proxies = new ArrayList<>();
+		CountDownLatch exited = new CountDownLatch(PROCESSES);
+		for (int i = 0; i < PROCESSES; i++) {
+			FakeProcess process = new FakeProcess();
+			StreamsProxy proxy = new StreamsProxy(process, StandardCharsets.UTF_8.name(), pump);
+			pump.watch(process, () -> {
+				proxy.close();
+				exited.countDown();
+			});
+			processes.add(process);
+			proxies.add(proxy);
+		}
+
+		for (int i = 0; i < PROCESSES; i++) {
+			processes.get(i).out.append("out " + i + "\n");
+			processes.get(i).err.append("err " + i + "\n");
+		}
+		for (int i = 0; i < PROCESSES; i++) {
+			waitForContents(proxies.get(i).getOutputStreamMonitor().getContents(), "out " + i + "\n", proxies.get(i));
+		}
+		assertTrue("Threads grew by " + (Thread.activeCount() - threadsBefore), 
+				Thread.activeCount() - threadsBefore <= THREADS);
+
+		for (FakeProcess process : processes) {
+			process.out.append("last words\n");
+			process.exitAndCloseStreams();
+		}
+		assertTrue(exited.await(10, TimeUnit.SECONDS));
+		for (int i = 0; i < PROCESSES; i++) {
+			assertEquals("out " + i + "\nlast words\n", proxies.get(i).getOutputStreamMonitor().getContents());
+			assertEquals("err " + i + "\n", proxies.get(i).getErrorStreamMonitor().getContents());
+		}
+	}
+
+	@Test
+	public void doesNotNotifyCancelledWatch() throws Exception {
+		FakeProcess process = new FakeProcess();
+		CountDownLatch exited = new CountDownLatch(1);
+		StreamPump.Registration registration = pump.watch(process, () -> exited.countDown());
+
+		registration.cancel();
+		process.alive = false;
+
+		assertFalse(exited.await(StreamPump.EXIT_POLL_DELAY * 3, TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	public void blockingExitCallbackDoesNotDelayOtherProcesses() throws Exception {
+		StreamPump singleThreadPump = new StreamPump(1);
+		CountDownLatch notified = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		try {
+			FakeProcess exiting = new FakeProcess();
+			singleThreadPump.watch(exiting, () -> {
+				notified.countDown();
+				try {
+					release.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			FakeProcess running = new FakeProcess();
+			StreamsProxy proxy = new StreamsProxy(running, StandardCharsets.UTF_8.name(), singleThreadPump);
+
+			exiting.exitAndCloseStreams();
+			assertTrue(notified.await(10, TimeUnit.SECONDS));
+			running.out.append("still running\n");
+
+			waitForContents(proxy.getOutputStreamMonitor().getContents(), "still running\n", proxy);
+		} finally {
+			release.countDown();
+			singleThreadPump.shutdown();
+		}
+	}
+
+	@Test
+	public void writesInputToProcess() throws Exception {
+		FakeProcess process = new FakeProcess();
+		StreamsProxy proxy = new StreamsProxy(process, StandardCharsets.UTF_8.name(), pump);
+
+		proxy.write("quit\n");
+
+		for (int i = 0; i < 50 && process.in.size() == 0; i++) {
+			Thread.sleep(100);
+		}
+		assertEquals("quit\n", new String(process.in.toByteArray(), StandardCharsets.UTF_8));
+		process.exitAndCloseStreams();
+		proxy.close();
+	}
+
+	@Test
+	public void readsOutputPrintedAfterProcessExited() throws Exception {
+		FakeProcess process = new FakeProcess();
+		StreamsProxy proxy = new StreamsProxy(process, StandardCharsets.UTF_8.name(), pump);
+		CountDownLatch exited = new CountDownLatch(1);
+		pump.watch(process, () -> {
+			proxy.close();
+			exited.countDown();
+		});
+		process.out.append("before exit\n");
+		waitForContents(proxy.getOutputStreamMonitor().getContents(), "before exit\n", proxy);
+
+		// a child of the process still holds the streams and prints to them
+		process.exit();
+		Thread.sleep(StreamPump.EXIT_POLL_DELAY * 3);
+		process.out.append("after exit\n");
+		process.err.append("error after exit\n");
+		process.out.close();
+		process.err.close();
+
+		assertTrue(exited.await(10, TimeUnit.SECONDS));
+		assertEquals("before exit\nafter exit\n", proxy.getOutputStreamMonitor().getContents());
+		assertEquals("error after exit\n", proxy.getErrorStreamMonitor().getContents());
+	}
+
+	@Test
+	public void stopsReadingOnceDrainTimeoutPassed() throws Exception {
+		System.setProperty(StreamPump.SYSPROP_DRAIN_TIMEOUT, "200");
+		try {
+			FakeProcess process = new FakeProcess();
+			StreamsProxy proxy = new StreamsProxy(process, StandardCharsets.UTF_8.name(), pump);
+			process.out.append("before exit\n");
+			waitForContents(proxy.getOutputStreamMonitor().getContents(), "before exit\n", proxy);
+
+			// the streams are never closed
+			process.exit();
+			long start = System.currentTimeMillis();
+			proxy.close();
+
+			assertTrue(System.currentTimeMillis() - start < 5000);
+			assertEquals("before exit\n", proxy.getOutputStreamMonitor().getContents());
+		} finally {
+			System.clearProperty(StreamPump.SYSPROP_DRAIN_TIMEOUT);
+		}
+	}
+
+	private void waitForContents(String contents, String expected, StreamsProxy proxy) throws InterruptedException {
+		for (int i = 0; i < 100 && !expected.equals(contents); i++) {
+			Thread.sleep(50);
+			contents = proxy.getOutputStreamMonitor().getContents();
+		}
+		assertEquals(expected, contents);
+	}
+
+	/**
+	 * A stream that the test appends to, as a process would print to its console.
+	 * Reading blocks once the process exited, as long as the stream is not closed.
+	 * The pump must not block while the process is running though.
+	 */
+	private static class GrowingInputStream extends InputStream {
+
+		private byte[] bytes = new byte[0];
+		private int position;
+		private boolean blocking;
+		private boolean closed;
+
+		public synchronized void append(String text) {
+			byte[] appended = text.getBytes(StandardCharsets.UTF_8);
+			byte[] grown = new byte[bytes.length - position + appended.length];
+			System.arraycopy(bytes, position, grown, 0, bytes.length - position);
+			System.arraycopy(appended, 0, grown, bytes.length - position, appended.length);
+			this.bytes = grown;
+			this.position = 0;
+			notifyAll();
+		}
+
+		public synchronized void allowBlocking() {
+			this.blocking = true;
+		}
+
+		@Override
+		public synchronized void close() {
+			this.closed = true;
+			notifyAll();
+		}
+
+		/*
+		 * Returns {@code false} if the stream reached its end
+		 */
+		private boolean awaitBytes() throws InterruptedIOException {
+			while (position >= bytes.length) {
+				if (closed) {
+					return false;
+				}
+				if (!blocking) {
+					throw new IllegalStateException("Would block");
+				}
+				try {
+					wait();
+				} catch (InterruptedException e) {
+					throw new InterruptedIOException();
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public synchronized int read() throws InterruptedIOException {
+			if (!awaitBytes()) {
+				return -1;
+			}
+			return bytes[position++] & 0xff;
+		}
+
+		@Override
+		public synchronized int read(byte[] b, int off, int len) throws InterruptedIOException {
+			if (len == 0) {
+				return 0;
+			}
+			if (!awaitBytes()) {
+				return -1;
+			}
+			int read = Math.min(len, bytes.length - position);
+			System.arraycopy(bytes, position, b, off, read);
+			position += read;
+			return read;
+		}
+
+		@Override
+		public synchronized int available() {
+			return bytes.length - position;
+		}
+	}
+
+	private static class FakeProcess extends Process {
+
+		private final GrowingInputStream out = new GrowingInputStream();
+		private final GrowingInputStream err = new GrowingInputStream();
+		private final ByteArrayOutputStream in = new ByteArrayOutputStream();
+		private volatile boolean alive = true;
+
+		/**
+		 * Exits while the streams stay open, as if a child process still
+		 * held them.
+		 */
+		public void exit() {
+			out.allowBlocking();
+			err.allowBlocking();
+			this.alive = false;
+		}
+
+		public void exitAndCloseStreams() {
+			out.close();
+			err.close();
+			exit();
+		}
+
+		@Override
+		public OutputStream getOutputStream() {
+			return in;
+		}
+
+		@Override
+		public InputStream getInputStream() {
+			return out;
+		}
+
+		@Override
+		public InputStream getErrorStream() {
+			return err;
+		}
+
+		@Override
+		public int waitFor() {
+			throw new IllegalStateException("Would block");
+		}
+
+		@Override
+		public int exitValue() {
+			if (alive) {
+				throw new IllegalThreadStateException();
+			}
+			return 0;
+		}
+
+		@Override
+		public boolean isAlive() {
+			return alive;
+		}
+
+		@Override
+		public void destroy() {
+			this.alive = false;
+		}
+	}
+}
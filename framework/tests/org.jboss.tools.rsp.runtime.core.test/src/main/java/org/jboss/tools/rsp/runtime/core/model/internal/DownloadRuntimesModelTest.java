@@ -19,6 +19,7 @@ import java.util.Map;
 
 import org.assertj.core.data.MapEntry;
 import org.jboss.tools.rsp.eclipse.core.runtime.IProgressMonitor;
+import org.jboss.tools.rsp.eclipse.core.runtime.NullProgressMonitor;
 import org.jboss.tools.rsp.runtime.core.RuntimeCoreActivator;
 import org.jboss.tools.rsp.runtime.core.model.DownloadRuntime;
 import org.jboss.tools.rsp.runtime.core.model.IDownloadRuntimesModel;
@@ -104,6 +105,20 @@ public class DownloadRuntimesModelTest {
 				MapEntry.entry(runtime31.getId(), runtime31),
 				MapEntry.entry(runtime32.getId(), runtime32)
 		);
+		assertThat(model.getOrLoadDownloadRuntimes(monitor)).isNotSameAs(runtimes);
+	}
+
+	@Test
+	public void shouldNotCacheRuntimesIfLoadingWasCanceled() {
+		// given
+		IProgressMonitor canceled = new NullProgressMonitor();
+		canceled.setCanceled(true);
+		// when
+		Map<String, DownloadRuntime> runtimes = model.getOrLoadDownloadRuntimes(canceled);
+		// then
+		assertThat(runtimes).isEmpty();
+		verify(provider1, never()).getDownloadableRuntimes(any(IProgressMonitor.class));
+		assertThat(model.getOrLoadDownloadRuntimes(monitor)).hasSize(6);
 	}
 
 	@Test
@@ -0,0 +1,270 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.spi.model.polling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import org.jboss.tools.rsp.eclipse.debug.core.ILaunch;
+import org.jboss.tools.rsp.eclipse.debug.core.IStreamListener;
+import org.jboss.tools.rsp.eclipse.debug.core.model.IProcess;
+import org.jboss.tools.rsp.eclipse.debug.core.model.IStreamMonitor;
+import org.jboss.tools.rsp.eclipse.debug.core.model.IStreamsProxy;
+import org.jboss.tools.rsp.server.spi.model.polling.IServerStatePoller.SERVER_STATE;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LogPatternPollerTest {
+
+	private static final Pattern STARTED = Pattern.compile("WFLYSRV0025");
+	private static final Pattern STOPPED = Pattern.compile("WFLYSRV0050");
+
+	private TestStreamMonitor out;
+	private TestStreamMonitor err;
+	private ILaunch launch;
+
+	@Before
+	public void before() {
+		this.out = new TestStreamMonitor();
+		this.err = new TestStreamMonitor();
+		this.launch = mockLaunch(out, err);
+	}
+
+	private ILaunch mockLaunch(IStreamMonitor out, IStreamMonitor err) {
+		IStreamsProxy proxy = mock(IStreamsProxy.class);
+		when(proxy.getOutputStreamMonitor()).thenReturn(out);
+		when(proxy.getErrorStreamMonitor()).thenReturn(err);
+		IProcess process = mock(IProcess.class);
+		when(process.getStreamsProxy()).thenReturn(proxy);
+		ILaunch launch = mock(ILaunch.class);
+		when(launch.getProcesses()).thenReturn(new IProcess[] { process });
+		return launch;
+	}
+
+	@Test
+	public void isCompleteOnceStartedLineIsPrinted() throws Exception {
+		LogPatternPoller poller = new LogPatternPoller(launch, STARTED, STOPPED, null);
+		poller.beginPolling(null, SERVER_STATE.UP);
+
+		out.append("INFO  [org.jboss.as] (MSC service thread 1-2) WFLYSRV0049: WildFly Full 17.0.0.Final starting\n");
+		assertThat(poller.isComplete()).isFalse();
+
+		out.append("INFO  [org.jboss.as] (Controller Boot Thread) WFLYSRV0025: WildFly Full 17.0.0.Final started in 3455ms\n");
+		assertThat(poller.isComplete()).isTrue();
+		assertThat(poller.getState()).isEqualTo(SERVER_STATE.UP);
+	}
+
+	@Test
+	public void matchesLineThatIsSplitAcrossChunks() throws Exception {
+		LogPatternPoller poller = new LogPatternPoller(launch, STARTED, STOPPED, null);
+		poller.beginPolling(null, SERVER_STATE.UP);
+
+		out.append("INFO  [org.jboss.as] (Controller Boot Thread) WFLYSR");
+		assertThat(poller.isComplete()).isFalse();
+		out.append("V0025: WildFly Full 17.0.0.Final started in 3455ms\n");
+
+		assertThat(poller.isComplete()).isTrue();
+	}
+
+	@Test
+	public void keepsPartialLinesOfStreamsApart() throws Exception {
+		LogPatternPoller poller = new LogPatternPoller(launch, STARTED, STOPPED, null);
+		poller.beginPolling(null, SERVER_STATE.UP);
+
+		out.append("INFO  [org.jboss.as] (Controller Boot Thread) WFLYSR");
+		err.append("WARN  [org.jboss.as] (MSC service thread 1-3) WFLYSR");
+		err.append("V0059: Class Path entry not found\n");
+		assertThat(poller.isComplete()).isFalse();
+
+		err.append("V0025 was not printed to stdout\n");
+		out.append("V0025: WildFly Full 17.0.0.Final started in 3455ms\n");
+
+		assertThat(poller.isComplete()).isTrue();
+	}
+
+	@Test
+	public void doesNotMatchPartialLinesOfDifferentStreams() throws Exception {
+		LogPatternPoller poller = new LogPatternPoller(launch, STARTED, STOPPED, null);
+		poller.beginPolling(null, SERVER_STATE.UP);
+
+		out.append("INFO  [org.jboss.as] (Controller Boot Thread) WFLYSR");
+		err.append("V0025: is not a line of its own\n");
+
+		assertThat(poller.isComplete()).isFalse();
+	}
+
+	@Test
+	public void runsCompletionCallbackWithoutHoldingLock() throws Exception {
+		LogPatternPoller poller = new LogPatternPoller(launch, STARTED, STOPPED, null);
+		List<Boolean> holdsLock = new ArrayList<>();
+		poller.setCompletionCallback(() -> holdsLock.add(Thread.holdsLock(poller)));
+		poller.beginPolling(null, SERVER_STATE.UP);
+
+		out.append("WFLYSRV0025: WildFly Full 17.0.0.Final started in 3455ms\n");
+
+		assertThat(holdsLock).containsExactly(false);
+	}
+
+	@Test
+	public void matchesLinePrintedBeforePollingBegan() throws Exception {
+		out.append("WFLYSRV0025: WildFly Full 17.0.0.Final started in 3455ms\n");
+		LogPatternPoller poller = new LogPatternPoller(launch, STARTED, STOPPED, null);
+		poller.beginPolling(null, SERVER_STATE.UP);
+
+		assertThat(poller.isComplete()).isTrue();
+	}
+
+	@Test
+	public void matchesLineAppendedWhileListeningBegins() throws Exception {
+		// another thread appends the start of the line while the poller registers
+		out.appendOnAddListener("WFLYSR");
+		LogPatternPoller poller = new LogPatternPoller(
+				launch, Pattern.compile("^WFLYSRV0025: started$"), STOPPED, null);
+		poller.beginPolling(null, SERVER_STATE.UP);
+		out.awaitAppendOnAddListener();
+
+		out.append("V0025: started\n");
+
+		// the start of the line is neither scanned twice nor mixed with the contents
+		assertThat(poller.isComplete()).isTrue();
+	}
+
+	@Test
+	public void matchesErrorStream() throws Exception {
+		LogPatternPoller poller = new LogPatternPoller(launch, STARTED, STOPPED, null);
+		poller.beginPolling(null, SERVER_STATE.DOWN);
+
+		err.append("WFLYSRV0050: WildFly Full 17.0.0.Final stopped in 14ms\n");
+
+		assertThat(poller.isComplete()).isTrue();
+		assertThat(poller.getState()).isEqualTo(SERVER_STATE.DOWN);
+	}
+
+	@Test
+	public void doesNotMatchPatternOfOtherState() throws Exception {
+		LogPatternPoller poller = new LogPatternPoller(launch, STARTED, STOPPED, null);
+		poller.beginPolling(null, SERVER_STATE.DOWN);
+
+		out.append("WFLYSRV0025: WildFly Full 17.0.0.Final started in 3455ms\n");
+
+		assertThat(poller.isComplete()).isFalse();
+	}
+
+	@Test
+	public void runsCompletionCallbackOnMatch() throws Exception {
+		AtomicInteger callbacks = new AtomicInteger();
+		LogPatternPoller poller = new LogPatternPoller(launch, STARTED, STOPPED, null);
+		poller.setCompletionCallback(() -> callbacks.incrementAndGet());
+		poller.beginPolling(null, SERVER_STATE.UP);
+
+		out.append("WFLYSRV0025: WildFly Full 17.0.0.Final started in 3455ms\n");
+
+		assertThat(callbacks.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void completesIfFallbackCompletes() throws Exception {
+		DelayableFixedResponsePoller fallback = new DelayableFixedResponsePoller(SERVER_STATE.UP);
+		LogPatternPoller poller = new LogPatternPoller(launch, STARTED, STOPPED, fallback);
+		poller.beginPolling(null, SERVER_STATE.UP);
+
+		for (int i = 0; i < 50 && !poller.isComplete(); i++) {
+			Thread.sleep(100);
+		}
+
+		assertThat(poller.isComplete()).isTrue();
+		assertThat(poller.isMatched()).isFalse();
+		assertThat(poller.getState()).isEqualTo(SERVER_STATE.UP);
+	}
+
+	@Test
+	public void stopsListeningOnCleanup() throws Exception {
+		LogPatternPoller poller = new LogPatternPoller(launch, STARTED, STOPPED, null);
+		poller.beginPolling(null, SERVER_STATE.UP);
+		assertThat(out.listeners).hasSize(1);
+
+		poller.cleanup();
+
+		assertThat(out.listeners).isEmpty();
+		assertThat(err.listeners).isEmpty();
+	}
+
+	@Test
+	public void isNotCompleteIfCancelled() throws Exception {
+		LogPatternPoller poller = new LogPatternPoller(launch, STARTED, STOPPED, null);
+		poller.beginPolling(null, SERVER_STATE.UP);
+		poller.cancel(IServerStatePoller.CANCELATION_CAUSE.CANCEL);
+
+		out.append("WFLYSRV0025: WildFly Full 17.0.0.Final started in 3455ms\n");
+
+		assertThat(poller.isComplete()).isFalse();
+		assertThat(poller.getState()).isNull();
+	}
+
+	private static class TestStreamMonitor implements IStreamMonitor {
+
+		private final StringBuilder contents = new StringBuilder();
+		private final List<IStreamListener> listeners = new ArrayList<>();
+		private String appendOnAddListener;
+		private Thread appender;
+
+		/*
+		 * Appends and notifies while holding the lock, as OutputStreamMonitor does
+		 */
+		public synchronized void append(String text) {
+			contents.append(text);
+			for (IStreamListener listener : new ArrayList<>(listeners)) {
+				listener.streamAppended(text, this);
+			}
+		}
+
+		@Override
+		public void addListener(IStreamListener listener) {
+			synchronized (this) {
+				listeners.add(listener);
+			}
+			if (appendOnAddListener != null) {
+				String text = appendOnAddListener;
+				this.appendOnAddListener = null;
+				this.appender = new Thread(() -> append(text));
+				appender.start();
+				try {
+					// gives the appender time to run unless it waits for a lock
+					appender.join(200);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+
+		public void appendOnAddListener(String text) {
+			this.appendOnAddListener = text;
+		}
+
+		public void awaitAppendOnAddListener() throws InterruptedException {
+			appender.join();
+		}
+
+		@Override
+		public synchronized String getContents() {
+			return contents.toString();
+		}
+
+		@Override
+		public synchronized void removeListener(IStreamListener listener) {
+			listeners.remove(listener);
+		}
+	}
+}
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.spi.model.polling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class PollSchedulerTest {
+
+	private PollScheduler scheduler;
+
+	@After
+	public void after() {
+		if (scheduler != null) {
+			scheduler.shutdown();
+		}
+	}
+
+	@Test
+	public void doesNotCreateMoreThreadsThanConfigured() throws InterruptedException {
+		this.scheduler = new PollScheduler(2);
+		CountDownLatch latch = new CountDownLatch(100);
+		List<ScheduledFuture<?>> futures = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			futures.add(scheduler.scheduleWithFixedDelay(() -> latch.countDown(), 0, 10));
+		}
+
+		assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(scheduler.getThreadCount()).isLessThanOrEqualTo(2);
+
+		futures.forEach(future -> future.cancel(false));
+	}
+
+	@Test
+	public void keepsRepeatingIfTaskThrows() throws InterruptedException {
+		this.scheduler = new PollScheduler(1);
+		CountDownLatch latch = new CountDownLatch(3);
+		ScheduledFuture<?> future = scheduler.scheduleWithFixedDelay(() -> {
+			latch.countDown();
+			throw new IllegalStateException();
+		}, 0, 10);
+
+		assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+
+		future.cancel(false);
+	}
+
+	@Test
+	public void removesCancelledTasks() {
+		this.scheduler = new PollScheduler(1);
+		AtomicInteger runs = new AtomicInteger();
+		ScheduledFuture<?> future = scheduler.schedule(() -> runs.incrementAndGet(), 10000);
+		assertThat(scheduler.getQueuedTaskCount()).isEqualTo(1);
+
+		future.cancel(false);
+
+		assertThat(scheduler.getQueuedTaskCount()).isEqualTo(0);
+		assertThat(runs.get()).isEqualTo(0);
+	}
+
+	@Test
+	public void executorRunsTasksOnSchedulerThreads() throws InterruptedException {
+		this.scheduler = new PollScheduler(1);
+		CountDownLatch latch = new CountDownLatch(1);
+		AtomicReference<String> thread = new AtomicReference<>();
+		scheduler.getExecutor().execute(() -> {
+			thread.set(Thread.currentThread().getName());
+			latch.countDown();
+		});
+
+		assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(thread.get()).startsWith("RSP Server Poller");
+	}
+}
@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.spi.model.polling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class PollingBackoffTest {
+
+	@Test
+	public void usesInitialDelayForFastProbes() {
+		PollingBackoff backoff = new PollingBackoff(100, 3, 1000, 2, 0);
+
+		assertThat(backoff.getDelay(0, 0)).isEqualTo(100);
+		assertThat(backoff.getDelay(3, 0)).isEqualTo(100);
+	}
+
+	@Test
+	public void growsExponentiallyAfterFastProbes() {
+		PollingBackoff backoff = new PollingBackoff(100, 3, 1000, 2, 0);
+
+		assertThat(backoff.getDelay(4, 0)).isEqualTo(200);
+		assertThat(backoff.getDelay(5, 0)).isEqualTo(400);
+		assertThat(backoff.getDelay(6, 0)).isEqualTo(800);
+	}
+
+	@Test
+	public void doesNotExceedMaxDelay() {
+		PollingBackoff backoff = new PollingBackoff(100, 3, 1000, 2, 0);
+
+		assertThat(backoff.getDelay(7, 0)).isEqualTo(1000);
+		assertThat(backoff.getDelay(Integer.MAX_VALUE, 0)).isEqualTo(1000);
+	}
+
+	@Test
+	public void addsJitter() {
+		PollingBackoff backoff = new PollingBackoff(100, 0, 1000, 2, 0.2);
+
+		assertThat(backoff.getDelay(0, -1)).isEqualTo(80);
+		assertThat(backoff.getDelay(0, 1)).isEqualTo(120);
+		for (int i = 0; i < 100; i++) {
+			assertThat(backoff.getDelay(10)).isBetween(800l, 1200l);
+		}
+	}
+
+	@Test
+	public void fixedAlwaysReturnsSameDelay() {
+		PollingBackoff backoff = PollingBackoff.fixed(200);
+
+		assertThat(backoff.getDelay(0)).isEqualTo(200);
+		assertThat(backoff.getDelay(100)).isEqualTo(200);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void throwsIfMaxDelayIsSmallerThanInitialDelay() {
+		new PollingBackoff(1000, 0, 100, 2, 0);
+	}
+}
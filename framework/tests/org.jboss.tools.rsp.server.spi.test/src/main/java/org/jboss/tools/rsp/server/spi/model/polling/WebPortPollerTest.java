@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.spi.model.polling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.tools.rsp.server.spi.model.polling.IServerStatePoller.SERVER_STATE;
+import org.jboss.tools.rsp.server.spi.servertype.IServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class WebPortPollerTest {
+
+	private static final int TIMEOUT = 300;
+
+	private StandInHttpServer httpServer;
+	private WebPortPoller poller;
+
+	@Before
+	public void before() throws IOException {
+		this.httpServer = new StandInHttpServer();
+		this.poller = new WebPortPoller("test") {
+			@Override
+			protected String getURL(IServer server) {
+				return "http://localhost:" + httpServer.getPort() + "/";
+			}
+		};
+		poller.setTimeouts(TIMEOUT, TIMEOUT);
+	}
+
+	@After
+	public void after() throws IOException {
+		poller.cleanup();
+		httpServer.close();
+	}
+
+	@Test
+	public void isUpIfServerAnswers() throws Exception {
+		httpServer.answer(true);
+
+		assertThat(ping()).isEqualTo(SERVER_STATE.UP);
+	}
+
+	@Test
+	public void isDownIfServerNeverAnswers() throws Exception {
+		httpServer.answer(false);
+
+		long start = System.currentTimeMillis();
+		assertThat(ping()).isEqualTo(SERVER_STATE.DOWN);
+		assertThat(System.currentTimeMillis() - start).isLessThan(10 * TIMEOUT);
+	}
+
+	@Test
+	public void probeTimesOutIfServerAcceptsButNeverAnswers() throws Exception {
+		httpServer.answer(false);
+		HttpProbe.Connection connection = HttpProbe.getDefault()
+				.connect("localhost", httpServer.getPort(), TIMEOUT, TIMEOUT);
+
+		long start = System.currentTimeMillis();
+		try {
+			assertThat(connection.probe("/").get(10 * TIMEOUT, TimeUnit.MILLISECONDS)).isFalse();
+		} finally {
+			connection.close();
+		}
+
+		// the request was sent, the response timeout expired
+		assertThat(System.currentTimeMillis() - start).isGreaterThanOrEqualTo(TIMEOUT);
+		assertThat(httpServer.getConnections()).isEqualTo(1);
+		assertThat(httpServer.getRequests()).isEqualTo(1);
+	}
+
+	@Test
+	public void isDownIfServerDoesNotListen() throws Exception {
+		httpServer.close();
+
+		assertThat(ping()).isEqualTo(SERVER_STATE.DOWN);
+	}
+
+	@Test
+	public void reusesConnectionForSeveralPings() throws Exception {
+		httpServer.answer(true);
+
+		assertThat(ping()).isEqualTo(SERVER_STATE.UP);
+		assertThat(ping()).isEqualTo(SERVER_STATE.UP);
+		assertThat(ping()).isEqualTo(SERVER_STATE.UP);
+
+		assertThat(httpServer.getRequests()).isEqualTo(3);
+		assertThat(httpServer.getConnections()).isEqualTo(1);
+	}
+
+	@Test
+	public void reconnectsIfServerClosedConnection() throws Exception {
+		httpServer.answer(true);
+		assertThat(ping()).isEqualTo(SERVER_STATE.UP);
+
+		httpServer.closeConnections();
+
+		assertThat(ping()).isEqualTo(SERVER_STATE.UP);
+		assertThat(httpServer.getConnections()).isEqualTo(2);
+	}
+
+	@Test
+	public void pollerCompletesIfServerIsUp() throws Exception {
+		httpServer.answer(true);
+		poller.beginPolling(null, SERVER_STATE.UP);
+
+		for (int i = 0; i < 50 && !poller.isComplete(); i++) {
+			Thread.sleep(100);
+		}
+
+		assertThat(poller.isComplete()).isTrue();
+		assertThat(poller.getState()).isEqualTo(SERVER_STATE.UP);
+	}
+
+	@Test
+	public void portIsListeningIfServerAcceptsConnections() throws Exception {
+		httpServer.answer(false);
+
+		assertThat(isListening()).isTrue();
+		assertThat(httpServer.getRequests()).isEqualTo(0);
+	}
+
+	@Test
+	public void portIsNotListeningIfServerIsClosed() throws Exception {
+		httpServer.close();
+
+		assertThat(isListening()).isFalse();
+	}
+
+	private boolean isListening() throws Exception {
+		return HttpProbe.getDefault()
+				.isListening("localhost", httpServer.getPort(), TIMEOUT)
+				.get(10 * TIMEOUT, TimeUnit.MILLISECONDS);
+	}
+
+	private SERVER_STATE ping() throws Exception {
+		return poller.onePingAsync(null).get(10 * TIMEOUT, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * A http server that either answers to each HEAD request, keeping the
+	 * connection open, or accepts connections but never answers.
+	 */
+	private static class StandInHttpServer {
+
+		private static final String RESPONSE = "HTTP/1.1 200 OK\r\nContent-Length: 0\r\n\r\n";
+
+		private final ServerSocket serverSocket;
+		private final AtomicInteger connections = new AtomicInteger();
+		private final AtomicInteger requests = new AtomicInteger();
+		private volatile boolean answer;
+		private volatile Socket socket;
+
+		public StandInHttpServer() throws IOException {
+			this.serverSocket = new ServerSocket(0);
+			Thread thread = new Thread(() -> accept(), "Stand-in http server");
+			thread.setDaemon(true);
+			thread.start();
+		}
+
+		public void answer(boolean answer) {
+			this.answer = answer;
+		}
+
+		public int getPort() {
+			return serverSocket.getLocalPort();
+		}
+
+		public int getConnections() {
+			return connections.get();
+		}
+
+		public int getRequests() {
+			return requests.get();
+		}
+
+		public void closeConnections() throws IOException {
+			if (socket != null) {
+				socket.close();
+			}
+		}
+
+		public void close() throws IOException {
+			closeConnections();
+			serverSocket.close();
+		}
+
+		private void accept() {
+			try {
+				while (!serverSocket.isClosed()) {
+					Socket socket = serverSocket.accept();
+					this.socket = socket;
+					connections.incrementAndGet();
+					Thread thread = new Thread(() -> serve(socket), "Stand-in http connection");
+					thread.setDaemon(true);
+					thread.start();
+				}
+			} catch (IOException e) {
+				// closed
+			}
+		}
+
+		private void serve(Socket socket) {
+			try (InputStream in = socket.getInputStream();
+					OutputStream out = socket.getOutputStream()) {
+				StringBuilder request = new StringBuilder();
+				int c = -1;
+				while ((c = in.read()) != -1) {
+					request.append((char) c);
+					if (request.toString().endsWith("\r\n\r\n")) {
+						requests.incrementAndGet();
+						request.setLength(0);
+						if (answer) {
+							out.write(RESPONSE.getBytes(StandardCharsets.US_ASCII));
+							out.flush();
+						}
+					}
+				}
+			} catch (IOException e) {
+				// closed
+			}
+		}
+	}
+}
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.jboss.tools.rsp.api.MessageCompression;
+import org.jboss.tools.rsp.api.MessageCompression.CompressingOutputStream;
+import org.junit.Test;
+
+public class MessageCompressionTest {
+
+	private static final String SMALL = "{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"result\":true}";
+
+	@Test
+	public void compressesLargeMessages() throws IOException {
+		ByteArrayOutputStream wire = new ByteArrayOutputStream();
+		CompressingOutputStream out = MessageCompression.compress(wire, 100);
+		out.setEnabled(true);
+		String large = createLarge();
+
+		write(out, large);
+
+		String sent = new String(wire.toByteArray(), StandardCharsets.ISO_8859_1);
+		assertThat(sent).contains("Content-Encoding: deflate");
+		assertThat(wire.size()).isLessThan(large.length());
+		assertThat(read(wire.toByteArray())).isEqualTo(frame(large));
+	}
+
+	@Test
+	public void doesNotCompressSmallMessages() throws IOException {
+		ByteArrayOutputStream wire = new ByteArrayOutputStream();
+		CompressingOutputStream out = MessageCompression.compress(wire, 100);
+		out.setEnabled(true);
+
+		write(out, SMALL);
+
+		assertThat(new String(wire.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(frame(SMALL));
+	}
+
+	@Test
+	public void doesNotCompressIfDisabled() throws IOException {
+		ByteArrayOutputStream wire = new ByteArrayOutputStream();
+		CompressingOutputStream out = MessageCompression.compress(wire, 100);
+		String large = createLarge();
+
+		write(out, large);
+
+		assertThat(new String(wire.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(frame(large));
+	}
+
+	@Test
+	public void readsPlainAndCompressedMessages() throws IOException {
+		ByteArrayOutputStream wire = new ByteArrayOutputStream();
+		CompressingOutputStream out = MessageCompression.compress(wire, 100);
+		out.setEnabled(true);
+		String large = createLarge();
+
+		write(out, SMALL);
+		write(out, large);
+		write(out, SMALL);
+
+		assertThat(read(wire.toByteArray())).isEqualTo(frame(SMALL) + frame(large) + frame(SMALL));
+	}
+
+	@Test
+	public void keepsIncompleteMessageUntilNextFlush() throws IOException {
+		ByteArrayOutputStream wire = new ByteArrayOutputStream();
+		CompressingOutputStream out = MessageCompression.compress(wire, 100);
+		out.setEnabled(true);
+		String large = createLarge();
+		byte[] message = frame(large).getBytes(StandardCharsets.UTF_8);
+
+		out.write(message, 0, 50);
+		out.flush();
+		assertThat(wire.size()).isEqualTo(0);
+
+		out.write(message, 50, message.length - 50);
+		out.flush();
+		assertThat(read(wire.toByteArray())).isEqualTo(frame(large));
+	}
+
+	@Test
+	public void acceptsDeflateInCapability() {
+		assertThat(MessageCompression.acceptsDeflate("deflate")).isTrue();
+		assertThat(MessageCompression.acceptsDeflate("zstd, deflate")).isTrue();
+		assertThat(MessageCompression.acceptsDeflate("zstd")).isFalse();
+		assertThat(MessageCompression.acceptsDeflate(null)).isFalse();
+	}
+
+	private void write(CompressingOutputStream out, String content) throws IOException {
+		// written in 2 chunks like lsp4j does
+		byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+		out.write(("Content-Length: " + bytes.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+		out.write(bytes);
+		out.flush();
+	}
+
+	private String read(byte[] wire) throws IOException {
+		InputStream in = MessageCompression.decompress(new ByteArrayInputStream(wire));
+		ByteArrayOutputStream read = new ByteArrayOutputStream();
+		byte[] buffer = new byte[100];
+		int count = 0;
+		while ((count = in.read(buffer)) != -1) {
+			read.write(buffer, 0, count);
+		}
+		return new String(read.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	private String frame(String content) {
+		return "Content-Length: " + content.getBytes(StandardCharsets.UTF_8).length + "\r\n\r\n" + content;
+	}
+
+	private String createLarge() {
+		StringBuilder sb = new StringBuilder("{\"jsonrpc\":\"2.0\",\"method\":\"client/serverProcessOutputAppended\",\"params\":{\"text\":\"");
+		for (int i = 0; i < 200; i++) {
+			sb.append("INFO  [org.jboss.as] (MSC service thread 1-").append(i % 8).append(") WFLYSRV0049 é\\n");
+		}
+		return sb.append("\"}}").toString();
+	}
+}
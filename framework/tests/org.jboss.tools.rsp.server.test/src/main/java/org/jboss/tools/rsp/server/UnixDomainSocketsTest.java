@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.jboss.tools.rsp.api.UnixDomainSockets;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+public class UnixDomainSocketsTest {
+
+	private Path dir;
+	private Path path;
+
+	@Before
+	public void before() throws IOException {
+		Assume.assumeTrue("Unix domain sockets are not supported", UnixDomainSockets.isSupported());
+		this.dir = Files.createTempDirectory("rspuds");
+		this.path = dir.resolve("rsp.sock");
+	}
+
+	@After
+	public void after() throws IOException {
+		if (dir != null) {
+			Files.deleteIfExists(path);
+			Files.deleteIfExists(dir);
+		}
+	}
+
+	@Test
+	public void sendsAndReceives() throws IOException {
+		try (ServerSocketChannel server = UnixDomainSockets.listen(path);
+				SocketChannel client = UnixDomainSockets.connect(path);
+				SocketChannel accepted = server.accept()) {
+			OutputStream out = UnixDomainSockets.getOutputStream(client);
+			out.write("ping".getBytes(StandardCharsets.UTF_8));
+			out.flush();
+
+			assertThat(read(UnixDomainSockets.getInputStream(accepted), 4)).isEqualTo("ping");
+		}
+	}
+
+	@Test
+	public void replacesStaleSocket() throws IOException {
+		UnixDomainSockets.listen(path).close();
+		assertThat(Files.exists(path)).isTrue();
+
+		try (ServerSocketChannel server = UnixDomainSockets.listen(path);
+				SocketChannel client = UnixDomainSockets.connect(path)) {
+			assertThat(client.isConnected()).isTrue();
+		}
+	}
+
+	@Test
+	public void keepsSocketInUse() throws IOException {
+		try (ServerSocketChannel server = UnixDomainSockets.listen(path)) {
+			try {
+				UnixDomainSockets.listen(path).close();
+				fail("Socket in use should not have been replaced");
+			} catch (IOException e) {
+				// expected
+			}
+			try (SocketChannel client = UnixDomainSockets.connect(path)) {
+				assertThat(client.isConnected()).isTrue();
+			}
+		}
+	}
+
+	@Test
+	public void keepsOtherFile() throws IOException {
+		Files.write(path, "content".getBytes(StandardCharsets.UTF_8));
+
+		try {
+			UnixDomainSockets.listen(path).close();
+			fail("File should not have been replaced");
+		} catch (IOException e) {
+			// expected
+		}
+		assertThat(new String(Files.readAllBytes(path), StandardCharsets.UTF_8)).isEqualTo("content");
+	}
+
+	private String read(InputStream in, int length) throws IOException {
+		byte[] bytes = new byte[length];
+		int read = 0;
+		while (read < length) {
+			int n = in.read(bytes, read, length - read);
+			if (n < 0) {
+				break;
+			}
+			read += n;
+		}
+		return new String(bytes, 0, read, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.jobs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.jboss.tools.rsp.api.dao.JobHandle;
+import org.jboss.tools.rsp.api.dao.JobHistoryEntry;
+import org.jboss.tools.rsp.api.dao.JobTypeMetrics;
+import org.jboss.tools.rsp.api.dao.Status;
+import org.jboss.tools.rsp.eclipse.core.runtime.IStatus;
+import org.junit.Test;
+
+public class JobHistoryTest {
+
+	@Test
+	public void shouldKeepTheMostRecentJobs() {
+		JobHistory history = new JobHistory(3);
+		for( int i = 0; i < 5; i++ ) {
+			history.add(entry("job" + i, "type", IStatus.OK, 0, 10, -1));
+		}
+
+		List<JobHistoryEntry> entries = history.getEntries();
+		assertThat(entries).hasSize(3);
+		assertThat(entries.get(0).getJob().getName()).isEqualTo("job2");
+		assertThat(entries.get(2).getJob().getName()).isEqualTo("job4");
+		assertThat(history.getCompleted()).isEqualTo(5);
+	}
+
+	@Test
+	public void shouldComputePercentilesPerType() {
+		JobHistory history = new JobHistory(100);
+		for( int i = 1; i <= 20; i++ ) {
+			history.add(entry("publish", "publish", IStatus.OK, i, i * 10, -1));
+		}
+		history.add(entry("download", "download", IStatus.OK, 5000, 2000, 4000));
+
+		List<JobTypeMetrics> types = history.getTypeMetrics();
+		assertThat(types).hasSize(2);
+		JobTypeMetrics publish = types.get(0);
+		assertThat(publish.getType()).isEqualTo("publish");
+		assertThat(publish.getCount()).isEqualTo(20);
+		assertThat(publish.getDurationP50()).isEqualTo(100);
+		assertThat(publish.getDurationP95()).isEqualTo(190);
+		assertThat(publish.getQueuedP50()).isEqualTo(10);
+		assertThat(publish.getQueuedP95()).isEqualTo(19);
+		assertThat(publish.getBytesProcessed()).isEqualTo(-1);
+		assertThat(publish.getBytesPerSecond()).isEqualTo(-1);
+
+		JobTypeMetrics download = types.get(1);
+		assertThat(download.getDurationP95()).isEqualTo(2000);
+		assertThat(download.getQueuedP50()).isEqualTo(5000);
+		assertThat(download.getBytesProcessed()).isEqualTo(4000);
+		assertThat(download.getBytesPerSecond()).isEqualTo(2000);
+	}
+
+	@Test
+	public void shouldCountFailedAndCanceledJobs() {
+		JobHistory history = new JobHistory(100);
+		history.add(entry("a", "type", IStatus.OK, 0, 1, -1));
+		history.add(entry("b", "type", IStatus.ERROR, 0, 1, -1));
+		history.add(entry("c", "type", IStatus.CANCEL, 0, 1, -1));
+		history.add(entry("d", "type", IStatus.CANCEL, 0, 1, -1));
+
+		JobTypeMetrics metrics = history.getTypeMetrics().get(0);
+		assertThat(metrics.getCount()).isEqualTo(4);
+		assertThat(metrics.getFailed()).isEqualTo(1);
+		assertThat(metrics.getCanceled()).isEqualTo(2);
+	}
+
+	@Test
+	public void shouldReturnNearestRankPercentile() {
+		assertThat(JobHistory.percentile(new long[0], 50)).isEqualTo(0);
+		assertThat(JobHistory.percentile(new long[] { 7 }, 95)).isEqualTo(7);
+		assertThat(JobHistory.percentile(new long[] { 1, 2, 3, 4 }, 50)).isEqualTo(2);
+		assertThat(JobHistory.percentile(new long[] { 1, 2, 3, 4 }, 95)).isEqualTo(4);
+	}
+
+	private JobHistoryEntry entry(String name, String type, int severity, long queued, long duration, long bytes) {
+		JobHistoryEntry entry = new JobHistoryEntry();
+		entry.setJob(new JobHandle(name, name));
+		entry.setType(type);
+		entry.setStatus(new Status(severity, "test", name));
+		entry.setQueued(queued);
+		entry.setDuration(duration);
+		entry.setBytesProcessed(bytes);
+		return entry;
+	}
+}
@@ -9,19 +9,27 @@
 package org.jboss.tools.rsp.server.jobs;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 
+import org.jboss.tools.rsp.api.dao.JobHistoryEntry;
+import org.jboss.tools.rsp.api.dao.JobHistoryResponse;
 import org.jboss.tools.rsp.eclipse.core.runtime.IProgressMonitor;
 import org.jboss.tools.rsp.eclipse.core.runtime.IStatus;
 import org.jboss.tools.rsp.eclipse.core.runtime.Status;
 import org.jboss.tools.rsp.launching.utils.IStatusRunnableWithProgress;
 import org.jboss.tools.rsp.server.spi.jobs.IJob;
 import org.jboss.tools.rsp.server.spi.jobs.IJobListener;
+import org.jboss.tools.rsp.server.spi.jobs.IJobProgressMonitor;
 import org.junit.Test;
 
 public class JobManagerTest {
@@ -187,6 +195,213 @@ public class JobManagerTest {
 	}
 
 	
+	@Test
+	public void testQueuedJobsRunByPriority() throws InterruptedException {
+		JobManager jm = new JobManager(1);
+		CountDownLatch blocker = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(2);
+		List<String> order = Collections.synchronizedList(new ArrayList<>());
+		jm.addJobListener(new JobListenerAdapter() {
+			@Override
+			public void jobRemoved(IJob job, IStatus status) {
+				done.countDown();
+			}
+		});
+
+		jm.scheduleJob("blocker", monitor -> {
+			blocker.await();
+			return Status.OK_STATUS;
+		});
+		jm.scheduleJob("long", recordingRunnable(order, "long"), IJob.PRIORITY_LONG, null);
+		jm.scheduleJob("short", recordingRunnable(order, "short"), IJob.PRIORITY_SHORT, null);
+		assertEquals(2, jm.getQueued());
+
+		blocker.countDown();
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+		// the blocker completes first and is not recorded
+		assertTrue(waitFor(() -> order.size() == 2));
+		assertEquals(2, order.size());
+		assertEquals("short", order.get(0));
+		assertEquals("long", order.get(1));
+	}
+
+	@Test
+	public void testFamilyLimitDoesNotDelayOtherJobs() throws InterruptedException {
+		JobManager jm = new JobManager(3);
+		jm.setFamilyLimit(IJob.FAMILY_DOWNLOAD, 1);
+		CountDownLatch downloads = new CountDownLatch(1);
+		CountDownLatch publish = new CountDownLatch(1);
+
+		IStatusRunnableWithProgress download = monitor -> {
+			downloads.await();
+			return Status.OK_STATUS;
+		};
+		jm.scheduleJob("download 1", download, IJob.PRIORITY_LONG, IJob.FAMILY_DOWNLOAD);
+		jm.scheduleJob("download 2", download, IJob.PRIORITY_LONG, IJob.FAMILY_DOWNLOAD);
+		jm.scheduleJob("publish", monitor -> {
+			publish.countDown();
+			return Status.OK_STATUS;
+		}, IJob.PRIORITY_SHORT, null);
+
+		assertTrue(publish.await(10, TimeUnit.SECONDS));
+		assertEquals(1, jm.getRunning(IJob.FAMILY_DOWNLOAD));
+		assertEquals(1, jm.getQueued());
+
+		downloads.countDown();
+		assertTrue(waitFor(() -> jm.getRunning() == 0 && jm.getQueued() == 0));
+		assertEquals(0, jm.getJobs().size());
+	}
+
+	@Test
+	public void testNextJobStartsOnceCompletionWasNotified() throws InterruptedException {
+		JobManager jm = new JobManager(2);
+		jm.setFamilyLimit(IJob.FAMILY_DOWNLOAD, 1);
+		CountDownLatch secondStarted = new CountDownLatch(1);
+		CountDownLatch notified = new CountDownLatch(1);
+		final boolean[] startedBeforeNotified = new boolean[1];
+		jm.addJobListener(new JobListenerAdapter() {
+			@Override
+			public void jobRemoved(IJob job, IStatus status) {
+				if( "download 1".equals(job.getName())) {
+					try {
+						startedBeforeNotified[0] = secondStarted.await(500, TimeUnit.MILLISECONDS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					notified.countDown();
+				}
+			}
+		});
+
+		CountDownLatch firstBlocker = new CountDownLatch(1);
+		jm.scheduleJob("download 1", monitor -> {
+			firstBlocker.await();
+			return Status.OK_STATUS;
+		}, IJob.PRIORITY_LONG, IJob.FAMILY_DOWNLOAD);
+		jm.scheduleJob("download 2", monitor -> {
+			secondStarted.countDown();
+			return Status.OK_STATUS;
+		}, IJob.PRIORITY_LONG, IJob.FAMILY_DOWNLOAD);
+		assertEquals(1, jm.getQueued());
+		firstBlocker.countDown();
+
+		assertTrue(notified.await(10, TimeUnit.SECONDS));
+		assertTrue(secondStarted.await(10, TimeUnit.SECONDS));
+		assertFalse(startedBeforeNotified[0]);
+	}
+
+	@Test
+	public void testCancelQueuedJob() throws InterruptedException {
+		JobManager jm = new JobManager(1);
+		CountDownLatch blocker = new CountDownLatch(1);
+		final IStatus[] removed = new IStatus[1];
+		jm.scheduleJob("blocker", monitor -> {
+			blocker.await();
+			return Status.OK_STATUS;
+		});
+		IJob queued = jm.scheduleJob("queued", monitor -> Status.OK_STATUS);
+		jm.addJobListener(new JobListenerAdapter() {
+			@Override
+			public void jobRemoved(IJob job, IStatus status) {
+				if( job == queued ) {
+					removed[0] = status;
+				}
+			}
+		});
+
+		jm.cancel(queued);
+
+		assertNotNull(removed[0]);
+		assertEquals(IStatus.CANCEL, removed[0].getSeverity());
+		assertEquals(0, jm.getQueued());
+		assertEquals(1, jm.getJobs().size());
+		blocker.countDown();
+	}
+
+	@Test
+	public void testJobProgressIsThrottled() throws InterruptedException {
+		JobManager jm = new JobManager(1);
+		CountDownLatch done = new CountDownLatch(1);
+		List<Double> calls = Collections.synchronizedList(new ArrayList<>());
+		jm.addJobListener(new JobListenerAdapter() {
+			@Override
+			public void progressChanged(IJob job, double work) {
+				calls.add(work);
+			}
+
+			@Override
+			public void jobRemoved(IJob job, IStatus status) {
+				done.countDown();
+			}
+		});
+
+		jm.scheduleJob("Many small steps", monitor -> {
+			monitor.beginTask("Some Task", 1000);
+			for( int i = 0; i < 1000; i++ ) {
+				monitor.worked(1);
+			}
+			return Status.OK_STATUS;
+		});
+
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+		// 5% steps, the job never calls done()
+		assertTrue(calls.size() <= 21);
+		assertEquals(100.0, calls.get(calls.size() - 1), .001);
+		assertEquals(calls.size(), jm.getProgressNotifications());
+		assertTrue(0 < jm.getProgressThrottled());
+	}
+
+	@Test
+	public void testCompletedJobsAreKeptInHistory() throws InterruptedException {
+		JobManager jm = new JobManager(1);
+		CountDownLatch done = new CountDownLatch(2);
+		jm.addJobListener(new JobListenerAdapter() {
+			@Override
+			public void jobRemoved(IJob job, IStatus status) {
+				done.countDown();
+			}
+		});
+
+		jm.scheduleJob("slow", monitor -> {
+			Thread.sleep(200);
+			((IJobProgressMonitor) monitor).bytesProcessed(1024);
+			return Status.OK_STATUS;
+		}, IJob.PRIORITY_LONG, IJob.FAMILY_DOWNLOAD);
+		jm.scheduleJob("queued", monitor -> Status.CANCEL_STATUS);
+
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+		assertTrue(waitFor(() -> jm.getJobHistory().getCompleted() == 2));
+		JobHistoryResponse history = jm.getJobHistory();
+		assertEquals(2, history.getJobs().size());
+
+		JobHistoryEntry slow = history.getJobs().get(0);
+		assertEquals(IJob.FAMILY_DOWNLOAD, slow.getType());
+		assertEquals(1024, slow.getBytesProcessed());
+		assertTrue(200 <= slow.getDuration());
+
+		JobHistoryEntry queued = history.getJobs().get(1);
+		assertEquals("queued", queued.getType());
+		assertEquals(IStatus.CANCEL, queued.getStatus().getSeverity());
+		assertEquals(-1, queued.getBytesProcessed());
+		// waited for the slow job
+		assertTrue(150 <= queued.getQueued());
+		assertEquals(2, history.getTypes().size());
+	}
+
+	private IStatusRunnableWithProgress recordingRunnable(List<String> order, String name) {
+		return monitor -> {
+			order.add(name);
+			return Status.OK_STATUS;
+		};
+	}
+
+	private boolean waitFor(BooleanSupplier condition) throws InterruptedException {
+		for( int i = 0; i < 100 && !condition.getAsBoolean(); i++ ) {
+			Thread.sleep(100);
+		}
+		return condition.getAsBoolean();
+	}
+
 	public void testBasicManagerFunctions(final IStatus completionStatus) {
 		IStatusRunnableWithProgress srwp = new IStatusRunnableWithProgress() {
 			@Override
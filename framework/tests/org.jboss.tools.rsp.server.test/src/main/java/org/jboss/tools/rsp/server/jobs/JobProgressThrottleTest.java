@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.jobs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class JobProgressThrottleTest {
+
+	@Test
+	public void shouldNotifyChangesOfAtLeastTheStep() {
+		JobProgressThrottle throttle = new JobProgressThrottle(5, 1000, 0);
+
+		assertThat(throttle.progressChanged(5, 10)).isTrue();
+		assertThat(throttle.progressChanged(12, 20)).isTrue();
+		assertThat(throttle.getNotifications()).isEqualTo(2);
+	}
+
+	@Test
+	public void shouldThrottleSmallChanges() {
+		JobProgressThrottle throttle = new JobProgressThrottle(5, 1000, 0);
+
+		assertThat(throttle.progressChanged(1, 10)).isFalse();
+		assertThat(throttle.progressChanged(2, 20)).isFalse();
+		assertThat(throttle.progressChanged(4, 30)).isFalse();
+		assertThat(throttle.progressChanged(5, 40)).isTrue();
+		assertThat(throttle.getNotifications()).isEqualTo(1);
+		assertThat(throttle.getThrottled()).isEqualTo(3);
+	}
+
+	@Test
+	public void shouldNotifySmallChangesOnceTheIntervalPassed() {
+		JobProgressThrottle throttle = new JobProgressThrottle(5, 1000, 0);
+
+		assertThat(throttle.progressChanged(1, 500)).isFalse();
+		assertThat(throttle.progressChanged(2, 1000)).isTrue();
+		assertThat(throttle.progressChanged(3, 1500)).isFalse();
+		assertThat(throttle.progressChanged(4, 2000)).isTrue();
+	}
+
+	@Test
+	public void shouldNotNotifyUnchangedProgress() {
+		JobProgressThrottle throttle = new JobProgressThrottle(5, 1000, 0);
+
+		assertThat(throttle.progressChanged(10, 10)).isTrue();
+		assertThat(throttle.progressChanged(10, 5000)).isFalse();
+		assertThat(throttle.getThrottled()).isEqualTo(0);
+	}
+
+	@Test
+	public void shouldAlwaysNotifyCompletion() {
+		JobProgressThrottle throttle = new JobProgressThrottle(5, 1000, 0);
+
+		assertThat(throttle.progressChanged(98, 10)).isTrue();
+		assertThat(throttle.progressChanged(100, 20)).isTrue();
+	}
+
+	@Test
+	public void shouldNotifyThrottledProgressWhenJobIsDone() {
+		JobProgressThrottle throttle = new JobProgressThrottle(5, 1000, 0);
+
+		assertThat(throttle.progressChanged(7, 10)).isTrue();
+		assertThat(throttle.progressChanged(9, 20)).isFalse();
+
+		assertThat(throttle.jobDone(30)).isTrue();
+		assertThat(throttle.getLatest()).isEqualTo(9.0);
+		assertThat(throttle.jobDone(40)).isFalse();
+		assertThat(throttle.getNotifications()).isEqualTo(2);
+	}
+}
@@ -0,0 +1,258 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.jboss.tools.rsp.api.RSPClient;
+import org.jboss.tools.rsp.api.ServerManagementAPIConstants;
+import org.jboss.tools.rsp.api.dao.EventSequence;
+import org.jboss.tools.rsp.api.dao.ServerHandle;
+import org.jboss.tools.rsp.api.dao.ServerState;
+import org.jboss.tools.rsp.server.ServerManagementServerImpl;
+import org.jboss.tools.rsp.server.util.ClientImpl;
+import org.jboss.tools.rsp.server.util.TestServerDelegate;
+import org.jboss.tools.rsp.server.util.TestServerUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RemoteEventManagerTest {
+
+	private static final String SERVER_TYPE = "remote.events.type";
+	private static final String CHANGED_SERVER_ID = "changed";
+	private static final String UNCHANGED_SERVER_ID = "unchanged";
+
+	private final List<RSPClient> clients = new CopyOnWriteArrayList<>();
+	/* blocks the delegates while they return their state, if set */
+	private volatile CountDownLatch stateBlocker;
+	private final CountDownLatch stateBlocked = new CountDownLatch(1);
+	private ServerManagementModel model;
+	private ServerManagementServerImpl impl;
+	private RemoteEventManager events;
+
+	@Before
+	public void before() throws IOException {
+		Path dataDir = Files.createTempDirectory("remoteevents");
+		Path serversDir = Files.createTempDirectory("remoteevents_servers");
+		this.model = new ServerManagementModel(dataDir.toFile());
+		model.getServerModel().addServerType(
+				TestServerUtils.createServerType(SERVER_TYPE, server -> new TestServerDelegate(server) {
+					@Override
+					public ServerState getServerState() {
+						awaitStateBlocker();
+						return super.getServerState();
+					}
+				}));
+		TestServerUtils.createServerFile(CHANGED_SERVER_ID, serversDir,
+				TestServerUtils.getServerWithoutDeployablesString(CHANGED_SERVER_ID, SERVER_TYPE));
+		TestServerUtils.createServerFile(UNCHANGED_SERVER_ID, serversDir,
+				TestServerUtils.getServerWithoutDeployablesString(UNCHANGED_SERVER_ID, SERVER_TYPE));
+		((ServerModel) model.getServerModel()).loadServers(serversDir.toFile());
+		this.impl = new ServerManagementServerImpl(null, model) {
+			@Override
+			public List<RSPClient> getClients() {
+				return new ArrayList<>(clients);
+			}
+		};
+		this.events = new RemoteEventManager(impl);
+	}
+
+	@After
+	public void after() {
+		events.dispose();
+	}
+
+	@Test
+	public void testReconnectWithinJournalReplaysStateChangesOnly() throws InterruptedException {
+		RecordingClient first = connect();
+		assertFalse(events.resyncClient(first, null));
+		EventSequence last = first.awaitSequence();
+		assertThat(first.getStates()).containsExactly(CHANGED_SERVER_ID, UNCHANGED_SERVER_ID);
+		disconnect(first);
+
+		RecordingClient witness = new RecordingClient(1);
+		events.clientConnected(witness);
+		clients.add(witness);
+		events.serverStateChanged(getHandle(CHANGED_SERVER_ID),
+				createState(CHANGED_SERVER_ID, ServerManagementAPIConstants.STATE_STARTED));
+		assertTrue(witness.awaitStates());
+		disconnect(witness);
+
+		RecordingClient second = connect();
+		assertTrue(events.resyncClient(second, last));
+		second.awaitSequence();
+		assertThat(second.getStates()).containsExactly(CHANGED_SERVER_ID);
+	}
+
+	@Test
+	public void testReconnectWithUnknownJournalSendsAllStates() throws InterruptedException {
+		RecordingClient client = connect();
+		assertFalse(events.resyncClient(client, new EventSequence("unknown", 0)));
+		client.awaitSequence();
+		assertThat(client.getStates()).containsExactly(CHANGED_SERVER_ID, UNCHANGED_SERVER_ID);
+	}
+
+	@Test
+	public void testClientWithoutSequenceGetsAllStatesOnCapabilities() throws InterruptedException {
+		RecordingClient client = new RecordingClient(2);
+		events.clientConnected(client);
+		clients.add(client);
+		events.initClientWithServerStates(client);
+		events.setEventSequence(client, false);
+		assertTrue(client.awaitStates());
+		assertThat(client.getStates()).containsExactly(CHANGED_SERVER_ID, UNCHANGED_SERVER_ID);
+	}
+
+	@Test
+	public void testClientWithoutCapabilitiesGetsAllStatesRightAway() throws InterruptedException {
+		RecordingClient client = new RecordingClient(2);
+		events.clientConnected(client);
+		clients.add(client);
+		events.initClientWithServerStates(client);
+		assertTrue(client.awaitStates(500));
+		assertThat(client.getStates()).containsExactly(CHANGED_SERVER_ID, UNCHANGED_SERVER_ID);
+	}
+
+	@Test
+	public void testStateChangedWhileTakingSnapshotIsPublishedAndKept() throws InterruptedException {
+		this.stateBlocker = new CountDownLatch(1);
+		RecordingClient client = new RecordingClient(1);
+		events.clientConnected(client);
+		clients.add(client);
+		Thread init = new Thread(() -> events.initClientWithServerStates(client));
+		init.start();
+		try {
+			assertTrue(stateBlocked.await(5, TimeUnit.SECONDS));
+
+			events.serverStateChanged(getHandle(CHANGED_SERVER_ID),
+					createState(CHANGED_SERVER_ID, ServerManagementAPIConstants.STATE_STARTED));
+			// published while the snapshot is taken
+			assertTrue(client.awaitStates());
+		} finally {
+			stateBlocker.countDown();
+			init.join(5000);
+		}
+		assertTrue(waitFor(() -> client.getStates().size() == 2));
+		assertThat(client.getStates()).containsExactly(CHANGED_SERVER_ID, UNCHANGED_SERVER_ID);
+		assertThat(client.getState(CHANGED_SERVER_ID)).isEqualTo(ServerManagementAPIConstants.STATE_STARTED);
+	}
+
+	private void awaitStateBlocker() {
+		CountDownLatch blocker = stateBlocker;
+		if( blocker != null ) {
+			stateBlocked.countDown();
+			try {
+				blocker.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private boolean waitFor(BooleanSupplier condition) throws InterruptedException {
+		for( int i = 0; i < 100 && !condition.getAsBoolean(); i++ ) {
+			Thread.sleep(50);
+		}
+		return condition.getAsBoolean();
+	}
+
+	private RecordingClient connect() {
+		RecordingClient client = new RecordingClient(0);
+		events.clientConnected(client);
+		clients.add(client);
+		events.setEventSequence(client, true);
+		events.initClientWithServerStates(client);
+		return client;
+	}
+
+	private void disconnect(RSPClient client) {
+		clients.remove(client);
+		events.clientRemoved(client);
+	}
+
+	private ServerHandle getHandle(String id) {
+		for( ServerHandle handle : model.getServerModel().getServerHandles()) {
+			if( id.equals(handle.getId())) {
+				return handle;
+			}
+		}
+		return null;
+	}
+
+	private ServerState createState(String id, int state) {
+		ServerState s = new ServerState();
+		s.setServer(getHandle(id));
+		s.setState(state);
+		return s;
+	}
+
+	private static class RecordingClient extends ClientImpl {
+		private final List<String> states = new CopyOnWriteArrayList<>();
+		private final Map<String, Integer> lastStates = new ConcurrentHashMap<>();
+		private final CountDownLatch statesLatch;
+		private volatile CountDownLatch sequenceLatch = new CountDownLatch(1);
+		private volatile EventSequence sequence;
+
+		private RecordingClient(int expectedStates) {
+			this.statesLatch = new CountDownLatch(expectedStates);
+		}
+
+		@Override
+		public void serverStateChanged(ServerState state) {
+			states.add(state.getServer().getId());
+			lastStates.put(state.getServer().getId(), state.getState());
+			statesLatch.countDown();
+		}
+
+		@Override
+		public void eventSequence(EventSequence sequence) {
+			this.sequence = sequence;
+			sequenceLatch.countDown();
+		}
+
+		private EventSequence awaitSequence() throws InterruptedException {
+			assertTrue(sequenceLatch.await(5, TimeUnit.SECONDS));
+			this.sequenceLatch = new CountDownLatch(1);
+			return sequence;
+		}
+
+		private boolean awaitStates() throws InterruptedException {
+			return awaitStates(5000);
+		}
+
+		private boolean awaitStates(long millis) throws InterruptedException {
+			return statesLatch.await(millis, TimeUnit.MILLISECONDS);
+		}
+
+		private Integer getState(String id) {
+			return lastStates.get(id);
+		}
+
+		private List<String> getStates() {
+			List<String> sorted = new ArrayList<>(states);
+			sorted.sort(null);
+			return sorted;
+		}
+	}
+}
@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.tools.rsp.server.spi.model.IServerModel;
+import org.jboss.tools.rsp.server.spi.servertype.IServer;
+import org.jboss.tools.rsp.server.spi.servertype.IServerDelegate;
+import org.jboss.tools.rsp.server.spi.servertype.IServerType;
+import org.jboss.tools.rsp.server.util.TestServerDelegate;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ServerLivenessMonitorTest {
+
+	private Map<String, IServer> servers;
+	private ServerLivenessMonitor monitor;
+
+	@Before
+	public void before() {
+		this.servers = new HashMap<>();
+		IServerModel serverModel = mock(IServerModel.class);
+		when(serverModel.getServers()).thenReturn(servers);
+		this.monitor = new ServerLivenessMonitor(serverModel, 0);
+	}
+
+	@After
+	public void after() {
+		monitor.stop();
+	}
+
+	@Test
+	public void startedServerThatDiedIsMarkedStopped() {
+		LivenessTestDelegate delegate = createServer("s1", IServerDelegate.STATE_STARTED, false);
+
+		checkAll(delegate);
+		assertThat(delegate.getServerRunState()).isEqualTo(IServerDelegate.STATE_STARTED);
+		checkAll(delegate);
+
+		assertThat(delegate.getServerRunState()).isEqualTo(IServerDelegate.STATE_STOPPED);
+		assertThat(delegate.checks).isEqualTo(2);
+	}
+
+	@Test
+	public void singleMissIsForgottenIfServerAnswersAgain() {
+		LivenessTestDelegate delegate = createServer("s1", IServerDelegate.STATE_STARTED, false);
+
+		checkAll(delegate);
+		delegate.alive = true;
+		checkAll(delegate);
+		delegate.alive = false;
+		checkAll(delegate);
+
+		assertThat(delegate.getServerRunState()).isEqualTo(IServerDelegate.STATE_STARTED);
+	}
+
+	@Test
+	public void aliveServerStaysStarted() {
+		LivenessTestDelegate delegate = createServer("s1", IServerDelegate.STATE_STARTED, true);
+
+		checkAll(delegate);
+		checkAll(delegate);
+		checkAll(delegate);
+
+		assertThat(delegate.getServerRunState()).isEqualTo(IServerDelegate.STATE_STARTED);
+	}
+
+	@Test
+	public void livenessIsHandledOnTheScheduler() {
+		LivenessTestDelegate delegate = createServer("s1", IServerDelegate.STATE_STARTED, true);
+
+		checkAll(delegate);
+
+		assertThat(delegate.checkedBy).startsWith("RSP Server Poller");
+	}
+
+	@Test
+	public void serversThatAreNotStartedAreNotChecked() {
+		LivenessTestDelegate starting = createServer("s1", IServerDelegate.STATE_STARTING, false);
+		LivenessTestDelegate stopped = createServer("s2", IServerDelegate.STATE_STOPPED, false);
+
+		monitor.checkAll();
+		monitor.checkAll();
+
+		assertThat(starting.checks).isEqualTo(0);
+		assertThat(stopped.checks).isEqualTo(0);
+		assertThat(starting.getServerRunState()).isEqualTo(IServerDelegate.STATE_STARTING);
+	}
+
+	@Test
+	public void doesNotStartIfIntervalIsZero() {
+		monitor.start();
+
+		assertThat(monitor.isRunning()).isFalse();
+	}
+
+	@Test
+	public void startsAndStopsIfIntervalIsPositive() {
+		ServerLivenessMonitor running = new ServerLivenessMonitor(mock(IServerModel.class), 60000);
+		running.start();
+		assertThat(running.isRunning()).isTrue();
+
+		running.stop();
+		assertThat(running.isRunning()).isFalse();
+	}
+
+	private void checkAll(LivenessTestDelegate delegate) {
+		monitor.checkAll();
+		try {
+			assertThat(delegate.checked.tryAcquire(5, TimeUnit.SECONDS)).isTrue();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private LivenessTestDelegate createServer(String name, int state, boolean alive) {
+		IServer server = mock(IServer.class);
+		when(server.getName()).thenReturn(name);
+		when(server.getId()).thenReturn(name);
+		IServerType type = mock(IServerType.class);
+		when(type.getId()).thenReturn("liveness.test");
+		when(server.getServerType()).thenReturn(type);
+		LivenessTestDelegate delegate = new LivenessTestDelegate(server, alive);
+		delegate.setServerState(state);
+		when(server.getDelegate()).thenReturn(delegate);
+		servers.put(name, server);
+		return delegate;
+	}
+
+	private static class LivenessTestDelegate extends TestServerDelegate {
+
+		private volatile boolean alive;
+		private int checks;
+		private final Semaphore checked = new Semaphore(0);
+		private volatile String checkedBy;
+
+		public LivenessTestDelegate(IServer server, boolean alive) {
+			super(server);
+			this.alive = alive;
+		}
+
+		@Override
+		protected boolean registerAsProcessListener() {
+			return false;
+		}
+
+		@Override
+		protected void setServerState(int state) {
+			super.setServerState(state);
+		}
+
+		@Override
+		protected void livenessChecked(boolean alive) {
+			super.livenessChecked(alive);
+			this.checkedBy = Thread.currentThread().getName();
+			checked.release();
+		}
+
+		@Override
+		protected CompletableFuture<Boolean> isAlive() {
+			checks++;
+			return CompletableFuture.completedFuture(alive);
+		}
+	}
+}
@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.tools.rsp.server.model.internal.RequestExecutor.Lane;
+import org.junit.After;
+import org.junit.Test;
+
+public class BulkExecutorTest {
+
+	private BulkExecutor executor;
+
+	@After
+	public void after() {
+		if (executor != null) {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void returnsResultsInOrderOfItems() {
+		this.executor = new BulkExecutor(4, 4, 100);
+
+		List<String> results = executor.invokeAll(Lane.QUICK, Arrays.asList(3, 1, 2),
+				i -> {
+					sleep(i * 10);
+					return "server" + i;
+				},
+				(i, t) -> "error");
+
+		assertThat(results).containsExactly("server3", "server1", "server2");
+	}
+
+	@Test
+	public void runsItemsConcurrently() {
+		this.executor = new BulkExecutor(4, 4, 100);
+		CountDownLatch allStarted = new CountDownLatch(4);
+
+		List<Boolean> results = executor.invokeAll(Lane.QUICK, Arrays.asList(1, 2, 3, 4),
+				i -> {
+					allStarted.countDown();
+					return await(allStarted);
+				},
+				(i, t) -> false);
+
+		assertThat(results).containsOnly(true);
+	}
+
+	@Test
+	public void runsAtMostThreadsItemsAtATime() {
+		this.executor = new BulkExecutor(2, 2, 100);
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		List<Integer> items = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			items.add(i);
+		}
+
+		executor.invokeAll(Lane.QUICK, items,
+				i -> {
+					maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+					sleep(10);
+					running.decrementAndGet();
+					return i;
+				},
+				(i, t) -> -1);
+
+		assertThat(maxRunning.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void slowItemsDoNotBlockQuickItems() throws Exception {
+		this.executor = new BulkExecutor(1, 1, 100);
+		CountDownLatch slowRunning = new CountDownLatch(1);
+		CountDownLatch blocked = new CountDownLatch(1);
+		Thread slow = new Thread(() -> executor.invokeAll(Lane.SLOW, Arrays.asList(1, 2),
+				i -> {
+					slowRunning.countDown();
+					return await(blocked);
+				},
+				(i, t) -> false));
+		slow.start();
+		try {
+			assertThat(slowRunning.await(5, TimeUnit.SECONDS)).isTrue();
+
+			List<String> results = executor.invokeAll(Lane.QUICK, Arrays.asList(1, 2),
+					i -> "state" + i,
+					(i, t) -> "error");
+
+			assertThat(results).containsExactly("state1", "state2");
+		} finally {
+			blocked.countDown();
+			slow.join(5000);
+		}
+	}
+
+	@Test
+	public void smallRequestCompletesWhileLargeRequestRuns() throws Exception {
+		this.executor = new BulkExecutor(2, 2, 1000);
+		CountDownLatch largeRunning = new CountDownLatch(1);
+		AtomicInteger largeCompleted = new AtomicInteger();
+		List<Integer> items = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			items.add(i);
+		}
+		Thread large = new Thread(() -> executor.invokeAll(Lane.QUICK, items,
+				i -> {
+					largeRunning.countDown();
+					sleep(20);
+					return largeCompleted.incrementAndGet();
+				},
+				(i, t) -> -1));
+		large.start();
+		try {
+			assertThat(largeRunning.await(5, TimeUnit.SECONDS)).isTrue();
+			// let the large request submit what it can
+			sleep(100);
+			int completedBefore = largeCompleted.get();
+
+			List<String> results = executor.invokeAll(Lane.QUICK, Arrays.asList(1, 2),
+					i -> "state" + i,
+					(i, t) -> "error");
+
+			assertThat(results).containsExactly("state1", "state2");
+			// waited for the running items of the large request only
+			assertThat(largeCompleted.get() - completedBefore).isLessThan(10);
+		} finally {
+			large.interrupt();
+			large.join(5000);
+		}
+	}
+
+	@Test
+	public void createsErrorResultForFailedItem() {
+		this.executor = new BulkExecutor(4, 4, 100);
+
+		List<String> results = executor.invokeAll(Lane.QUICK, Arrays.asList(1, 2, 3),
+				i -> {
+					if (i == 2) {
+						throw new IllegalStateException("boom");
+					}
+					return "ok" + i;
+				},
+				(i, t) -> "error" + i + ":" + t.getMessage());
+
+		assertThat(results).containsExactly("ok1", "error2:boom", "ok3");
+	}
+
+	@Test
+	public void rejectsTooManyItems() {
+		this.executor = new BulkExecutor(4, 4, 2);
+
+		try {
+			executor.invokeAll(Lane.QUICK, Arrays.asList(1, 2, 3), i -> i, (i, t) -> -1);
+			fail("Expected too many items to be rejected");
+		} catch (RejectedExecutionException e) {
+			// expected
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static boolean await(CountDownLatch latch) {
+		try {
+			return latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			return false;
+		}
+	}
+}
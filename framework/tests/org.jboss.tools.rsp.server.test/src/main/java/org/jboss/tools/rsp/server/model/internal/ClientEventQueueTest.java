@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.tools.rsp.api.RSPClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ClientEventQueueTest {
+
+	private ExecutorService sender;
+	private RSPClient client;
+	private List<String> received;
+	private AtomicInteger stuck;
+
+	@Before
+	public void before() {
+		this.sender = Executors.newCachedThreadPool();
+		this.client = mock(RSPClient.class);
+		this.received = new CopyOnWriteArrayList<>();
+		this.stuck = new AtomicInteger();
+	}
+
+	@After
+	public void after() {
+		sender.shutdownNow();
+	}
+
+	@Test
+	public void sendsEventsInOrder() throws Exception {
+		ClientEventQueue queue = createQueue(100, 0);
+
+		for (int i = 0; i < 50; i++) {
+			String event = "event " + i;
+			queue.send(c -> received.add(event));
+		}
+
+		waitForReceived(50);
+		for (int i = 0; i < 50; i++) {
+			assertThat(received.get(i)).isEqualTo("event " + i);
+		}
+	}
+
+	@Test
+	public void replacesPendingEventWithSameKey() throws Exception {
+		CountDownLatch blocked = new CountDownLatch(1);
+		ClientEventQueue queue = createQueue(100, 0);
+		block(queue, blocked);
+
+		queue.send("state:s1", c -> received.add("s1 starting"));
+		queue.send(c -> received.add("other"));
+		queue.send("state:s1", c -> received.add("s1 started"));
+		assertThat(queue.getPending()).isEqualTo(2);
+		blocked.countDown();
+
+		waitForReceived(2);
+		assertThat(received).hasSize(2);
+		assertThat(received.get(0)).isEqualTo("s1 started");
+		assertThat(received.get(1)).isEqualTo("other");
+	}
+
+	@Test
+	public void sendLastMovesPendingEventWithSameKeyToTheEnd() throws Exception {
+		CountDownLatch blocked = new CountDownLatch(1);
+		ClientEventQueue queue = createQueue(100, 0);
+		block(queue, blocked);
+
+		queue.sendLast("sequence", c -> received.add("sequence 1"));
+		queue.send(c -> received.add("other"));
+		queue.sendLast("sequence", c -> received.add("sequence 2"));
+		blocked.countDown();
+
+		waitForReceived(2);
+		assertThat(received).hasSize(2);
+		assertThat(received.get(0)).isEqualTo("other");
+		assertThat(received.get(1)).isEqualTo("sequence 2");
+	}
+
+	@Test
+	public void stalledClientDoesNotDelayOtherClient() throws Exception {
+		CountDownLatch blocked = new CountDownLatch(1);
+		ClientEventQueue stalled = createQueue(100, 0);
+		ClientEventQueue healthy = createQueue(100, 0);
+
+		block(stalled, blocked);
+		stalled.send(c -> received.add("stalled"));
+		healthy.send(c -> received.add("healthy"));
+
+		waitForReceived(1);
+		assertThat(received.get(0)).isEqualTo("healthy");
+		blocked.countDown();
+		waitForReceived(2);
+	}
+
+	@Test
+	public void overflowMarksClientStuckAndDropsEvents() throws Exception {
+		CountDownLatch blocked = new CountDownLatch(1);
+		ClientEventQueue queue = createQueue(3, 0);
+		block(queue, blocked);
+		for (int i = 0; i < 3; i++) {
+			queue.send(c -> received.add("event"));
+		}
+		assertThat(stuck.get()).isEqualTo(0);
+
+		queue.send(c -> received.add("overflow"));
+
+		assertThat(stuck.get()).isEqualTo(1);
+		assertThat(queue.getPending()).isEqualTo(0);
+		blocked.countDown();
+		queue.send(c -> received.add("after"));
+		Thread.sleep(200);
+		assertThat(received).isEmpty();
+	}
+
+	@Test
+	public void mergedEventDoesNotOverflow() throws Exception {
+		CountDownLatch blocked = new CountDownLatch(1);
+		ClientEventQueue queue = createQueue(1, 0);
+		block(queue, blocked);
+
+		queue.send("job:1", c -> received.add("10%"));
+		queue.send("job:1", c -> received.add("20%"));
+
+		assertThat(stuck.get()).isEqualTo(0);
+		blocked.countDown();
+		waitForReceived(1);
+		assertThat(received.get(0)).isEqualTo("20%");
+	}
+
+	@Test
+	public void slowSendMarksClientStuck() throws Exception {
+		CountDownLatch blocked = new CountDownLatch(1);
+		ClientEventQueue queue = createQueue(100, 100);
+		block(queue, blocked);
+		queue.send(c -> received.add("event"));
+		assertThat(stuck.get()).isEqualTo(0);
+
+		Thread.sleep(300);
+		queue.send(c -> received.add("event"));
+
+		assertThat(stuck.get()).isEqualTo(1);
+		blocked.countDown();
+	}
+
+	private ClientEventQueue createQueue(int maxPending, long stuckTimeout) {
+		return new ClientEventQueue(client, sender, maxPending, stuckTimeout, () -> stuck.incrementAndGet());
+	}
+
+	private void waitForReceived(int count) throws InterruptedException {
+		for (int i = 0; i < 50 && received.size() < count; i++) {
+			Thread.sleep(100);
+		}
+		assertThat(received.size()).isGreaterThanOrEqualTo(count);
+	}
+
+	/*
+	 * Sends an event that blocks until the given latch is released 
+	 * and waits until the queue is sending it
+	 */
+	private void block(ClientEventQueue queue, CountDownLatch blocked) throws InterruptedException {
+		CountDownLatch sending = new CountDownLatch(1);
+		queue.send(c -> {
+			sending.countDown();
+			await(blocked);
+		});
+		assertThat(sending.await(10, TimeUnit.SECONDS)).isTrue();
+	}
+
+	private void await(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.jboss.tools.rsp.server.model.internal.EventJournal.Event;
+import org.junit.Test;
+
+public class EventJournalTest {
+
+	private static final String ID = "journal1";
+
+	@Test
+	public void numbersEventsInOrder() {
+		EventJournal journal = new EventJournal(ID, 10);
+		assertThat(journal.getLast()).isEqualTo(0);
+
+		assertThat(journal.append(null, c -> {})).isEqualTo(1);
+		assertThat(journal.append("key", c -> {})).isEqualTo(2);
+
+		assertThat(journal.getLast()).isEqualTo(2);
+	}
+
+	@Test
+	public void returnsEventsSinceSequence() {
+		EventJournal journal = createJournal(10, 5);
+
+		List<Event> since = journal.since(ID, 3);
+
+		assertThat(since).hasSize(2);
+		assertThat(since.get(0).getSequence()).isEqualTo(4);
+		assertThat(since.get(1).getSequence()).isEqualTo(5);
+	}
+
+	@Test
+	public void returnsNoEventsIfUpToDate() {
+		EventJournal journal = createJournal(10, 5);
+
+		assertThat(journal.since(ID, 5)).isEmpty();
+	}
+
+	@Test
+	public void returnsAllEventsSinceStart() {
+		EventJournal journal = createJournal(10, 5);
+
+		assertThat(journal.since(ID, 0)).hasSize(5);
+	}
+
+	@Test
+	public void returnsNullIfEventsWereDropped() {
+		EventJournal journal = createJournal(3, 10);
+
+		assertThat(journal.since(ID, 6)).isNull();
+		assertThat(journal.since(ID, 7)).hasSize(3);
+	}
+
+	@Test
+	public void returnsNullForUnknownSequence() {
+		EventJournal journal = createJournal(10, 5);
+
+		assertThat(journal.since(ID, 6)).isNull();
+		assertThat(journal.since(ID, -1)).isNull();
+	}
+
+	@Test
+	public void returnsNullForOtherJournal() {
+		EventJournal journal = createJournal(10, 5);
+
+		assertThat(journal.since("journal2", 3)).isNull();
+	}
+
+	@Test
+	public void keepsNoEventsWithoutCapacity() {
+		EventJournal journal = createJournal(0, 5);
+
+		assertThat(journal.getLast()).isEqualTo(5);
+		assertThat(journal.since(ID, 5)).isEmpty();
+		assertThat(journal.since(ID, 4)).isNull();
+	}
+
+	private EventJournal createJournal(int capacity, int events) {
+		EventJournal journal = new EventJournal(ID, capacity);
+		for (int i = 0; i < events; i++) {
+			journal.append(null, c -> {});
+		}
+		return journal;
+	}
+}
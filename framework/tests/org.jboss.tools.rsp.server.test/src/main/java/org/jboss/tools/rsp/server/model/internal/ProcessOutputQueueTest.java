@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.tools.rsp.api.RSPClient;
+import org.jboss.tools.rsp.api.dao.ServerHandle;
+import org.jboss.tools.rsp.api.dao.ServerProcessOutput;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ProcessOutputQueueTest {
+
+	private static final ServerHandle SERVER = new ServerHandle("server1", null);
+	private static final String PROCESS = "process1";
+
+	private ScheduledExecutorService scheduler;
+	private ExecutorService sender;
+	private List<ServerProcessOutput> received;
+	private CountDownLatch clientBlocked;
+
+	@Before
+	public void before() {
+		this.scheduler = Executors.newSingleThreadScheduledExecutor();
+		this.sender = Executors.newCachedThreadPool();
+		this.received = new CopyOnWriteArrayList<>();
+		this.clientBlocked = new CountDownLatch(0);
+	}
+
+	@After
+	public void after() {
+		clientBlocked.countDown();
+		scheduler.shutdownNow();
+		sender.shutdownNow();
+	}
+
+	@Test
+	public void coalescesOutputOfAStream() throws Exception {
+		ProcessOutputQueue queue = createQueue(50, 64 * 1024, 1024 * 1024);
+		for (int i = 0; i < 100; i++) {
+			queue.append(SERVER, PROCESS, 1, "line " + i + "\n");
+		}
+
+		waitForReceived(1);
+		Thread.sleep(100);
+
+		assertThat(received).hasSize(1);
+		assertThat(received.get(0).getText()).startsWith("line 0\n").endsWith("line 99\n");
+		assertThat(queue.getPending()).isEqualTo(0);
+	}
+
+	@Test
+	public void sendsStreamsSeparately() throws Exception {
+		ProcessOutputQueue queue = createQueue(50, 64 * 1024, 1024 * 1024);
+		queue.append(SERVER, PROCESS, 1, "out");
+		queue.append(SERVER, PROCESS, 2, "err");
+		queue.append(SERVER, PROCESS, 1, "out");
+
+		waitForReceived(2);
+
+		assertThat(received).hasSize(2);
+		assertThat(received.get(0).getText()).isEqualTo("outout");
+		assertThat(received.get(0).getStreamType()).isEqualTo(1);
+		assertThat(received.get(1).getText()).isEqualTo("err");
+		assertThat(received.get(1).getStreamType()).isEqualTo(2);
+	}
+
+	@Test
+	public void sendsFullBatchWithoutWaitingForDelay() throws Exception {
+		ProcessOutputQueue queue = createQueue(60000, 10, 1024 * 1024);
+		queue.append(SERVER, PROCESS, 1, "0123456789abc");
+
+		waitForReceived(2);
+
+		assertThat(received).hasSize(2);
+		assertThat(received.get(0).getText()).isEqualTo("0123456789");
+		assertThat(received.get(1).getText()).isEqualTo("abc");
+	}
+
+	@Test
+	public void skipsOutputIfClientFallsBehind() throws Exception {
+		this.clientBlocked = new CountDownLatch(1);
+		ProcessOutputQueue queue = createQueue(0, 100, 100);
+		queue.append(SERVER, PROCESS, 1, "first\n");
+		waitForPending(queue, 6);
+		// client is blocked sending the first batch, only 94 chars still fit
+		for (int i = 0; i < 10; i++) {
+			queue.append(SERVER, PROCESS, 1, "0123456789\n");
+		}
+		assertThat(queue.getPending()).isLessThanOrEqualTo(100);
+
+		clientBlocked.countDown();
+		waitForReceived(2);
+
+		String text = concatReceived();
+		assertThat(text).startsWith("first\n");
+		assertThat(text).endsWith(ProcessOutputQueue.getSkippedMarker(22));
+		assertThat(text).doesNotContain("bytes skipped]\n0123");
+	}
+
+	@Test
+	public void outputAfterSkippedOutputIsPrecededByMarker() throws Exception {
+		this.clientBlocked = new CountDownLatch(1);
+		ProcessOutputQueue queue = createQueue(0, 100, 10);
+		queue.append(SERVER, PROCESS, 1, "12345");
+		waitForPending(queue, 5);
+		queue.append(SERVER, PROCESS, 1, "this is too long");
+
+		clientBlocked.countDown();
+		waitForPending(queue, 0);
+		queue.append(SERVER, PROCESS, 1, "after");
+		waitForReceived(2);
+
+		assertThat(concatReceived()).isEqualTo("12345" + ProcessOutputQueue.getSkippedMarker(16) + "after");
+	}
+
+	@Test
+	public void ignoresOutputOnceDisposed() throws Exception {
+		ProcessOutputQueue queue = createQueue(10, 100, 100);
+		queue.dispose();
+		queue.append(SERVER, PROCESS, 1, "ignored");
+
+		Thread.sleep(100);
+
+		assertThat(received).isEmpty();
+	}
+
+	private ProcessOutputQueue createQueue(int delay, int batchSize, int maxPending) {
+		return new ProcessOutputQueue(createClient(), scheduler, sender, delay, batchSize, maxPending);
+	}
+
+	private RSPClient createClient() {
+		return (RSPClient) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { RSPClient.class },
+				(proxy, method, args) -> {
+					if ("serverProcessOutputAppended".equals(method.getName())) {
+						clientBlocked.await(10, TimeUnit.SECONDS);
+						received.add((ServerProcessOutput) args[0]);
+					}
+					return null;
+				});
+	}
+
+	private String concatReceived() {
+		StringBuilder sb = new StringBuilder();
+		for (ServerProcessOutput output : received) {
+			sb.append(output.getText());
+		}
+		return sb.toString();
+	}
+
+	private void waitForReceived(int count) throws InterruptedException {
+		for (int i = 0; i < 100 && received.size() < count; i++) {
+			Thread.sleep(50);
+		}
+		assertThat(received.size()).isGreaterThanOrEqualTo(count);
+	}
+
+	private void waitForPending(ProcessOutputQueue queue, int pending) throws InterruptedException {
+		for (int i = 0; i < 100 && queue.getPending() != pending; i++) {
+			Thread.sleep(50);
+		}
+		assertThat(queue.getPending()).isEqualTo(pending);
+	}
+}
@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.tools.rsp.server.model.internal.RequestExecutor.Lane;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RequestExecutorTest {
+
+	private RequestExecutor executor;
+	private CountDownLatch blocked;
+	private List<String> ran;
+
+	@Before
+	public void before() {
+		this.blocked = new CountDownLatch(1);
+		this.ran = new CopyOnWriteArrayList<>();
+	}
+
+	@After
+	public void after() {
+		blocked.countDown();
+		if (executor != null) {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void runsRequests() throws Exception {
+		this.executor = new RequestExecutor(2, 2, 100, false);
+		CountDownLatch done = new CountDownLatch(10);
+
+		for (int i = 0; i < 10; i++) {
+			executor.execute(Lane.QUICK, "client1", () -> done.countDown());
+		}
+
+		assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	public void slowRequestsDoNotBlockQuickRequests() throws Exception {
+		this.executor = new RequestExecutor(1, 1, 100, false);
+		block(Lane.SLOW, "client1");
+		CountDownLatch quick = new CountDownLatch(1);
+
+		executor.execute(Lane.QUICK, "client1", () -> quick.countDown());
+
+		assertThat(quick.await(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	public void clientsTakeTurns() throws Exception {
+		this.executor = new RequestExecutor(1, 1, 100, false);
+		block(Lane.QUICK, "client0");
+		for (int i = 1; i <= 3; i++) {
+			String request = "a" + i;
+			executor.execute(Lane.QUICK, "clientA", () -> ran.add(request));
+		}
+		executor.execute(Lane.QUICK, "clientB", () -> ran.add("b1"));
+		assertThat(executor.getQueued(Lane.QUICK)).isEqualTo(4);
+
+		blocked.countDown();
+		waitForRan(4);
+
+		assertThat(ran).containsExactly("a1", "b1", "a2", "a3");
+	}
+
+	@Test
+	public void rejectsRequestsIfLaneIsFull() throws Exception {
+		this.executor = new RequestExecutor(1, 1, 2, false);
+		block(Lane.SLOW, "client1");
+		executor.execute(Lane.SLOW, "client1", () -> ran.add("1"));
+		executor.execute(Lane.SLOW, "client1", () -> ran.add("2"));
+
+		try {
+			executor.execute(Lane.SLOW, "client1", () -> ran.add("3"));
+			fail("Request should have been rejected");
+		} catch(RejectedExecutionException e) {
+			// expected
+		}
+		// other lane still accepts
+		executor.execute(Lane.QUICK, "client1", () -> ran.add("quick"));
+
+		assertThat(executor.getQueued(Lane.SLOW)).isEqualTo(2);
+		assertThat(executor.getMaxQueued(Lane.SLOW)).isEqualTo(2);
+		assertThat(executor.getRejected(Lane.SLOW)).isEqualTo(1);
+		assertThat(executor.getActive(Lane.SLOW)).isEqualTo(1);
+	}
+
+	@Test
+	public void continuesAfterFailingRequest() throws Exception {
+		this.executor = new RequestExecutor(1, 1, 100, false);
+		CountDownLatch done = new CountDownLatch(1);
+
+		executor.execute(Lane.QUICK, null, () -> { throw new IllegalStateException("expected"); });
+		executor.execute(Lane.QUICK, null, () -> done.countDown());
+
+		assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	public void rejectsRequestsAfterShutdown() throws Exception {
+		this.executor = new RequestExecutor(1, 1, 100, false);
+		executor.shutdown();
+
+		try {
+			executor.execute(Lane.QUICK, "client1", () -> ran.add("1"));
+			fail("Request should have been rejected");
+		} catch(RejectedExecutionException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void cancelsQueuedRequestsOnShutdown() throws Exception {
+		this.executor = new RequestExecutor(1, 1, 100, false);
+		block(Lane.SLOW, "client1");
+		CompletableFuture<String> result = new CompletableFuture<>();
+		executor.execute(Lane.SLOW, "client1", () -> result.complete("ran"), result);
+
+		executor.shutdown();
+
+		assertThat(result.isCancelled()).isTrue();
+		assertThat(executor.getQueued(Lane.SLOW)).isEqualTo(0);
+	}
+
+	@Test
+	public void runsRequestsIfVirtualThreadsAreRequested() throws Exception {
+		this.executor = new RequestExecutor(1, 1, 100, true);
+		CountDownLatch done = new CountDownLatch(1);
+
+		executor.execute(Lane.QUICK, "client1", () -> done.countDown());
+
+		assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+	private void block(Lane lane, String client) throws InterruptedException {
+		CountDownLatch running = new CountDownLatch(1);
+		executor.execute(lane, client, () -> {
+			running.countDown();
+			try {
+				blocked.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+	private void waitForRan(int count) throws InterruptedException {
+		for (int i = 0; i < 100 && ran.size() < count; i++) {
+			Thread.sleep(10);
+		}
+	}
+}
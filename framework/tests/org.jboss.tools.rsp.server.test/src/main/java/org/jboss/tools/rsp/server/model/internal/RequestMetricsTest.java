@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.tools.rsp.api.dao.RequestMethodMetrics;
+import org.jboss.tools.rsp.api.dao.ServerMetrics;
+import org.junit.Test;
+
+public class RequestMetricsTest {
+
+	@Test
+	public void countsRequestsPerMethod() {
+		RequestMetrics metrics = new RequestMetrics(0);
+		end(metrics, "server/getServerHandles", 1, false);
+		end(metrics, "server/getServerHandles", 3, false);
+		end(metrics, "server/publish", 200, true);
+
+		ServerMetrics all = metrics.getMetrics();
+
+		assertThat(all.getMethods()).hasSize(2);
+		RequestMethodMetrics handles = all.getMethods().get(0);
+		assertThat(handles.getMethod()).isEqualTo("server/getServerHandles");
+		assertThat(handles.getCount()).isEqualTo(2);
+		assertThat(handles.getErrors()).isEqualTo(0);
+		assertThat(handles.getMeanMillis()).isEqualTo(2.0);
+		assertThat(handles.getMaxMillis()).isEqualTo(3);
+		RequestMethodMetrics publish = all.getMethods().get(1);
+		assertThat(publish.getMethod()).isEqualTo("server/publish");
+		assertThat(publish.getErrors()).isEqualTo(1);
+	}
+
+	@Test
+	public void fillsHistogramBuckets() {
+		RequestMetrics metrics = new RequestMetrics(0);
+		end(metrics, "m", 1, false);
+		end(metrics, "m", 7, false);
+		end(metrics, "m", 60000, false);
+
+		RequestMethodMetrics m = metrics.getMetrics().getMethods().get(0);
+
+		assertThat(m.getHistogram()).hasSize(m.getHistogramBounds().size() + 1);
+		// <= 1ms
+		assertThat(m.getHistogram().get(0)).isEqualTo(1);
+		// <= 10ms
+		assertThat(m.getHistogram().get(m.getHistogramBounds().indexOf(10L))).isEqualTo(1);
+		// longer than the last bound
+		assertThat(m.getHistogram().get(m.getHistogramBounds().size())).isEqualTo(1);
+	}
+
+	@Test
+	public void estimatesPercentiles() {
+		RequestMetrics metrics = new RequestMetrics(0);
+		for (int i = 0; i < 98; i++) {
+			end(metrics, "m", 2, false);
+		}
+		end(metrics, "m", 400, false);
+		end(metrics, "m", 700, false);
+
+		RequestMethodMetrics m = metrics.getMetrics().getMethods().get(0);
+
+		assertThat(RequestMetrics.getPercentile(m, 0.5)).isEqualTo(2);
+		assertThat(RequestMetrics.getPercentile(m, 0.99)).isEqualTo(500);
+		assertThat(RequestMetrics.getPercentile(m, 1)).isEqualTo(700);
+	}
+
+	@Test
+	public void tracksRequestsInFlight() {
+		RequestMetrics metrics = new RequestMetrics(0);
+		metrics.requestStarted();
+		metrics.requestStarted();
+		metrics.requestStarted();
+		assertThat(metrics.getInFlight()).isEqualTo(3);
+
+		metrics.requestEnded("m", "client", 0, false);
+		metrics.requestAbandoned();
+
+		assertThat(metrics.getInFlight()).isEqualTo(1);
+		assertThat(metrics.getMetrics().getInFlight()).isEqualTo(1);
+	}
+
+	@Test
+	public void countsBytes() {
+		RequestMetrics metrics = new RequestMetrics(0);
+		metrics.bytesReceived(100);
+		metrics.bytesSent(30);
+		metrics.bytesSent(12);
+
+		ServerMetrics all = metrics.getMetrics();
+
+		assertThat(all.getBytesReceived()).isEqualTo(100);
+		assertThat(all.getBytesSent()).isEqualTo(42);
+	}
+
+	@Test
+	public void summaryListsMethods() {
+		RequestMetrics metrics = new RequestMetrics(0);
+		end(metrics, "server/getServerHandles", 1, false);
+
+		assertThat(metrics.getSummary()).contains("server/getServerHandles: count=1 errors=0");
+	}
+
+	private void end(RequestMetrics metrics, String method, long millis, boolean error) {
+		metrics.requestStarted();
+		metrics.requestEnded(method, "client", TimeUnit.MILLISECONDS.toNanos(millis), error);
+	}
+}
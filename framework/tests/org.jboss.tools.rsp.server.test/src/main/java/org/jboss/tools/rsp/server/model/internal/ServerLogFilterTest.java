@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.PatternSyntaxException;
+
+import org.jboss.tools.rsp.api.ServerManagementAPIConstants;
+import org.jboss.tools.rsp.api.dao.ServerHandle;
+import org.jboss.tools.rsp.api.dao.ServerLogSubscription;
+import org.junit.Test;
+
+public class ServerLogFilterTest {
+
+	private static final int OUT = ServerManagementAPIConstants.STREAM_TYPE_SYSOUT;
+	private static final int ERR = ServerManagementAPIConstants.STREAM_TYPE_SYSERR;
+
+	private static final String INFO = "12:00:00,000 INFO  [org.jboss.as] (MSC service thread 1-2) WFLYSRV0049: starting\n";
+	private static final String ERROR = "12:00:01,000 ERROR [org.jboss.msc] (MSC service thread 1-3) MSC000001: Failed to start service\n";
+	private static final String TRACE = "\tat org.jboss.msc.service.ServiceControllerImpl.start(ServiceControllerImpl.java:1730)\n";
+
+	@Test
+	public void passesEverythingWithoutFilters() {
+		ServerLogFilter filter = new ServerLogFilter(createSubscription(null, null, null, null, 0));
+
+		assertThat(filter.filter("p1", OUT, INFO + ERROR)).isEqualTo(INFO + ERROR);
+	}
+
+	@Test
+	public void passThroughDoesNotHoldBackIncompleteLines() {
+		ServerLogFilter filter = new ServerLogFilter("s1");
+
+		assertThat(filter.isPassThrough()).isTrue();
+		assertThat(filter.filter("p1", OUT, "Password: ")).isEqualTo("Password: ");
+	}
+
+	@Test
+	public void forgetsStreamsOfTerminatedProcess() {
+		ServerLogFilter filter = new ServerLogFilter(createSubscription(null, null, Arrays.asList("ERROR"), null, 0));
+		filter.filter("p1", OUT, "12:00:01,000 ERR");
+		filter.filter("p1", ERR, INFO);
+		filter.filter("p2", OUT, INFO);
+		assertThat(filter.getProcessCount()).isEqualTo(2);
+
+		filter.processTerminated("p1");
+
+		assertThat(filter.getProcessCount()).isEqualTo(1);
+		// the partial line of the terminated process is not continued
+		assertThat(filter.filter("p1", OUT, "OR [org.jboss.msc] MSC000001: Failed to start service\n")).isEmpty();
+	}
+
+	@Test
+	public void filtersStreamType() {
+		ServerLogFilter filter = new ServerLogFilter(createSubscription(Arrays.asList(ERR), null, null, null, 0));
+
+		assertThat(filter.filter("p1", OUT, INFO)).isEmpty();
+		assertThat(filter.filter("p1", ERR, ERROR)).isEqualTo(ERROR);
+	}
+
+	@Test
+	public void filtersMinLevelAndKeepsContinuationLines() {
+		ServerLogFilter filter = new ServerLogFilter(createSubscription(null, "warn", null, null, 0));
+
+		assertThat(filter.filter("p1", OUT, INFO + TRACE + ERROR + TRACE + INFO))
+			.isEqualTo(ERROR + TRACE);
+	}
+
+	@Test
+	public void mapsJavaUtilLoggingLevels() {
+		ServerLogFilter filter = new ServerLogFilter(createSubscription(null, "ERROR", null, null, 0));
+
+		assertThat(filter.filter("p1", OUT, "SEVERE: Could not start\nWARNING: Slow\n"))
+			.isEqualTo("SEVERE: Could not start\n");
+	}
+
+	@Test
+	public void holdsBackIncompleteLines() {
+		ServerLogFilter filter = new ServerLogFilter(createSubscription(null, "ERROR", null, null, 0));
+
+		assertThat(filter.filter("p1", OUT, ERROR.substring(0, 10))).isEmpty();
+		assertThat(filter.filter("p1", OUT, ERROR.substring(10))).isEqualTo(ERROR);
+	}
+
+	@Test
+	public void keepsIncompleteLinesPerStream() {
+		ServerLogFilter filter = new ServerLogFilter(createSubscription(Arrays.asList(OUT, ERR), null, null, null, 0));
+
+		assertThat(filter.filter("p1", OUT, "out ")).isEmpty();
+		assertThat(filter.filter("p1", ERR, "err\n")).isEqualTo("err\n");
+		assertThat(filter.filter("p1", OUT, "line\n")).isEqualTo("out line\n");
+	}
+
+	@Test
+	public void filtersIncludesAndExcludes() {
+		ServerLogFilter filter = new ServerLogFilter(createSubscription(null, null, 
+				Arrays.asList("org\\.jboss\\.msc", "WFLYSRV"), Arrays.asList("starting"), 0));
+
+		assertThat(filter.filter("p1", OUT, INFO + ERROR + "something else\n")).isEqualTo(ERROR);
+	}
+
+	@Test
+	public void dropsLinesBeyondBudgetAndMarksThem() {
+		long[] now = new long[] { 1000 };
+		ServerLogFilter filter = new ServerLogFilter(createSubscription(null, null, null, null, 2)) {
+			@Override
+			protected long currentTimeMillis() {
+				return now[0];
+			}
+		};
+
+		assertThat(filter.filter("p1", OUT, "1\n2\n3\n4\n")).isEqualTo("1\n2\n");
+		now[0] = 2000;
+		assertThat(filter.filter("p1", OUT, "5\n")).isEqualTo(ServerLogFilter.getSkippedMarker(2) + "5\n");
+		assertThat(filter.getDropped()).isEqualTo(2);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsUnknownLevel() {
+		new ServerLogFilter(createSubscription(null, "LOUD", null, null, 0));
+	}
+
+	@Test(expected = PatternSyntaxException.class)
+	public void rejectsInvalidExpression() {
+		new ServerLogFilter(createSubscription(null, null, Collections.singletonList("[unclosed"), null, 0));
+	}
+
+	private ServerLogSubscription createSubscription(List<Integer> streamTypes, String minLevel, 
+			List<String> includes, List<String> excludes, int maxLinesPerSecond) {
+		return new ServerLogSubscription(new ServerHandle("s1", null), streamTypes, minLevel, 
+				includes, excludes, maxLinesPerSecond);
+	}
+}
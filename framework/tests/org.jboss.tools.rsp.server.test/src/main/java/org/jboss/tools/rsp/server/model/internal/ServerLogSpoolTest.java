@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.regex.Pattern;
+
+import org.jboss.tools.rsp.server.model.internal.ServerLogSpool.Range;
+import org.jboss.tools.rsp.server.model.internal.ServerLogSpool.SearchResult;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ServerLogSpoolTest {
+
+	private File directory;
+	private ServerLogSpool spool;
+
+	@Before
+	public void before() throws IOException {
+		this.directory = Files.createTempDirectory("ServerLogSpoolTest").toFile();
+		this.spool = new ServerLogSpool(new File(directory, "server1"), 100, 3);
+	}
+
+	@After
+	public void after() {
+		spool.delete();
+		directory.delete();
+	}
+
+	@Test
+	public void readsRangeThatWasAppended() throws IOException {
+		spool.append("hello ");
+		spool.append("world\n");
+
+		Range range = spool.read(6, 5);
+
+		assertThat(range.getText()).isEqualTo("world");
+		assertThat(range.getStart()).isEqualTo(6);
+		assertThat(range.getEnd()).isEqualTo(11);
+		assertThat(spool.getSize()).isEqualTo(12);
+	}
+
+	@Test
+	public void readsAcrossSegments() throws IOException {
+		String text = createLines(0, 15);
+		spool.append(text);
+
+		Range range = spool.read(90, 20);
+
+		assertThat(range.getText()).isEqualTo(text.substring(90, 110));
+	}
+
+	@Test
+	public void rotatesOldSegmentsAway() throws IOException {
+		String text = createLines(0, 60);
+		spool.append(text);
+
+		assertThat(spool.getSize()).isEqualTo(text.length());
+		assertThat(spool.getFirstOffset()).isEqualTo(text.length() - (text.length() % 100) - 200);
+		assertThat(new File(directory, "server1").listFiles()).hasSize(3);
+
+		Range range = spool.read(0, 10);
+		assertThat(range.getStart()).isEqualTo(spool.getFirstOffset());
+	}
+
+	@Test
+	public void keepsOffsetsAcrossRestart() throws IOException {
+		spool.append(createLines(0, 20));
+		long size = spool.getSize();
+		spool.close();
+
+		this.spool = new ServerLogSpool(new File(directory, "server1"), 100, 3);
+		spool.append("after restart\n");
+
+		assertThat(spool.getSize()).isEqualTo(size + 14);
+		assertThat(spool.read(size, 100).getText()).isEqualTo("after restart\n");
+	}
+
+	@Test
+	public void tailReturnsLastLines() throws IOException {
+		spool.append(createLines(0, 20));
+
+		long offset = spool.getTailOffset(2, 1000);
+
+		assertThat(spool.read(offset, 1000).getText()).isEqualTo("line 18\nline 19\n");
+	}
+
+	@Test
+	public void tailIncludesIncompleteLastLine() throws IOException {
+		spool.append("line 1\nline 2\nline");
+
+		long offset = spool.getTailOffset(2, 1000);
+
+		assertThat(spool.read(offset, 1000).getText()).isEqualTo("line 2\nline");
+	}
+
+	@Test
+	public void searchFindsMatchingLinesWithOffsets() throws IOException {
+		String text = createLines(0, 20);
+		spool.append(text);
+
+		SearchResult result = spool.search(Pattern.compile("line 1[27]"), 0, 10);
+
+		assertThat(result.getLines()).hasSize(2);
+		assertThat(result.getLines().get(0).getText()).isEqualTo("line 12");
+		assertThat(result.getLines().get(0).getOffset()).isEqualTo(text.indexOf("line 12"));
+		assertThat(result.getLines().get(1).getText()).isEqualTo("line 17");
+		assertThat(result.getNextOffset()).isEqualTo(text.length());
+	}
+
+	@Test
+	public void searchStopsAtMaxResults() throws IOException {
+		String text = createLines(0, 20);
+		spool.append(text);
+
+		SearchResult result = spool.search(Pattern.compile("line"), 0, 3);
+
+		assertThat(result.getLines()).hasSize(3);
+		assertThat(result.getNextOffset()).isEqualTo(text.indexOf("line 3"));
+
+		SearchResult next = spool.search(Pattern.compile("line"), result.getNextOffset(), 1);
+		assertThat(next.getLines().get(0).getText()).isEqualTo("line 3");
+	}
+
+	@Test
+	public void rangeDoesNotSplitCharacters() throws IOException {
+		// each é is 2 bytes in UTF-8
+		spool.append("ééé");
+
+		Range range = spool.read(1, 4);
+
+		assertThat(range.getText()).isEqualTo("é");
+		assertThat(range.getStart()).isEqualTo(2);
+		assertThat(range.getEnd()).isEqualTo(4);
+	}
+
+	@Test
+	public void deleteRemovesSegments() throws IOException {
+		spool.append(createLines(0, 20));
+
+		spool.delete();
+
+		assertThat(new File(directory, "server1").exists()).isFalse();
+	}
+
+	private String createLines(int from, int to) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = from; i < to; i++) {
+			sb.append("line ").append(i).append('\n');
+		}
+		return sb.toString();
+	}
+}
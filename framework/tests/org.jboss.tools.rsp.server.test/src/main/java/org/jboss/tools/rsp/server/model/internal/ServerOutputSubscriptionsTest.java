@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.jboss.tools.rsp.api.ServerManagementAPIConstants;
+import org.jboss.tools.rsp.api.dao.ServerHandle;
+import org.jboss.tools.rsp.api.dao.ServerLogSubscription;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ServerOutputSubscriptionsTest {
+
+	private static final int OUT = ServerManagementAPIConstants.STREAM_TYPE_SYSOUT;
+
+	private ServerOutputSubscriptions subscriptions;
+
+	@Before
+	public void before() {
+		this.subscriptions = new ServerOutputSubscriptions();
+	}
+
+	@Test
+	public void sendsAllServersByDefault() {
+		assertThat(subscriptions.filter("s1", "p1", OUT, "hello")).isEqualTo("hello");
+		assertThat(subscriptions.filter("s2", "p1", OUT, "hello")).isEqualTo("hello");
+	}
+
+	@Test
+	public void doesNotSendUnsubscribedServer() {
+		subscriptions.unsubscribe("s1");
+
+		assertThat(subscriptions.filter("s1", "p1", OUT, "hello")).isEmpty();
+		assertThat(subscriptions.filter("s2", "p1", OUT, "hello")).isEqualTo("hello");
+	}
+
+	@Test
+	public void sendsNothingIfOptedInWithoutSubscription() {
+		subscriptions.setOptIn(true);
+
+		assertThat(subscriptions.filter("s1", "p1", OUT, "hello")).isEmpty();
+		assertThat(subscriptions.isSubscribed("s1")).isFalse();
+	}
+
+	@Test
+	public void sendsSubscribedServerIfOptedIn() {
+		subscriptions.setOptIn(true);
+		subscriptions.subscribe("s1");
+
+		assertThat(subscriptions.filter("s1", "p1", OUT, "hello")).isEqualTo("hello");
+		assertThat(subscriptions.filter("s2", "p1", OUT, "hello")).isEmpty();
+
+		subscriptions.unsubscribe("s1");
+		assertThat(subscriptions.filter("s1", "p1", OUT, "hello")).isEmpty();
+	}
+
+	@Test
+	public void filterSubscribesAndCanBeRemoved() {
+		subscriptions.setOptIn(true);
+		subscriptions.subscribe(new ServerLogFilter(new ServerLogSubscription(
+				new ServerHandle("s1", null), null, "ERROR", null, null, 0)));
+
+		assertThat(subscriptions.filter("s1", "p1", OUT, "INFO started\nERROR failed\n")).isEqualTo("ERROR failed\n");
+
+		subscriptions.removeFilter("s1");
+		assertThat(subscriptions.filter("s1", "p1", OUT, "INFO started\n")).isEqualTo("INFO started\n");
+	}
+
+	@Test
+	public void forgetsRemovedServer() {
+		subscriptions.unsubscribe("s1");
+
+		subscriptions.serverRemoved("s1");
+
+		assertThat(subscriptions.isSubscribed("s1")).isTrue();
+	}
+}
@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.jboss.tools.rsp.api.ServerManagementAPIConstants;
+import org.jboss.tools.rsp.api.dao.ServerHandle;
+import org.jboss.tools.rsp.api.dao.ServerState;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ServerStateCoalescerTest {
+
+	private static final ServerHandle SERVER1 = new ServerHandle("server1", null);
+	private static final ServerHandle SERVER2 = new ServerHandle("server2", null);
+
+	private ScheduledExecutorService scheduler;
+	private List<ServerState> sent;
+
+	@Before
+	public void before() {
+		this.scheduler = Executors.newSingleThreadScheduledExecutor();
+		this.sent = new CopyOnWriteArrayList<>();
+	}
+
+	@After
+	public void after() {
+		scheduler.shutdownNow();
+	}
+
+	@Test
+	public void collapsesBurstOfAPublish() throws Exception {
+		ServerStateCoalescer coalescer = createCoalescer(50);
+		// publish state, 3 deployables, run state and publish state again
+		coalescer.stateChanged(SERVER1, createState(SERVER1, ServerManagementAPIConstants.STATE_STARTED, 
+				ServerManagementAPIConstants.PUBLISH_STATE_INCREMENTAL));
+		for (int i = 0; i < 3; i++) {
+			coalescer.stateChanged(SERVER1, createState(SERVER1, ServerManagementAPIConstants.STATE_STARTED, 
+					ServerManagementAPIConstants.PUBLISH_STATE_INCREMENTAL));
+		}
+		coalescer.stateChanged(SERVER1, createState(SERVER1, ServerManagementAPIConstants.STATE_STARTING, 
+				ServerManagementAPIConstants.PUBLISH_STATE_INCREMENTAL));
+		coalescer.stateChanged(SERVER1, createState(SERVER1, ServerManagementAPIConstants.STATE_STARTED, 
+				ServerManagementAPIConstants.PUBLISH_STATE_NONE));
+
+		waitForSent(1);
+		Thread.sleep(100);
+
+		assertThat(sent).hasSize(1);
+		assertThat(sent.get(0).getState()).isEqualTo(ServerManagementAPIConstants.STATE_STARTED);
+		assertThat(sent.get(0).getPublishState()).isEqualTo(ServerManagementAPIConstants.PUBLISH_STATE_NONE);
+		assertThat(coalescer.getReceived()).isEqualTo(6);
+		assertThat(coalescer.getSent()).isEqualTo(1);
+	}
+
+	@Test
+	public void sendsRightAwayWithoutWindow() throws Exception {
+		ServerStateCoalescer coalescer = createCoalescer(0);
+
+		coalescer.stateChanged(SERVER1, createState(SERVER1, ServerManagementAPIConstants.STATE_STARTING, 
+				ServerManagementAPIConstants.PUBLISH_STATE_NONE));
+		coalescer.stateChanged(SERVER1, createState(SERVER1, ServerManagementAPIConstants.STATE_STARTED, 
+				ServerManagementAPIConstants.PUBLISH_STATE_NONE));
+
+		assertThat(sent).hasSize(2);
+		assertThat(coalescer.getReceived()).isEqualTo(2);
+		assertThat(coalescer.getSent()).isEqualTo(2);
+	}
+
+	@Test
+	public void doesNotCollapseDifferentServers() throws Exception {
+		ServerStateCoalescer coalescer = createCoalescer(50);
+
+		coalescer.stateChanged(SERVER1, createState(SERVER1, ServerManagementAPIConstants.STATE_STARTING, 
+				ServerManagementAPIConstants.PUBLISH_STATE_NONE));
+		coalescer.stateChanged(SERVER2, createState(SERVER2, ServerManagementAPIConstants.STATE_STARTING, 
+				ServerManagementAPIConstants.PUBLISH_STATE_NONE));
+
+		waitForSent(2);
+
+		assertThat(sent).hasSize(2);
+	}
+
+	@Test
+	public void opensNewWindowAfterSending() throws Exception {
+		ServerStateCoalescer coalescer = createCoalescer(20);
+		coalescer.stateChanged(SERVER1, createState(SERVER1, ServerManagementAPIConstants.STATE_STARTING, 
+				ServerManagementAPIConstants.PUBLISH_STATE_NONE));
+		waitForSent(1);
+
+		coalescer.stateChanged(SERVER1, createState(SERVER1, ServerManagementAPIConstants.STATE_STARTED, 
+				ServerManagementAPIConstants.PUBLISH_STATE_NONE));
+		waitForSent(2);
+
+		assertThat(sent).hasSize(2);
+		assertThat(sent.get(1).getState()).isEqualTo(ServerManagementAPIConstants.STATE_STARTED);
+	}
+
+	@Test
+	public void dropsPendingStateOfRemovedServer() throws Exception {
+		ServerStateCoalescer coalescer = createCoalescer(20);
+		coalescer.stateChanged(SERVER1, createState(SERVER1, ServerManagementAPIConstants.STATE_STARTING, 
+				ServerManagementAPIConstants.PUBLISH_STATE_NONE));
+
+		coalescer.remove(SERVER1.getId());
+		Thread.sleep(100);
+
+		assertThat(sent).isEmpty();
+	}
+
+	private ServerStateCoalescer createCoalescer(int delay) {
+		return new ServerStateCoalescer(scheduler, delay, (handle, state) -> sent.add(state));
+	}
+
+	private ServerState createState(ServerHandle server, int state, int publishState) {
+		ServerState serverState = new ServerState();
+		serverState.setServer(server);
+		serverState.setState(state);
+		serverState.setPublishState(publishState);
+		return serverState;
+	}
+
+	private void waitForSent(int count) throws InterruptedException {
+		for (int i = 0; i < 100 && sent.size() < count; i++) {
+			Thread.sleep(10);
+		}
+	}
+}
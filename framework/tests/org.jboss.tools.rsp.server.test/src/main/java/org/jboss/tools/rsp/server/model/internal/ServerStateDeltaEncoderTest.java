@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2019 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.jboss.tools.rsp.api.ServerManagementAPIConstants;
+import org.jboss.tools.rsp.api.dao.DeployableReference;
+import org.jboss.tools.rsp.api.dao.DeployableState;
+import org.jboss.tools.rsp.api.dao.ServerHandle;
+import org.jboss.tools.rsp.api.dao.ServerState;
+import org.jboss.tools.rsp.api.dao.ServerStateDelta;
+import org.junit.Test;
+
+public class ServerStateDeltaEncoderTest {
+
+	private static final ServerHandle SERVER = new ServerHandle("wildfly", null);
+	private static final DeployableReference WAR = new DeployableReference("app.war", "/tmp/app.war");
+	private static final DeployableReference EAR = new DeployableReference("app.ear", "/tmp/app.ear");
+
+	@Test
+	public void firstStateIsFull() {
+		ServerStateDeltaEncoder encoder = new ServerStateDeltaEncoder(50);
+
+		ServerStateDelta delta = encoder.next(createState(ServerManagementAPIConstants.STATE_STOPPED,
+				deployable(WAR, ServerManagementAPIConstants.STATE_STOPPED)));
+
+		assertThat(delta.isFull()).isTrue();
+		assertThat(delta.getVersion()).isEqualTo(1);
+		assertThat(delta.getState()).isEqualTo(ServerManagementAPIConstants.STATE_STOPPED);
+		assertThat(delta.getRunMode()).isEqualTo("run");
+		assertThat(delta.getAddedDeployables()).hasSize(1);
+	}
+
+	@Test
+	public void sendsChangedFieldsOnly() {
+		ServerStateDeltaEncoder encoder = new ServerStateDeltaEncoder(50);
+		encoder.next(createState(ServerManagementAPIConstants.STATE_STOPPED));
+
+		ServerStateDelta delta = encoder.next(createState(ServerManagementAPIConstants.STATE_STARTING));
+
+		assertThat(delta.isFull()).isFalse();
+		assertThat(delta.getBaseVersion()).isEqualTo(1);
+		assertThat(delta.getVersion()).isEqualTo(2);
+		assertThat(delta.getState()).isEqualTo(ServerManagementAPIConstants.STATE_STARTING);
+		assertThat(delta.getPublishState()).isNull();
+		assertThat(delta.getRunMode()).isNull();
+		assertThat(delta.getAddedDeployables()).isEmpty();
+		assertThat(delta.getChangedDeployables()).isEmpty();
+		assertThat(delta.getRemovedDeployables()).isEmpty();
+	}
+
+	@Test
+	public void sendsAddedChangedAndRemovedDeployables() {
+		ServerStateDeltaEncoder encoder = new ServerStateDeltaEncoder(50);
+		encoder.next(createState(ServerManagementAPIConstants.STATE_STARTED,
+				deployable(WAR, ServerManagementAPIConstants.STATE_STOPPED),
+				deployable(EAR, ServerManagementAPIConstants.STATE_STARTED)));
+
+		DeployableReference jar = new DeployableReference("lib.jar", "/tmp/lib.jar");
+		ServerStateDelta delta = encoder.next(createState(ServerManagementAPIConstants.STATE_STARTED,
+				deployable(WAR, ServerManagementAPIConstants.STATE_STARTED),
+				deployable(jar, ServerManagementAPIConstants.STATE_STARTED)));
+
+		assertThat(delta.getState()).isNull();
+		assertThat(delta.getChangedDeployables()).hasSize(1);
+		assertThat(delta.getChangedDeployables().get(0).getReference()).isEqualTo(WAR);
+		assertThat(delta.getAddedDeployables()).hasSize(1);
+		assertThat(delta.getAddedDeployables().get(0).getReference()).isEqualTo(jar);
+		assertThat(delta.getRemovedDeployables()).containsExactly(EAR);
+	}
+
+	@Test
+	public void sendsNothingIfUnchanged() {
+		ServerStateDeltaEncoder encoder = new ServerStateDeltaEncoder(50);
+		encoder.next(createState(ServerManagementAPIConstants.STATE_STARTED,
+				deployable(WAR, ServerManagementAPIConstants.STATE_STARTED)));
+
+		ServerStateDelta delta = encoder.next(createState(ServerManagementAPIConstants.STATE_STARTED,
+				deployable(WAR, ServerManagementAPIConstants.STATE_STARTED)));
+
+		assertThat(delta).isNull();
+		assertThat(encoder.next(createState(ServerManagementAPIConstants.STATE_STOPPING)).getBaseVersion())
+			.isEqualTo(1);
+	}
+
+	@Test
+	public void sendsFullStateAfterInterval() {
+		ServerStateDeltaEncoder encoder = new ServerStateDeltaEncoder(2);
+		encoder.next(createState(ServerManagementAPIConstants.STATE_STOPPED));
+		assertThat(encoder.next(createState(ServerManagementAPIConstants.STATE_STARTING)).isFull()).isFalse();
+		assertThat(encoder.next(createState(ServerManagementAPIConstants.STATE_STARTED)).isFull()).isFalse();
+
+		ServerStateDelta delta = encoder.next(createState(ServerManagementAPIConstants.STATE_STOPPING));
+
+		assertThat(delta.isFull()).isTrue();
+		assertThat(delta.getVersion()).isEqualTo(4);
+		assertThat(encoder.next(createState(ServerManagementAPIConstants.STATE_STOPPED)).isFull()).isFalse();
+	}
+
+	@Test
+	public void requestedFullStateIsBaseOfNextDelta() {
+		ServerStateDeltaEncoder encoder = new ServerStateDeltaEncoder(50);
+		encoder.next(createState(ServerManagementAPIConstants.STATE_STOPPED));
+		encoder.next(createState(ServerManagementAPIConstants.STATE_STARTING));
+
+		ServerStateDelta full = encoder.full(createState(ServerManagementAPIConstants.STATE_STARTING));
+		ServerStateDelta delta = encoder.next(createState(ServerManagementAPIConstants.STATE_STARTED));
+
+		assertThat(full.isFull()).isTrue();
+		assertThat(full.getVersion()).isEqualTo(3);
+		assertThat(delta.getBaseVersion()).isEqualTo(3);
+		assertThat(delta.getVersion()).isEqualTo(4);
+	}
+
+	@Test
+	public void removedServerStartsOverWithFullState() {
+		ServerStateDeltaEncoder encoder = new ServerStateDeltaEncoder(50);
+		encoder.next(createState(ServerManagementAPIConstants.STATE_STOPPED));
+
+		encoder.remove(SERVER.getId());
+		ServerStateDelta delta = encoder.next(createState(ServerManagementAPIConstants.STATE_STARTING));
+
+		assertThat(delta.isFull()).isTrue();
+		assertThat(delta.getVersion()).isEqualTo(1);
+	}
+
+	private ServerState createState(int state, DeployableState... deployables) {
+		ServerState serverState = new ServerState();
+		serverState.setServer(SERVER);
+		serverState.setState(state);
+		serverState.setPublishState(ServerManagementAPIConstants.PUBLISH_STATE_NONE);
+		serverState.setRunMode("run");
+		serverState.setDeployableStates(Arrays.asList(deployables));
+		return serverState;
+	}
+
+	private DeployableState deployable(DeployableReference reference, int state) {
+		return new DeployableState(SERVER, reference, state, ServerManagementAPIConstants.PUBLISH_STATE_NONE);
+	}
+}
@@ -17,6 +17,7 @@ import org.jboss.tools.rsp.api.RSPClient;
 import org.jboss.tools.rsp.api.RSPServer;
 import org.jboss.tools.rsp.api.ServerManagementAPIConstants;
 import org.jboss.tools.rsp.api.dao.DiscoveryPath;
+import org.jboss.tools.rsp.api.dao.EventSequence;
 import org.jboss.tools.rsp.api.dao.JobHandle;
 import org.jboss.tools.rsp.api.dao.JobProgress;
 import org.jboss.tools.rsp.api.dao.JobRemoved;
@@ -24,6 +25,7 @@ import org.jboss.tools.rsp.api.dao.ServerHandle;
 import org.jboss.tools.rsp.api.dao.ServerProcess;
 import org.jboss.tools.rsp.api.dao.ServerProcessOutput;
 import org.jboss.tools.rsp.api.dao.ServerState;
+import org.jboss.tools.rsp.api.dao.ServerStateDelta;
 import org.jboss.tools.rsp.api.dao.StringPrompt;
 
 public class ClientImpl implements RSPClient {
@@ -85,6 +87,17 @@ public class ClientImpl implements RSPClient {
 		System.out.println("Server state changed: " + state.getServer().getType() + ":" + state.getServer().getId() + " to " + stateString);
 	}
 
+	@Override
+	public void serverStateDelta(ServerStateDelta delta) {
+		System.out.println("Server state delta: " + delta.getServer().getType() + ":" + delta.getServer().getId() 
+				+ " to version " + delta.getVersion());
+	}
+
+	@Override
+	public void eventSequence(EventSequence sequence) {
+		System.out.println("Event sequence: " + sequence.getSequence());
+	}
+
 	@Override
 	public void serverProcessCreated(ServerProcess process) {
 		System.out.println("Server process created: " + 
@@ -23,10 +23,21 @@ import org.jboss.tools.rsp.server.minishift.servertype.IMinishiftServerAttribute
 import org.jboss.tools.rsp.server.minishift.servertype.MinishiftPropertyUtility;
 import org.jboss.tools.rsp.server.spi.model.polling.AbstractPoller;
 import org.jboss.tools.rsp.server.spi.model.polling.IServerStatePoller;
+import org.jboss.tools.rsp.server.spi.model.polling.PollingBackoff;
 import org.jboss.tools.rsp.server.spi.servertype.IServer;
 
 public class MinishiftStatusPoller extends AbstractPoller implements IServerStatePoller {
-	
+
+	/*
+	 * Each ping spawns a "minishift status" process and 
+	 * the VM takes minutes to boot. Back off to 10s
+	 */
+	private static final PollingBackoff MINISHIFT_POLLING_BACKOFF = new PollingBackoff(1000, 3, 10000, 2, 0.2);
+
+	public MinishiftStatusPoller() {
+		setBackoff(MINISHIFT_POLLING_BACKOFF);
+	}
+
 	@Override
 	protected String getThreadName() {
 		return "Minishift Poller: " + getServer().getName();
@@ -10,8 +10,10 @@ package org.jboss.tools.rsp.server.wildfly.servertype;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.jboss.tools.rsp.api.ServerManagementAPIConstants;
 import org.jboss.tools.rsp.api.dao.Attributes;
@@ -37,9 +39,12 @@ import org.jboss.tools.rsp.server.ServerCoreActivator;
 import org.jboss.tools.rsp.server.model.AbstractServerDelegate;
 import org.jboss.tools.rsp.server.spi.launchers.IServerShutdownLauncher;
 import org.jboss.tools.rsp.server.spi.launchers.IServerStartLauncher;
+import org.jboss.tools.rsp.server.spi.model.polling.HttpProbe;
 import org.jboss.tools.rsp.server.spi.model.polling.IPollResultListener;
 import org.jboss.tools.rsp.server.spi.model.polling.IServerStatePoller;
+import org.jboss.tools.rsp.server.spi.model.polling.LogPatternPoller;
 import org.jboss.tools.rsp.server.spi.model.polling.PollThreadUtils;
+import org.jboss.tools.rsp.server.spi.model.polling.PollingBackoff;
 import org.jboss.tools.rsp.server.spi.model.polling.WebPortPoller;
 import org.jboss.tools.rsp.server.spi.servertype.CreateServerValidation;
 import org.jboss.tools.rsp.server.spi.servertype.IServer;
@@ -58,6 +63,11 @@ public abstract class AbstractJBossServerDelegate extends AbstractServerDelegate
 	
 	private static final Logger LOG = LoggerFactory.getLogger(AbstractJBossServerDelegate.class);
 	public static final String START_LAUNCH_SHARED_DATA = "AbstractJBossServerDelegate.startLaunch";
+	/*
+	 * Web port polling is only a fallback when the console output is watched
+	 */
+	private static final PollingBackoff LOG_PATTERN_FALLBACK_BACKOFF = new PollingBackoff(1000, 0, 5000, 1.5, 0.2);
+	private static final int LIVENESS_CONNECT_TIMEOUT = 1000;
 	
 	private IJBossPublishController publishController;
 	
@@ -160,12 +170,13 @@ public abstract class AbstractJBossServerDelegate extends AbstractServerDelegate
 		
 		CommandLineDetails launchedDetails = null;
 		try {
-			launchPoller(IServerStatePoller.SERVER_STATE.UP);
 			IServerStartLauncher launcher = getStartLauncher();
 			ILaunch startLaunch2 = launcher.launch(mode);
 			launchedDetails = launcher.getLaunchedDetails();
 			setStartLaunch(startLaunch2);
 			registerLaunch(startLaunch2);
+			// poll once launched so that the console output can be watched
+			launchPoller(IServerStatePoller.SERVER_STATE.UP);
 		} catch(CoreException ce) {
 			if( getStartLaunch() != null ) {
 				IProcess[] processes = getStartLaunch().getProcesses();
@@ -222,18 +233,67 @@ public abstract class AbstractJBossServerDelegate extends AbstractServerDelegate
 	
 	/*
 	 * Default implementation, subclasses can override.
+	 * Watches the console output of the launched server if the server type 
+	 * declares log patterns for the started and stopped states. 
+	 * Web port polling is the fallback.
 	 */
 	protected IServerStatePoller getPoller(IServerStatePoller.SERVER_STATE expectedState) {
-		return getDefaultWebPortPoller();
+		ILaunch launch = getStartLaunch();
+		ServerExtendedProperties props = getExtendedProperties();
+		if (launch == null 
+				|| props == null
+				|| (props.getStartedLogPattern() == null 
+					&& props.getStoppedLogPattern() == null)) {
+			return getDefaultWebPortPoller(getPollingBackoff());
+		}
+		return new LogPatternPoller(launch, 
+				props.getStartedLogPattern(), 
+				props.getStoppedLogPattern(), 
+				getDefaultWebPortPoller(LOG_PATTERN_FALLBACK_BACKOFF));
 	}
 	
-	private IServerStatePoller getDefaultWebPortPoller() {
-		return new WebPortPoller("Web Poller: " + this.getServer().getName()) {
+	private IServerStatePoller getDefaultWebPortPoller(PollingBackoff backoff) {
+		WebPortPoller poller = new WebPortPoller("Web Poller: " + this.getServer().getName()) {
 			@Override
 			protected String getURL(IServer server) {
 				return getPollURL(server);
 			}
 		};
+		poller.setBackoff(backoff);
+		return poller;
+	}
+
+	protected PollingBackoff getPollingBackoff() {
+		ServerExtendedProperties props = getExtendedProperties();
+		if (props == null) {
+			return PollingBackoff.DEFAULT;
+		}
+		return props.getPollingBackoff();
+	}
+
+	private ServerExtendedProperties getExtendedProperties() {
+		return new ExtendedServerPropertiesAdapterFactory()
+				.getExtendedProperties(getServer());
+	}
+
+	/*
+	 * Servers that were launched are alive as long as one of their 
+	 * processes is running. Servers that were started externally are 
+	 * alive if their web port accepts connections.
+	 */
+	@Override
+	protected CompletableFuture<Boolean> isAlive() {
+		ILaunch launch = getStartLaunch();
+		if( launch != null && launch.getProcesses().length > 0 ) {
+			boolean alive = Arrays.stream(launch.getProcesses())
+					.anyMatch(p -> !p.isTerminated());
+			return CompletableFuture.completedFuture(alive);
+		}
+		String host = getServer().getAttribute(IJBossServerAttributes.JBOSS_SERVER_HOST, 
+				IJBossServerAttributes.JBOSS_SERVER_HOST_DEFAULT);
+		int port = getServer().getAttribute(IJBossServerAttributes.JBOSS_SERVER_PORT, 
+				IJBossServerAttributes.JBOSS_SERVER_PORT_DEFAULT);
+		return HttpProbe.getDefault().isListening(host, port, LIVENESS_CONNECT_TIMEOUT);
 	}
 
 	@Override
@@ -10,6 +10,8 @@
  ******************************************************************************/ 
 package org.jboss.tools.rsp.server.wildfly.servertype.capabilities;
 
+import java.util.regex.Pattern;
+
 import org.jboss.tools.rsp.server.spi.servertype.IServer;
 import org.jboss.tools.rsp.server.wildfly.impl.util.IJBossRuntimeResourceConstants;
 import org.jboss.tools.rsp.server.wildfly.servertype.launch.IDefaultLaunchArguments;
@@ -17,6 +19,18 @@ import org.jboss.tools.rsp.server.wildfly.servertype.launch.JBoss70DefaultLaunch
 
 public class JBossAS7ExtendedProperties extends JBossExtendedProperties { //implements IJBossManagerServiceProvider {
 
+	/*
+	 * AS7/EAP6: JBAS015874: JBoss AS 7.1.1.Final "Brontes" started in 2142ms
+	 * WildFly/EAP7: WFLYSRV0025: WildFly Full 17.0.0.Final (WildFly Core 9.0.1.Final) started in 3455ms
+	 *               WFLYSRV0026: ... started (with errors) in 3455ms
+	 */
+	private static final Pattern STARTED_LOG_PATTERN = Pattern.compile("JBAS015874|JBAS015875|WFLYSRV0025|WFLYSRV0026");
+	/*
+	 * AS7/EAP6: JBAS015950: JBoss AS 7.1.1.Final "Brontes" stopped in 20ms
+	 * WildFly/EAP7: WFLYSRV0050: WildFly Full 17.0.0.Final (WildFly Core 9.0.1.Final) stopped in 14ms
+	 */
+	private static final Pattern STOPPED_LOG_PATTERN = Pattern.compile("JBAS015950|WFLYSRV0050");
+
 	public JBossAS7ExtendedProperties(IServer obj) {
 		super(obj);
 	}
@@ -56,6 +70,16 @@ public class JBossAS7ExtendedProperties extends JBossExtendedProperties { //impl
 		return new JBoss70DefaultLaunchArguments(server);
 	}
 
+	@Override
+	public Pattern getStartedLogPattern() {
+		return STARTED_LOG_PATTERN;
+	}
+
+	@Override
+	public Pattern getStoppedLogPattern() {
+		return STOPPED_LOG_PATTERN;
+	}
+
 	public String getJBossAdminScript() {
 		return IJBossRuntimeResourceConstants.AS_70_MANAGEMENT_SCRIPT;
 	}
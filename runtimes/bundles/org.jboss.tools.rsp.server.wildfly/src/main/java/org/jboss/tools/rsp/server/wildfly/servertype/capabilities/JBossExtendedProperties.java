@@ -13,6 +13,7 @@ package org.jboss.tools.rsp.server.wildfly.servertype.capabilities;
 import java.io.File;
 
 import org.jboss.tools.rsp.server.discovery.serverbeans.ServerBeanLoader;
+import org.jboss.tools.rsp.server.spi.model.polling.PollingBackoff;
 import org.jboss.tools.rsp.server.spi.servertype.IServer;
 import org.jboss.tools.rsp.server.wildfly.beans.impl.IServerConstants;
 import org.jboss.tools.rsp.server.wildfly.servertype.IJBossServerAttributes;
@@ -35,10 +36,21 @@ public class JBossExtendedProperties extends ServerExtendedProperties {
 			IServerConstants.SERVER_EAP_50,
 	};
 	
+	/**
+	 * Most servers are up within a few seconds but large deployments or 
+	 * EAP may take minutes. Probe fast for 2s, then slow down to 3s. 
+	 */
+	private static final PollingBackoff JBOSS_POLLING_BACKOFF = new PollingBackoff(200, 10, 3000, 1.5, 0.2);
+
 	public JBossExtendedProperties(IServer adaptable) {
 		super(adaptable);
 	}
 
+	@Override
+	public PollingBackoff getPollingBackoff() {
+		return JBOSS_POLLING_BACKOFF;
+	}
+
 	public boolean runtimeSupportsBindingToAllInterfaces() {
 		return true;
 	}
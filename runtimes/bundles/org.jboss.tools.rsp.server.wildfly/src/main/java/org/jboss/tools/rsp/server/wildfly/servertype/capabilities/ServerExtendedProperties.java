@@ -10,8 +10,11 @@
  ******************************************************************************/ 
 package org.jboss.tools.rsp.server.wildfly.servertype.capabilities;
 
+import java.util.regex.Pattern;
+
 import org.jboss.tools.rsp.eclipse.core.runtime.IStatus;
 import org.jboss.tools.rsp.eclipse.core.runtime.Status;
+import org.jboss.tools.rsp.server.spi.model.polling.PollingBackoff;
 import org.jboss.tools.rsp.server.spi.servertype.IServer;
 
 public class ServerExtendedProperties {
@@ -123,4 +126,33 @@ public class ServerExtendedProperties {
 		return true;
 	}
 
+	/**
+	 * The delays between the pings when polling the server for its state. 
+	 * 
+	 * @return the delays to use when polling
+	 */
+	public PollingBackoff getPollingBackoff() {
+		return PollingBackoff.DEFAULT;
+	}
+
+	/**
+	 * The pattern of the console line that the server prints once it is
+	 * started, or {@code null} if there is none.
+	 * 
+	 * @return the pattern or {@code null}
+	 */
+	public Pattern getStartedLogPattern() {
+		return null;
+	}
+
+	/**
+	 * The pattern of the console line that the server prints once it is
+	 * stopped, or {@code null} if there is none.
+	 * 
+	 * @return the pattern or {@code null}
+	 */
+	public Pattern getStoppedLogPattern() {
+		return null;
+	}
+
 }
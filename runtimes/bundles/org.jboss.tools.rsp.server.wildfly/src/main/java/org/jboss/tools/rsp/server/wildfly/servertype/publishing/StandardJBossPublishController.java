@@ -25,9 +25,11 @@ import java.util.stream.Stream;
 import org.jboss.tools.rsp.api.ServerManagementAPIConstants;
 import org.jboss.tools.rsp.api.dao.DeployableReference;
 import org.jboss.tools.rsp.eclipse.core.runtime.CoreException;
+import org.jboss.tools.rsp.eclipse.core.runtime.IProgressMonitor;
 import org.jboss.tools.rsp.eclipse.core.runtime.IStatus;
 import org.jboss.tools.rsp.eclipse.core.runtime.Status;
 import org.jboss.tools.rsp.eclipse.osgi.util.NLS;
+import org.jboss.tools.rsp.server.spi.client.ClientThreadLocal;
 import org.jboss.tools.rsp.server.spi.servertype.IDeployableResourceDelta;
 import org.jboss.tools.rsp.server.spi.servertype.IServer;
 import org.jboss.tools.rsp.server.wildfly.impl.Activator;
@@ -255,7 +257,12 @@ public class StandardJBossPublishController implements IJBossPublishController {
 		try {
 			completeDelete(dest.toPath());
 			dest.mkdirs();
-			Files.walkFileTree(src, new CopyFileVisitor(dest.toPath()));
+			IProgressMonitor monitor = ClientThreadLocal.getRequestMonitor();
+			Files.walkFileTree(src, new CopyFileVisitor(dest.toPath(), monitor));
+			if( monitor.isCanceled()) {
+				// partially copied
+				return ServerManagementAPIConstants.PUBLISH_STATE_FULL;
+			}
 			return ServerManagementAPIConstants.PUBLISH_STATE_NONE;
 		} catch(IOException ioe) {
 			LOG.error("Error publishing module {0} to server {1}", ioe);
@@ -269,8 +276,13 @@ public class StandardJBossPublishController implements IJBossPublishController {
 		Path src = new File(opts.getPath()).toPath();
 		
 		List<String> errors = new ArrayList<>();
+		IProgressMonitor monitor = ClientThreadLocal.getRequestMonitor();
 		Map<Path, Integer> deltaVals = delta.getResourceDeltaMap();
 		for( Map.Entry<Path, Integer> entry : deltaVals.entrySet()) {
+			if( monitor.isCanceled()) {
+				// partially copied
+				return ServerManagementAPIConstants.PUBLISH_STATE_FULL;
+			}
 			int change = entry.getValue();
 			Path fileSrc = src.resolve(entry.getKey());
 			Path fileDest = dest.toPath().resolve(entry.getKey());
@@ -371,9 +383,15 @@ public class StandardJBossPublishController implements IJBossPublishController {
 	
 	public class CopyFileVisitor extends SimpleFileVisitor<Path> {
 	    private final Path targetPath;
+	    private final IProgressMonitor monitor;
 	    private Path sourcePath = null;
 	    public CopyFileVisitor(Path targetPath) {
+	        this(targetPath, null);
+	    }
+
+	    public CopyFileVisitor(Path targetPath, IProgressMonitor monitor) {
 	        this.targetPath = targetPath;
+	        this.monitor = monitor;
 	    }
 
 	    @Override
@@ -391,6 +409,9 @@ public class StandardJBossPublishController implements IJBossPublishController {
 	    @Override
 	    public FileVisitResult visitFile(final Path file,
 	    final BasicFileAttributes attrs) throws IOException {
+	    if (monitor != null && monitor.isCanceled()) {
+	        return FileVisitResult.TERMINATE;
+	    }
 	    Files.copy(file,
 	        targetPath.resolve(sourcePath.relativize(file)));
 	    return FileVisitResult.CONTINUE;